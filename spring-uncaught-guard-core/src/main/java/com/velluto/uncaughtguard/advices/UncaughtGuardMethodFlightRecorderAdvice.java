@@ -0,0 +1,130 @@
+package com.velluto.uncaughtguard.advices;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardMethodFlightRecorderEvent;
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import com.velluto.uncaughtguard.recorders.UncaughtGuardMethodFlightRecorder;
+import jakarta.annotation.PostConstruct;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.logging.Logger;
+
+/**
+ * Advice that records the entries, exits and durations of the methods of Spring components
+ * into the method flight recorder of the current thread, see {@link UncaughtGuardMethodFlightRecorder}.
+ * <p>
+ * Unlike the parameters enricher, which only learns about the methods the exception unwinds through,
+ * the recording holds the calls that led up to the failure. It is attached to the exception trace
+ * only when the request fails, otherwise it is discarded when the request ends.
+ * <p>
+ * Rings are only bound to a thread while it serves a request, and are taken from and handed back to a bounded pool,
+ * so that threads that never record, such as scheduler or listener threads, do not hold any ring, and requests served
+ * on a fresh thread each time, such as virtual threads, do not allocate one either in steady state.
+ * <p>
+ * It is applied to the same methods as the parameters enricher, see {@link UncaughtGuardMethodParametersEnricherPointcut},
+ * and in the same way: in {@link UncaughtGuardWeavingMode#ASPECTJ_LOAD_TIME_WEAVING} mode it is woven through
+ * {@link UncaughtGuardMethodFlightRecorderAspect} instead of being applied by a proxy.
+ */
+public class UncaughtGuardMethodFlightRecorderAdvice implements MethodInterceptor {
+    private final Logger logger = Logger.getLogger(UncaughtGuardMethodFlightRecorderAdvice.class.getName());
+    // rings beyond this number, needed only by more concurrent requests, are left to the garbage collector once released
+    private static final int MAX_POOLED_RECORDERS = 256;
+
+    @Autowired
+    private UncaughtGuardProperties properties;
+
+    private final ThreadLocal<UncaughtGuardMethodFlightRecorder> recorders = new ThreadLocal<>();
+    private final ArrayBlockingQueue<UncaughtGuardMethodFlightRecorder> freeRecorders = new ArrayBlockingQueue<>(MAX_POOLED_RECORDERS);
+    private int capacity;
+
+    @PostConstruct
+    public void init() {
+        this.capacity = properties.getMethodFlightRecorderCapacity();
+        if (properties.getEnricherWeavingMode() == UncaughtGuardWeavingMode.ASPECTJ_LOAD_TIME_WEAVING)
+            UncaughtGuardMethodFlightRecorderAspect.bind(this);
+        logger.fine("Initialized Uncaught Guard method flight recorder with capacity " + capacity + " events per request");
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        return record(invocation.getMethod(), invocation::proceed);
+    }
+
+    /**
+     * Proceeds with a call of an advised method, recording it when a recording is running on the current thread.
+     *
+     * @param method the invoked method
+     * @param call   the call, proceeding to the method
+     * @return the result of the call
+     * @throws Throwable the exception thrown by the call
+     */
+    public Object record(Method method, Call call) throws Throwable {
+        UncaughtGuardMethodFlightRecorder recorder = recorders.get();
+        if (recorder == null)
+            return call.proceed();
+
+        long entryNanos = recorder.enter(method);
+        try {
+            Object result = call.proceed();
+            recorder.exit(method, entryNanos, false);
+            return result;
+        } catch (Throwable throwable) {
+            recorder.exit(method, entryNanos, true);
+            throw throwable;
+        }
+    }
+
+    /**
+     * Call of an advised method, by a proxy or by a woven aspect.
+     */
+    @FunctionalInterface
+    public interface Call {
+        Object proceed() throws Throwable;
+    }
+
+    /**
+     * Starts recording the request running on the current thread, with a ring taken from the pool.
+     */
+    public void startRecording() {
+        UncaughtGuardMethodFlightRecorder recorder = freeRecorders.poll();
+        if (recorder == null)
+            recorder = new UncaughtGuardMethodFlightRecorder(capacity);
+
+        recorder.start();
+        recorders.set(recorder);
+    }
+
+    /**
+     * Stops recording the request running on the current thread, discarding its recording,
+     * and hands its ring back to the pool.
+     */
+    public void stopRecording() {
+        UncaughtGuardMethodFlightRecorder recorder = recorders.get();
+        if (recorder == null)
+            return;
+
+        recorders.remove();
+        recorder.stop();
+        freeRecorders.offer(recorder);
+    }
+
+    /**
+     * @return the events recorded so far by the request running on the current thread,
+     * or an empty list if no recording is running on it
+     */
+    public List<UncaughtGuardMethodFlightRecorderEvent> snapshot() {
+        UncaughtGuardMethodFlightRecorder recorder = recorders.get();
+        return recorder != null ? recorder.snapshot() : List.of();
+    }
+
+    /**
+     * @return the number of rings in the pool, ready to record a request
+     */
+    public int getAvailableRecordersCount() {
+        return freeRecorders.size();
+    }
+}
@@ -0,0 +1,44 @@
+package com.velluto.uncaughtguard.advices;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+
+/**
+ * AspectJ aspect applying the method flight recorder in {@link UncaughtGuardWeavingMode#ASPECTJ_LOAD_TIME_WEAVING} mode.
+ * <p>
+ * Like {@link UncaughtGuardMethodParametersEnricherAspect}, it is abstract and its pointcut is declared by a concrete
+ * aspect in the META-INF/aop.xml of the application, next to the enricher one and with the same expression, e.g.
+ * <pre>{@code
+ * <concrete-aspect name="com.example.UncaughtGuardFlightRecorder"
+ *                  extends="com.velluto.uncaughtguard.advices.UncaughtGuardMethodFlightRecorderAspect">
+ *     <pointcut name="recordedMethods" expression="@within(org.springframework.stereotype.Service) AND within(com.example..*)"/>
+ * </concrete-aspect>
+ * }</pre>
+ * The aspect is instantiated by AspectJ, it delegates to the {@link UncaughtGuardMethodFlightRecorderAdvice}
+ * bean once this has been bound at startup. Calls made before that are not recorded.
+ */
+@Aspect
+public abstract class UncaughtGuardMethodFlightRecorderAspect {
+    private static volatile UncaughtGuardMethodFlightRecorderAdvice boundAdvice;
+
+    /**
+     * Binds the advice bean the woven methods delegate to.
+     */
+    public static void bind(UncaughtGuardMethodFlightRecorderAdvice advice) {
+        boundAdvice = advice;
+    }
+
+    @Pointcut
+    public abstract void recordedMethods();
+
+    @Around("recordedMethods() && execution(* *(..))")
+    public Object recordMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        UncaughtGuardMethodFlightRecorderAdvice advice = boundAdvice;
+        if (advice == null)
+            return joinPoint.proceed();
+        return advice.record(((MethodSignature) joinPoint.getSignature()).getMethod(), joinPoint::proceed);
+    }
+}
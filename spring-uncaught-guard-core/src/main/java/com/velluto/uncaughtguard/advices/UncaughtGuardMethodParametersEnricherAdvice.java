@@ -3,28 +3,33 @@ package com.velluto.uncaughtguard.advices;
 import com.velluto.uncaughtguard.exceptions.UncaughtGuardMethodParametersEnrichedRuntimeException;
 import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
 import com.velluto.uncaughtguard.utils.UncaughtGuardExceptionUtils;
+import jakarta.annotation.PostConstruct;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
 import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterThrowing;
-import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.aspectj.MethodInvocationProceedingJoinPoint;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.logging.Logger;
 
 /**
- * Aspect that enriches the parameters of methods in Spring components
+ * Advice that enriches the parameters of methods in Spring components
  * when a RuntimeException is thrown, allowing for better debugging and
  * error handling.
  * </p>
- * This aspect captures the method parameters passed to the method
+ * This advice captures the method parameters passed to the method
  * that threw the exception, and wraps the original RuntimeException
  * in a custom exception that includes the method signature and parameters.
+ * The same custom exception is rethrown by the outer methods, which only add their own signature and parameters.
  * </p>
- * It is applied to methods within classes annotated with
- *
- * @RestController, @Service, or @Repository.
+ * It is applied to the methods selected by {@link UncaughtGuardMethodParametersEnricherPointcut}, by default
+ * the methods within classes annotated with @RestController, @Service, or @Repository.
+ * In {@link UncaughtGuardWeavingMode#PROXY} mode it intercepts the calls through Spring AOP proxies,
+ * in {@link UncaughtGuardWeavingMode#ASPECTJ_LOAD_TIME_WEAVING} mode it is invoked by the woven
+ * {@link UncaughtGuardMethodParametersEnricherAspect}.
  */
-@Aspect
-public class UncaughtGuardMethodParametersEnricherAdvice {
+public class UncaughtGuardMethodParametersEnricherAdvice implements MethodInterceptor {
     private final Logger logger = Logger.getLogger(UncaughtGuardMethodParametersEnricherAdvice.class.getName());
 
     @Autowired
@@ -32,14 +37,26 @@ public class UncaughtGuardMethodParametersEnricherAdvice {
     @Autowired
     private UncaughtGuardExceptionUtils exceptionUtils;
 
-    @AfterThrowing(
-            pointcut = "(@within(org.springframework.web.bind.annotation.RestController) || " +
-                    "@within(org.springframework.stereotype.Service) || " +
-                    "@within(org.springframework.stereotype.Repository))",
-            throwing = "throwable"
-    )
+    @PostConstruct
+    public void init() {
+        if (properties.getEnricherWeavingMode() == UncaughtGuardWeavingMode.ASPECTJ_LOAD_TIME_WEAVING)
+            UncaughtGuardMethodParametersEnricherAspect.bind(this);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        try {
+            return invocation.proceed();
+        } catch (Throwable throwable) {
+            // the join point is only built for failing calls
+            captureMethodParameters(new MethodInvocationProceedingJoinPoint((ProxyMethodInvocation) invocation), throwable);
+            throw throwable;
+        }
+    }
+
     public void captureMethodParameters(JoinPoint joinPoint, Throwable throwable) {
-        String className = joinPoint.getTarget().getClass().getName();
+        Object target = joinPoint.getTarget();
+        String className = target != null ? target.getClass().getName() : joinPoint.getSignature().getDeclaringTypeName();
         String methodSignature = joinPoint.getSignature().toString();
         Object[] methodArgs = joinPoint.getArgs();
 
@@ -54,7 +71,7 @@ public class UncaughtGuardMethodParametersEnricherAdvice {
             return;
 
         logger.fine("Enriching parameters for exception thrown from method: " + methodSignature + " in class: " + className);
-        UncaughtGuardMethodParametersEnrichedRuntimeException enrichedRuntimeException = new UncaughtGuardMethodParametersEnrichedRuntimeException(
+        UncaughtGuardMethodParametersEnrichedRuntimeException enrichedRuntimeException = UncaughtGuardMethodParametersEnrichedRuntimeException.enrich(
                 runtimeException,
                 methodSignature,
                 methodArgs
@@ -62,4 +79,4 @@ public class UncaughtGuardMethodParametersEnricherAdvice {
 
         throw enrichedRuntimeException;
     }
-}
\ No newline at end of file
+}
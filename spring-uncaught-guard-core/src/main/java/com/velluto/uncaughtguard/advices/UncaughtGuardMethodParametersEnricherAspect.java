@@ -0,0 +1,53 @@
+package com.velluto.uncaughtguard.advices;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+
+/**
+ * AspectJ aspect applying the parameters enricher in {@link UncaughtGuardWeavingMode#ASPECTJ_LOAD_TIME_WEAVING} mode.
+ * <p>
+ * The advice is woven into the bytecode of the matched methods, so no Spring AOP proxy is created
+ * and successful calls do not pay any proxy dispatch. The aspect is abstract: its pointcut is declared by
+ * a concrete aspect in the META-INF/aop.xml of the application, e.g.
+ * <pre>{@code
+ * <aspectj>
+ *     <weaver>
+ *         <include within="com.example..*"/>
+ *     </weaver>
+ *     <aspects>
+ *         <concrete-aspect name="com.example.UncaughtGuardEnricher"
+ *                          extends="com.velluto.uncaughtguard.advices.UncaughtGuardMethodParametersEnricherAspect">
+ *             <pointcut name="enrichedMethods" expression="@within(org.springframework.stereotype.Service) AND within(com.example..*)"/>
+ *         </concrete-aspect>
+ *     </aspects>
+ * </aspectj>
+ * }</pre>
+ * The expression matching the configured scope is logged at startup. The weaver must be enabled,
+ * e.g. with the -javaagent:aspectjweaver.jar JVM option.
+ * <p>
+ * The aspect is instantiated by AspectJ, it delegates to the {@link UncaughtGuardMethodParametersEnricherAdvice}
+ * bean once this has been bound at startup. Exceptions thrown before that are not enriched.
+ */
+@Aspect
+public abstract class UncaughtGuardMethodParametersEnricherAspect {
+    private static volatile UncaughtGuardMethodParametersEnricherAdvice boundAdvice;
+
+    /**
+     * Binds the advice bean the woven methods delegate to.
+     */
+    public static void bind(UncaughtGuardMethodParametersEnricherAdvice advice) {
+        boundAdvice = advice;
+    }
+
+    @Pointcut
+    public abstract void enrichedMethods();
+
+    @AfterThrowing(pointcut = "enrichedMethods() && execution(* *(..))", throwing = "throwable")
+    public void captureMethodParameters(JoinPoint joinPoint, Throwable throwable) {
+        UncaughtGuardMethodParametersEnricherAdvice advice = boundAdvice;
+        if (advice != null)
+            advice.captureMethodParameters(joinPoint, throwable);
+    }
+}
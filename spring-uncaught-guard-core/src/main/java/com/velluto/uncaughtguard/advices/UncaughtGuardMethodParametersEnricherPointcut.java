@@ -0,0 +1,108 @@
+package com.velluto.uncaughtguard.advices;
+
+import com.velluto.uncaughtguard.annotations.UncaughtGuardEnriched;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Selects the methods enriched with their parameters.
+ * <p>
+ * By default, the pointcut matches the methods declared by classes annotated with @RestController, @Service or @Repository.
+ * When the marker annotation is required, it only matches the classes and methods annotated with
+ * {@link UncaughtGuardEnriched} instead. Either scope can be narrowed to the classes within the given base packages,
+ * including their subpackages.
+ * <p>
+ * The matching is static: it is resolved once per method when the proxies are created, and never evaluated again
+ * on the calls. An equivalent AspectJ expression, see {@link #expression(String[], boolean)}, is only used to declare
+ * the pointcut of the {@link UncaughtGuardMethodParametersEnricherAspect} in load-time weaving mode, since Spring AOP
+ * evaluates annotation pointcuts of AspectJ expressions on every call.
+ */
+public final class UncaughtGuardMethodParametersEnricherPointcut extends StaticMethodMatcher implements Pointcut, ClassFilter {
+    public static final String STEREOTYPES_EXPRESSION =
+            "(@within(org.springframework.web.bind.annotation.RestController) || " +
+                    "@within(org.springframework.stereotype.Service) || " +
+                    "@within(org.springframework.stereotype.Repository))";
+    public static final String MARKER_ANNOTATION_EXPRESSION =
+            "(@within(" + UncaughtGuardEnriched.class.getName() + ") || " +
+                    "@annotation(" + UncaughtGuardEnriched.class.getName() + "))";
+
+    private final String[] basePackages;
+    private final boolean requireMarkerAnnotation;
+
+    /**
+     * @param basePackages            packages the matched classes must belong to, or empty for any package
+     * @param requireMarkerAnnotation true to only match the classes and methods annotated with {@link UncaughtGuardEnriched}
+     */
+    public UncaughtGuardMethodParametersEnricherPointcut(String[] basePackages, boolean requireMarkerAnnotation) {
+        this.basePackages = basePackages.clone();
+        this.requireMarkerAnnotation = requireMarkerAnnotation;
+    }
+
+    /**
+     * @param basePackages            packages the matched classes must belong to, or empty for any package
+     * @param requireMarkerAnnotation true to only match the classes and methods annotated with {@link UncaughtGuardEnriched}
+     * @return the AspectJ pointcut expression equivalent to the pointcut
+     */
+    public static String expression(String[] basePackages, boolean requireMarkerAnnotation) {
+        String expression = requireMarkerAnnotation ? MARKER_ANNOTATION_EXPRESSION : STEREOTYPES_EXPRESSION;
+        if (basePackages.length == 0)
+            return expression;
+
+        return expression + " && " + Arrays.stream(basePackages)
+                .map(basePackage -> "within(" + basePackage + "..*)")
+                .collect(Collectors.joining(" || ", "(", ")"));
+    }
+
+    @Override
+    public boolean matches(Class<?> type) {
+        return isInBasePackages(type);
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        // like @within, the class declaring the method is looked at, not the one it is invoked on
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        Class<?> declaringClass = specificMethod.getDeclaringClass();
+        if (!isInBasePackages(declaringClass))
+            return false;
+
+        if (requireMarkerAnnotation)
+            return declaringClass.isAnnotationPresent(UncaughtGuardEnriched.class) || specificMethod.isAnnotationPresent(UncaughtGuardEnriched.class);
+
+        return declaringClass.isAnnotationPresent(RestController.class)
+                || declaringClass.isAnnotationPresent(Service.class)
+                || declaringClass.isAnnotationPresent(Repository.class);
+    }
+
+    private boolean isInBasePackages(Class<?> type) {
+        if (basePackages.length == 0)
+            return true;
+
+        String typeName = type.getName();
+        for (String basePackage : basePackages) {
+            if (typeName.startsWith(basePackage + "."))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public ClassFilter getClassFilter() {
+        return this;
+    }
+
+    @Override
+    public MethodMatcher getMethodMatcher() {
+        return this;
+    }
+}
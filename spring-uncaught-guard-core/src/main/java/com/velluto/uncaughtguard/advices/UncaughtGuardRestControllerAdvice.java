@@ -1,10 +1,13 @@
 package com.velluto.uncaughtguard.advices;
 
+import com.velluto.uncaughtguard.filters.UncaughtGuardHeaderCaptureFilter;
+import com.velluto.uncaughtguard.filters.UncaughtGuardPreCaptureFilter;
+import com.velluto.uncaughtguard.generators.UncaughtGuardTraceIdGenerator;
 import com.velluto.uncaughtguard.loggers.UncaughtGuardAsyncLogger;
 import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
 import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceHttpResponseDTO;
 import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
-import com.velluto.uncaughtguard.utils.UncaughtGuardExceptionUtils;
+import com.velluto.uncaughtguard.samplers.UncaughtGuardAdaptiveSampler;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -12,6 +15,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.LocalDateTime;
+import java.util.UUID;
 import java.util.logging.Logger;
 
 /**
@@ -20,6 +25,8 @@ import java.util.logging.Logger;
  * <p>
  * It captures the exception, logs it asynchronously, and returns a standardized HTTP response
  * with a trace ID for tracking purposes (if cofigured to do so).
+ * During exception storms only a sample of the exceptions is captured and logged,
+ * every client still receives a trace ID.
  */
 @RestControllerAdvice
 public class UncaughtGuardRestControllerAdvice {
@@ -30,15 +37,31 @@ public class UncaughtGuardRestControllerAdvice {
     @Autowired
     private UncaughtGuardAsyncLogger asyncLogger;
     @Autowired
-    private UncaughtGuardExceptionUtils exceptionUtils;
+    private UncaughtGuardPreCaptureFilter preCaptureFilter;
+    @Autowired
+    private UncaughtGuardAdaptiveSampler sampler;
+    @Autowired
+    private UncaughtGuardTraceIdGenerator traceIdGenerator;
+    @Autowired
+    private UncaughtGuardHeaderCaptureFilter headerCaptureFilter;
+    @Autowired(required = false)
+    private UncaughtGuardMethodFlightRecorderAdvice flightRecorderAdvice;
 
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<UncaughtGuardExceptionTraceHttpResponseDTO> handleUncaughtExceptions(RuntimeException e, HttpServletRequest request) throws RuntimeException {
-        UncaughtGuardExceptionTrace trace = new UncaughtGuardExceptionTrace(request, e, properties.isEnableLogRequestBody());
+        // only the raw exception and the request line are looked at, nothing is copied from the request yet
+        if (preCaptureFilter.isExcluded(e, request))
+            throw e;
+
+        // during exception storms only a sample of the traces is captured, the client still gets a Trace ID to refer to
+        if (!sampler.sample(e))
+            return handleSampledOutException(e, request);
+
+        UncaughtGuardExceptionTrace trace = new UncaughtGuardExceptionTrace(request, e, properties.isEnableLogRequestBody(), properties.getCaptureMode(), traceIdGenerator.generate(request), headerCaptureFilter);
         logger.fine("Caught an unhandled exception of type " + e.getClass().getSimpleName() + ", assigned Trace ID: " + trace.getTraceId());
 
-        if (exceptionUtils.isExceptionExcluded(e))
-            throw e;
+        if (flightRecorderAdvice != null)
+            trace.attachMethodFlightRecording(flightRecorderAdvice.snapshot());
 
         asyncLogger.logExceptionTraceAsync(trace);
 
@@ -50,4 +73,14 @@ public class UncaughtGuardRestControllerAdvice {
         logger.fine("Returning HTTP response with reference for exception with Trace ID: " + trace.getTraceId());
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(trace.getHttpResponseDTO(properties.getHttpResponseErrorMessage()));
     }
+
+    private ResponseEntity<UncaughtGuardExceptionTraceHttpResponseDTO> handleSampledOutException(RuntimeException e, HttpServletRequest request) {
+        UUID traceId = traceIdGenerator.generate(request);
+        logger.fine("Sampled out an unhandled exception of type " + e.getClass().getSimpleName() + ", assigned Trace ID: " + traceId + " will not be logged");
+
+        if (properties.isKeepThrowingExceptions())
+            throw e;
+
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new UncaughtGuardExceptionTraceHttpResponseDTO(LocalDateTime.now(), traceId, properties.getHttpResponseErrorMessage()));
+    }
 }
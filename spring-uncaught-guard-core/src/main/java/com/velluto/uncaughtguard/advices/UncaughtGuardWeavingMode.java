@@ -0,0 +1,16 @@
+package com.velluto.uncaughtguard.advices;
+
+/**
+ * Selects how the parameters enricher advice is applied to the methods in its pointcut.
+ */
+public enum UncaughtGuardWeavingMode {
+    /**
+     * Spring AOP proxies are created around the beans in the pointcut, every call to them goes through the proxy.
+     */
+    PROXY,
+    /**
+     * The advice is woven into the classes by the AspectJ weaver when they are loaded, no proxy is created.
+     * See {@link UncaughtGuardMethodParametersEnricherAspect}.
+     */
+    ASPECTJ_LOAD_TIME_WEAVING
+}
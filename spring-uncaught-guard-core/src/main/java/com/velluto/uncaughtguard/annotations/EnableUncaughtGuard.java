@@ -1,13 +1,30 @@
 package com.velluto.uncaughtguard.annotations;
 
+import com.velluto.uncaughtguard.advices.UncaughtGuardMethodParametersEnricherAspect;
 import com.velluto.uncaughtguard.advices.UncaughtGuardRestControllerAdvice;
+import com.velluto.uncaughtguard.advices.UncaughtGuardWeavingMode;
+import com.velluto.uncaughtguard.breakers.UncaughtGuardCircuitBreakerRegistry;
 import com.velluto.uncaughtguard.configurations.UncaughtGuardAsyncConfiguration;
+import com.velluto.uncaughtguard.dispatchers.UncaughtGuardDispatchMode;
+import com.velluto.uncaughtguard.dispatchers.UncaughtGuardDispatchOverflowPolicy;
+import com.velluto.uncaughtguard.dispatchers.UncaughtGuardRingBufferWaitStrategy;
+import com.velluto.uncaughtguard.filters.UncaughtGuardHeaderCaptureFilter;
+import com.velluto.uncaughtguard.filters.UncaughtGuardPreCaptureFilter;
+import com.velluto.uncaughtguard.generators.UncaughtGuardRandomTraceIdGenerator;
+import com.velluto.uncaughtguard.generators.UncaughtGuardTimeOrderedTraceIdGenerator;
+import com.velluto.uncaughtguard.generators.UncaughtGuardTraceIdGenerator;
+import com.velluto.uncaughtguard.generators.UncaughtGuardTraceparentTraceIdGenerator;
+import com.velluto.uncaughtguard.invokers.UncaughtGuardStrategyExecutionMode;
 import com.velluto.uncaughtguard.loggers.UncaughtGuardAsyncLogger;
+import com.velluto.uncaughtguard.models.UncaughtGuardCaptureMode;
 import com.velluto.uncaughtguard.registrars.UncaughtGuardRegistrar;
+import com.velluto.uncaughtguard.routers.UncaughtGuardStrategyRouter;
+import com.velluto.uncaughtguard.samplers.UncaughtGuardAdaptiveSampler;
 import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
 import com.velluto.uncaughtguard.strategies.UncaughtGuardSystemErrorLoggingStrategy;
 import com.velluto.uncaughtguard.utils.UncaughtGuardExceptionUtils;
 import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.RequestMethod;
 
 import java.lang.annotation.*;
 
@@ -25,7 +42,12 @@ import java.lang.annotation.*;
         UncaughtGuardRestControllerAdvice.class,
         UncaughtGuardExceptionUtils.class,
         UncaughtGuardAsyncConfiguration.class,
-        UncaughtGuardAsyncLogger.class
+        UncaughtGuardAsyncLogger.class,
+        UncaughtGuardStrategyRouter.class,
+        UncaughtGuardCircuitBreakerRegistry.class,
+        UncaughtGuardAdaptiveSampler.class,
+        UncaughtGuardPreCaptureFilter.class,
+        UncaughtGuardHeaderCaptureFilter.class
 })
 public @interface EnableUncaughtGuard {
 
@@ -39,6 +61,7 @@ public @interface EnableUncaughtGuard {
 
     /**
      * List of exception types to be excluded from UncaughtGuard handling.
+     * Subclasses of an excluded type are excluded as well.
      *
      * @return array of exception classes to exclude
      */
@@ -91,4 +114,620 @@ public @interface EnableUncaughtGuard {
      * @return true to enable method parameters logging, false otherwise
      */
     boolean enableLogThrowingMethodParameters() default true;
+
+    /**
+     * Number of threads of the dedicated dispatcher that runs the logging strategies.
+     * By default, this is set to 2.
+     * The dispatcher is owned by the UncaughtGuard and never shares its threads with the asynchronous work of your application.
+     *
+     * @return number of dispatcher worker threads
+     */
+    int dispatchWorkerThreads() default 2;
+
+    /**
+     * Maximum number of exception traces waiting for a free dispatcher worker thread.
+     * By default, this is set to 1024.
+     * In {@link UncaughtGuardDispatchMode#RING_BUFFER} mode this is the size of the ring buffer, rounded up to the next power of two.
+     * When the queue is full, the {@link #dispatchOverflowPolicy()} is applied.
+     *
+     * @return capacity of the dispatcher queue
+     */
+    int dispatchQueueCapacity() default 1024;
+
+    /**
+     * Policy applied when the dispatcher queue is full, for example during an exception storm.
+     * By default, the newest exception trace is dropped.
+     *
+     * @return the dispatcher overflow policy
+     */
+    UncaughtGuardDispatchOverflowPolicy dispatchOverflowPolicy() default UncaughtGuardDispatchOverflowPolicy.DROP_NEWEST;
+
+    /**
+     * How exception traces are handed over from the request threads to the logging strategies.
+     * By default, traces are submitted to the dedicated bounded thread pool.
+     * {@link UncaughtGuardDispatchMode#RING_BUFFER} publishes traces into a pre-allocated ring buffer with a single CAS,
+     * drained in batches by one consumer thread, which lowers the cost paid by the request threads during exception storms.
+     *
+     * @return the dispatch mode
+     */
+    UncaughtGuardDispatchMode dispatchMode() default UncaughtGuardDispatchMode.EXECUTOR;
+
+    /**
+     * Strategy used by the ring buffer consumer thread while there are no exception traces to log.
+     * It is only used in {@link UncaughtGuardDispatchMode#RING_BUFFER} mode.
+     * By default, the consumer thread parks, which costs no CPU while idle.
+     *
+     * @return the ring buffer wait strategy
+     */
+    UncaughtGuardRingBufferWaitStrategy ringBufferWaitStrategy() default UncaughtGuardRingBufferWaitStrategy.PARK;
+
+    /**
+     * How the logging strategies are invoked for each exception trace.
+     * By default, strategies are invoked one after another on the dispatcher thread.
+     * {@link UncaughtGuardStrategyExecutionMode#VIRTUAL_THREADS} runs each strategy invocation on its own virtual thread,
+     * so that strategies blocking on network or file I/O do not hold a platform thread while waiting.
+     * Strategies that may pin virtual threads, like the System.err and Java Logger ones, keep running on the dispatcher thread.
+     *
+     * @return the strategy execution mode
+     */
+    UncaughtGuardStrategyExecutionMode strategyExecutionMode() default UncaughtGuardStrategyExecutionMode.SEQUENTIAL;
+
+    /**
+     * Maximum number of strategy invocations running on virtual threads at the same time.
+     * It is only used in {@link UncaughtGuardStrategyExecutionMode#VIRTUAL_THREADS} mode.
+     * When the limit is reached, the dispatcher waits for an invocation to complete before starting a new one.
+     * By default, this is set to 10000.
+     *
+     * @return maximum number of in flight virtual thread strategy invocations
+     */
+    int virtualThreadMaxInFlightCalls() default 10000;
+
+    /**
+     * Number of worker threads of each strategy bulkhead.
+     * It is only used in {@link UncaughtGuardStrategyExecutionMode#BULKHEAD} mode, where each strategy gets its own pool.
+     * By default, this is set to 1.
+     *
+     * @return number of worker threads per strategy bulkhead
+     */
+    int bulkheadWorkerThreads() default 1;
+
+    /**
+     * Maximum number of calls waiting for a free worker in each strategy bulkhead.
+     * It is only used in {@link UncaughtGuardStrategyExecutionMode#BULKHEAD} mode.
+     * When a bulkhead is full, the call fails immediately and counts as a failed strategy for the trace.
+     * By default, this is set to 256.
+     *
+     * @return queue capacity of each strategy bulkhead
+     */
+    int bulkheadQueueCapacity() default 256;
+
+    /**
+     * Deadline of each strategy call in milliseconds, measured from the moment the call is handed over to its bulkhead.
+     * It is only used in {@link UncaughtGuardStrategyExecutionMode#BULKHEAD} mode.
+     * A call that did not complete within the deadline counts as a failed strategy for the trace.
+     * By default, this is set to 10000 milliseconds.
+     *
+     * @return per call deadline in milliseconds
+     */
+    long strategyCallTimeoutMillis() default 10000;
+
+    /**
+     * Routing rules selecting which logging strategies receive which exception traces.
+     * Rules are evaluated in declaration order and the first matching rule wins,
+     * traces not matched by any rule are sent to all the {@link #loggingStrategies()}.
+     * By default, no rules are declared.
+     *
+     * @return array of routing rules
+     */
+    UncaughtGuardRoute[] routes() default {};
+
+    /**
+     * Maximum time in milliseconds the application shutdown waits for the queued exception traces to be delivered.
+     * New traces are not accepted anymore once the shutdown has started.
+     * By default, this is set to 5000 milliseconds.
+     *
+     * @return shutdown drain deadline in milliseconds
+     */
+    long shutdownDrainTimeoutMillis() default 5000;
+
+    /**
+     * Path of the local file where the exception traces still undelivered at the shutdown deadline are spilled.
+     * On the next startup the spilled traces are redelivered through the logging strategies and the file is removed.
+     * Use a location that survives restarts, such as a persistent volume.
+     * By default, this is empty and undelivered traces are lost.
+     *
+     * @return path of the spill file, or empty to disable spilling
+     */
+    String spillFilePath() default "";
+
+    /**
+     * Maximum number of exception traces handed over at once to a logging strategy
+     * implementing {@link com.velluto.uncaughtguard.strategies.UncaughtGuardBatchLoggingStrategy}.
+     * A batch is flushed as soon as it reaches this size, and is logged in the configured {@link #strategyExecutionMode()},
+     * with the same isolation and deadline as a single exception trace.
+     * By default, this is set to 100.
+     *
+     * @return maximum number of traces of a batch
+     */
+    int batchMaxSize() default 100;
+
+    /**
+     * Maximum estimated size in bytes of a batch of exception traces.
+     * A batch is flushed as soon as it reaches this size.
+     * By default, this is set to 1048576 bytes.
+     *
+     * @return maximum estimated size of a batch in bytes
+     */
+    long batchMaxBytes() default 1048576;
+
+    /**
+     * Maximum time in milliseconds the first exception trace of a batch waits before the batch is flushed,
+     * even if it did not reach any of the size limits.
+     * By default, this is set to 200 milliseconds.
+     *
+     * @return maximum linger time of a batch in milliseconds
+     */
+    long batchLingerMillis() default 200;
+
+    /**
+     * If true, each logging strategy is guarded by its own circuit breaker: when the failure rate of its recent calls
+     * reaches the threshold, the strategy is skipped for a while and its traces fall back to
+     * {@link UncaughtGuardSystemErrorLoggingStrategy}, then a few probe calls decide whether it is called again.
+     * The breakers are exposed by the {@link UncaughtGuardCircuitBreakerRegistry} bean.
+     * By default, this is set to true.
+     *
+     * @return true to guard the logging strategies with circuit breakers, false otherwise
+     */
+    boolean enableCircuitBreakers() default true;
+
+    /**
+     * Failure rate, in percent, of the calls in the window that opens the circuit breaker of a strategy.
+     * By default, this is set to 50.
+     *
+     * @return failure rate threshold in percent
+     */
+    int circuitBreakerFailureRateThreshold() default 50;
+
+    /**
+     * Number of most recent calls of a strategy the failure rate is computed on.
+     * By default, this is set to 20.
+     *
+     * @return size of the failure rate window
+     */
+    int circuitBreakerWindowSize() default 20;
+
+    /**
+     * Minimum number of calls recorded in the window before the failure rate is evaluated.
+     * By default, this is set to 10.
+     *
+     * @return minimum number of calls
+     */
+    int circuitBreakerMinimumCalls() default 10;
+
+    /**
+     * Time in milliseconds an open circuit breaker skips its strategy before probing it again.
+     * By default, this is set to 30000 milliseconds.
+     *
+     * @return open duration in milliseconds
+     */
+    long circuitBreakerOpenDurationMillis() default 30000;
+
+    /**
+     * Number of probe calls that must succeed while half-open to close the circuit breaker again.
+     * By default, this is set to 1.
+     *
+     * @return number of half-open probe calls
+     */
+    int circuitBreakerHalfOpenProbes() default 1;
+
+    /**
+     * Maximum number of retries of a failed logging strategy call.
+     * Retries are scheduled on a single timer thread with exponential backoff and jitter,
+     * and the fallback applies to a strategy only once all its retries have failed.
+     * Retries are opt-in: by default, this is set to 0 and no retry timer thread is started.
+     *
+     * @return maximum number of retries of a strategy call
+     */
+    int maxRetries() default 0;
+
+    /**
+     * Delay in milliseconds before the first retry of a failed strategy call, doubled at each further retry.
+     * Half of each delay is randomized to spread the retries of concurrent failures.
+     * By default, this is set to 100 milliseconds.
+     *
+     * @return initial retry backoff in milliseconds
+     */
+    long retryInitialBackoffMillis() default 100;
+
+    /**
+     * Maximum delay in milliseconds before a retry.
+     * By default, this is set to 5000 milliseconds.
+     *
+     * @return maximum retry backoff in milliseconds
+     */
+    long retryMaxBackoffMillis() default 5000;
+
+    /**
+     * Maximum retries of each logging strategy, in percent of its calls.
+     * A small reserve lets strategies with little traffic retry as well.
+     * By default, this is set to 20.
+     *
+     * @return retry budget in percent of the calls
+     */
+    int retryBudgetPercent() default 20;
+
+    /**
+     * Maximum number of retries waiting for their delay at the same time, all strategies included.
+     * Failed calls that would exceed it are not retried.
+     * By default, this is set to 10000.
+     *
+     * @return maximum number of outstanding retries
+     */
+    int maxOutstandingRetries() default 10000;
+
+    /**
+     * Directory of the write-ahead journal of the exception traces.
+     * When set, each trace is appended to a pre-allocated memory-mapped segment file by the request thread
+     * before it is dispatched, and acknowledged once every logging strategy is done with it. The traces left unacknowledged by a crash
+     * are redelivered on the next startup to the logging strategies that did not log them yet. Use a location that survives restarts, such as a persistent volume.
+     * By default, this is empty and the journal is disabled.
+     *
+     * @return directory of the journal, or empty to disable it
+     */
+    String journalDirectory() default "";
+
+    /**
+     * Size in bytes of each journal segment file.
+     * Segments are recycled once all their traces are acknowledged.
+     * By default, this is set to 8388608 bytes.
+     *
+     * @return size of a journal segment in bytes
+     */
+    int journalSegmentSizeBytes() default 8388608;
+
+    /**
+     * Number of journal segment files. When all of them are full of unacknowledged traces,
+     * new traces are still logged but not journaled.
+     * By default, this is set to 4.
+     *
+     * @return number of journal segments
+     */
+    int journalSegmentCount() default 4;
+
+    /**
+     * Arrival rate of uncaught exceptions, per second, above which only a sample of them is captured and logged.
+     * Above the threshold each exception is captured with a probability of threshold / rate, so that about the
+     * threshold number of traces per second is still logged during an exception storm. Every client still receives
+     * a trace ID, and the sampled out exceptions are counted by the {@code UncaughtGuardAdaptiveSampler} bean.
+     * By default, this is set to 0 and every exception is captured.
+     *
+     * @return sampling threshold in exceptions per second, or 0 to disable sampling
+     */
+    int samplingThresholdPerSecond() default 0;
+
+    /**
+     * Length in milliseconds of the sliding window the arrival rate of the uncaught exceptions is measured on.
+     * By default, this is set to 10000 milliseconds.
+     *
+     * @return sampling window in milliseconds
+     */
+    long samplingWindowMillis() default 10000;
+
+    /**
+     * Minimum probability, in percent, that an exception is captured while sampling,
+     * however high the arrival rate is.
+     * By default, this is set to 1.
+     *
+     * @return minimum capture probability in percent
+     */
+    int samplingMinimumPercent() default 1;
+
+    /**
+     * Time in milliseconds during which the repetitions of the same exception are folded.
+     * The first exception trace with a given fingerprint (exception class, normalized message, top stack frames and route)
+     * is logged in full, the following ones until the end of the window are only counted and logged together
+     * as a summary, carrying a sample of their trace IDs, when the window ends.
+     * By default, this is set to 0 and every exception trace is logged in full.
+     *
+     * @return coalescing window in milliseconds, or 0 to disable coalescing
+     */
+    long coalescingWindowMillis() default 0;
+
+    /**
+     * Number of top stack frames taken into account by the fingerprint of an exception.
+     * By default, this is set to 5.
+     *
+     * @return number of stack frames in the fingerprint
+     */
+    int coalescingFingerprintFrames() default 5;
+
+    /**
+     * Maximum number of trace IDs of the folded exceptions kept in each summary, sampled uniformly.
+     * By default, this is set to 10.
+     *
+     * @return maximum number of trace IDs in a summary
+     */
+    int coalescingMaxSampledTraceIds() default 10;
+
+    /**
+     * Maximum number of fingerprints tracked at the same time. Exceptions with new fingerprints beyond it
+     * are logged in full.
+     * By default, this is set to 10000.
+     *
+     * @return maximum number of tracked fingerprints
+     */
+    int coalescingMaxFingerprints() default 10000;
+
+    /**
+     * Capacity of the priority lane of the exceptions never seen before.
+     * When set, each exception trace is fingerprinted like for coalescing, on a classifier thread, and looked up in a fixed-size filter
+     * of the fingerprints already seen: traces with an unseen fingerprint are logged by a dedicated thread,
+     * ahead of the backlog of the dispatcher, so that new failure modes are reported immediately during storms.
+     * By default, this is set to 0 and the priority lane is disabled.
+     *
+     * @return capacity of the priority lane, or 0 to disable it
+     */
+    int noveltyLaneCapacity() default 0;
+
+    /**
+     * Size in bits of the filter of the seen fingerprints. The filter is cleared when half full,
+     * so its memory stays fixed however many distinct exceptions occur.
+     * By default, this is set to 1048576 bits (128 KiB).
+     *
+     * @return size of the seen fingerprints filter in bits
+     */
+    int noveltyFilterBits() default 1048576;
+
+    /**
+     * Number of bits set in the filter of the seen fingerprints for each fingerprint.
+     * By default, this is set to 4.
+     *
+     * @return number of hashes of the seen fingerprints filter
+     */
+    int noveltyFilterHashes() default 4;
+
+    /**
+     * HTTP methods whose uncaught exceptions are not handled by the Uncaught Guard and are thrown again,
+     * like the excluded exceptions. They are checked on the request line only, before the exception trace is captured.
+     * By default, no HTTP method is excluded.
+     *
+     * @return array of excluded HTTP methods
+     */
+    RequestMethod[] excludedHttpMethods() default {};
+
+    /**
+     * Request URI patterns, in the Spring MVC path pattern syntax (e.g. {@code /actuator/**}), whose uncaught exceptions
+     * are not handled by the Uncaught Guard and are thrown again, like the excluded exceptions.
+     * They are checked on the request line only, before the exception trace is captured, and are matched against the
+     * path within the application, i.e. the request URI without the servlet context path.
+     * By default, no path is excluded.
+     *
+     * @return array of excluded path patterns
+     */
+    String[] excludedPathPatterns() default {};
+
+    /**
+     * How much of the exception trace is built on the request thread.
+     * By default, query parameters, headers and body are parsed and decoded on the request thread.
+     * {@link UncaughtGuardCaptureMode#DEFERRED} only records the raw query string, header names and values and body bytes,
+     * and renders them the first time the trace is read, usually on the dispatcher threads.
+     *
+     * @return the capture mode
+     */
+    UncaughtGuardCaptureMode captureMode() default UncaughtGuardCaptureMode.EAGER;
+
+    /**
+     * Generator of the trace IDs assigned to the uncaught exceptions, both in the exception traces and in the HTTP responses.
+     * By default, uses {@link UncaughtGuardRandomTraceIdGenerator}.
+     * {@link UncaughtGuardTimeOrderedTraceIdGenerator} generates time ordered UUIDs without any shared state,
+     * {@link UncaughtGuardTraceparentTraceIdGenerator} reuses the trace ID of the inbound W3C traceparent header.
+     *
+     * @return the trace ID generator class
+     */
+    Class<? extends UncaughtGuardTraceIdGenerator> traceIdGenerator() default UncaughtGuardRandomTraceIdGenerator.class;
+
+    /**
+     * ID of this application instance, from 0 to 65535, embedded in the time ordered trace IDs
+     * to tell apart those generated by the different instances.
+     * By default, this is set to -1, no node ID is embedded.
+     *
+     * @return the node ID of the time ordered trace IDs
+     */
+    int traceIdNodeId() default -1;
+
+    /**
+     * Request headers copied into the exception traces, matched case-insensitively, either exactly or by prefix
+     * when ending with {@code *} (e.g. {@code x-b3-*}).
+     * By default, all headers are captured.
+     *
+     * @return array of captured header names
+     */
+    String[] capturedHeaders() default {};
+
+    /**
+     * Request headers never copied into the exception traces, e.g. {@code authorization} or {@code cookie},
+     * matched like the captured headers. Excluded headers win over captured ones.
+     * By default, no header is excluded.
+     *
+     * @return array of excluded header names
+     */
+    String[] excludedHeaders() default {};
+
+    /**
+     * Maximum length of a captured header value, longer values are cut and marked as truncated.
+     * By default, this is set to 0, values are not truncated.
+     *
+     * @return maximum length of a captured header value, or 0 for no limit
+     */
+    int headerMaxValueLength() default 0;
+
+    /**
+     * Maximum total size in bytes of the names and values of the headers captured from a request,
+     * the headers not fitting are not captured.
+     * By default, this is set to 0, the total size is not limited.
+     *
+     * @return maximum total size of the captured headers, or 0 for no limit
+     */
+    int headersMaxTotalBytes() default 0;
+
+    /**
+     * Maximum number of request body bytes buffered and copied into the exception traces.
+     * Longer bodies are cut and end with a truncation marker carrying their original Content-Length.
+     * It is only used when "enableLogRequestBody" is true.
+     * By default, this is set to 0, the whole body is captured.
+     *
+     * @return maximum captured body size in bytes, or 0 for no limit
+     */
+    int requestBodyMaxBytes() default 0;
+
+    /**
+     * Content types of the request bodies buffered and copied into the exception traces, e.g. {@code application/json},
+     * {@code text/*} or {@code application/x-www-form-urlencoded}. The bodies of any other content type,
+     * e.g. binary or multipart uploads, are never buffered.
+     * It is only used when "enableLogRequestBody" is true.
+     * By default, bodies of all content types are captured.
+     *
+     * @return array of captured body content types
+     */
+    String[] capturedBodyContentTypes() default {};
+
+    /**
+     * HTTP methods of the requests whose body is buffered and captured.
+     * It is only used when "enableLogRequestBody" is true.
+     * By default, requests of all HTTP methods are captured.
+     *
+     * @return array of HTTP methods selected for body capture
+     */
+    RequestMethod[] bodyCaptureIncludedHttpMethods() default {};
+
+    /**
+     * HTTP methods of the requests whose body is never buffered, e.g. {@code GET} or {@code HEAD}.
+     * Excluded methods win over included ones. It is only used when "enableLogRequestBody" is true.
+     * By default, no HTTP method is excluded.
+     *
+     * @return array of HTTP methods excluded from body capture
+     */
+    RequestMethod[] bodyCaptureExcludedHttpMethods() default {};
+
+    /**
+     * Request URI patterns, in the Spring MVC path pattern syntax (e.g. {@code /api/**}), of the requests whose body
+     * is buffered and captured. It is only used when "enableLogRequestBody" is true.
+     * By default, requests to all paths are captured.
+     *
+     * @return array of path patterns selected for body capture
+     */
+    String[] bodyCaptureIncludedPathPatterns() default {};
+
+    /**
+     * Request URI patterns, in the Spring MVC path pattern syntax (e.g. {@code /actuator/**}), of the requests whose body
+     * is never buffered. Excluded patterns win over included ones. It is only used when "enableLogRequestBody" is true.
+     * Like the included patterns, they are matched against the path within the application, without the servlet context
+     * path.
+     * By default, no path is excluded.
+     *
+     * @return array of path patterns excluded from body capture
+     */
+    String[] bodyCaptureExcludedPathPatterns() default {};
+
+    /**
+     * Number of slabs of the pool into which the request bodies are cached. Slabs are reused across requests
+     * and handed back when the request completes, so that only the bodies of the failing requests are copied on heap.
+     * It is only used when "enableLogRequestBody" is true.
+     * By default, this is set to 0, each request caches its body into its own heap buffer.
+     *
+     * @return number of slabs of the body buffer pool, or 0 to disable the pool
+     */
+    int bodyBufferPoolSlabCount() default 0;
+
+    /**
+     * Size in bytes of each slab of the body buffer pool. A body longer than a slab takes more slabs.
+     * By default, this is set to 8192 bytes.
+     *
+     * @return size of a slab of the body buffer pool in bytes
+     */
+    int bodyBufferPoolSlabSizeBytes() default 8192;
+
+    /**
+     * If true, the slabs of the body buffer pool are allocated off heap.
+     * By default, this is set to false.
+     *
+     * @return true to allocate the body buffer pool off heap
+     */
+    boolean bodyBufferPoolDirect() default false;
+
+    /**
+     * Maximum number of bytes of a request body not read by the application that are drained when an exception is
+     * caught, so that the body can be logged. When "requestBodyMaxBytes" is set, the drain stops one byte past it.
+     * A body exceeding this budget is logged as truncated.
+     * It is only used when "enableLogRequestBody" is true.
+     * By default, this is set to 1048576 bytes.
+     *
+     * @return maximum number of unread body bytes drained when an exception is caught
+     */
+    int requestBodyDrainMaxBytes() default 1048576;
+
+    /**
+     * Maximum time in milliseconds the drain of an unread request body waits for bytes the container did not receive yet.
+     * When it runs out, the body is logged as not fully received instead of holding the thread producing the error response.
+     * Reads never block, only the bytes the container already buffered are drained, so this is a hard bound on the drain.
+     * Waiting only helps streams the container keeps filling on its own, such as the non-blocking stream of an async
+     * request: blocking streams are only filled when the body is read, e.g. Tomcat does not buffer the body of a client
+     * that waits for {@code 100 Continue} or sends the body after the headers, which is then logged as not fully received.
+     * It is only used when "enableLogRequestBody" is true.
+     * By default, this is set to 0, only the bytes already buffered are drained.
+     *
+     * @return maximum time in milliseconds to wait for the rest of an unread request body
+     */
+    long requestBodyDrainTimeoutMillis() default 0;
+
+    /**
+     * If true, the entries, exits and durations of the methods of the Spring components (the same ones enriched
+     * with their parameters) invoked by a request are recorded into a fixed-size ring confined to the request thread.
+     * The recording is attached to the exception trace only when the request fails, otherwise it is discarded.
+     * By default, this is set to false.
+     *
+     * @return true to enable the method flight recorder
+     */
+    boolean enableMethodFlightRecorder() default false;
+
+    /**
+     * Number of most recent method entries and exits kept by the method flight recorder for each request.
+     * It is only used when "enableMethodFlightRecorder" is true.
+     * By default, this is set to 64.
+     *
+     * @return capacity of the method flight recorder ring
+     */
+    int methodFlightRecorderCapacity() default 64;
+
+    /**
+     * Base packages the classes enriched with their throwing method parameters must belong to, including their subpackages.
+     * Classes outside of them are not advised, so in "PROXY" weaving mode they are not proxied either.
+     * It is only used when "enableLogThrowingMethodParameters" is true.
+     * By default, this is empty and classes of any package are enriched.
+     *
+     * @return array of base packages of the enriched classes
+     */
+    String[] enricherBasePackages() default {};
+
+    /**
+     * If true, only the classes and methods annotated with {@link UncaughtGuardEnriched} are enriched with their
+     * throwing method parameters, instead of all the classes annotated with @RestController, @Service or @Repository.
+     * It is only used when "enableLogThrowingMethodParameters" is true.
+     * By default, this is set to false.
+     *
+     * @return true to only enrich the classes and methods annotated with {@link UncaughtGuardEnriched}
+     */
+    boolean enricherRequireMarkerAnnotation() default false;
+
+    /**
+     * How the parameters enricher and the method flight recorder are applied to the enriched methods.
+     * With {@link UncaughtGuardWeavingMode#ASPECTJ_LOAD_TIME_WEAVING} no proxy is created, the application declares
+     * the pointcuts in its META-INF/aop.xml and runs with the AspectJ weaver, see {@link UncaughtGuardMethodParametersEnricherAspect}
+     * and {@link UncaughtGuardMethodFlightRecorderAspect}.
+     * It is only used when "enableLogThrowingMethodParameters" or "enableMethodFlightRecorder" is true.
+     * By default, this is set to {@link UncaughtGuardWeavingMode#PROXY}.
+     *
+     * @return the weaving mode of the parameters enricher
+     */
+    UncaughtGuardWeavingMode enricherWeavingMode() default UncaughtGuardWeavingMode.PROXY;
 }
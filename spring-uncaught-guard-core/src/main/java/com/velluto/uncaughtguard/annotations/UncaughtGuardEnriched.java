@@ -0,0 +1,16 @@
+package com.velluto.uncaughtguard.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks the classes and methods whose parameters are captured when they throw an exception,
+ * when {@link EnableUncaughtGuard#enricherRequireMarkerAnnotation()} is true.
+ * <p>
+ * Annotating a class marks all of its methods. Only the marked classes and methods are advised,
+ * so that the other Spring components are not proxied and pay nothing on their successful calls.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UncaughtGuardEnriched {
+}
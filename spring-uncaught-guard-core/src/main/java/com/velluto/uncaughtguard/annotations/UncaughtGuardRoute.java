@@ -0,0 +1,50 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.lang.annotation.*;
+
+/**
+ * Declares a routing rule of the Uncaught Guard, used in {@link EnableUncaughtGuard#routes()}.
+ * <p>
+ * A rule selects the logging strategies that receive the exception traces matching all of its criteria.
+ * Each criterion left empty matches any trace, so a rule with no criteria at all acts as a catch-all.
+ * Rules are evaluated in declaration order and the first matching rule wins.
+ */
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UncaughtGuardRoute {
+    /**
+     * Exception types matched by this rule, including their subclasses.
+     * By default, any exception is matched.
+     *
+     * @return array of matched exception classes
+     */
+    Class<? extends RuntimeException>[] exceptions() default {};
+
+    /**
+     * HTTP methods matched by this rule.
+     * By default, any HTTP method is matched.
+     *
+     * @return array of matched HTTP methods
+     */
+    RequestMethod[] httpMethods() default {};
+
+    /**
+     * Request URI patterns matched by this rule, in the Spring MVC path pattern syntax (e.g. {@code /payments/**}).
+     * By default, any path is matched.
+     *
+     * @return array of matched path patterns
+     */
+    String[] pathPatterns() default {};
+
+    /**
+     * Logging strategies receiving the traces matched by this rule.
+     * Each of them must also be declared in {@link EnableUncaughtGuard#loggingStrategies()}.
+     *
+     * @return array of logging strategy classes
+     */
+    Class<? extends UncaughtGuardLoggingStrategy>[] strategies();
+}
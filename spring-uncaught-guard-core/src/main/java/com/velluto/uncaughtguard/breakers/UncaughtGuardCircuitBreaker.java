@@ -0,0 +1,236 @@
+package com.velluto.uncaughtguard.breakers;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Circuit breaker guarding the calls to a single logging strategy.
+ * <p>
+ * While {@link UncaughtGuardCircuitBreakerState#CLOSED closed}, the outcome of the last calls is recorded in a count-based window.
+ * Once the window holds at least the minimum number of calls and their failure rate reaches the threshold,
+ * the breaker {@link UncaughtGuardCircuitBreakerState#OPEN opens}: for the open duration every call is refused
+ * immediately, without paying the timeouts of an unavailable sink.
+ * Then the breaker turns {@link UncaughtGuardCircuitBreakerState#HALF_OPEN half-open} and lets a limited number
+ * of probe calls through: if all of them succeed it closes again, as soon as one fails it opens for another period.
+ * <p>
+ * Callers must ask for a permission with {@link #tryAcquirePermission()} before each call,
+ * and report its outcome with {@link #onSuccess(long)} or {@link #onFailure(long)}, passing the granted permission,
+ * only if the permission was granted. A permission is bound to the state the breaker was in when it was granted:
+ * the outcome of a call admitted before the breaker changed state, e.g. a slow call admitted while closed
+ * that completes while half-open, is ignored.
+ */
+public class UncaughtGuardCircuitBreaker {
+    private static final Logger logger = Logger.getLogger(UncaughtGuardCircuitBreaker.class.getName());
+
+    /**
+     * Returned by {@link #tryAcquirePermission()} when the call is refused.
+     */
+    public static final long PERMISSION_REFUSED = -1;
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier nanoClock;
+
+    private final boolean[] window;
+    private int windowIndex;
+    private int recordedCalls;
+    private int failedCalls;
+
+    private UncaughtGuardCircuitBreakerState state = UncaughtGuardCircuitBreakerState.CLOSED;
+    // incremented on every state transition, identifies the state a permission was granted in
+    private long generation;
+    private long openedAtNanos;
+    private int permittedProbes;
+    private int succeededProbes;
+
+    private final LongAdder rejectedCallsCount = new LongAdder();
+
+    /**
+     * @param name                 name of the guarded strategy, used in the log messages
+     * @param failureRateThreshold failure rate, in percent, opening the breaker
+     * @param windowSize           number of most recent calls the failure rate is computed on
+     * @param minimumCalls         minimum number of recorded calls before the failure rate is evaluated
+     * @param openDurationMillis   time the breaker stays open before probing the strategy again, in milliseconds
+     * @param halfOpenProbes       number of probe calls that must succeed to close the breaker again
+     */
+    public UncaughtGuardCircuitBreaker(String name, int failureRateThreshold, int windowSize, int minimumCalls, long openDurationMillis, int halfOpenProbes) {
+        this(name, failureRateThreshold, windowSize, minimumCalls, openDurationMillis, halfOpenProbes, System::nanoTime);
+    }
+
+    UncaughtGuardCircuitBreaker(String name, int failureRateThreshold, int windowSize, int minimumCalls, long openDurationMillis, int halfOpenProbes, LongSupplier nanoClock) {
+        if (failureRateThreshold < 1 || failureRateThreshold > 100)
+            throw new IllegalArgumentException("Circuit breaker failure rate threshold must be between 1 and 100, got " + failureRateThreshold);
+        if (windowSize < 1)
+            throw new IllegalArgumentException("Circuit breaker window size must be at least 1, got " + windowSize);
+        if (minimumCalls < 1 || minimumCalls > windowSize)
+            throw new IllegalArgumentException("Circuit breaker minimum calls must be between 1 and the window size " + windowSize + ", got " + minimumCalls);
+        if (openDurationMillis < 1)
+            throw new IllegalArgumentException("Circuit breaker open duration must be at least 1 millisecond, got " + openDurationMillis);
+        if (halfOpenProbes < 1)
+            throw new IllegalArgumentException("Circuit breaker half-open probes must be at least 1, got " + halfOpenProbes);
+
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.openDurationNanos = openDurationMillis * 1_000_000L;
+        this.halfOpenProbes = halfOpenProbes;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Asks for the permission to call the guarded strategy.
+     * Refused calls must be considered failed by the caller, without calling the strategy.
+     *
+     * @return the permission to pass to {@link #onSuccess(long)} or {@link #onFailure(long)} if the strategy can be called,
+     * {@link #PERMISSION_REFUSED} if the breaker is open or all the probes are in flight
+     */
+    public synchronized long tryAcquirePermission() {
+        if (state == UncaughtGuardCircuitBreakerState.OPEN && nanoClock.getAsLong() - openedAtNanos >= openDurationNanos)
+            transitionTo(UncaughtGuardCircuitBreakerState.HALF_OPEN);
+
+        switch (state) {
+            case CLOSED -> {
+                return generation;
+            }
+            case HALF_OPEN -> {
+                if (permittedProbes < halfOpenProbes) {
+                    permittedProbes++;
+                    return generation;
+                }
+            }
+        }
+
+        rejectedCallsCount.increment();
+        return PERMISSION_REFUSED;
+    }
+
+    /**
+     * Tells whether a call would currently be permitted, without asking for a permission nor counting a rejection.
+     *
+     * @return false if the breaker is open or all the probes are in flight, true otherwise
+     */
+    public synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> nanoClock.getAsLong() - openedAtNanos >= openDurationNanos;
+            case HALF_OPEN -> permittedProbes < halfOpenProbes;
+        };
+    }
+
+    /**
+     * Records a successful call of the guarded strategy.
+     *
+     * @param permission the permission the call was granted with
+     */
+    public synchronized void onSuccess(long permission) {
+        // the call was admitted in a previous state, its outcome is not relevant anymore
+        if (permission != generation)
+            return;
+
+        switch (state) {
+            case CLOSED -> record(false);
+            case HALF_OPEN -> {
+                if (++succeededProbes >= halfOpenProbes)
+                    transitionTo(UncaughtGuardCircuitBreakerState.CLOSED);
+            }
+            // no permission is granted while open
+            case OPEN -> {
+            }
+        }
+    }
+
+    /**
+     * Records a failed call of the guarded strategy.
+     *
+     * @param permission the permission the call was granted with
+     */
+    public synchronized void onFailure(long permission) {
+        if (permission != generation)
+            return;
+
+        switch (state) {
+            case CLOSED -> {
+                record(true);
+                if (recordedCalls >= minimumCalls && failedCalls * 100L >= (long) failureRateThreshold * recordedCalls)
+                    transitionTo(UncaughtGuardCircuitBreakerState.OPEN);
+            }
+            case HALF_OPEN -> transitionTo(UncaughtGuardCircuitBreakerState.OPEN);
+            case OPEN -> {
+            }
+        }
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == window.length) {
+            if (window[windowIndex])
+                failedCalls--;
+        } else {
+            recordedCalls++;
+        }
+
+        window[windowIndex] = failed;
+        if (failed)
+            failedCalls++;
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(UncaughtGuardCircuitBreakerState newState) {
+        switch (newState) {
+            case OPEN -> {
+                openedAtNanos = nanoClock.getAsLong();
+                logger.warning("Circuit breaker of logging strategy " + name + " opened, calls are skipped for the next " + openDurationNanos / 1_000_000L + " ms");
+            }
+            case HALF_OPEN -> {
+                permittedProbes = 0;
+                succeededProbes = 0;
+                logger.fine("Circuit breaker of logging strategy " + name + " is half-open, probing the strategy");
+            }
+            case CLOSED -> {
+                recordedCalls = 0;
+                failedCalls = 0;
+                windowIndex = 0;
+                logger.info("Circuit breaker of logging strategy " + name + " closed, the strategy is called again");
+            }
+        }
+        state = newState;
+        generation++;
+    }
+
+    /**
+     * @return the name of the guarded strategy
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the current state of the breaker
+     */
+    public synchronized UncaughtGuardCircuitBreakerState getState() {
+        // report the half-open state as soon as it is reachable, even if no call asked for a permission yet
+        if (state == UncaughtGuardCircuitBreakerState.OPEN && nanoClock.getAsLong() - openedAtNanos >= openDurationNanos)
+            return UncaughtGuardCircuitBreakerState.HALF_OPEN;
+        return state;
+    }
+
+    /**
+     * @return the failure rate of the calls in the window in percent, or -1 if fewer than the minimum calls were recorded
+     */
+    public synchronized float getFailureRate() {
+        if (recordedCalls < minimumCalls)
+            return -1;
+        return failedCalls * 100f / recordedCalls;
+    }
+
+    /**
+     * @return the number of calls refused because the breaker was open or all the probes were in flight
+     */
+    public long getRejectedCallsCount() {
+        return rejectedCallsCount.sum();
+    }
+}
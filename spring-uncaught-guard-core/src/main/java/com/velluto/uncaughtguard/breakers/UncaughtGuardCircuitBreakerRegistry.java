@@ -0,0 +1,80 @@
+package com.velluto.uncaughtguard.breakers;
+
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardSystemErrorLoggingStrategy;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Creates one circuit breaker per configured logging strategy and attaches it to the strategy bean,
+ * so that every call of the strategy goes through its breaker.
+ * <p>
+ * The {@link UncaughtGuardSystemErrorLoggingStrategy} is never guarded, since it is the fallback used
+ * when the other strategies fail or are skipped by an open breaker.
+ * The breakers are exposed to let the application inspect their state, e.g. from a health indicator.
+ */
+@Component
+public class UncaughtGuardCircuitBreakerRegistry {
+    private static final Logger logger = Logger.getLogger(UncaughtGuardCircuitBreakerRegistry.class.getName());
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private UncaughtGuardProperties properties;
+
+    private Map<Class<? extends UncaughtGuardLoggingStrategy>, UncaughtGuardCircuitBreaker> circuitBreakers = Map.of();
+
+    /**
+     * Attaches a circuit breaker to each configured logging strategy, if circuit breakers are enabled.
+     */
+    @PostConstruct
+    public void init() {
+        if (!properties.isEnableCircuitBreakers()) {
+            logger.fine("Circuit breakers are disabled, logging strategies are always called");
+            return;
+        }
+
+        Map<Class<? extends UncaughtGuardLoggingStrategy>, UncaughtGuardCircuitBreaker> breakers = new LinkedHashMap<>();
+        for (Class<? extends UncaughtGuardLoggingStrategy> strategyClass : properties.getLoggingStrategies()) {
+            if (UncaughtGuardSystemErrorLoggingStrategy.class.isAssignableFrom(strategyClass))
+                continue;
+
+            UncaughtGuardCircuitBreaker breaker = new UncaughtGuardCircuitBreaker(
+                    strategyClass.getName(),
+                    properties.getCircuitBreakerFailureRateThreshold(),
+                    properties.getCircuitBreakerWindowSize(),
+                    properties.getCircuitBreakerMinimumCalls(),
+                    properties.getCircuitBreakerOpenDurationMillis(),
+                    properties.getCircuitBreakerHalfOpenProbes()
+            );
+            context.getBean(strategyClass).setCircuitBreaker(breaker);
+            breakers.put(strategyClass, breaker);
+            logger.fine("Attached circuit breaker to logging strategy " + strategyClass.getName());
+        }
+
+        this.circuitBreakers = Collections.unmodifiableMap(breakers);
+    }
+
+    /**
+     * @param strategyClass the class of a configured logging strategy
+     * @return the circuit breaker guarding the strategy, or null if the strategy is not guarded
+     */
+    public UncaughtGuardCircuitBreaker getCircuitBreaker(Class<? extends UncaughtGuardLoggingStrategy> strategyClass) {
+        return circuitBreakers.get(strategyClass);
+    }
+
+    /**
+     * @return the circuit breakers of all the guarded logging strategies, by strategy class
+     */
+    public Map<Class<? extends UncaughtGuardLoggingStrategy>, UncaughtGuardCircuitBreaker> getCircuitBreakers() {
+        return circuitBreakers;
+    }
+}
@@ -0,0 +1,20 @@
+package com.velluto.uncaughtguard.breakers;
+
+/**
+ * States of the circuit breaker guarding a logging strategy.
+ */
+public enum UncaughtGuardCircuitBreakerState {
+    /**
+     * The strategy is called normally and the outcome of each call is recorded in the failure-rate window.
+     */
+    CLOSED,
+    /**
+     * The failure rate exceeded the threshold, the strategy is skipped and its calls fail immediately.
+     */
+    OPEN,
+    /**
+     * The open duration elapsed, a limited number of probe calls are let through to decide
+     * whether the breaker closes again or opens for another period.
+     */
+    HALF_OPEN
+}
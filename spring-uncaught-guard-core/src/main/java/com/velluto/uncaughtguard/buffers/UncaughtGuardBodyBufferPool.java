@@ -0,0 +1,79 @@
+package com.velluto.uncaughtguard.buffers;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size pool of reusable slabs into which the request bodies are cached.
+ * <p>
+ * All the slabs are cut out of a single buffer allocated at startup, on heap or off heap,
+ * and are handed back to the pool when the request completes, so that caching the body of the requests
+ * served successfully allocates no memory. Taking and returning a slab allocates nothing either.
+ * When the pool is exhausted, callers fall back to plain heap buffers, which are not returned to the pool.
+ */
+public class UncaughtGuardBodyBufferPool {
+    private final int slabSizeBytes;
+    private final int slabCount;
+    private final ArrayBlockingQueue<ByteBuffer> freeSlabs;
+    private final LongAdder exhaustedCount = new LongAdder();
+
+    /**
+     * @param slabSizeBytes size of each slab in bytes
+     * @param slabCount     number of slabs in the pool
+     * @param direct        true to allocate the slabs off heap, false to allocate them on heap
+     */
+    public UncaughtGuardBodyBufferPool(int slabSizeBytes, int slabCount, boolean direct) {
+        if (slabSizeBytes < 1)
+            throw new IllegalArgumentException("Body buffer pool slab size must be at least 1 byte, got " + slabSizeBytes);
+        if (slabCount < 1)
+            throw new IllegalArgumentException("Body buffer pool slab count must be at least 1, got " + slabCount);
+        if ((long) slabSizeBytes * slabCount > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Body buffer pool size must not exceed " + Integer.MAX_VALUE + " bytes, got " + (long) slabSizeBytes * slabCount);
+
+        this.slabSizeBytes = slabSizeBytes;
+        this.slabCount = slabCount;
+        this.freeSlabs = new ArrayBlockingQueue<>(slabCount);
+
+        ByteBuffer arena = direct ? ByteBuffer.allocateDirect(slabSizeBytes * slabCount) : ByteBuffer.allocate(slabSizeBytes * slabCount);
+        for (int i = 0; i < slabCount; i++)
+            freeSlabs.add(arena.slice(i * slabSizeBytes, slabSizeBytes));
+    }
+
+    /**
+     * @return a cleared slab of the pool, or null if all the slabs are in use
+     */
+    public ByteBuffer tryAcquire() {
+        ByteBuffer slab = freeSlabs.poll();
+        if (slab == null)
+            exhaustedCount.increment();
+        return slab;
+    }
+
+    /**
+     * @param slab a slab taken from this pool with {@link #tryAcquire()}, not to be used anymore by the caller
+     */
+    public void release(ByteBuffer slab) {
+        slab.clear();
+        freeSlabs.offer(slab);
+    }
+
+    public int getSlabSizeBytes() {
+        return slabSizeBytes;
+    }
+
+    public int getSlabCount() {
+        return slabCount;
+    }
+
+    public int getAvailableSlabsCount() {
+        return freeSlabs.size();
+    }
+
+    /**
+     * @return number of times a slab was requested while all the slabs were in use
+     */
+    public long getExhaustedCount() {
+        return exhaustedCount.sum();
+    }
+}
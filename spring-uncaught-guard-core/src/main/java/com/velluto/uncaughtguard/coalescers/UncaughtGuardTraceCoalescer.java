@@ -0,0 +1,261 @@
+package com.velluto.uncaughtguard.coalescers;
+
+import com.velluto.uncaughtguard.fingerprints.UncaughtGuardExceptionFingerprinter;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Folds the repetitions of the same exception into periodic summaries, so that a storm of identical failures
+ * costs the logging strategies one full trace and one summary per window instead of one trace per request.
+ * <p>
+ * Traces are grouped by their fingerprint. The first trace of a fingerprint opens a window and is delivered in full,
+ * the following ones until the window expires are only counted, keeping a bounded reservoir sample of their trace IDs.
+ * Expired windows are closed by a background thread, emitting a summary if they folded at least one trace,
+ * and the next trace of the same fingerprint opens a new window.
+ * <p>
+ * The number of windows open at the same time is bounded: when the limit is reached the traces of new fingerprints
+ * are delivered in full without being tracked.
+ */
+public class UncaughtGuardTraceCoalescer {
+    public static final String THREAD_NAME = "uncaught-guard-coalescer";
+
+    private static final Logger logger = Logger.getLogger(UncaughtGuardTraceCoalescer.class.getName());
+
+    private final UncaughtGuardExceptionFingerprinter fingerprinter;
+    private final long windowNanos;
+    private final int maxSampledTraceIds;
+    private final int maxOpenWindows;
+    private final Consumer<UncaughtGuardExceptionTraceSummary> summaryDelivery;
+    private final LongSupplier nanoClock;
+    private final ScheduledExecutorService closer;
+
+    private final Map<Long, Window> windows = new ConcurrentHashMap<>();
+
+    private final LongAdder coalescedTracesCount = new LongAdder();
+    private final LongAdder untrackedTracesCount = new LongAdder();
+
+    /**
+     * @param fingerprinter      computes the fingerprint grouping the traces
+     * @param windowMillis       time during which the repetitions of a fingerprint are folded, in milliseconds
+     * @param maxSampledTraceIds maximum number of trace IDs kept in each summary
+     * @param maxOpenWindows     maximum number of fingerprints tracked at the same time
+     * @param summaryDelivery    logs the summaries of the closed windows
+     */
+    public UncaughtGuardTraceCoalescer(
+            UncaughtGuardExceptionFingerprinter fingerprinter,
+            long windowMillis,
+            int maxSampledTraceIds,
+            int maxOpenWindows,
+            Consumer<UncaughtGuardExceptionTraceSummary> summaryDelivery
+    ) {
+        this(fingerprinter, windowMillis, maxSampledTraceIds, maxOpenWindows, summaryDelivery, System::nanoTime, true);
+    }
+
+    UncaughtGuardTraceCoalescer(
+            UncaughtGuardExceptionFingerprinter fingerprinter,
+            long windowMillis,
+            int maxSampledTraceIds,
+            int maxOpenWindows,
+            Consumer<UncaughtGuardExceptionTraceSummary> summaryDelivery,
+            LongSupplier nanoClock,
+            boolean closeInBackground
+    ) {
+        if (windowMillis < 1)
+            throw new IllegalArgumentException("Coalescing window must last at least 1 millisecond, got " + windowMillis);
+        if (maxSampledTraceIds < 0)
+            throw new IllegalArgumentException("Coalescing sampled trace IDs cannot be negative, got " + maxSampledTraceIds);
+        if (maxOpenWindows < 1)
+            throw new IllegalArgumentException("Coalescing open windows must be at least 1, got " + maxOpenWindows);
+
+        this.fingerprinter = fingerprinter;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxSampledTraceIds = maxSampledTraceIds;
+        this.maxOpenWindows = maxOpenWindows;
+        this.summaryDelivery = summaryDelivery;
+        this.nanoClock = nanoClock;
+
+        if (closeInBackground) {
+            this.closer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            });
+            long periodMillis = Math.max(1, windowMillis / 4);
+            closer.scheduleAtFixedRate(this::closeExpiredWindows, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.closer = null;
+        }
+    }
+
+    /**
+     * Records a trace in the window of its fingerprint.
+     *
+     * @param trace the exception trace to record
+     * @return true if the trace must be delivered in full, false if it was folded into the summary of its window
+     */
+    public boolean offer(UncaughtGuardExceptionTrace trace) {
+        long fingerprint = fingerprinter.fingerprint(trace);
+        long now = nanoClock.getAsLong();
+
+        if (!windows.containsKey(fingerprint) && windows.size() >= maxOpenWindows) {
+            untrackedTracesCount.increment();
+            return true;
+        }
+
+        OfferOutcome outcome = new OfferOutcome();
+        windows.compute(fingerprint, (key, window) -> {
+            if (window != null && now - window.openedAtNanos < windowNanos) {
+                window.fold(trace.getTraceId());
+                return window;
+            }
+
+            // the window expired but was not closed by the background thread yet
+            if (window != null)
+                outcome.expiredWindow = window;
+            outcome.delivered = true;
+            return new Window(fingerprint, trace, now);
+        });
+
+        if (outcome.expiredWindow != null)
+            emitSummary(outcome.expiredWindow);
+        if (!outcome.delivered) {
+            coalescedTracesCount.increment();
+            logger.fine("Folded exception trace with assigned Trace ID: " + trace.getTraceId() + " into the summary of fingerprint " + UncaughtGuardExceptionFingerprinter.toHexString(fingerprint));
+        }
+        return outcome.delivered;
+    }
+
+    /**
+     * Closes the windows that expired, emitting their summaries.
+     */
+    void closeExpiredWindows() {
+        long now = nanoClock.getAsLong();
+        for (Long fingerprint : windows.keySet()) {
+            Window[] closed = new Window[1];
+            windows.computeIfPresent(fingerprint, (key, window) -> {
+                if (now - window.openedAtNanos < windowNanos)
+                    return window;
+                closed[0] = window;
+                return null;
+            });
+
+            if (closed[0] != null)
+                emitSummary(closed[0]);
+        }
+    }
+
+    /**
+     * Stops the background thread and emits the summaries of all the open windows, expired or not.
+     */
+    public void shutdown() {
+        if (closer != null)
+            closer.shutdownNow();
+
+        for (Long fingerprint : windows.keySet()) {
+            Window window = windows.remove(fingerprint);
+            if (window != null)
+                emitSummary(window);
+        }
+    }
+
+    private void emitSummary(Window window) {
+        UncaughtGuardExceptionTraceSummary summary = window.toSummary();
+        if (summary == null)
+            return;
+
+        try {
+            summaryDelivery.accept(summary);
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Could not deliver the summary of " + summary.getCoalescedTracesCount() + " exception traces with fingerprint " + summary.getFingerprint(), e);
+        }
+    }
+
+    /**
+     * @return the number of traces folded into summaries instead of being delivered in full
+     */
+    public long getCoalescedTracesCount() {
+        return coalescedTracesCount.sum();
+    }
+
+    /**
+     * @return the number of traces delivered in full because too many fingerprints were already tracked
+     */
+    public long getUntrackedTracesCount() {
+        return untrackedTracesCount.sum();
+    }
+
+    /**
+     * @return the number of fingerprints currently tracked
+     */
+    public int getOpenWindowsCount() {
+        return windows.size();
+    }
+
+    private static final class OfferOutcome {
+        private boolean delivered;
+        private Window expiredWindow;
+    }
+
+    /**
+     * Window of a fingerprint, only accessed inside the compute methods of the windows map,
+     * which lock the entry of its fingerprint.
+     */
+    private final class Window {
+        private final long fingerprint;
+        private final UncaughtGuardExceptionTrace firstTrace;
+        private final long openedAtNanos;
+        private final LocalDateTime openedAt = LocalDateTime.now();
+        private final List<UUID> sampledTraceIds = new ArrayList<>();
+        private long foldedTraces;
+
+        private Window(long fingerprint, UncaughtGuardExceptionTrace firstTrace, long openedAtNanos) {
+            this.fingerprint = fingerprint;
+            this.firstTrace = firstTrace;
+            this.openedAtNanos = openedAtNanos;
+        }
+
+        private void fold(UUID traceId) {
+            foldedTraces++;
+            if (sampledTraceIds.size() < maxSampledTraceIds) {
+                sampledTraceIds.add(traceId);
+                return;
+            }
+
+            // reservoir sampling, every folded trace has the same chance to be part of the sample
+            long slot = ThreadLocalRandom.current().nextLong(foldedTraces);
+            if (slot < maxSampledTraceIds)
+                sampledTraceIds.set((int) slot, traceId);
+        }
+
+        private UncaughtGuardExceptionTraceSummary toSummary() {
+            if (foldedTraces == 0)
+                return null;
+
+            return new UncaughtGuardExceptionTraceSummary(
+                    UncaughtGuardExceptionFingerprinter.toHexString(fingerprint),
+                    firstTrace,
+                    UncaughtGuardExceptionFingerprinter.getExceptionClassName(firstTrace.getException()),
+                    openedAt,
+                    LocalDateTime.now(),
+                    foldedTraces,
+                    sampledTraceIds
+            );
+        }
+    }
+}
@@ -5,10 +5,12 @@ import org.springframework.scheduling.annotation.EnableAsync;
 
 /**
  * Configuration class to enable asynchronous processing in the application.
- * This is necessary for the UncaughtGuard to trigger logging of uncaught exceptions
- * in an asynchronous manner so that the HTTP request-response flow is not blocked.
+ * <p>
+ * The UncaughtGuard no longer relies on @Async, exception traces are logged by its own dispatcher.
+ * This configuration is kept imported so that host applications relying on the UncaughtGuard
+ * to enable @Async keep working unchanged.
  */
 @Configuration
 @EnableAsync
 public class UncaughtGuardAsyncConfiguration {
-}
\ No newline at end of file
+}
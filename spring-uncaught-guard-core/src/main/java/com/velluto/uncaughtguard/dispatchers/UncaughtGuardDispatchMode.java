@@ -0,0 +1,17 @@
+package com.velluto.uncaughtguard.dispatchers;
+
+/**
+ * Selects how exception traces are handed over from the request threads to the logging strategies.
+ */
+public enum UncaughtGuardDispatchMode {
+    /**
+     * Traces are submitted to a dedicated, bounded thread pool.
+     * See {@link UncaughtGuardExecutorTraceDispatcher}.
+     */
+    EXECUTOR,
+    /**
+     * Traces are published into a pre-allocated ring buffer drained by a single consumer thread.
+     * See {@link UncaughtGuardRingBufferTraceDispatcher}.
+     */
+    RING_BUFFER
+}
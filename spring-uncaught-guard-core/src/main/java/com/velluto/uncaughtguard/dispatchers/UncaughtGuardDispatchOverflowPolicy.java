@@ -0,0 +1,22 @@
+package com.velluto.uncaughtguard.dispatchers;
+
+/**
+ * Policy applied by the Uncaught Guard dispatcher when its bounded queue is full
+ * and a new exception trace cannot be accepted for asynchronous logging.
+ */
+public enum UncaughtGuardDispatchOverflowPolicy {
+    /**
+     * The incoming trace is discarded, the traces already queued are kept.
+     */
+    DROP_NEWEST,
+    /**
+     * The oldest queued trace is discarded to make room for the incoming one.
+     */
+    DROP_OLDEST,
+    /**
+     * The incoming trace is logged on the calling thread, but only through the
+     * default {@link com.velluto.uncaughtguard.strategies.UncaughtGuardSystemErrorLoggingStrategy},
+     * so that the request thread never waits for a remote sink.
+     */
+    CALLER_RUNS_DEGRADED
+}
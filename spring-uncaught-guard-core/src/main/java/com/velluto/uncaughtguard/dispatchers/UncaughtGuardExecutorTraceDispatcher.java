@@ -0,0 +1,217 @@
+package com.velluto.uncaughtguard.dispatchers;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Dispatcher backed by a dedicated, bounded thread pool owned by the Uncaught Guard.
+ * <p>
+ * The pool has a fixed number of named worker threads and a bounded queue, so that an exception storm
+ * can neither create an unbounded number of threads nor starve the executors of the host application.
+ * When the queue is full the configured {@link UncaughtGuardDispatchOverflowPolicy} is applied.
+ */
+public class UncaughtGuardExecutorTraceDispatcher implements UncaughtGuardTraceDispatcher {
+    public static final String THREAD_NAME_PREFIX = "uncaught-guard-dispatch-";
+
+    private static final Logger logger = Logger.getLogger(UncaughtGuardExecutorTraceDispatcher.class.getName());
+
+    private final ThreadPoolExecutor executor;
+    private final UncaughtGuardDispatchOverflowPolicy overflowPolicy;
+    private final Consumer<UncaughtGuardExceptionTrace> delivery;
+    private final Consumer<UncaughtGuardExceptionTrace> degradedDelivery;
+    private final Consumer<UncaughtGuardExceptionTrace> dropListener;
+    private final Set<UncaughtGuardExceptionTrace> inFlightTraces = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder rejectedTracesCount = new LongAdder();
+    private final LongAdder droppedTracesCount = new LongAdder();
+    private final LongAdder degradedTracesCount = new LongAdder();
+
+    /**
+     * @param workerThreads    number of threads running the logging strategies
+     * @param queueCapacity    maximum number of traces waiting for a free worker thread
+     * @param overflowPolicy   policy applied when the queue is full
+     * @param delivery         logs a trace with all the configured logging strategies
+     * @param degradedDelivery logs a trace on the calling thread with the cheapest possible strategy
+     */
+    public UncaughtGuardExecutorTraceDispatcher(
+            int workerThreads,
+            int queueCapacity,
+            UncaughtGuardDispatchOverflowPolicy overflowPolicy,
+            Consumer<UncaughtGuardExceptionTrace> delivery,
+            Consumer<UncaughtGuardExceptionTrace> degradedDelivery
+    ) {
+        this(workerThreads, queueCapacity, overflowPolicy, delivery, degradedDelivery, trace -> {
+        });
+    }
+
+    /**
+     * @param workerThreads    number of threads running the logging strategies
+     * @param queueCapacity    maximum number of traces waiting for a free worker thread
+     * @param overflowPolicy   policy applied when the queue is full
+     * @param delivery         logs a trace with all the configured logging strategies
+     * @param degradedDelivery logs a trace on the calling thread with the cheapest possible strategy
+     * @param dropListener     notified on the calling thread of each trace discarded without being logged
+     */
+    public UncaughtGuardExecutorTraceDispatcher(
+            int workerThreads,
+            int queueCapacity,
+            UncaughtGuardDispatchOverflowPolicy overflowPolicy,
+            Consumer<UncaughtGuardExceptionTrace> delivery,
+            Consumer<UncaughtGuardExceptionTrace> degradedDelivery,
+            Consumer<UncaughtGuardExceptionTrace> dropListener
+    ) {
+        if (workerThreads < 1)
+            throw new IllegalArgumentException("Dispatch worker threads must be at least 1, got " + workerThreads);
+        if (queueCapacity < 1)
+            throw new IllegalArgumentException("Dispatch queue capacity must be at least 1, got " + queueCapacity);
+
+        this.overflowPolicy = overflowPolicy;
+        this.delivery = delivery;
+        this.degradedDelivery = degradedDelivery;
+        this.dropListener = dropListener;
+        this.executor = new ThreadPoolExecutor(
+                workerThreads,
+                workerThreads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new DispatchThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Override
+    public void dispatch(UncaughtGuardExceptionTrace trace) {
+        if (tryExecute(trace))
+            return;
+
+        rejectedTracesCount.increment();
+        switch (overflowPolicy) {
+            case DROP_NEWEST -> drop(trace);
+            case DROP_OLDEST -> dropOldestAndRetry(trace);
+            case CALLER_RUNS_DEGRADED -> runDegraded(trace);
+        }
+    }
+
+    private boolean tryExecute(UncaughtGuardExceptionTrace trace) {
+        try {
+            executor.execute(new DeliveryTask(trace));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void drop(UncaughtGuardExceptionTrace trace) {
+        droppedTracesCount.increment();
+        logger.fine("Dispatch queue is full, dropped exception trace with assigned Trace ID: " + trace.getTraceId());
+        dropListener.accept(trace);
+    }
+
+    private void dropOldestAndRetry(UncaughtGuardExceptionTrace trace) {
+        if (executor.isShutdown()) {
+            drop(trace);
+            return;
+        }
+
+        Runnable oldest = executor.getQueue().poll();
+        if (oldest instanceof DeliveryTask oldestTask)
+            drop(oldestTask.trace);
+
+        // another request thread may have taken the freed slot in the meantime, in that case the newest is dropped
+        if (!tryExecute(trace))
+            drop(trace);
+    }
+
+    private void runDegraded(UncaughtGuardExceptionTrace trace) {
+        degradedTracesCount.increment();
+        logger.fine("Dispatch queue is full, logging exception trace with assigned Trace ID: " + trace.getTraceId() + " on the calling thread with degraded capture");
+        degradedDelivery.accept(trace);
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public List<UncaughtGuardExceptionTrace> drain(long timeoutMillis) {
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS))
+                return List.of();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // in flight traces are collected before interrupting the workers, which would remove them on exit,
+        // and again afterward for the tasks taken from the queue in the meantime
+        Set<UncaughtGuardExceptionTrace> undelivered = new LinkedHashSet<>(inFlightTraces);
+        for (Runnable pending : executor.shutdownNow()) {
+            if (pending instanceof DeliveryTask pendingTask)
+                undelivered.add(pendingTask.trace);
+        }
+        undelivered.addAll(inFlightTraces);
+
+        logger.fine("Dispatcher was not drained within " + timeoutMillis + " ms, " + undelivered.size() + " exception traces were not delivered");
+        return new ArrayList<>(undelivered);
+    }
+
+    @Override
+    public long getRejectedTracesCount() {
+        return rejectedTracesCount.sum();
+    }
+
+    @Override
+    public long getDroppedTracesCount() {
+        return droppedTracesCount.sum();
+    }
+
+    @Override
+    public long getDegradedTracesCount() {
+        return degradedTracesCount.sum();
+    }
+
+    private final class DeliveryTask implements Runnable {
+        private final UncaughtGuardExceptionTrace trace;
+
+        private DeliveryTask(UncaughtGuardExceptionTrace trace) {
+            this.trace = trace;
+        }
+
+        @Override
+        public void run() {
+            inFlightTraces.add(trace);
+            try {
+                delivery.accept(trace);
+            } finally {
+                inFlightTraces.remove(trace);
+            }
+        }
+    }
+
+    private static final class DispatchThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
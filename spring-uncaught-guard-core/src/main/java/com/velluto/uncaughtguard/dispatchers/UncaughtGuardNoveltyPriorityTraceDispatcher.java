@@ -0,0 +1,269 @@
+package com.velluto.uncaughtguard.dispatchers;
+
+import com.velluto.uncaughtguard.fingerprints.UncaughtGuardExceptionFingerprinter;
+import com.velluto.uncaughtguard.fingerprints.UncaughtGuardSeenFingerprints;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Dispatcher giving priority to the exceptions never seen before, so that a new failure mode reaches the logging
+ * strategies within milliseconds even when the bulk dispatcher is backlogged with copies of a known one.
+ * <p>
+ * The calling thread only offers each trace to a bounded intake queue. A classifier thread fingerprints the traces
+ * and looks them up in a fixed-size filter of the seen fingerprints: traces with an unseen fingerprint go to a small
+ * priority lane, served by its own thread ahead of the bulk backlog, all the other traces, and the novel ones finding
+ * the priority lane full, are handed to the bulk dispatcher. When the intake queue is full, traces are handed to the
+ * bulk dispatcher directly, without being fingerprinted.
+ * Both threads park while their queue is empty and are unparked by the threads feeding them.
+ * The overflow policy and the counters are the ones of the bulk dispatcher.
+ */
+public class UncaughtGuardNoveltyPriorityTraceDispatcher implements UncaughtGuardTraceDispatcher {
+    public static final String THREAD_NAME = "uncaught-guard-priority-lane";
+    public static final String CLASSIFIER_THREAD_NAME = "uncaught-guard-novelty-classifier";
+
+    private static final Logger logger = Logger.getLogger(UncaughtGuardNoveltyPriorityTraceDispatcher.class.getName());
+
+    private final UncaughtGuardTraceDispatcher bulkDispatcher;
+    private final UncaughtGuardExceptionFingerprinter fingerprinter;
+    private final UncaughtGuardSeenFingerprints seenFingerprints;
+    private final BlockingQueue<UncaughtGuardExceptionTrace> intake;
+    private final BlockingQueue<UncaughtGuardExceptionTrace> priorityLane;
+    private final Consumer<UncaughtGuardExceptionTrace> delivery;
+    private final Thread classifierThread;
+    private final Thread laneThread;
+
+    private final LongAdder priorityTracesCount = new LongAdder();
+
+    // guards the traces taken by the classifier from the intake until they are handed over,
+    // so that a drain giving up on the classifier can take over the trace it holds
+    private final ReentrantLock handoffLock = new ReentrantLock();
+    private UncaughtGuardExceptionTrace classifyingTrace;
+
+    private volatile boolean running = true;
+    private volatile boolean classified;
+    private volatile boolean abandoned;
+    private volatile boolean classifierParked;
+    private volatile boolean laneParked;
+    private volatile UncaughtGuardExceptionTrace inFlightTrace;
+
+    /**
+     * @param bulkDispatcher   dispatcher of the traces with an already seen fingerprint
+     * @param fingerprinter    computes the fingerprint of each trace
+     * @param seenFingerprints filter of the fingerprints already seen
+     * @param intakeCapacity   maximum number of traces waiting to be fingerprinted
+     * @param laneCapacity     maximum number of novel traces waiting in the priority lane
+     * @param delivery         logs a trace with all the configured logging strategies
+     */
+    public UncaughtGuardNoveltyPriorityTraceDispatcher(
+            UncaughtGuardTraceDispatcher bulkDispatcher,
+            UncaughtGuardExceptionFingerprinter fingerprinter,
+            UncaughtGuardSeenFingerprints seenFingerprints,
+            int intakeCapacity,
+            int laneCapacity,
+            Consumer<UncaughtGuardExceptionTrace> delivery
+    ) {
+        if (intakeCapacity < 1)
+            throw new IllegalArgumentException("Novelty intake capacity must be at least 1, got " + intakeCapacity);
+        if (laneCapacity < 1)
+            throw new IllegalArgumentException("Priority lane capacity must be at least 1, got " + laneCapacity);
+
+        this.bulkDispatcher = bulkDispatcher;
+        this.fingerprinter = fingerprinter;
+        this.seenFingerprints = seenFingerprints;
+        this.intake = new ArrayBlockingQueue<>(intakeCapacity);
+        this.priorityLane = new ArrayBlockingQueue<>(laneCapacity);
+        this.delivery = delivery;
+
+        this.classifierThread = new Thread(this::classify, CLASSIFIER_THREAD_NAME);
+        this.classifierThread.setDaemon(true);
+        this.laneThread = new Thread(this::serveLane, THREAD_NAME);
+        this.laneThread.setDaemon(true);
+        this.classifierThread.start();
+        this.laneThread.start();
+    }
+
+    @Override
+    public void dispatch(UncaughtGuardExceptionTrace trace) {
+        if (running && intake.offer(trace)) {
+            if (classifierParked)
+                LockSupport.unpark(classifierThread);
+            return;
+        }
+
+        bulkDispatcher.dispatch(trace);
+    }
+
+    private void classify() {
+        while (true) {
+            UncaughtGuardExceptionTrace trace;
+            handoffLock.lock();
+            try {
+                if (abandoned)
+                    break;
+
+                trace = intake.poll();
+                classifyingTrace = trace;
+            } finally {
+                handoffLock.unlock();
+            }
+
+            if (trace == null) {
+                if (!running)
+                    break;
+
+                classifierParked = true;
+                // re-check after advertising the park, a dispatching thread offering in between will unpark this thread
+                if (running && intake.isEmpty())
+                    LockSupport.park(this);
+                classifierParked = false;
+                continue;
+            }
+
+            boolean novel;
+            try {
+                novel = seenFingerprints.markSeen(fingerprinter.fingerprint(trace));
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Cannot fingerprint exception trace with assigned Trace ID: " + trace.getTraceId() + ", dispatching it to the bulk dispatcher", e);
+                novel = false;
+            }
+
+            handoffLock.lock();
+            try {
+                // the drain gave up on this thread and took over the trace
+                if (abandoned)
+                    break;
+
+                if (novel && priorityLane.offer(trace)) {
+                    priorityTracesCount.increment();
+                    logger.fine("Exception trace with assigned Trace ID: " + trace.getTraceId() + " has an unseen fingerprint, dispatched to the priority lane");
+                    if (laneParked)
+                        LockSupport.unpark(laneThread);
+                } else {
+                    bulkDispatcher.dispatch(trace);
+                }
+                classifyingTrace = null;
+            } finally {
+                handoffLock.unlock();
+            }
+        }
+
+        classified = true;
+        LockSupport.unpark(laneThread);
+    }
+
+    private void serveLane() {
+        while (!abandoned) {
+            UncaughtGuardExceptionTrace trace = priorityLane.poll();
+            if (trace == null) {
+                // the classifier stops offering before it is flagged, so an empty lane is final from then on
+                if (classified && priorityLane.isEmpty())
+                    return;
+
+                laneParked = true;
+                if (!classified && priorityLane.isEmpty())
+                    LockSupport.park(this);
+                laneParked = false;
+                continue;
+            }
+
+            inFlightTrace = trace;
+            try {
+                delivery.accept(trace);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Unexpected error delivering exception trace with assigned Trace ID: " + trace.getTraceId() + " from the priority lane", e);
+            } finally {
+                inFlightTrace = null;
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(classifierThread);
+        bulkDispatcher.shutdown();
+    }
+
+    @Override
+    public List<UncaughtGuardExceptionTrace> drain(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        running = false;
+        LockSupport.unpark(classifierThread);
+
+        // the traces still in the intake are classified before the bulk dispatcher stops accepting them,
+        // then the lane thread keeps delivering the novel traces while the bulk dispatcher drains
+        List<UncaughtGuardExceptionTrace> undelivered = new ArrayList<>();
+        join(classifierThread, deadline);
+        if (classifierThread.isAlive()) {
+            // the classifier is stopped before the bulk dispatcher, which would reject the traces it hands over afterward
+            handoffLock.lock();
+            try {
+                abandoned = true;
+                if (classifyingTrace != null)
+                    undelivered.add(classifyingTrace);
+            } finally {
+                handoffLock.unlock();
+            }
+            intake.drainTo(undelivered);
+        }
+        undelivered.addAll(bulkDispatcher.drain(remainingMillis(deadline)));
+        join(laneThread, deadline);
+
+        if (classifierThread.isAlive() || laneThread.isAlive()) {
+            abandoned = true;
+            UncaughtGuardExceptionTrace inFlight = inFlightTrace;
+            classifierThread.interrupt();
+            laneThread.interrupt();
+            if (inFlight != null)
+                undelivered.add(inFlight);
+        }
+        intake.drainTo(undelivered);
+        priorityLane.drainTo(undelivered);
+        return undelivered;
+    }
+
+    private static void join(Thread thread, long deadline) {
+        try {
+            thread.join(Math.max(1, remainingMillis(deadline)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long remainingMillis(long deadline) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    /**
+     * @return the number of traces dispatched to the priority lane because of their unseen fingerprint
+     */
+    public long getPriorityTracesCount() {
+        return priorityTracesCount.sum();
+    }
+
+    @Override
+    public long getRejectedTracesCount() {
+        return bulkDispatcher.getRejectedTracesCount();
+    }
+
+    @Override
+    public long getDroppedTracesCount() {
+        return bulkDispatcher.getDroppedTracesCount();
+    }
+
+    @Override
+    public long getDegradedTracesCount() {
+        return bulkDispatcher.getDegradedTracesCount();
+    }
+}
@@ -0,0 +1,324 @@
+package com.velluto.uncaughtguard.dispatchers;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Dispatcher backed by a pre-allocated, bounded multi-producer/single-consumer ring buffer.
+ * <p>
+ * Request threads claim a slot with a single CAS on the producer sequence and publish the trace into it,
+ * without allocating any queue node nor taking any lock, except while the dispatcher is shutting down.
+ * A single consumer thread drains the published traces in batches and logs them with the configured strategies,
+ * waiting for new traces according to the selected {@link UncaughtGuardRingBufferWaitStrategy}.
+ * <p>
+ * The ring buffer cannot evict a trace that was already published, so when it is full
+ * {@link UncaughtGuardDispatchOverflowPolicy#DROP_OLDEST} behaves like {@link UncaughtGuardDispatchOverflowPolicy#DROP_NEWEST}.
+ */
+public class UncaughtGuardRingBufferTraceDispatcher implements UncaughtGuardTraceDispatcher {
+    public static final String THREAD_NAME = "uncaught-guard-ring-buffer-consumer";
+
+    private static final Logger logger = Logger.getLogger(UncaughtGuardRingBufferTraceDispatcher.class.getName());
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicReferenceArray<UncaughtGuardExceptionTrace> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<UncaughtGuardExceptionTrace> batch;
+
+    // next sequence to be claimed by a producer, and next sequence to be drained by the consumer
+    private final AtomicLong producerSequence = new AtomicLong();
+    private final AtomicLong consumerSequence = new AtomicLong();
+
+    private final UncaughtGuardDispatchOverflowPolicy overflowPolicy;
+    private final UncaughtGuardRingBufferWaitStrategy waitStrategy;
+    private final Consumer<UncaughtGuardExceptionTrace> delivery;
+    private final Consumer<UncaughtGuardExceptionTrace> degradedDelivery;
+    private final Consumer<UncaughtGuardExceptionTrace> dropListener;
+    private final Thread consumerThread;
+
+    private final LongAdder rejectedTracesCount = new LongAdder();
+    private final LongAdder droppedTracesCount = new LongAdder();
+    private final LongAdder degradedTracesCount = new LongAdder();
+
+    // guards the hand-over of traces from the ring to the batch, so that a drain can take over the pending traces
+    private final ReentrantLock drainLock = new ReentrantLock();
+    // set by the drain once it took over the ring, guarded by the drain lock
+    private boolean swept;
+
+    private volatile boolean running = true;
+    private volatile boolean consumerParked;
+    private volatile boolean abandoned;
+    private volatile UncaughtGuardExceptionTrace inFlightTrace;
+
+    /**
+     * @param capacity         minimum number of slots of the ring buffer, rounded up to the next power of two
+     * @param overflowPolicy   policy applied when the ring buffer is full
+     * @param waitStrategy     strategy used by the consumer thread while the ring buffer is empty
+     * @param delivery         logs a trace with all the configured logging strategies
+     * @param degradedDelivery logs a trace on the calling thread with the cheapest possible strategy
+     */
+    public UncaughtGuardRingBufferTraceDispatcher(
+            int capacity,
+            UncaughtGuardDispatchOverflowPolicy overflowPolicy,
+            UncaughtGuardRingBufferWaitStrategy waitStrategy,
+            Consumer<UncaughtGuardExceptionTrace> delivery,
+            Consumer<UncaughtGuardExceptionTrace> degradedDelivery
+    ) {
+        this(capacity, overflowPolicy, waitStrategy, delivery, degradedDelivery, trace -> {
+        });
+    }
+
+    /**
+     * @param capacity         minimum number of slots of the ring buffer, rounded up to the next power of two
+     * @param overflowPolicy   policy applied when the ring buffer is full
+     * @param waitStrategy     strategy used by the consumer thread while the ring buffer is empty
+     * @param delivery         logs a trace with all the configured logging strategies
+     * @param degradedDelivery logs a trace on the calling thread with the cheapest possible strategy
+     * @param dropListener     notified on the calling thread of each trace discarded without being logged
+     */
+    public UncaughtGuardRingBufferTraceDispatcher(
+            int capacity,
+            UncaughtGuardDispatchOverflowPolicy overflowPolicy,
+            UncaughtGuardRingBufferWaitStrategy waitStrategy,
+            Consumer<UncaughtGuardExceptionTrace> delivery,
+            Consumer<UncaughtGuardExceptionTrace> degradedDelivery,
+            Consumer<UncaughtGuardExceptionTrace> dropListener
+    ) {
+        if (capacity < 1 || capacity > (1 << 30))
+            throw new IllegalArgumentException("Ring buffer capacity must be between 1 and 2^30, got " + capacity);
+
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+        this.batch = new AtomicReferenceArray<>(Math.min(this.capacity, MAX_BATCH_SIZE));
+        this.overflowPolicy = overflowPolicy;
+        this.waitStrategy = waitStrategy;
+        this.delivery = delivery;
+        this.degradedDelivery = degradedDelivery;
+        this.dropListener = dropListener;
+
+        this.consumerThread = new Thread(this::consume, THREAD_NAME);
+        this.consumerThread.setDaemon(true);
+        this.consumerThread.start();
+    }
+
+    @Override
+    public void dispatch(UncaughtGuardExceptionTrace trace) {
+        if (!running) {
+            reject(trace);
+            return;
+        }
+
+        publish(trace);
+    }
+
+    // claims a slot and publishes the trace into it, running may have been reset since it was checked
+    void publish(UncaughtGuardExceptionTrace trace) {
+        long sequence;
+        do {
+            sequence = producerSequence.get();
+            if (sequence - consumerSequence.get() >= capacity) {
+                reject(trace);
+                return;
+            }
+        } while (!producerSequence.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) (sequence & mask);
+        slots.set(index, trace);
+
+        // the slot may have been claimed after the consumer exited and the drain swept the ring
+        if (!running)
+            reclaimIfSwept(index);
+        if (consumerParked)
+            LockSupport.unpark(consumerThread);
+    }
+
+    private void reclaimIfSwept(int index) {
+        UncaughtGuardExceptionTrace orphan;
+        drainLock.lock();
+        try {
+            // before the sweep the trace is still taken by the consumer or by the drain
+            if (!swept)
+                return;
+            orphan = slots.getAndSet(index, null);
+        } finally {
+            drainLock.unlock();
+        }
+
+        if (orphan != null)
+            reject(orphan);
+    }
+
+    private void reject(UncaughtGuardExceptionTrace trace) {
+        rejectedTracesCount.increment();
+        if (overflowPolicy == UncaughtGuardDispatchOverflowPolicy.CALLER_RUNS_DEGRADED) {
+            degradedTracesCount.increment();
+            logger.fine("Ring buffer is full, logging exception trace with assigned Trace ID: " + trace.getTraceId() + " on the calling thread with degraded capture");
+            degradedDelivery.accept(trace);
+            return;
+        }
+
+        droppedTracesCount.increment();
+        logger.fine("Ring buffer is full, dropped exception trace with assigned Trace ID: " + trace.getTraceId());
+        dropListener.accept(trace);
+    }
+
+    private void consume() {
+        long next = consumerSequence.get();
+        while (true) {
+            int drained;
+            drainLock.lock();
+            try {
+                if (abandoned)
+                    return;
+
+                drained = drainBatch(next);
+                if (drained > 0) {
+                    next += drained;
+                    // slots are released before delivering, so that producers are not held back by slow strategies
+                    consumerSequence.set(next);
+                }
+            } finally {
+                drainLock.unlock();
+            }
+
+            if (drained > 0) {
+                deliverBatch(drained);
+                continue;
+            }
+
+            if (!running && producerSequence.get() == next)
+                return;
+
+            idle(next);
+        }
+    }
+
+    private int drainBatch(long next) {
+        int drained = 0;
+        while (drained < batch.length()) {
+            int index = (int) ((next + drained) & mask);
+            UncaughtGuardExceptionTrace trace = slots.get(index);
+            // the slot may be claimed but not yet published, it will be drained on the next round
+            if (trace == null)
+                break;
+
+            slots.lazySet(index, null);
+            batch.lazySet(drained++, trace);
+        }
+        return drained;
+    }
+
+    private void deliverBatch(int size) {
+        for (int i = 0; i < size; i++) {
+            if (abandoned)
+                return;
+
+            UncaughtGuardExceptionTrace trace = batch.get(i);
+            // the trace is published as in flight before leaving the batch, so that a drain always sees it
+            inFlightTrace = trace;
+            batch.set(i, null);
+            try {
+                delivery.accept(trace);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Unexpected error while logging exception trace with assigned Trace ID: " + trace.getTraceId(), e);
+            }
+            inFlightTrace = null;
+        }
+    }
+
+    private void idle(long next) {
+        switch (waitStrategy) {
+            case BUSY_SPIN -> Thread.onSpinWait();
+            case YIELD -> Thread.yield();
+            case PARK -> {
+                consumerParked = true;
+                // re-check after advertising the park, a producer publishing in between will unpark this thread
+                if (running && slots.get((int) (next & mask)) == null)
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                consumerParked = false;
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(consumerThread);
+    }
+
+    @Override
+    public List<UncaughtGuardExceptionTrace> drain(long timeoutMillis) {
+        shutdown();
+        try {
+            if (timeoutMillis > 0)
+                consumerThread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // the ring is swept even if the consumer exited, a producer may have published after its last check
+        boolean consumerAlive = consumerThread.isAlive();
+        List<UncaughtGuardExceptionTrace> undelivered = new ArrayList<>();
+        drainLock.lock();
+        try {
+            abandoned = true;
+            swept = true;
+            for (long sequence = consumerSequence.get(); sequence < producerSequence.get(); sequence++) {
+                UncaughtGuardExceptionTrace trace = slots.getAndSet((int) (sequence & mask), null);
+                if (trace != null)
+                    undelivered.add(trace);
+            }
+            for (int i = 0; i < batch.length(); i++) {
+                UncaughtGuardExceptionTrace trace = batch.getAndSet(i, null);
+                if (trace != null)
+                    undelivered.add(trace);
+            }
+            UncaughtGuardExceptionTrace trace = inFlightTrace;
+            if (trace != null && !undelivered.contains(trace))
+                undelivered.add(trace);
+        } finally {
+            drainLock.unlock();
+        }
+        if (!consumerAlive)
+            return undelivered;
+
+        consumerThread.interrupt();
+        logger.fine("Ring buffer was not drained within " + timeoutMillis + " ms, " + undelivered.size() + " exception traces were not delivered");
+        return undelivered;
+    }
+
+    /**
+     * @return the number of slots of the ring buffer
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long getRejectedTracesCount() {
+        return rejectedTracesCount.sum();
+    }
+
+    @Override
+    public long getDroppedTracesCount() {
+        return droppedTracesCount.sum();
+    }
+
+    @Override
+    public long getDegradedTracesCount() {
+        return degradedTracesCount.sum();
+    }
+}
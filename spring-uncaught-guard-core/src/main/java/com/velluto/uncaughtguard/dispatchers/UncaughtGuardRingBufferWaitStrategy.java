@@ -0,0 +1,20 @@
+package com.velluto.uncaughtguard.dispatchers;
+
+/**
+ * Strategy used by the ring buffer consumer thread while there are no traces to drain.
+ * It trades CPU usage for the latency between the publication of a trace and its logging.
+ */
+public enum UncaughtGuardRingBufferWaitStrategy {
+    /**
+     * The consumer spins on the CPU, lowest latency but a fully busy core.
+     */
+    BUSY_SPIN,
+    /**
+     * The consumer yields the CPU to other threads between checks.
+     */
+    YIELD,
+    /**
+     * The consumer parks and is woken up by the publishing threads, lowest CPU usage.
+     */
+    PARK
+}
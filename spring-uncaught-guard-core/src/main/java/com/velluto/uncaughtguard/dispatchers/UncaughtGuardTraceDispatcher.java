@@ -0,0 +1,51 @@
+package com.velluto.uncaughtguard.dispatchers;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+
+import java.util.List;
+
+/**
+ * A dispatcher hands exception traces from the request threads over to the threads
+ * that actually run the configured logging strategies.
+ * <p>
+ * Implementations are bounded: when they cannot accept a trace they apply their overflow policy
+ * and account for it in the exposed counters, they never block the calling thread.
+ */
+public interface UncaughtGuardTraceDispatcher {
+    /**
+     * Hands the given exception trace over for asynchronous logging.
+     *
+     * @param trace the exception trace to log
+     */
+    void dispatch(UncaughtGuardExceptionTrace trace);
+
+    /**
+     * Stops accepting new traces and releases the dispatcher threads.
+     */
+    void shutdown();
+
+    /**
+     * Stops accepting new traces and waits up to the given timeout for the queued and in-flight traces to be delivered.
+     * The traces that were not delivered within the timeout are abandoned by the dispatcher and returned to the caller.
+     * A trace that was being delivered when the timeout expired is returned as well, so it may end up delivered twice.
+     *
+     * @param timeoutMillis maximum time to wait for the delivery of the pending traces, in milliseconds
+     * @return the traces that were not delivered within the timeout
+     */
+    List<UncaughtGuardExceptionTrace> drain(long timeoutMillis);
+
+    /**
+     * @return the number of traces that could not be queued because the dispatcher was full
+     */
+    long getRejectedTracesCount();
+
+    /**
+     * @return the number of traces that were discarded without being logged
+     */
+    long getDroppedTracesCount();
+
+    /**
+     * @return the number of traces that were logged on the calling thread with a degraded capture
+     */
+    long getDegradedTracesCount();
+}
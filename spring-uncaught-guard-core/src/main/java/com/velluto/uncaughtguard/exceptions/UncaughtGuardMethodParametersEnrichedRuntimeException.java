@@ -3,7 +3,8 @@ package com.velluto.uncaughtguard.exceptions;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.velluto.uncaughtguard.models.UncaughtGuardThrowingMethod;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -12,6 +13,10 @@ import java.util.List;
  * <p>
  * It extends RuntimeException and maintains a reference to the original exception,
  * alongside a list of methods that were involved in throwing the exception.
+ * <p>
+ * It only carries the throwing methods up to the exception handler, so it does not record its own stack trace
+ * nor suppressed exceptions: the stack trace that matters is the one of the original exception.
+ * A single instance is rethrown through all the layers the exception crosses, see {@link #enrich}.
  */
 public class UncaughtGuardMethodParametersEnrichedRuntimeException extends RuntimeException {
     private final List<UncaughtGuardThrowingMethod> throwingMethods;
@@ -22,12 +27,34 @@ public class UncaughtGuardMethodParametersEnrichedRuntimeException extends Runti
             String throwingMethodSignature,
             Object[] throwingMethodArgs
     ) {
-        super();
+        super(null, null, false, false);
 
         this.originalExceptionReference = getOriginalExceptionReference(exception);
         this.throwingMethods = buildThrowingMethodsTrace(exception, throwingMethodSignature, throwingMethodArgs);
     }
 
+    /**
+     * Adds a throwing method to the exception, reusing the received exception if it is already enriched,
+     * so that crossing a further layer costs neither a new exception nor a stack trace.
+     *
+     * @param exception               the exception thrown by the method
+     * @param throwingMethodSignature the signature of the method
+     * @param throwingMethodArgs      the arguments passed to the method
+     * @return the enriched exception to rethrow
+     */
+    public static UncaughtGuardMethodParametersEnrichedRuntimeException enrich(
+            RuntimeException exception,
+            String throwingMethodSignature,
+            Object[] throwingMethodArgs
+    ) {
+        if (exception instanceof UncaughtGuardMethodParametersEnrichedRuntimeException enrichedRuntimeException) {
+            enrichedRuntimeException.throwingMethods.add(new UncaughtGuardThrowingMethod(throwingMethodSignature, throwingMethodArgs));
+            return enrichedRuntimeException;
+        }
+
+        return new UncaughtGuardMethodParametersEnrichedRuntimeException(exception, throwingMethodSignature, throwingMethodArgs);
+    }
+
     private static RuntimeException getOriginalExceptionReference(RuntimeException receivedException) {
         if (receivedException instanceof UncaughtGuardMethodParametersEnrichedRuntimeException enrichedRuntimeException)
             return enrichedRuntimeException.getOriginalExceptionReference();
@@ -40,18 +67,17 @@ public class UncaughtGuardMethodParametersEnrichedRuntimeException extends Runti
             String throwingMethodSignature,
             Object[] throwingMethodArgs
     ) {
-        List<UncaughtGuardThrowingMethod> throwingMethods;
+        // each exception owns its list, the throwing methods of an enriched exception are copied and not shared
+        List<UncaughtGuardThrowingMethod> throwingMethods = new ArrayList<>();
         if (receivedException instanceof UncaughtGuardMethodParametersEnrichedRuntimeException enrichedRuntimeException)
-            throwingMethods = enrichedRuntimeException.getThrowingMethods();
-        else
-            throwingMethods = new LinkedList<>();
+            throwingMethods.addAll(enrichedRuntimeException.throwingMethods);
 
         throwingMethods.add(new UncaughtGuardThrowingMethod(throwingMethodSignature, throwingMethodArgs));
         return throwingMethods;
     }
 
     public List<UncaughtGuardThrowingMethod> getThrowingMethods() {
-        return throwingMethods;
+        return Collections.unmodifiableList(throwingMethods);
     }
 
     public String getJSONSerializedThrowingMethods() {
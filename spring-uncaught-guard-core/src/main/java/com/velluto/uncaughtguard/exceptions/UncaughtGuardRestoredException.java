@@ -0,0 +1,28 @@
+package com.velluto.uncaughtguard.exceptions;
+
+/**
+ * Stands in for an exception that was recorded in a serialized exception trace and read back,
+ * e.g. when redelivering spilled traces after a restart.
+ * <p>
+ * The original exception class may not be instantiable, so this exception keeps its class name, message,
+ * stack trace and cause chain, and prints itself as the original exception would.
+ */
+public class UncaughtGuardRestoredException extends RuntimeException {
+    private final String originalClassName;
+
+    public UncaughtGuardRestoredException(String originalClassName, String message, StackTraceElement[] stackTrace, Throwable cause) {
+        super(message, cause, false, true);
+        this.originalClassName = originalClassName;
+        setStackTrace(stackTrace);
+    }
+
+    public String getOriginalClassName() {
+        return originalClassName;
+    }
+
+    @Override
+    public String toString() {
+        String message = getLocalizedMessage();
+        return message != null ? originalClassName + ": " + message : originalClassName;
+    }
+}
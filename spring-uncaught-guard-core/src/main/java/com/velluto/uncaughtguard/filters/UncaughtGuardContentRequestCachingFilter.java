@@ -1,23 +1,214 @@
 package com.velluto.uncaughtguard.filters;
 
+import com.velluto.uncaughtguard.buffers.UncaughtGuardBodyBufferPool;
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import com.velluto.uncaughtguard.wrappers.UncaughtGuardBodyDrainer;
+import com.velluto.uncaughtguard.wrappers.UncaughtGuardBoundedContentCachingRequestWrapper;
+import com.velluto.uncaughtguard.wrappers.UncaughtGuardPooledBodyCachingRequestWrapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
 import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
+/**
+ * Wraps the requests whose body can be copied into the exception traces, so that the body is cached while
+ * the application reads it.
+ * <p>
+ * Only the first "requestBodyMaxBytes" bytes of the body are cached. When captured body content types are configured,
+ * requests of any other content type, e.g. binary or multipart uploads, are not wrapped and their body is never buffered.
+ * <p>
+ * Requests can also be selected by HTTP method and request URI pattern, so that routes whose body is never looked at,
+ * e.g. health checks, static assets or read endpoints, are not wrapped and pay nothing on the success path.
+ * Methods and patterns are compiled once at startup, excluded ones win over included ones.
+ * <p>
+ * When a body buffer pool is configured, bodies are cached into reusable slabs of the pool, handed back
+ * when the request completes, instead of a new heap buffer per request. Form posts are still cached on heap,
+ * since their body may be consumed through the request parameters rather than the input stream.
+ */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class UncaughtGuardContentRequestCachingFilter extends OncePerRequestFilter {
+    private static final Logger logger = Logger.getLogger(UncaughtGuardContentRequestCachingFilter.class.getName());
+
+    @Autowired
+    private UncaughtGuardProperties properties;
+
+    private List<MediaType> capturedBodyContentTypes = List.of();
+    private int requestBodyMaxBytes;
+    private int requestBodyDrainMaxBytes = UncaughtGuardBodyDrainer.DEFAULT_MAX_BYTES;
+    private long requestBodyDrainTimeoutMillis = UncaughtGuardBodyDrainer.DEFAULT_TIMEOUT_MILLIS;
+    private Set<String> includedHttpMethods = Set.of();
+    private Set<String> excludedHttpMethods = Set.of();
+    private PathPattern[] includedPathPatterns = new PathPattern[0];
+    private PathPattern[] excludedPathPatterns = new PathPattern[0];
+    private UncaughtGuardBodyBufferPool bodyBufferPool;
+
+    /**
+     * Compiles the captured body content types, HTTP methods and path patterns and reads the body size limit
+     * and drain budget declared in the properties.
+     */
+    @PostConstruct
+    public void init() {
+        this.capturedBodyContentTypes = Arrays.stream(properties.getCapturedBodyContentTypes()).map(MediaType::parseMediaType).toList();
+        this.requestBodyMaxBytes = properties.getRequestBodyMaxBytes();
+        this.requestBodyDrainMaxBytes = properties.getRequestBodyDrainMaxBytes();
+        this.requestBodyDrainTimeoutMillis = properties.getRequestBodyDrainTimeoutMillis();
+        this.includedHttpMethods = compileHttpMethods(properties.getBodyCaptureIncludedHttpMethods());
+        this.excludedHttpMethods = compileHttpMethods(properties.getBodyCaptureExcludedHttpMethods());
+        this.includedPathPatterns = compilePathPatterns(properties.getBodyCaptureIncludedPathPatterns());
+        this.excludedPathPatterns = compilePathPatterns(properties.getBodyCaptureExcludedPathPatterns());
+        if (properties.getBodyBufferPoolSlabCount() > 0) {
+            this.bodyBufferPool = new UncaughtGuardBodyBufferPool(properties.getBodyBufferPoolSlabSizeBytes(), properties.getBodyBufferPoolSlabCount(), properties.isBodyBufferPoolDirect());
+            logger.fine("Allocated Uncaught Guard body buffer pool of " + bodyBufferPool.getSlabCount() + " slabs of " + bodyBufferPool.getSlabSizeBytes() + " bytes" + (properties.isBodyBufferPoolDirect() ? " off heap" : ""));
+        }
+        logger.fine("Compiled Uncaught Guard request caching filter with captured body content types " + capturedBodyContentTypes + " and maximum body size " + requestBodyMaxBytes);
+    }
+
+    private static Set<String> compileHttpMethods(RequestMethod[] methods) {
+        return Arrays.stream(methods).map(RequestMethod::name).collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static PathPattern[] compilePathPatterns(String[] patterns) {
+        return Arrays.stream(patterns).map(PathPatternParser.defaultInstance::parse).toArray(PathPattern[]::new);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !isRouteCaptured(request) || !isBodyCaptured(request);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
-        filterChain.doFilter(wrappedRequest, response);
+        if (bodyBufferPool == null || isFormPost(request)) {
+            UncaughtGuardBoundedContentCachingRequestWrapper wrappedRequest = new UncaughtGuardBoundedContentCachingRequestWrapper(request, requestBodyMaxBytes, requestBodyDrainMaxBytes, requestBodyDrainTimeoutMillis);
+            filterChain.doFilter(wrappedRequest, response);
+            return;
+        }
+
+        UncaughtGuardPooledBodyCachingRequestWrapper wrappedRequest = new UncaughtGuardPooledBodyCachingRequestWrapper(request, bodyBufferPool, requestBodyMaxBytes, requestBodyDrainMaxBytes, requestBodyDrainTimeoutMillis);
+        try {
+            filterChain.doFilter(wrappedRequest, response);
+        } finally {
+            // an asynchronous request may still read its body, its slabs are handed back once it completes
+            if (request.isAsyncStarted())
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(wrappedRequest));
+            else
+                wrappedRequest.release();
+        }
+    }
+
+    private static boolean isFormPost(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return "POST".equals(request.getMethod()) && contentType != null && contentType.contains(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+    }
+
+    /**
+     * @return the pool of the slabs caching the request bodies, or null if bodies are cached on heap
+     */
+    public UncaughtGuardBodyBufferPool getBodyBufferPool() {
+        return bodyBufferPool;
+    }
+
+    /**
+     * @param request the incoming request, of which only the request line is read
+     * @return true if the HTTP method and the path within the application of the request are selected for body capture, false otherwise
+     */
+    boolean isRouteCaptured(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (excludedHttpMethods.contains(method) || (!includedHttpMethods.isEmpty() && !includedHttpMethods.contains(method)))
+            return false;
+
+        if (includedPathPatterns.length == 0 && excludedPathPatterns.length == 0)
+            return true;
+
+        PathContainer path = RequestPath.parse(request.getRequestURI(), request.getContextPath()).pathWithinApplication();
+        if (matchesAny(path, excludedPathPatterns))
+            return false;
+
+        return includedPathPatterns.length == 0 || matchesAny(path, includedPathPatterns);
+    }
+
+    private static boolean matchesAny(PathContainer path, PathPattern[] patterns) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param request the incoming request
+     * @return true if the content type of the request is selected for body capture, false otherwise
+     */
+    boolean isBodyCaptured(HttpServletRequest request) {
+        if (capturedBodyContentTypes.isEmpty())
+            return true;
+
+        String contentType = request.getContentType();
+        if (contentType == null)
+            return false;
+
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            for (MediaType capturedBodyContentType : capturedBodyContentTypes) {
+                if (capturedBodyContentType.includes(mediaType))
+                    return true;
+            }
+        } catch (InvalidMediaTypeException e) {
+            logger.fine("Request body with invalid content type " + contentType + " will not be captured");
+        }
+
+        return false;
+    }
+
+    private static final class ReleasingAsyncListener implements AsyncListener {
+        private final UncaughtGuardPooledBodyCachingRequestWrapper wrappedRequest;
+
+        private ReleasingAsyncListener(UncaughtGuardPooledBodyCachingRequestWrapper wrappedRequest) {
+            this.wrappedRequest = wrappedRequest;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            wrappedRequest.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            wrappedRequest.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            wrappedRequest.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // the asynchronous processing was restarted, keep listening for its completion
+            event.getAsyncContext().addListener(this);
+        }
     }
 }
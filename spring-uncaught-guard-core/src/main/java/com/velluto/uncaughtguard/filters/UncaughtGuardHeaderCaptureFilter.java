@@ -0,0 +1,146 @@
+package com.velluto.uncaughtguard.filters;
+
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Selects which request headers are copied into the exception traces, and how much of them.
+ * <p>
+ * Captured and excluded header names are matched case-insensitively, either exactly or by prefix
+ * when they end with {@code *} (e.g. {@code x-b3-*}). Excluded headers win over captured ones.
+ * The matchers are compiled once at startup; when only exact names are captured, the request is asked for
+ * those headers only, so the other headers are never enumerated, and they are recorded with lower case names.
+ * <p>
+ * Captured values longer than the maximum value length are cut and end with {@link #TRUNCATION_MARKER},
+ * and headers stop being captured once the total size of names and values would exceed the maximum total bytes.
+ * Header values are ISO-8859-1 strings, so their length in characters is their size in bytes.
+ * Until configured, all headers are captured in full.
+ */
+@Component
+public class UncaughtGuardHeaderCaptureFilter {
+    public static final String TRUNCATION_MARKER = "...[truncated]";
+
+    private static final Logger logger = Logger.getLogger(UncaughtGuardHeaderCaptureFilter.class.getName());
+    private static final String[] NO_HEADERS = new String[0];
+
+    @Autowired
+    private UncaughtGuardProperties properties;
+
+    private String[] capturedHeaderNames = NO_HEADERS;
+    private Set<String> capturedHeaders = Set.of();
+    private String[] capturedHeaderPrefixes = NO_HEADERS;
+    private Set<String> excludedHeaders = Set.of();
+    private String[] excludedHeaderPrefixes = NO_HEADERS;
+    private int headerMaxValueLength;
+    private int headersMaxTotalBytes;
+
+    /**
+     * Compiles the captured and excluded headers and the limits declared in the properties.
+     */
+    @PostConstruct
+    public void init() {
+        configure(properties.getCapturedHeaders(), properties.getExcludedHeaders(), properties.getHeaderMaxValueLength(), properties.getHeadersMaxTotalBytes());
+    }
+
+    void configure(String[] captured, String[] excluded, int headerMaxValueLength, int headersMaxTotalBytes) {
+        Set<String> capturedNames = new LinkedHashSet<>();
+        List<String> capturedPrefixes = new ArrayList<>();
+        splitNamesAndPrefixes(captured, capturedNames, capturedPrefixes);
+
+        Set<String> excludedNames = new HashSet<>();
+        List<String> excludedPrefixes = new ArrayList<>();
+        splitNamesAndPrefixes(excluded, excludedNames, excludedPrefixes);
+
+        this.capturedHeaders = Set.copyOf(capturedNames);
+        this.capturedHeaderPrefixes = capturedPrefixes.toArray(NO_HEADERS);
+        this.excludedHeaders = Set.copyOf(excludedNames);
+        this.excludedHeaderPrefixes = excludedPrefixes.toArray(NO_HEADERS);
+        // the request can be asked for the captured headers directly only if no prefix has to be matched
+        this.capturedHeaderNames = capturedPrefixes.isEmpty() ? capturedNames.toArray(NO_HEADERS) : NO_HEADERS;
+        this.headerMaxValueLength = headerMaxValueLength;
+        this.headersMaxTotalBytes = headersMaxTotalBytes;
+
+        logger.fine("Compiled Uncaught Guard header capture filter with captured headers " + Arrays.toString(captured) + " and excluded headers " + Arrays.toString(excluded));
+    }
+
+    private static void splitNamesAndPrefixes(String[] patterns, Set<String> names, List<String> prefixes) {
+        for (String pattern : patterns) {
+            String normalized = pattern.trim().toLowerCase(Locale.ROOT);
+            if (normalized.endsWith("*"))
+                prefixes.add(normalized.substring(0, normalized.length() - 1));
+            else
+                names.add(normalized);
+        }
+    }
+
+    /**
+     * @param name a header name, in any case
+     * @return true if the header is to be copied into the exception traces, false otherwise
+     */
+    public boolean isCaptured(String name) {
+        String normalized = name.toLowerCase(Locale.ROOT);
+        if (excludedHeaders.contains(normalized) || startsWithAny(normalized, excludedHeaderPrefixes))
+            return false;
+
+        if (capturedHeaders.isEmpty() && capturedHeaderPrefixes.length == 0)
+            return true;
+
+        return capturedHeaders.contains(normalized) || startsWithAny(normalized, capturedHeaderPrefixes);
+    }
+
+    private static boolean startsWithAny(String name, String[] prefixes) {
+        for (String prefix : prefixes) {
+            if (name.startsWith(prefix))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Copies the captured headers of the given request, applying the value and total size limits.
+     *
+     * @param request the request that did throw the uncaught exception
+     * @return the captured header names and values, alternated
+     */
+    public String[] captureHeaders(HttpServletRequest request) {
+        List<String> namesAndValues = new ArrayList<>();
+        long totalBytes = 0;
+
+        Iterator<String> names = capturedHeaderNames.length > 0
+                ? Arrays.asList(capturedHeaderNames).iterator()
+                : enumerateHeaderNames(request);
+
+        while (names.hasNext()) {
+            String name = names.next();
+            if (!isCaptured(name))
+                continue;
+
+            String value = request.getHeader(name);
+            if (value == null)
+                continue;
+
+            if (headerMaxValueLength > 0 && value.length() > headerMaxValueLength)
+                value = value.substring(0, headerMaxValueLength) + TRUNCATION_MARKER;
+
+            totalBytes += name.length() + value.length();
+            if (headersMaxTotalBytes > 0 && totalBytes > headersMaxTotalBytes)
+                break;
+
+            namesAndValues.add(name);
+            namesAndValues.add(value);
+        }
+
+        return namesAndValues.toArray(NO_HEADERS);
+    }
+
+    private static Iterator<String> enumerateHeaderNames(HttpServletRequest request) {
+        Enumeration<String> headerNames = request.getHeaderNames();
+        return headerNames != null ? headerNames.asIterator() : Collections.emptyIterator();
+    }
+}
@@ -0,0 +1,34 @@
+package com.velluto.uncaughtguard.filters;
+
+import com.velluto.uncaughtguard.advices.UncaughtGuardMethodFlightRecorderAdvice;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Bounds the method flight recording to the request: recording starts when the request enters the filter chain
+ * and the ring is reset and handed back to the pool when the request leaves it, so that methods invoked outside of requests are never recorded
+ * and nothing is retained between requests.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class UncaughtGuardMethodFlightRecorderFilter extends OncePerRequestFilter {
+    @Autowired
+    private UncaughtGuardMethodFlightRecorderAdvice flightRecorderAdvice;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        flightRecorderAdvice.startRecording();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            flightRecorderAdvice.stopRecording();
+        }
+    }
+}
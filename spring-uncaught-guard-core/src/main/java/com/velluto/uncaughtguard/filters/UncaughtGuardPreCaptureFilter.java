@@ -0,0 +1,82 @@
+package com.velluto.uncaughtguard.filters;
+
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import com.velluto.uncaughtguard.utils.UncaughtGuardExceptionUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * First stage of the handling of an uncaught exception, deciding whether it has to be captured at all.
+ * <p>
+ * It only looks at the raw exception and at the request line (HTTP method and request URI),
+ * so that excluded exceptions and excluded traffic are rethrown before any header, query parameter
+ * or body is copied into an exception trace.
+ * The excluded HTTP methods and path patterns are compiled once at startup.
+ */
+@Component
+public class UncaughtGuardPreCaptureFilter {
+    private static final Logger logger = Logger.getLogger(UncaughtGuardPreCaptureFilter.class.getName());
+
+    @Autowired
+    private UncaughtGuardProperties properties;
+    @Autowired
+    private UncaughtGuardExceptionUtils exceptionUtils;
+
+    private Set<String> excludedHttpMethods = Set.of();
+    private PathPattern[] excludedPathPatterns = new PathPattern[0];
+
+    /**
+     * Compiles the excluded HTTP methods and path patterns declared in the properties.
+     */
+    @PostConstruct
+    public void init() {
+        Set<String> methods = new HashSet<>();
+        for (RequestMethod method : properties.getExcludedHttpMethods())
+            methods.add(method.name());
+
+        this.excludedHttpMethods = Set.copyOf(methods);
+        this.excludedPathPatterns = Arrays.stream(properties.getExcludedPathPatterns()).map(PathPatternParser.defaultInstance::parse).toArray(PathPattern[]::new);
+        logger.fine("Compiled Uncaught Guard pre-capture filter with excluded HTTP methods " + excludedHttpMethods + " and excluded path patterns " + Arrays.toString(excludedPathPatterns));
+    }
+
+    /**
+     * Checks whether the given exception, thrown while serving the given request, must be left unhandled.
+     *
+     * @param e       the uncaught exception
+     * @param request the request being served, of which only the request line is read
+     * @return true if the exception must not be captured and is to be thrown again, false otherwise
+     */
+    public boolean isExcluded(RuntimeException e, HttpServletRequest request) {
+        if (exceptionUtils.isExceptionExcluded(e))
+            return true;
+
+        if (!excludedHttpMethods.isEmpty() && excludedHttpMethods.contains(request.getMethod())) {
+            logger.fine("Requests with HTTP method " + request.getMethod() + " are specified to be excluded from handling, exception will be thrown again");
+            return true;
+        }
+
+        if (excludedPathPatterns.length > 0) {
+            PathContainer path = RequestPath.parse(request.getRequestURI(), request.getContextPath()).pathWithinApplication();
+            for (PathPattern pattern : excludedPathPatterns) {
+                if (pattern.matches(path)) {
+                    logger.fine("Requests to path " + request.getRequestURI() + " are specified to be excluded from handling, exception will be thrown again");
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,122 @@
+package com.velluto.uncaughtguard.fingerprints;
+
+import com.velluto.uncaughtguard.exceptions.UncaughtGuardRestoredException;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+
+import java.util.regex.Pattern;
+
+/**
+ * Computes a stable fingerprint identifying the failure mode of an exception trace,
+ * so that the repetitions of the same failure can be recognized whatever their request specific data.
+ * <p>
+ * The fingerprint is a 64-bit hash of:
+ * <ul>
+ *     <li>the exception class name, the original one for restored exceptions</li>
+ *     <li>the exception message, normalized by replacing UUIDs, hexadecimal and decimal numbers with placeholders</li>
+ *     <li>the class and method names of the top stack frames, without line numbers, so that it survives a redeploy</li>
+ *     <li>the route, made of the HTTP method and the path with its identifier-like segments replaced by a placeholder</li>
+ * </ul>
+ */
+public class UncaughtGuardExceptionFingerprinter {
+    private static final Pattern UUID_PATTERN = Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final Pattern HEX_PATTERN = Pattern.compile("\\b(0x[0-9a-fA-F]+|[0-9a-fA-F]*[0-9][0-9a-fA-F]*[a-fA-F][0-9a-fA-F]*|[0-9a-fA-F]*[a-fA-F][0-9a-fA-F]*[0-9][0-9a-fA-F]*)\\b");
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("\\d+");
+    private static final Pattern IDENTIFIER_SEGMENT_PATTERN = Pattern.compile("[0-9a-fA-F-]*\\d[0-9a-fA-F-]*");
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int frames;
+
+    /**
+     * @param frames number of top stack frames taken into account
+     */
+    public UncaughtGuardExceptionFingerprinter(int frames) {
+        if (frames < 0)
+            throw new IllegalArgumentException("Fingerprint frames cannot be negative, got " + frames);
+
+        this.frames = frames;
+    }
+
+    /**
+     * @param trace the exception trace to fingerprint
+     * @return the fingerprint of the failure mode of the trace
+     */
+    public long fingerprint(UncaughtGuardExceptionTrace trace) {
+        RuntimeException exception = trace.getException();
+
+        long hash = FNV_OFFSET_BASIS;
+        hash = hash(hash, getExceptionClassName(exception));
+        hash = hash(hash, normalizeMessage(exception.getMessage()));
+
+        StackTraceElement[] stackTrace = exception.getStackTrace();
+        for (int i = 0; i < Math.min(frames, stackTrace.length); i++) {
+            hash = hash(hash, stackTrace[i].getClassName());
+            hash = hash(hash, stackTrace[i].getMethodName());
+        }
+
+        hash = hash(hash, trace.getMethod());
+        hash = hash(hash, normalizePath(trace.getPath()));
+        return hash;
+    }
+
+    /**
+     * @param exception an exception, possibly restored from a serialized trace
+     * @return the name of the class of the exception, the original one for restored exceptions
+     */
+    public static String getExceptionClassName(RuntimeException exception) {
+        if (exception instanceof UncaughtGuardRestoredException restoredException)
+            return restoredException.getOriginalClassName();
+        return exception.getClass().getName();
+    }
+
+    /**
+     * @param message an exception message, possibly null
+     * @return the message with UUIDs, hexadecimal and decimal numbers replaced by placeholders, empty if null
+     */
+    public static String normalizeMessage(String message) {
+        if (message == null)
+            return "";
+
+        String normalized = UUID_PATTERN.matcher(message).replaceAll("<uuid>");
+        normalized = HEX_PATTERN.matcher(normalized).replaceAll("<hex>");
+        return NUMBER_PATTERN.matcher(normalized).replaceAll("<n>");
+    }
+
+    /**
+     * @param path a request path, possibly null
+     * @return the path with the segments looking like identifiers replaced by a placeholder, empty if null
+     */
+    public static String normalizePath(String path) {
+        if (path == null)
+            return "";
+
+        String[] segments = path.split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            if (IDENTIFIER_SEGMENT_PATTERN.matcher(segments[i]).matches())
+                segments[i] = "{}";
+        }
+        return String.join("/", segments);
+    }
+
+    /**
+     * @param fingerprint a fingerprint
+     * @return the fingerprint as a 16 digits hexadecimal string
+     */
+    public static String toHexString(long fingerprint) {
+        return String.format("%016x", fingerprint);
+    }
+
+    private static long hash(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= FNV_PRIME;
+            }
+        }
+        // separator, so that moving characters between two fields changes the hash
+        hash ^= 0xff;
+        hash *= FNV_PRIME;
+        return hash;
+    }
+}
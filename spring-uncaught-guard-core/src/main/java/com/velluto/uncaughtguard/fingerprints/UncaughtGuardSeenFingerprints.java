@@ -0,0 +1,95 @@
+package com.velluto.uncaughtguard.fingerprints;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Logger;
+
+/**
+ * Lock-free Bloom filter remembering the exception fingerprints already seen, in a fixed amount of memory.
+ * <p>
+ * A fingerprint reported as unseen was certainly never recorded, while a fingerprint reported as seen may be
+ * a false positive. The false positive rate grows with the number of distinct fingerprints recorded, so once half
+ * of the bits are set the filter is cleared: the fingerprints seen before are then reported as unseen once more,
+ * which keeps the filter useful however many distinct exceptions the application accumulates.
+ */
+public class UncaughtGuardSeenFingerprints {
+    private static final Logger logger = Logger.getLogger(UncaughtGuardSeenFingerprints.class.getName());
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final AtomicLong setBits = new AtomicLong();
+
+    /**
+     * @param bits   size of the filter in bits, rounded up to a multiple of 64
+     * @param hashes number of bits set for each fingerprint
+     */
+    public UncaughtGuardSeenFingerprints(int bits, int hashes) {
+        if (bits < 64)
+            throw new IllegalArgumentException("Seen fingerprints filter must have at least 64 bits, got " + bits);
+        if (hashes < 1)
+            throw new IllegalArgumentException("Seen fingerprints filter hashes must be at least 1, got " + hashes);
+
+        this.words = new AtomicLongArray((bits + 63) / 64);
+        this.bits = words.length() * 64L;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Records a fingerprint as seen.
+     *
+     * @param fingerprint the fingerprint to record
+     * @return true if the fingerprint was never seen before, false if it was probably seen already
+     */
+    public boolean markSeen(long fingerprint) {
+        if (setBits.get() * 2 >= bits)
+            clear();
+
+        // double hashing over a mixed fingerprint, so that similar fingerprints do not share their bits
+        long mixed = mix(fingerprint);
+        long h1 = mixed;
+        long h2 = (mixed >>> 32) | 1;
+
+        boolean unseen = false;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if (setBit(bit))
+                unseen = true;
+        }
+        return unseen;
+    }
+
+    private boolean setBit(long bit) {
+        int index = (int) (bit >>> 6);
+        long mask = 1L << (bit & 63);
+        while (true) {
+            long word = words.get(index);
+            if ((word & mask) != 0)
+                return false;
+            if (words.compareAndSet(index, word, word | mask)) {
+                setBits.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    private void clear() {
+        for (int i = 0; i < words.length(); i++)
+            words.set(i, 0);
+        setBits.set(0);
+        logger.fine("Seen fingerprints filter was half full, it was cleared");
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    /**
+     * @return the ratio of bits set, between 0 and 0.5
+     */
+    public double getFillRatio() {
+        return (double) setBits.get() / bits;
+    }
+}
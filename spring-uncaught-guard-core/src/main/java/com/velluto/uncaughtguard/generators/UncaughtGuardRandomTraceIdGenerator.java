@@ -0,0 +1,18 @@
+package com.velluto.uncaughtguard.generators;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.UUID;
+
+/**
+ * Generates random (version 4) UUIDs as trace IDs.
+ * <p>
+ * This is the default generator. Random UUIDs are drawn from a shared {@link java.security.SecureRandom},
+ * see {@link UncaughtGuardTimeOrderedTraceIdGenerator} for a contention free, time ordered alternative.
+ */
+public class UncaughtGuardRandomTraceIdGenerator implements UncaughtGuardTraceIdGenerator {
+    @Override
+    public UUID generate(HttpServletRequest request) {
+        return UUID.randomUUID();
+    }
+}
@@ -0,0 +1,103 @@
+package com.velluto.uncaughtguard.generators;
+
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates time ordered (version 7) UUIDs as trace IDs.
+ * <p>
+ * The 48 most significant bits hold the Unix timestamp in milliseconds, so trace IDs sort by creation time and
+ * index well in file and Kafka stores. They are followed by a 12 bit sequence, incremented for each trace ID generated
+ * by the same thread within the same millisecond, and by random bits drawn from {@link ThreadLocalRandom}.
+ * All the state is thread local, no lock or shared random generator is involved.
+ * <p>
+ * When a node ID is configured it takes the 16 most significant random bits, which tells apart the trace IDs
+ * generated by the different instances of an application and leaves 46 random bits per trace ID.
+ */
+public class UncaughtGuardTimeOrderedTraceIdGenerator implements UncaughtGuardTraceIdGenerator {
+    public static final int NO_NODE_ID = -1;
+    public static final int MAX_NODE_ID = 0xFFFF;
+
+    private static final int MAX_SEQUENCE = 0xFFF;
+    private static final long VARIANT_BITS = 0x8000000000000000L;
+
+    private final LongSupplier millisClock;
+    private final ThreadLocal<Sequence> sequences = ThreadLocal.withInitial(Sequence::new);
+
+    @Autowired(required = false)
+    private UncaughtGuardProperties properties;
+
+    private int nodeId;
+
+    public UncaughtGuardTimeOrderedTraceIdGenerator() {
+        this(NO_NODE_ID);
+    }
+
+    /**
+     * @param nodeId ID of the application instance, from 0 to {@value #MAX_NODE_ID}, or {@value #NO_NODE_ID} for none
+     */
+    public UncaughtGuardTimeOrderedTraceIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    UncaughtGuardTimeOrderedTraceIdGenerator(int nodeId, LongSupplier millisClock) {
+        if (nodeId < NO_NODE_ID || nodeId > MAX_NODE_ID)
+            throw new IllegalArgumentException("Trace ID node ID must be between " + NO_NODE_ID + " and " + MAX_NODE_ID + ", got " + nodeId);
+
+        this.nodeId = nodeId;
+        this.millisClock = millisClock;
+    }
+
+    @PostConstruct
+    void init() {
+        if (properties != null)
+            this.nodeId = properties.getTraceIdNodeId();
+    }
+
+    @Override
+    public UUID generate(HttpServletRequest request) {
+        return generate();
+    }
+
+    /**
+     * @return a new time ordered trace ID
+     */
+    public UUID generate() {
+        Sequence sequence = sequences.get();
+        sequence.advance(millisClock.getAsLong());
+
+        long mostSigBits = (sequence.millis & 0xFFFFFFFFFFFFL) << 16 | 0x7000L | sequence.counter;
+
+        long random = ThreadLocalRandom.current().nextLong();
+        long leastSigBits = nodeId == NO_NODE_ID
+                ? VARIANT_BITS | (random & 0x3FFFFFFFFFFFFFFFL)
+                : VARIANT_BITS | ((long) nodeId << 46) | (random & 0x3FFFFFFFFFFFL);
+
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static final class Sequence {
+        private long millis = Long.MIN_VALUE;
+        private int counter;
+
+        private void advance(long now) {
+            if (now > millis) {
+                millis = now;
+                // starting from a random point in the lower half keeps room for the following increments
+                counter = ThreadLocalRandom.current().nextInt(MAX_SEQUENCE / 2 + 1);
+            } else if (counter < MAX_SEQUENCE) {
+                counter++;
+            } else {
+                // sequence exhausted or clock moved backwards, borrow the next millisecond to stay ordered
+                millis++;
+                counter = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.velluto.uncaughtguard.generators;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.UUID;
+
+/**
+ * Generates the trace IDs assigned to the uncaught exceptions, returned to the clients and attached to the exception traces.
+ * <p>
+ * Implementations are called on the request threads for every uncaught exception, sampled out ones included,
+ * so they must be thread safe and cheap. They can be selected with the "traceIdGenerator" annotation property
+ * of @EnableUncaughtGuard and are registered as Spring beans, so they can autowire other beans.
+ */
+public interface UncaughtGuardTraceIdGenerator {
+    /**
+     * @param request the request that did throw the uncaught exception
+     * @return the trace ID to assign to the uncaught exception
+     */
+    UUID generate(HttpServletRequest request);
+}
@@ -0,0 +1,92 @@
+package com.velluto.uncaughtguard.generators;
+
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+/**
+ * Reuses the trace ID of the inbound W3C Trace Context {@code traceparent} header as trace ID,
+ * so that the uncaught exceptions can be correlated with the distributed traces they belong to.
+ * <p>
+ * Requests without a valid {@code traceparent} header get a trace ID from the fallback generator,
+ * a {@link UncaughtGuardTimeOrderedTraceIdGenerator} by default.
+ * Note that all the uncaught exceptions of the same distributed trace, e.g. those of retried requests,
+ * share the same trace ID.
+ */
+public class UncaughtGuardTraceparentTraceIdGenerator implements UncaughtGuardTraceIdGenerator {
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    // version "00" header: 2 hex version, 32 hex trace ID, 16 hex parent ID, 2 hex flags, separated by dashes
+    private static final int TRACEPARENT_LENGTH = 55;
+
+    @Autowired(required = false)
+    private UncaughtGuardProperties properties;
+
+    private UncaughtGuardTraceIdGenerator fallbackGenerator;
+
+    public UncaughtGuardTraceparentTraceIdGenerator() {
+        this(new UncaughtGuardTimeOrderedTraceIdGenerator());
+    }
+
+    /**
+     * @param fallbackGenerator generates the trace IDs of the requests without a valid traceparent header
+     */
+    public UncaughtGuardTraceparentTraceIdGenerator(UncaughtGuardTraceIdGenerator fallbackGenerator) {
+        this.fallbackGenerator = fallbackGenerator;
+    }
+
+    @PostConstruct
+    void init() {
+        if (properties != null)
+            this.fallbackGenerator = new UncaughtGuardTimeOrderedTraceIdGenerator(properties.getTraceIdNodeId());
+    }
+
+    @Override
+    public UUID generate(HttpServletRequest request) {
+        UUID traceId = parseTraceparent(request.getHeader(TRACEPARENT_HEADER));
+        return traceId != null ? traceId : fallbackGenerator.generate(request);
+    }
+
+    /**
+     * @param traceparent value of a traceparent header, may be null
+     * @return the trace ID carried by the header, or null if the header is not valid
+     */
+    static UUID parseTraceparent(String traceparent) {
+        if (traceparent == null)
+            return null;
+
+        String header = traceparent.trim();
+        if (header.length() < TRACEPARENT_LENGTH
+                || header.charAt(2) != '-' || header.charAt(35) != '-' || header.charAt(52) != '-'
+                || !isLowerHex(header, 0, 2) || !isLowerHex(header, 3, 35))
+            return null;
+
+        // version ff is forbidden, version 00 has no trailing fields, later versions may append some
+        String version = header.substring(0, 2);
+        if (version.equals("ff") || (version.equals("00") && header.length() != TRACEPARENT_LENGTH))
+            return null;
+        if (header.length() > TRACEPARENT_LENGTH && header.charAt(TRACEPARENT_LENGTH) != '-')
+            return null;
+
+        long mostSigBits = Long.parseUnsignedLong(header, 3, 19, 16);
+        long leastSigBits = Long.parseUnsignedLong(header, 19, 35, 16);
+
+        // all zeros trace ID is invalid
+        if (mostSigBits == 0 && leastSigBits == 0)
+            return null;
+
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static boolean isLowerHex(String value, int beginIndex, int endIndex) {
+        for (int i = beginIndex; i < endIndex; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f'))
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,214 @@
+package com.velluto.uncaughtguard.invokers;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardBatchLoggingStrategy;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+import java.util.logging.Logger;
+
+/**
+ * Accumulates the traces routed to {@link UncaughtGuardBatchLoggingStrategy batch logging strategies} into batches,
+ * one per strategy, and hands the other strategies over to the wrapped invoker.
+ * <p>
+ * A batch is flushed as soon as it reaches the maximum number of traces or the maximum estimated size,
+ * by the thread adding the last trace, or when its first trace has waited for the maximum linger time,
+ * by a dedicated flusher thread. Flushed batches are logged through the wrapped invoker, so that batch strategies run
+ * with the same isolation and deadline as any other strategy call, and the flushing thread is only held as long as
+ * the configured execution mode holds it. The completion callback of a trace is called once the wrapped invoker
+ * and all the batches holding the trace are done with it.
+ */
+public class UncaughtGuardBatchingStrategyInvoker implements UncaughtGuardStrategyInvoker {
+    public static final String FLUSHER_THREAD_NAME = "uncaught-guard-batch-flusher";
+
+    private static final Logger logger = Logger.getLogger(UncaughtGuardBatchingStrategyInvoker.class.getName());
+
+    private final UncaughtGuardStrategyInvoker delegate;
+    private final int maxBatchSize;
+    private final long maxBatchBytes;
+    private final long lingerMillis;
+    private final Map<UncaughtGuardLoggingStrategy, Batch> batches = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor flusher;
+
+    /**
+     * @param delegate      invoker running the strategies that do not support batches
+     * @param maxBatchSize  maximum number of traces of a batch
+     * @param maxBatchBytes maximum estimated size of a batch in bytes
+     * @param lingerMillis  maximum time the first trace of a batch waits before the batch is flushed, in milliseconds
+     */
+    public UncaughtGuardBatchingStrategyInvoker(UncaughtGuardStrategyInvoker delegate, int maxBatchSize, long maxBatchBytes, long lingerMillis) {
+        if (maxBatchSize < 1)
+            throw new IllegalArgumentException("Maximum batch size must be at least 1, got " + maxBatchSize);
+        if (maxBatchBytes < 1)
+            throw new IllegalArgumentException("Maximum batch bytes must be at least 1, got " + maxBatchBytes);
+        if (lingerMillis < 0)
+            throw new IllegalArgumentException("Batch linger time cannot be negative, got " + lingerMillis);
+
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchBytes = maxBatchBytes;
+        this.lingerMillis = lingerMillis;
+
+        this.flusher = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, FLUSHER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public void invoke(UncaughtGuardExceptionTrace trace, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion) {
+        List<UncaughtGuardLoggingStrategy> singleTraceStrategies = new ArrayList<>(strategies.size());
+        for (UncaughtGuardLoggingStrategy strategy : strategies) {
+            if (!(strategy instanceof UncaughtGuardBatchLoggingStrategy))
+                singleTraceStrategies.add(strategy);
+        }
+
+        if (singleTraceStrategies.size() == strategies.size()) {
+            delegate.invoke(trace, strategies, onCompletion);
+            return;
+        }
+
+        UncaughtGuardStrategyInvocationCompletion completion = new UncaughtGuardStrategyInvocationCompletion(strategies.size(), onCompletion);
+        if (!singleTraceStrategies.isEmpty())
+            delegate.invoke(trace, singleTraceStrategies, successfulLoggingCount -> completion.complete(singleTraceStrategies.size(), successfulLoggingCount));
+
+        for (UncaughtGuardLoggingStrategy strategy : strategies) {
+            if (strategy instanceof UncaughtGuardBatchLoggingStrategy) {
+                logger.fine("Adding exception trace with assigned Trace ID: " + trace.getTraceId() + " to the batch of logging strategy " + strategy.getClass().getSimpleName());
+                batches.computeIfAbsent(strategy, Batch::new).add(trace, completion);
+            }
+        }
+    }
+
+    /**
+     * Summaries are rare, one per fingerprint and window, so they are never batched: all the strategies,
+     * including the batch ones, log them through the wrapped invoker.
+     */
+    @Override
+    public void invokeSummary(UncaughtGuardExceptionTraceSummary summary, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion) {
+        delegate.invokeSummary(summary, strategies, onCompletion);
+    }
+
+    @Override
+    public void invokeBatch(List<UncaughtGuardExceptionTrace> traces, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion) {
+        delegate.invokeBatch(traces, strategies, onCompletion);
+    }
+
+    /**
+     * Flushes all the pending batches on the calling thread, then stops the flusher and the wrapped invoker.
+     */
+    @Override
+    public void shutdown() {
+        batches.values().forEach(Batch::flush);
+        flusher.shutdownNow();
+        delegate.shutdown();
+    }
+
+    /**
+     * Flushes all the pending batches on the calling thread, if the deadline allows it,
+     * then stops the flusher and the wrapped invoker within the remaining time.
+     * Batches that are not flushed are abandoned.
+     */
+    @Override
+    public void shutdown(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (Batch batch : batches.values()) {
+            if (System.nanoTime() - deadline < 0)
+                batch.flush();
+        }
+        flusher.shutdownNow();
+        delegate.shutdown(Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+    }
+
+    private final class Batch {
+        private final UncaughtGuardLoggingStrategy strategy;
+        private final UncaughtGuardBatchLoggingStrategy batchStrategy;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private List<BatchEntry> entries = new ArrayList<>();
+        private long bytes;
+        private ScheduledFuture<?> lingerFlush;
+
+        private Batch(UncaughtGuardLoggingStrategy strategy) {
+            this.strategy = strategy;
+            this.batchStrategy = (UncaughtGuardBatchLoggingStrategy) strategy;
+        }
+
+        private void add(UncaughtGuardExceptionTrace trace, UncaughtGuardStrategyInvocationCompletion completion) {
+            long traceBytes = batchStrategy.estimateBatchBytes(trace);
+            List<BatchEntry> full = null;
+
+            lock.lock();
+            try {
+                entries.add(new BatchEntry(trace, completion));
+                bytes += traceBytes;
+                if (entries.size() >= maxBatchSize || bytes >= maxBatchBytes)
+                    full = take();
+                else if (entries.size() == 1)
+                    lingerFlush = flusher.schedule(this::flush, lingerMillis, TimeUnit.MILLISECONDS);
+            } finally {
+                lock.unlock();
+            }
+
+            if (full != null)
+                deliver(full);
+        }
+
+        private void flush() {
+            List<BatchEntry> pending;
+            lock.lock();
+            try {
+                pending = take();
+            } finally {
+                lock.unlock();
+            }
+            deliver(pending);
+        }
+
+        private List<BatchEntry> take() {
+            List<BatchEntry> taken = entries;
+            entries = new ArrayList<>();
+            bytes = 0;
+            if (lingerFlush != null) {
+                lingerFlush.cancel(false);
+                lingerFlush = null;
+            }
+            return taken;
+        }
+
+        private void deliver(List<BatchEntry> batch) {
+            if (batch.isEmpty())
+                return;
+
+            List<UncaughtGuardExceptionTrace> traces = new ArrayList<>(batch.size());
+            for (BatchEntry entry : batch)
+                traces.add(entry.trace);
+
+            delegate.invokeBatch(traces, List.of(strategy), successfulLoggingCount -> {
+                for (BatchEntry entry : batch)
+                    entry.completion.complete(successfulLoggingCount > 0);
+            });
+        }
+    }
+
+    private static final class BatchEntry {
+        private final UncaughtGuardExceptionTrace trace;
+        private final UncaughtGuardStrategyInvocationCompletion completion;
+
+        private BatchEntry(UncaughtGuardExceptionTrace trace, UncaughtGuardStrategyInvocationCompletion completion) {
+            this.trace = trace;
+            this.completion = completion;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.velluto.uncaughtguard.invokers;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Invokes each logging strategy inside its own bulkhead: a dedicated worker pool with its own bounded queue,
+ * so that a slow or unreachable sink can only exhaust its own resources and never delays the other strategies.
+ * <p>
+ * Every call has a deadline, measured from the moment it is handed over to the bulkhead.
+ * A call that is still queued or running when its deadline expires is counted as failed and, if running, interrupted.
+ * A call that cannot be queued because its bulkhead is full fails immediately.
+ * The completion callback is called once every bulkhead has either finished or timed out the call for the trace.
+ */
+public class UncaughtGuardBulkheadStrategyInvoker implements UncaughtGuardStrategyInvoker {
+    public static final String THREAD_NAME_PREFIX = "uncaught-guard-bulkhead-";
+    public static final String TIMER_THREAD_NAME = "uncaught-guard-bulkhead-timer";
+
+    private static final Logger logger = Logger.getLogger(UncaughtGuardBulkheadStrategyInvoker.class.getName());
+
+    private final int workerThreads;
+    private final int queueCapacity;
+    private final long callTimeoutMillis;
+    private final Map<Class<?>, ThreadPoolExecutor> bulkheads = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor timer;
+
+    private final LongAdder rejectedCallsCount = new LongAdder();
+    private final LongAdder timedOutCallsCount = new LongAdder();
+    private volatile boolean abandoned;
+
+    /**
+     * @param workerThreads     number of worker threads of each strategy bulkhead
+     * @param queueCapacity     maximum number of calls waiting for a free worker in each strategy bulkhead
+     * @param callTimeoutMillis deadline of each strategy call, in milliseconds
+     */
+    public UncaughtGuardBulkheadStrategyInvoker(int workerThreads, int queueCapacity, long callTimeoutMillis) {
+        if (workerThreads < 1)
+            throw new IllegalArgumentException("Bulkhead worker threads must be at least 1, got " + workerThreads);
+        if (queueCapacity < 1)
+            throw new IllegalArgumentException("Bulkhead queue capacity must be at least 1, got " + queueCapacity);
+        if (callTimeoutMillis < 1)
+            throw new IllegalArgumentException("Strategy call timeout must be at least 1 millisecond, got " + callTimeoutMillis);
+
+        this.workerThreads = workerThreads;
+        this.queueCapacity = queueCapacity;
+        this.callTimeoutMillis = callTimeoutMillis;
+
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, TIMER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public void invoke(UncaughtGuardExceptionTrace trace, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion) {
+        invoke("exception trace with assigned Trace ID: " + trace.getTraceId(), strategies, strategy -> strategy.callLog(trace), onCompletion);
+    }
+
+    @Override
+    public void invokeSummary(UncaughtGuardExceptionTraceSummary summary, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion) {
+        invoke("summary of exception traces with fingerprint: " + summary.getFingerprint(), strategies, strategy -> strategy.callLogSummary(summary), onCompletion);
+    }
+
+    @Override
+    public void invokeBatch(List<UncaughtGuardExceptionTrace> traces, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion) {
+        invoke("batch of " + traces.size() + " exception traces", strategies, strategy -> strategy.callLogBatch(traces), onCompletion);
+    }
+
+    private void invoke(String logged, List<UncaughtGuardLoggingStrategy> strategies, Predicate<UncaughtGuardLoggingStrategy> call, IntConsumer onCompletion) {
+        if (strategies.isEmpty()) {
+            onCompletion.accept(0);
+            return;
+        }
+
+        UncaughtGuardStrategyInvocationCompletion completion = new UncaughtGuardStrategyInvocationCompletion(strategies.size(), onCompletion);
+        for (UncaughtGuardLoggingStrategy strategy : strategies)
+            submit(logged, strategy, call, completion);
+    }
+
+    private void submit(String logged, UncaughtGuardLoggingStrategy strategy, Predicate<UncaughtGuardLoggingStrategy> loggingCall, UncaughtGuardStrategyInvocationCompletion completion) {
+        String strategyName = strategy.getClass().getSimpleName();
+        BulkheadCall call = new BulkheadCall(strategy, loggingCall, completion);
+
+        Future<?> future;
+        try {
+            future = bulkheadOf(strategy).submit(call);
+        } catch (RejectedExecutionException e) {
+            rejectedCallsCount.increment();
+            logger.warning("Bulkhead of logging strategy " + strategyName + " is full, " + logged + " will not be logged by it");
+            call.finish(false);
+            return;
+        }
+
+        logger.fine("Logging " + logged + " using specified logging strategy " + strategyName + " in its bulkhead");
+        call.timeout = timer.schedule(() -> {
+            if (call.claim()) {
+                timedOutCallsCount.increment();
+                logger.warning("Logging strategy " + strategyName + " did not log " + logged + " within " + callTimeoutMillis + " ms");
+                future.cancel(true);
+                completion.complete(false);
+            }
+        }, callTimeoutMillis, TimeUnit.MILLISECONDS);
+
+        // the call may have completed before its timeout was scheduled
+        if (call.finished.get())
+            call.timeout.cancel(false);
+    }
+
+    private ThreadPoolExecutor bulkheadOf(UncaughtGuardLoggingStrategy strategy) {
+        return bulkheads.computeIfAbsent(strategy.getClass(), strategyClass -> {
+            AtomicInteger threadIndex = new AtomicInteger();
+            String threadNamePrefix = THREAD_NAME_PREFIX + strategyClass.getSimpleName() + "-";
+            return new ThreadPoolExecutor(
+                    workerThreads,
+                    workerThreads,
+                    0L,
+                    TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, threadNamePrefix + threadIndex.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy()
+            );
+        });
+    }
+
+    @Override
+    public void shutdown() {
+        bulkheads.values().forEach(ThreadPoolExecutor::shutdown);
+        timer.shutdownNow();
+    }
+
+    /**
+     * Stops accepting calls and waits for the queued and running calls of every bulkhead until the deadline,
+     * while their own call deadlines still apply. The calls left after the deadline are dropped from the queues
+     * or interrupted, and their completion callbacks are not called.
+     */
+    @Override
+    public void shutdown(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        bulkheads.values().forEach(ThreadPoolExecutor::shutdown);
+
+        boolean terminated = true;
+        try {
+            for (ThreadPoolExecutor bulkhead : bulkheads.values())
+                terminated &= bulkhead.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            terminated = false;
+        }
+
+        if (!terminated) {
+            abandoned = true;
+            int droppedCalls = bulkheads.values().stream().mapToInt(bulkhead -> bulkhead.shutdownNow().size()).sum();
+            logger.warning("Logging strategy bulkheads did not finish within " + timeoutMillis + " ms, " + droppedCalls + " queued calls were dropped and the running ones interrupted");
+        }
+        timer.shutdownNow();
+    }
+
+    /**
+     * @return the number of strategy calls that failed because their bulkhead was full
+     */
+    public long getRejectedCallsCount() {
+        return rejectedCallsCount.sum();
+    }
+
+    /**
+     * @return the number of strategy calls that failed because they did not complete within their deadline
+     */
+    public long getTimedOutCallsCount() {
+        return timedOutCallsCount.sum();
+    }
+
+    private final class BulkheadCall implements Runnable {
+        private final UncaughtGuardLoggingStrategy strategy;
+        private final Predicate<UncaughtGuardLoggingStrategy> loggingCall;
+        private final UncaughtGuardStrategyInvocationCompletion completion;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile ScheduledFuture<?> timeout;
+
+        private BulkheadCall(UncaughtGuardLoggingStrategy strategy, Predicate<UncaughtGuardLoggingStrategy> loggingCall, UncaughtGuardStrategyInvocationCompletion completion) {
+            this.strategy = strategy;
+            this.loggingCall = loggingCall;
+            this.completion = completion;
+        }
+
+        @Override
+        public void run() {
+            // the deadline may have expired while the call was waiting in the queue
+            if (finished.get())
+                return;
+
+            boolean loggingSuccessful = loggingCall.test(strategy);
+            if (finish(loggingSuccessful)) {
+                ScheduledFuture<?> pendingTimeout = timeout;
+                if (pendingTimeout != null)
+                    pendingTimeout.cancel(false);
+            }
+        }
+
+        /**
+         * Claims the right to report the outcome of the call, only the first of the worker and the timer gets it.
+         *
+         * @return true if the outcome must be reported by the caller
+         */
+        private boolean claim() {
+            return finished.compareAndSet(false, true);
+        }
+
+        private boolean finish(boolean loggingSuccessful) {
+            // calls interrupted by the shutdown are abandoned, they are not reported as failed
+            if (!claim() || abandoned)
+                return false;
+
+            completion.complete(loggingSuccessful);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.velluto.uncaughtguard.invokers;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+
+/**
+ * Single platform thread running the completion callbacks of the strategy invocations that finish on a virtual thread.
+ * <p>
+ * A completion callback may log the trace with the fallback strategy, which declares
+ * {@link com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy#mayPinVirtualThreads()},
+ * so it must never run on a virtual thread. The thread is started on demand and stops once idle.
+ */
+class UncaughtGuardPlatformCompletionExecutor implements Executor {
+    private static final Logger logger = Logger.getLogger(UncaughtGuardPlatformCompletionExecutor.class.getName());
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * @param threadName name of the platform thread running the callbacks
+     */
+    UncaughtGuardPlatformCompletionExecutor(String threadName) {
+        this.executor = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(Runnable callback) {
+        executor.execute(callback);
+    }
+
+    /**
+     * Waits until the deadline for the callbacks handed over so far, which run in order on the single thread.
+     *
+     * @param timeoutMillis maximum time to wait, in milliseconds
+     */
+    void awaitHandedOver(long timeoutMillis) {
+        if (executor.getActiveCount() == 0 && executor.getQueue().isEmpty())
+            return;
+
+        try {
+            executor.submit(() -> {
+            }).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warning(executor.getQueue().size() + " logging strategy completion callbacks did not run within " + timeoutMillis + " ms");
+        }
+    }
+}
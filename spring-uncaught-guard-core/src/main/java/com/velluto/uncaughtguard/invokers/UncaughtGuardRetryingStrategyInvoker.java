@@ -0,0 +1,284 @@
+package com.velluto.uncaughtguard.invokers;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
+import com.velluto.uncaughtguard.retries.UncaughtGuardHashedWheelTimer;
+import com.velluto.uncaughtguard.retries.UncaughtGuardRetryBudget;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import java.util.logging.Logger;
+
+/**
+ * Retries the failed strategy calls of the wrapped invoker with exponential backoff and jitter.
+ * <p>
+ * Each strategy of a trace is invoked through the wrapped invoker on its own, so that its outcome is known.
+ * When it fails, a retry is scheduled on a single hashed-wheel timer thread instead of sleeping on the calling thread:
+ * pending retries only cost a timer entry. When the delay expires, the retry is started on a virtual thread.
+ * The delay grows exponentially with the attempt, up to a maximum, and is randomized to avoid retry storms.
+ * <p>
+ * Retries are bounded by a per-strategy {@link UncaughtGuardRetryBudget} and by a global cap on the outstanding retries.
+ * A strategy counts as failed for the trace, and the fallback applies, only once all its retries have failed or were refused.
+ * Calls refused by an open circuit breaker are not retried: the fallback applies right away, without spending the retry budget.
+ * The completion callback of a trace whose last retry finished on a virtual thread is run on a platform thread,
+ * since the fallback strategy may pin virtual threads.
+ */
+public class UncaughtGuardRetryingStrategyInvoker implements UncaughtGuardStrategyInvoker {
+    public static final String THREAD_NAME_PREFIX = "uncaught-guard-retry-";
+    public static final String COMPLETION_THREAD_NAME = "uncaught-guard-retry-completion";
+
+    private static final Logger logger = Logger.getLogger(UncaughtGuardRetryingStrategyInvoker.class.getName());
+    private static final long TIMER_TICK_MILLIS = 10;
+    private static final int TIMER_TICKS_PER_WHEEL = 512;
+    private static final int RETRY_BUDGET_RESERVE = 10;
+
+    private final UncaughtGuardStrategyInvoker delegate;
+    private final int maxRetries;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final int retryBudgetPercent;
+    private final int maxOutstandingRetries;
+
+    private final UncaughtGuardHashedWheelTimer timer = new UncaughtGuardHashedWheelTimer(TIMER_TICK_MILLIS, TIMER_TICKS_PER_WHEEL);
+    private final ThreadFactory retryThreadFactory = Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory();
+    private final UncaughtGuardPlatformCompletionExecutor completionExecutor = new UncaughtGuardPlatformCompletionExecutor(COMPLETION_THREAD_NAME);
+    private final Map<UncaughtGuardLoggingStrategy, UncaughtGuardRetryBudget> retryBudgets = new ConcurrentHashMap<>();
+    private final AtomicInteger outstandingRetries = new AtomicInteger();
+
+    private final LongAdder retriedCallsCount = new LongAdder();
+    private final LongAdder refusedRetriesCount = new LongAdder();
+
+    /**
+     * @param delegate              invoker running the strategy calls and their retries
+     * @param maxRetries            maximum number of retries of a failed strategy call
+     * @param initialBackoffMillis  delay before the first retry, in milliseconds, doubled at each further retry
+     * @param maxBackoffMillis      maximum delay before a retry, in milliseconds
+     * @param retryBudgetPercent    maximum retries of each strategy in percent of its calls
+     * @param maxOutstandingRetries maximum number of retries waiting for their delay at the same time
+     */
+    public UncaughtGuardRetryingStrategyInvoker(
+            UncaughtGuardStrategyInvoker delegate,
+            int maxRetries,
+            long initialBackoffMillis,
+            long maxBackoffMillis,
+            int retryBudgetPercent,
+            int maxOutstandingRetries
+    ) {
+        if (maxRetries < 1)
+            throw new IllegalArgumentException("Maximum retries must be at least 1, got " + maxRetries);
+        if (initialBackoffMillis < 1)
+            throw new IllegalArgumentException("Initial retry backoff must be at least 1 millisecond, got " + initialBackoffMillis);
+        if (maxBackoffMillis < initialBackoffMillis)
+            throw new IllegalArgumentException("Maximum retry backoff must be at least the initial backoff " + initialBackoffMillis + ", got " + maxBackoffMillis);
+        if (retryBudgetPercent < 1 || retryBudgetPercent > 100)
+            throw new IllegalArgumentException("Retry budget percentage must be between 1 and 100, got " + retryBudgetPercent);
+        if (maxOutstandingRetries < 1)
+            throw new IllegalArgumentException("Maximum outstanding retries must be at least 1, got " + maxOutstandingRetries);
+
+        this.delegate = delegate;
+        this.maxRetries = maxRetries;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.retryBudgetPercent = retryBudgetPercent;
+        this.maxOutstandingRetries = maxOutstandingRetries;
+    }
+
+    @Override
+    public void invoke(UncaughtGuardExceptionTrace trace, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion) {
+        if (strategies.isEmpty()) {
+            onCompletion.accept(0);
+            return;
+        }
+
+        UncaughtGuardStrategyInvocationCompletion completion = new UncaughtGuardStrategyInvocationCompletion(strategies.size(), onCompletion, completionExecutor);
+
+        // strategies that may pin virtual threads last, as the virtual thread invoker would run them
+        for (UncaughtGuardLoggingStrategy strategy : strategies) {
+            if (!strategy.mayPinVirtualThreads())
+                invokeFirstAttempt(trace, strategy, completion);
+        }
+        for (UncaughtGuardLoggingStrategy strategy : strategies) {
+            if (strategy.mayPinVirtualThreads())
+                invokeFirstAttempt(trace, strategy, completion);
+        }
+    }
+
+    /**
+     * Summaries are not retried, a failed summary falls back to the system error strategy right away.
+     */
+    @Override
+    public void invokeSummary(UncaughtGuardExceptionTraceSummary summary, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion) {
+        delegate.invokeSummary(summary, strategies, onCompletion);
+    }
+
+    /**
+     * Batches are not retried as a whole, each trace of a failed batch is retried on its own by {@link #invoke}.
+     */
+    @Override
+    public void invokeBatch(List<UncaughtGuardExceptionTrace> traces, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion) {
+        delegate.invokeBatch(traces, strategies, onCompletion);
+    }
+
+    private void invokeFirstAttempt(UncaughtGuardExceptionTrace trace, UncaughtGuardLoggingStrategy strategy, UncaughtGuardStrategyInvocationCompletion completion) {
+        retryBudgetOf(strategy).recordCall();
+        invokeAttempt(trace, strategy, 0, completion);
+    }
+
+    private void invokeAttempt(UncaughtGuardExceptionTrace trace, UncaughtGuardLoggingStrategy strategy, int retry, UncaughtGuardStrategyInvocationCompletion completion) {
+        delegate.invoke(trace, List.of(strategy), successfulLoggingCount -> {
+            if (successfulLoggingCount > 0) {
+                completion.complete(true);
+            } else if (!strategy.isCallPermitted()) {
+                // the circuit breaker refused the call or opened on its failure: a retry would be refused as well
+                logger.fine("Circuit breaker is open, not retrying exception trace with assigned Trace ID: " + trace.getTraceId() + " for logging strategy " + strategy.getClass().getSimpleName());
+                completion.complete(false);
+            } else {
+                scheduleRetry(trace, strategy, retry + 1, completion);
+            }
+        });
+    }
+
+    private void scheduleRetry(UncaughtGuardExceptionTrace trace, UncaughtGuardLoggingStrategy strategy, int retry, UncaughtGuardStrategyInvocationCompletion completion) {
+        if (retry > maxRetries) {
+            logger.fine("Retries exhausted for exception trace with assigned Trace ID: " + trace.getTraceId() + " and logging strategy " + strategy.getClass().getSimpleName());
+            completion.complete(false);
+            return;
+        }
+
+        if (!tryReserveRetry(strategy)) {
+            refusedRetriesCount.increment();
+            logger.fine("Retry budget exhausted, not retrying exception trace with assigned Trace ID: " + trace.getTraceId() + " for logging strategy " + strategy.getClass().getSimpleName());
+            completion.complete(false);
+            return;
+        }
+
+        long backoffMillis = backoffMillis(retry);
+        PendingRetry pendingRetry = new PendingRetry(trace, strategy, retry, completion);
+        if (!timer.schedule(pendingRetry, backoffMillis)) {
+            outstandingRetries.decrementAndGet();
+            completion.complete(false);
+            return;
+        }
+
+        logger.fine("Scheduled retry " + retry + " of exception trace with assigned Trace ID: " + trace.getTraceId() + " for logging strategy " + strategy.getClass().getSimpleName() + " in " + backoffMillis + " ms");
+    }
+
+    private boolean tryReserveRetry(UncaughtGuardLoggingStrategy strategy) {
+        if (outstandingRetries.incrementAndGet() > maxOutstandingRetries) {
+            outstandingRetries.decrementAndGet();
+            return false;
+        }
+        if (!retryBudgetOf(strategy).tryWithdrawRetry()) {
+            outstandingRetries.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private UncaughtGuardRetryBudget retryBudgetOf(UncaughtGuardLoggingStrategy strategy) {
+        return retryBudgets.computeIfAbsent(strategy, s -> new UncaughtGuardRetryBudget(retryBudgetPercent, RETRY_BUDGET_RESERVE));
+    }
+
+    /**
+     * Computes the delay before the given retry with "equal jitter":
+     * half of the exponential backoff is kept, the other half is random.
+     */
+    private long backoffMillis(int retry) {
+        // the shift is bounded so that the backoff never overflows
+        int shift = Math.min(retry - 1, Long.numberOfLeadingZeros(initialBackoffMillis) - 1);
+        long exponentialBackoff = Math.min(maxBackoffMillis, initialBackoffMillis << shift);
+        long half = exponentialBackoff / 2;
+        return half + ThreadLocalRandom.current().nextLong(exponentialBackoff - half + 1);
+    }
+
+    /**
+     * Stops the timer, the retries still waiting for their delay count as failed for their strategy,
+     * then stops the wrapped invoker.
+     */
+    @Override
+    public void shutdown() {
+        List<Runnable> pendingRetries = timer.stop();
+        for (Runnable task : pendingRetries) {
+            if (task instanceof PendingRetry pendingRetry) {
+                outstandingRetries.decrementAndGet();
+                pendingRetry.completion.complete(false);
+            }
+        }
+        if (!pendingRetries.isEmpty())
+            logger.fine("Cancelled " + pendingRetries.size() + " pending retries on shutdown");
+
+        delegate.shutdown();
+    }
+
+    /**
+     * Stops the timer, the retries still waiting for their delay are abandoned, so that their traces are spilled
+     * rather than counted as failed, then stops the wrapped invoker and waits for the completion callbacks within the deadline.
+     */
+    @Override
+    public void shutdown(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        List<Runnable> pendingRetries = timer.stop();
+        outstandingRetries.addAndGet(-pendingRetries.size());
+        if (!pendingRetries.isEmpty())
+            logger.info("Abandoned " + pendingRetries.size() + " pending retries on shutdown");
+
+        delegate.shutdown(Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        completionExecutor.awaitHandedOver(Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+    }
+
+    /**
+     * @return the number of failed strategy calls that were retried
+     */
+    public long getRetriedCallsCount() {
+        return retriedCallsCount.sum();
+    }
+
+    /**
+     * @return the number of retries refused because of the retry budget or the cap on outstanding retries
+     */
+    public long getRefusedRetriesCount() {
+        return refusedRetriesCount.sum();
+    }
+
+    /**
+     * @return the number of retries currently waiting for their delay
+     */
+    public int getOutstandingRetriesCount() {
+        return outstandingRetries.get();
+    }
+
+    private final class PendingRetry implements Runnable {
+        private final UncaughtGuardExceptionTrace trace;
+        private final UncaughtGuardLoggingStrategy strategy;
+        private final int retry;
+        private final UncaughtGuardStrategyInvocationCompletion completion;
+
+        private PendingRetry(UncaughtGuardExceptionTrace trace, UncaughtGuardLoggingStrategy strategy, int retry, UncaughtGuardStrategyInvocationCompletion completion) {
+            this.trace = trace;
+            this.strategy = strategy;
+            this.retry = retry;
+            this.completion = completion;
+        }
+
+        @Override
+        public void run() {
+            outstandingRetries.decrementAndGet();
+            retriedCallsCount.increment();
+
+            // runs on the timer thread, which must not block: the call is handed over to a virtual thread
+            // unless the strategy may pin it, such strategies are local and fast enough to run on the timer thread
+            if (strategy.mayPinVirtualThreads())
+                invokeAttempt(trace, strategy, retry, completion);
+            else
+                retryThreadFactory.newThread(() -> invokeAttempt(trace, strategy, retry, completion)).start();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.velluto.uncaughtguard.invokers;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
+
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Invokes the logging strategies one after another on the calling thread,
+ * the completion callback is called before this invoker returns.
+ */
+public class UncaughtGuardSequentialStrategyInvoker implements UncaughtGuardStrategyInvoker {
+    private static final Logger logger = Logger.getLogger(UncaughtGuardSequentialStrategyInvoker.class.getName());
+
+    @Override
+    public void invoke(UncaughtGuardExceptionTrace trace, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion) {
+        invoke("exception trace with assigned Trace ID: " + trace.getTraceId(), strategies, strategy -> strategy.callLog(trace), onCompletion);
+    }
+
+    @Override
+    public void invokeSummary(UncaughtGuardExceptionTraceSummary summary, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion) {
+        invoke("summary of exception traces with fingerprint: " + summary.getFingerprint(), strategies, strategy -> strategy.callLogSummary(summary), onCompletion);
+    }
+
+    @Override
+    public void invokeBatch(List<UncaughtGuardExceptionTrace> traces, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion) {
+        invoke("batch of " + traces.size() + " exception traces", strategies, strategy -> strategy.callLogBatch(traces), onCompletion);
+    }
+
+    private void invoke(String logged, List<UncaughtGuardLoggingStrategy> strategies, Predicate<UncaughtGuardLoggingStrategy> call, IntConsumer onCompletion) {
+        int successfulLoggingCount = 0;
+        for (UncaughtGuardLoggingStrategy strategy : strategies) {
+            logger.fine("Logging " + logged + " using specified logging strategy " + strategy.getClass().getSimpleName());
+            if (call.test(strategy))
+                successfulLoggingCount++;
+        }
+
+        onCompletion.accept(successfulLoggingCount);
+    }
+}
@@ -0,0 +1,22 @@
+package com.velluto.uncaughtguard.invokers;
+
+/**
+ * Selects how the logging strategies are invoked for each exception trace.
+ */
+public enum UncaughtGuardStrategyExecutionMode {
+    /**
+     * Strategies are invoked one after another on the dispatcher thread.
+     * See {@link UncaughtGuardSequentialStrategyInvoker}.
+     */
+    SEQUENTIAL,
+    /**
+     * Each strategy invocation runs on its own virtual thread.
+     * See {@link UncaughtGuardVirtualThreadStrategyInvoker}.
+     */
+    VIRTUAL_THREADS,
+    /**
+     * Each strategy is invoked in its own bulkhead, with a dedicated worker pool, a bounded queue and a per-call deadline.
+     * See {@link UncaughtGuardBulkheadStrategyInvoker}.
+     */
+    BULKHEAD
+}
@@ -0,0 +1,44 @@
+package com.velluto.uncaughtguard.invokers;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Tracks the strategy invocations of a single exception trace that are still running,
+ * and calls the completion callback with the number of successful ones when the last invocation is over.
+ * If a platform executor is given and the last invocation is over on a virtual thread, the callback is handed over to it.
+ */
+class UncaughtGuardStrategyInvocationCompletion {
+    private final AtomicInteger remainingCalls;
+    private final AtomicInteger successfulCalls = new AtomicInteger();
+    private final IntConsumer onCompletion;
+    private final Executor platformExecutor;
+
+    UncaughtGuardStrategyInvocationCompletion(int calls, IntConsumer onCompletion) {
+        this(calls, onCompletion, null);
+    }
+
+    UncaughtGuardStrategyInvocationCompletion(int calls, IntConsumer onCompletion, Executor platformExecutor) {
+        this.remainingCalls = new AtomicInteger(calls);
+        this.onCompletion = onCompletion;
+        this.platformExecutor = platformExecutor;
+    }
+
+    void complete(boolean loggingSuccessful) {
+        complete(1, loggingSuccessful ? 1 : 0);
+    }
+
+    void complete(int calls, int successfulLoggingCount) {
+        if (successfulLoggingCount > 0)
+            successfulCalls.addAndGet(successfulLoggingCount);
+        if (remainingCalls.addAndGet(-calls) != 0)
+            return;
+
+        int successfulLoggingTotal = successfulCalls.get();
+        if (platformExecutor != null && Thread.currentThread().isVirtual())
+            platformExecutor.execute(() -> onCompletion.accept(successfulLoggingTotal));
+        else
+            onCompletion.accept(successfulLoggingTotal);
+    }
+}
@@ -0,0 +1,64 @@
+package com.velluto.uncaughtguard.invokers;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
+
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * An invoker runs the logging strategies selected for an exception trace.
+ * <p>
+ * Invocations may complete after this method returns, this is why the number of strategies
+ * that successfully logged the trace is reported to a completion callback, called exactly once
+ * when every strategy invocation is over.
+ */
+public interface UncaughtGuardStrategyInvoker {
+    /**
+     * Logs the given exception trace with each of the given logging strategies.
+     *
+     * @param trace        the exception trace to log
+     * @param strategies   the logging strategies to invoke
+     * @param onCompletion receives the number of strategies that successfully logged the trace
+     */
+    void invoke(UncaughtGuardExceptionTrace trace, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion);
+
+    /**
+     * Logs the given summary of coalesced exception traces with each of the given logging strategies,
+     * with the same threading and the same completion contract as {@link #invoke(UncaughtGuardExceptionTrace, List, IntConsumer)}.
+     *
+     * @param summary      the summary to log
+     * @param strategies   the logging strategies to invoke
+     * @param onCompletion receives the number of strategies that successfully logged the summary
+     */
+    void invokeSummary(UncaughtGuardExceptionTraceSummary summary, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion);
+
+    /**
+     * Logs the given batch of exception traces with each of the given logging strategies, which must implement
+     * {@link com.velluto.uncaughtguard.strategies.UncaughtGuardBatchLoggingStrategy}, with the same threading and
+     * the same completion contract as {@link #invoke(UncaughtGuardExceptionTrace, List, IntConsumer)}.
+     *
+     * @param traces       the batch of exception traces to log
+     * @param strategies   the batch logging strategies to invoke
+     * @param onCompletion receives the number of strategies that successfully logged the batch
+     */
+    void invokeBatch(List<UncaughtGuardExceptionTrace> traces, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion);
+
+    /**
+     * Releases the resources held by the invoker, if any.
+     */
+    default void shutdown() {
+    }
+
+    /**
+     * Stops the invoker when the application stops, waiting up to the given deadline for the invocations in progress.
+     * Invocations that have not run by the deadline are abandoned without calling their completion callback,
+     * so that the caller can spill their traces and redeliver them on the next startup.
+     *
+     * @param timeoutMillis maximum time to wait for the invocations in progress, in milliseconds
+     */
+    default void shutdown(long timeoutMillis) {
+        shutdown();
+    }
+}
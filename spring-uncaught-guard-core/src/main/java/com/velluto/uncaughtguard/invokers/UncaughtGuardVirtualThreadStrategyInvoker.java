@@ -0,0 +1,123 @@
+package com.velluto.uncaughtguard.invokers;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Invokes each logging strategy on its own virtual thread, so that strategies blocking on network
+ * or file I/O do not hold a platform thread for the whole round-trip.
+ * <p>
+ * The calling thread only starts the virtual threads and returns, the completion callback is called
+ * once the last strategy invocation is over, on a platform thread: when the fallback applies it runs a strategy
+ * that may pin virtual threads. The number of invocations in flight is bounded:
+ * when the bound is reached the calling thread waits for a free permit, pushing back on the dispatcher queue.
+ * <p>
+ * Strategies that declare {@link UncaughtGuardLoggingStrategy#mayPinVirtualThreads()} are invoked on the
+ * calling thread instead, after the virtual threads have been started, so that they never pin a carrier thread.
+ */
+public class UncaughtGuardVirtualThreadStrategyInvoker implements UncaughtGuardStrategyInvoker {
+    public static final String THREAD_NAME_PREFIX = "uncaught-guard-strategy-";
+    public static final String COMPLETION_THREAD_NAME = "uncaught-guard-strategy-completion";
+
+    private static final Logger logger = Logger.getLogger(UncaughtGuardVirtualThreadStrategyInvoker.class.getName());
+
+    private final ThreadFactory virtualThreadFactory = Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory();
+    private final UncaughtGuardPlatformCompletionExecutor completionExecutor = new UncaughtGuardPlatformCompletionExecutor(COMPLETION_THREAD_NAME);
+    private final int maxInFlightCalls;
+    private final Semaphore inFlightCalls;
+
+    /**
+     * @param maxInFlightCalls maximum number of strategy invocations running on virtual threads at the same time
+     */
+    public UncaughtGuardVirtualThreadStrategyInvoker(int maxInFlightCalls) {
+        if (maxInFlightCalls < 1)
+            throw new IllegalArgumentException("Maximum in flight virtual thread calls must be at least 1, got " + maxInFlightCalls);
+
+        this.maxInFlightCalls = maxInFlightCalls;
+        this.inFlightCalls = new Semaphore(maxInFlightCalls);
+    }
+
+    @Override
+    public void invoke(UncaughtGuardExceptionTrace trace, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion) {
+        invoke("exception trace with assigned Trace ID: " + trace.getTraceId(), strategies, strategy -> strategy.callLog(trace), onCompletion);
+    }
+
+    @Override
+    public void invokeSummary(UncaughtGuardExceptionTraceSummary summary, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion) {
+        invoke("summary of exception traces with fingerprint: " + summary.getFingerprint(), strategies, strategy -> strategy.callLogSummary(summary), onCompletion);
+    }
+
+    @Override
+    public void invokeBatch(List<UncaughtGuardExceptionTrace> traces, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion) {
+        invoke("batch of " + traces.size() + " exception traces", strategies, strategy -> strategy.callLogBatch(traces), onCompletion);
+    }
+
+    private void invoke(String logged, List<UncaughtGuardLoggingStrategy> strategies, Predicate<UncaughtGuardLoggingStrategy> call, IntConsumer onCompletion) {
+        if (strategies.isEmpty()) {
+            onCompletion.accept(0);
+            return;
+        }
+
+        UncaughtGuardStrategyInvocationCompletion completion = new UncaughtGuardStrategyInvocationCompletion(strategies.size(), onCompletion, completionExecutor);
+
+        for (UncaughtGuardLoggingStrategy strategy : strategies) {
+            if (strategy.mayPinVirtualThreads())
+                continue;
+
+            logger.fine("Logging " + logged + " using specified logging strategy " + strategy.getClass().getSimpleName() + " on a virtual thread");
+            inFlightCalls.acquireUninterruptibly();
+            virtualThreadFactory.newThread(() -> {
+                boolean loggingSuccessful = false;
+                try {
+                    loggingSuccessful = call.test(strategy);
+                } finally {
+                    inFlightCalls.release();
+                    completion.complete(loggingSuccessful);
+                }
+            }).start();
+        }
+
+        for (UncaughtGuardLoggingStrategy strategy : strategies) {
+            if (!strategy.mayPinVirtualThreads())
+                continue;
+
+            logger.fine("Logging " + logged + " using specified logging strategy " + strategy.getClass().getSimpleName() + " on the dispatcher thread, since it may pin virtual threads");
+            completion.complete(call.test(strategy));
+        }
+    }
+
+    /**
+     * Waits until the deadline for the invocations running on virtual threads and for their completion callbacks,
+     * the ones still running after the deadline are left to finish on their own.
+     */
+    @Override
+    public void shutdown(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        try {
+            if (inFlightCalls.tryAcquire(maxInFlightCalls, timeoutMillis, TimeUnit.MILLISECONDS))
+                inFlightCalls.release(maxInFlightCalls);
+            else
+                logger.warning((maxInFlightCalls - inFlightCalls.availablePermits()) + " logging strategy invocations on virtual threads did not finish within " + timeoutMillis + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        completionExecutor.awaitHandedOver(Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+    }
+
+    /**
+     * @return the number of strategy invocations that can still be started before the bound is reached
+     */
+    public int getAvailableInFlightCalls() {
+        return inFlightCalls.availablePermits();
+    }
+}
@@ -0,0 +1,351 @@
+package com.velluto.uncaughtguard.journal;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.serializers.UncaughtGuardExceptionTraceFrameCodec;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-ahead journal keeping the exception traces on disk from the moment they are dispatched
+ * until every logging strategy is done with them, so that a crash of the application does not lose them.
+ * <p>
+ * The journal is made of a fixed number of pre-allocated segment files, memory-mapped once at startup.
+ * Appending a trace copies its record into the current segment, the operating system writes the mapped pages back
+ * to disk even if the application crashes. Each record is made of its length, its state, the set of logging strategies
+ * that already logged the trace and the binary frame of the trace encoded with {@link UncaughtGuardExceptionTraceFrameCodec},
+ * and is followed by a zero length marking the end of the segment. The frame is a plain copy of the trace fields,
+ * so appending is cheap enough to run on the request thread.
+ * <p>
+ * Each logging strategy that logs a trace sets its own bit in the record, see {@link #acknowledgeStrategy(UncaughtGuardExceptionTrace, int)},
+ * so that a recovered trace is only logged again by the strategies that did not log it yet.
+ * Acknowledging a trace once every strategy is done with it flips the state of its record in place. A full segment whose records are all acknowledged
+ * is recycled for new appends. When no segment is free, traces are dispatched without being journaled.
+ * On startup, the records not acknowledged before the previous stop are recovered. They stay pending in place,
+ * so a segment holding recovered records is only recycled once all of them are acknowledged, and a crash
+ * before their redelivery recovers them again. The other segments are reset.
+ */
+public class UncaughtGuardTraceJournal {
+    public static final String SEGMENT_FILE_PREFIX = "uncaught-guard-journal-";
+    public static final String SEGMENT_FILE_SUFFIX = ".seg";
+
+    private static final Logger logger = Logger.getLogger(UncaughtGuardTraceJournal.class.getName());
+    private static final int LENGTH_BYTES = Integer.BYTES;
+    private static final int STATE_BYTES = 1;
+    private static final int STRATEGIES_BYTES = Long.BYTES;
+    private static final int RECORD_HEADER_BYTES = LENGTH_BYTES + STATE_BYTES + STRATEGIES_BYTES;
+    private static final byte PENDING = 1;
+    private static final byte ACKNOWLEDGED = 2;
+
+    /**
+     * Number of logging strategies whose acknowledgements are tracked separately, the strategies with a higher index
+     * log the recovered traces again.
+     */
+    public static final int MAX_ACKNOWLEDGED_STRATEGIES = Long.SIZE;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Segment[] segments;
+    private final ArrayDeque<Segment> freeSegments = new ArrayDeque<>();
+    private final Map<UncaughtGuardExceptionTrace, Long> pendingRecords = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final UncaughtGuardExceptionTraceFrameCodec codec = new UncaughtGuardExceptionTraceFrameCodec();
+    private final List<UncaughtGuardExceptionTrace> recoveredTraces;
+
+    private final LongAdder unjournaledTracesCount = new LongAdder();
+
+    private Segment currentSegment;
+
+    /**
+     * Opens the journal in the given directory, creating and pre-allocating the segment files if needed,
+     * and recovers the traces left unacknowledged by the previous run.
+     *
+     * @param directory    directory of the segment files
+     * @param segmentSize  size of each segment file in bytes
+     * @param segmentCount number of segment files
+     * @throws IOException if the segment files cannot be created or mapped
+     */
+    public UncaughtGuardTraceJournal(Path directory, int segmentSize, int segmentCount) throws IOException {
+        if (segmentSize < 1024)
+            throw new IllegalArgumentException("Journal segment size must be at least 1024 bytes, got " + segmentSize);
+        if (segmentCount < 2)
+            throw new IllegalArgumentException("Journal segment count must be at least 2, got " + segmentCount);
+
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.segments = new Segment[segmentCount];
+
+        Files.createDirectories(directory);
+        for (int i = 0; i < segmentCount; i++) {
+            Path segmentPath = directory.resolve(SEGMENT_FILE_PREFIX + i + SEGMENT_FILE_SUFFIX);
+            try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                boolean resized = channel.size() != segmentSize;
+                if (resized)
+                    channel.truncate(0);
+                // mapping beyond the end of the file extends it, the mapping stays valid once the channel is closed
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+                if (resized)
+                    buffer.putInt(0, 0);
+                segments[i] = new Segment(i, buffer);
+            }
+        }
+
+        this.recoveredTraces = new ArrayList<>();
+        for (Segment segment : segments) {
+            recover(segment);
+            if (segment.appendedRecords > 0) {
+                // recovered records are acknowledged like any other record, the segment is recycled after the last one
+                segment.sealed = true;
+            } else {
+                segment.reset();
+                freeSegments.add(segment);
+            }
+        }
+        this.currentSegment = freeSegments.poll();
+    }
+
+    private void recover(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int offset = 0;
+        while (offset + RECORD_HEADER_BYTES <= segmentSize) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + RECORD_HEADER_BYTES + length > segmentSize)
+                break;
+
+            if (buffer.get(offset + LENGTH_BYTES) == PENDING) {
+                byte[] payload = new byte[length];
+                buffer.get(offset + RECORD_HEADER_BYTES, payload);
+                try {
+                    UncaughtGuardExceptionTrace trace = codec.decode(payload);
+                    recoveredTraces.add(trace);
+                    pendingRecords.put(trace, ((long) segment.index << 32) | offset);
+                    segment.appendedRecords++;
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "Skipping corrupt record of journal segment " + segment.index + " in " + directory, e);
+                }
+            }
+            offset += RECORD_HEADER_BYTES + length;
+        }
+    }
+
+    /**
+     * Returns the traces left unacknowledged by the previous run, once.
+     * They are still pending in the journal, and must be acknowledged once they are delivered, not appended again.
+     *
+     * @return the recovered traces, empty on following calls
+     */
+    public List<UncaughtGuardExceptionTrace> takeRecoveredTraces() {
+        lock.lock();
+        try {
+            List<UncaughtGuardExceptionTrace> traces = new ArrayList<>(recoveredTraces);
+            recoveredTraces.clear();
+            return traces;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends the given trace to the journal.
+     *
+     * @param trace the trace to journal until it is acknowledged
+     * @return true if the trace was journaled, false if no segment had room for it
+     */
+    public boolean append(UncaughtGuardExceptionTrace trace) {
+        byte[] payload = codec.encode(trace);
+
+        int recordSize = RECORD_HEADER_BYTES + payload.length;
+        if (recordSize + LENGTH_BYTES > segmentSize) {
+            logger.fine("Exception trace with assigned Trace ID: " + trace.getTraceId() + " is larger than a journal segment, it is not journaled");
+            unjournaledTracesCount.increment();
+            return false;
+        }
+
+        lock.lock();
+        try {
+            if (currentSegment == null || currentSegment.position + recordSize + LENGTH_BYTES > segmentSize) {
+                if (currentSegment != null)
+                    seal(currentSegment);
+                currentSegment = freeSegments.poll();
+                if (currentSegment == null) {
+                    logger.fine("No free journal segment, exception trace with assigned Trace ID: " + trace.getTraceId() + " is not journaled");
+                    unjournaledTracesCount.increment();
+                    return false;
+                }
+            }
+
+            Segment segment = currentSegment;
+            int offset = segment.position;
+            MappedByteBuffer buffer = segment.buffer;
+            buffer.put(offset + RECORD_HEADER_BYTES, payload);
+            buffer.put(offset + LENGTH_BYTES, PENDING);
+            buffer.putLong(offset + LENGTH_BYTES + STATE_BYTES, 0);
+            buffer.putInt(offset + recordSize, 0);
+            // the length is written last, so that a partially written record is never read back
+            buffer.putInt(offset, payload.length);
+
+            segment.position += recordSize;
+            segment.appendedRecords++;
+            pendingRecords.put(trace, ((long) segment.index << 32) | offset);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Acknowledges the given trace, so that it is not recovered anymore. Traces that were not journaled are ignored.
+     *
+     * @param trace the trace every logging strategy is done with
+     */
+    public void acknowledge(UncaughtGuardExceptionTrace trace) {
+        Long record = pendingRecords.remove(trace);
+        if (record == null)
+            return;
+
+        lock.lock();
+        try {
+            Segment segment = segments[(int) (record >>> 32)];
+            segment.buffer.put((int) (record & 0xFFFFFFFFL) + LENGTH_BYTES, ACKNOWLEDGED);
+            segment.acknowledgedRecords++;
+            if (segment.sealed && segment.acknowledgedRecords == segment.appendedRecords)
+                recycle(segment);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records that the logging strategy with the given index logged the given trace, so that it does not log it again
+     * if the trace is recovered. Traces that were not journaled, and indexes beyond {@link #MAX_ACKNOWLEDGED_STRATEGIES},
+     * are ignored.
+     *
+     * @param trace         the trace the logging strategy logged
+     * @param strategyIndex index of the logging strategy among the configured logging strategies
+     */
+    public void acknowledgeStrategy(UncaughtGuardExceptionTrace trace, int strategyIndex) {
+        if (strategyIndex < 0 || strategyIndex >= MAX_ACKNOWLEDGED_STRATEGIES)
+            return;
+
+        lock.lock();
+        try {
+            Long record = pendingRecords.get(trace);
+            if (record == null)
+                return;
+
+            // a single byte is rewritten, so that a crash cannot tear the bits set by the other strategies
+            MappedByteBuffer buffer = segments[(int) (record >>> 32)].buffer;
+            int strategiesOffset = (int) (record & 0xFFFFFFFFL) + LENGTH_BYTES + STATE_BYTES;
+            int byteOffset = strategiesOffset + STRATEGIES_BYTES - 1 - strategyIndex / Byte.SIZE;
+            buffer.put(byteOffset, (byte) (buffer.get(byteOffset) | (1 << (strategyIndex % Byte.SIZE))));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param trace the trace to look for
+     * @return the bit set of the indexes of the logging strategies that already logged the trace,
+     * 0 if none did or if the trace is not pending
+     */
+    public long getAcknowledgedStrategies(UncaughtGuardExceptionTrace trace) {
+        lock.lock();
+        try {
+            Long record = pendingRecords.get(trace);
+            if (record == null)
+                return 0;
+            return segments[(int) (record >>> 32)].buffer.getLong((int) (record & 0xFFFFFFFFL) + LENGTH_BYTES + STATE_BYTES);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void seal(Segment segment) {
+        segment.sealed = true;
+        if (segment.acknowledgedRecords == segment.appendedRecords)
+            recycle(segment);
+    }
+
+    private void recycle(Segment segment) {
+        segment.reset();
+        freeSegments.add(segment);
+        logger.fine("Recycled journal segment " + segment.index + " in " + directory);
+    }
+
+    /**
+     * @param trace the trace to look for
+     * @return true if the trace is journaled and not acknowledged yet
+     */
+    public boolean isPending(UncaughtGuardExceptionTrace trace) {
+        return pendingRecords.containsKey(trace);
+    }
+
+    /**
+     * Forces the mapped segments to disk, it is called when the application stops.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            for (Segment segment : segments)
+                segment.buffer.force();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of journaled traces not acknowledged yet
+     */
+    public int getPendingTracesCount() {
+        return pendingRecords.size();
+    }
+
+    /**
+     * @return the number of traces that could not be journaled
+     */
+    public long getUnjournaledTracesCount() {
+        return unjournaledTracesCount.sum();
+    }
+
+    /**
+     * @return the directory of the segment files
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private static final class Segment {
+        private final int index;
+        private final MappedByteBuffer buffer;
+        private int position;
+        private int appendedRecords;
+        private int acknowledgedRecords;
+        private boolean sealed;
+
+        private Segment(int index, MappedByteBuffer buffer) {
+            this.index = index;
+            this.buffer = buffer;
+        }
+
+        private void reset() {
+            buffer.putInt(0, 0);
+            position = 0;
+            appendedRecords = 0;
+            acknowledgedRecords = 0;
+            sealed = false;
+        }
+    }
+}
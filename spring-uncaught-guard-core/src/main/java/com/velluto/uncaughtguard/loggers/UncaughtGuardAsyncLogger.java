@@ -1,14 +1,40 @@
 package com.velluto.uncaughtguard.loggers;
 
+import com.velluto.uncaughtguard.coalescers.UncaughtGuardTraceCoalescer;
+import com.velluto.uncaughtguard.dispatchers.UncaughtGuardExecutorTraceDispatcher;
+import com.velluto.uncaughtguard.dispatchers.UncaughtGuardNoveltyPriorityTraceDispatcher;
+import com.velluto.uncaughtguard.dispatchers.UncaughtGuardRingBufferTraceDispatcher;
+import com.velluto.uncaughtguard.dispatchers.UncaughtGuardTraceDispatcher;
+import com.velluto.uncaughtguard.fingerprints.UncaughtGuardExceptionFingerprinter;
+import com.velluto.uncaughtguard.fingerprints.UncaughtGuardSeenFingerprints;
+import com.velluto.uncaughtguard.invokers.UncaughtGuardBatchingStrategyInvoker;
+import com.velluto.uncaughtguard.invokers.UncaughtGuardBulkheadStrategyInvoker;
+import com.velluto.uncaughtguard.invokers.UncaughtGuardRetryingStrategyInvoker;
+import com.velluto.uncaughtguard.invokers.UncaughtGuardSequentialStrategyInvoker;
+import com.velluto.uncaughtguard.invokers.UncaughtGuardStrategyInvoker;
+import com.velluto.uncaughtguard.invokers.UncaughtGuardVirtualThreadStrategyInvoker;
+import com.velluto.uncaughtguard.journal.UncaughtGuardTraceJournal;
 import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
 import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import com.velluto.uncaughtguard.routers.UncaughtGuardStrategyRouter;
+import com.velluto.uncaughtguard.spill.UncaughtGuardTraceSpillFile;
 import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
-import com.velluto.uncaughtguard.strategies.UncaughtGuardSystemErrorLoggingStrategy;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -18,39 +44,412 @@ import java.util.logging.Logger;
  * It is run in a separate thread to avoid blocking the main application thread and
  * to ensure that the logging does not interfere with the application's performance
  * and HTTP request-response cycle.
+ * <p>
+ * Traces are handed over to a dedicated, bounded dispatcher owned by the Uncaught Guard,
+ * so that logging never shares threads with the asynchronous work of the host application.
+ * When the application stops, the dispatcher and then the strategy invoker are drained up to a deadline,
+ * and the traces left undelivered are spilled to a local file, if configured, to be redelivered on the next startup.
+ * <p>
+ * If a journal is configured, each trace is also journaled on disk by the request thread, right before it is handed
+ * over to the dispatcher, as a plain binary copy of its fields, so that the traces still queued in the dispatcher
+ * survive a crash of the application as well. Each logging strategy that logs the trace is recorded in the journal,
+ * and the trace is acknowledged once every logging strategy is done with it, so that a recovered trace is only logged
+ * again by the strategies that did not log it before the crash.
+ * <p>
+ * If coalescing is enabled, only the first occurrence of an exception in a window is logged in full,
+ * its repetitions are logged together at the end of the window as a summary.
+ * If the priority lane is enabled, the exceptions never seen before are logged ahead of the dispatcher backlog.
  */
 @Component
 public class UncaughtGuardAsyncLogger {
+    public static final String SPILL_REDELIVERY_THREAD_NAME = "uncaught-guard-spill-redelivery";
+
     private static final Logger logger = Logger.getLogger(UncaughtGuardAsyncLogger.class.getName());
 
-    @Autowired
-    private ApplicationContext context;
     @Autowired
     private UncaughtGuardProperties properties;
+    @Autowired
+    private UncaughtGuardStrategyRouter router;
+
+    private UncaughtGuardTraceDispatcher dispatcher;
+    private UncaughtGuardStrategyInvoker strategyInvoker = new UncaughtGuardSequentialStrategyInvoker();
+    private UncaughtGuardTraceSpillFile spillFile;
+    private UncaughtGuardTraceJournal journal;
+    private UncaughtGuardTraceCoalescer coalescer;
+    // traces handed over to the strategy invoker whose completion callback has not been called yet
+    private final Set<UncaughtGuardExceptionTrace> invokingTraces = ConcurrentHashMap.newKeySet();
+    private volatile boolean shuttingDown;
+
+    /**
+     * Builds the dispatcher that owns the threads running the logging strategies,
+     * and the invoker that runs the strategies for each trace.
+     * Traces spilled during the previous shutdown and traces left in the journal by the previous run,
+     * if any, are then redelivered in background.
+     */
+    @PostConstruct
+    public void init() {
+        UncaughtGuardStrategyInvoker singleTraceInvoker = switch (properties.getStrategyExecutionMode()) {
+            case SEQUENTIAL -> new UncaughtGuardSequentialStrategyInvoker();
+            case VIRTUAL_THREADS -> new UncaughtGuardVirtualThreadStrategyInvoker(properties.getVirtualThreadMaxInFlightCalls());
+            case BULKHEAD -> new UncaughtGuardBulkheadStrategyInvoker(
+                    properties.getBulkheadWorkerThreads(),
+                    properties.getBulkheadQueueCapacity(),
+                    properties.getStrategyCallTimeoutMillis()
+            );
+        };
+        // strategies logging traces in batches are served by the batching invoker, the other ones by the configured mode
+        this.strategyInvoker = new UncaughtGuardBatchingStrategyInvoker(
+                singleTraceInvoker,
+                properties.getBatchMaxSize(),
+                properties.getBatchMaxBytes(),
+                properties.getBatchLingerMillis()
+        );
+        if (properties.getMaxRetries() > 0) {
+            this.strategyInvoker = new UncaughtGuardRetryingStrategyInvoker(
+                    this.strategyInvoker,
+                    properties.getMaxRetries(),
+                    properties.getRetryInitialBackoffMillis(),
+                    properties.getRetryMaxBackoffMillis(),
+                    properties.getRetryBudgetPercent(),
+                    properties.getMaxOutstandingRetries()
+            );
+        }
+
+        this.dispatcher = switch (properties.getDispatchMode()) {
+            case EXECUTOR -> new UncaughtGuardExecutorTraceDispatcher(
+                    properties.getDispatchWorkerThreads(),
+                    properties.getDispatchQueueCapacity(),
+                    properties.getDispatchOverflowPolicy(),
+                    this::logExceptionTrace,
+                    this::logExceptionTraceDegraded,
+                    this::onTraceDropped
+            );
+            case RING_BUFFER -> new UncaughtGuardRingBufferTraceDispatcher(
+                    properties.getDispatchQueueCapacity(),
+                    properties.getDispatchOverflowPolicy(),
+                    properties.getRingBufferWaitStrategy(),
+                    this::logExceptionTrace,
+                    this::logExceptionTraceDegraded,
+                    this::onTraceDropped
+            );
+        };
+
+        UncaughtGuardExceptionFingerprinter fingerprinter = new UncaughtGuardExceptionFingerprinter(properties.getCoalescingFingerprintFrames());
+        if (properties.getNoveltyLaneCapacity() > 0) {
+            this.dispatcher = new UncaughtGuardNoveltyPriorityTraceDispatcher(
+                    this.dispatcher,
+                    fingerprinter,
+                    new UncaughtGuardSeenFingerprints(properties.getNoveltyFilterBits(), properties.getNoveltyFilterHashes()),
+                    properties.getDispatchQueueCapacity(),
+                    properties.getNoveltyLaneCapacity(),
+                    this::logExceptionTrace
+            );
+        }
+
+        if (properties.getCoalescingWindowMillis() > 0) {
+            this.coalescer = new UncaughtGuardTraceCoalescer(
+                    fingerprinter,
+                    properties.getCoalescingWindowMillis(),
+                    properties.getCoalescingMaxSampledTraceIds(),
+                    properties.getCoalescingMaxFingerprints(),
+                    this::logExceptionTraceSummary
+            );
+        }
+
+        logger.fine("Initialized Uncaught Guard dispatcher in mode " + properties.getDispatchMode() + " with queue capacity " + properties.getDispatchQueueCapacity() + " and overflow policy " + properties.getDispatchOverflowPolicy() + ", strategies are invoked in mode " + properties.getStrategyExecutionMode());
+
+        List<UncaughtGuardExceptionTrace> tracesToRedeliver = new ArrayList<>();
+
+        String journalDirectory = properties.getJournalDirectory();
+        if (journalDirectory != null && !journalDirectory.isEmpty())
+            tracesToRedeliver.addAll(openJournal(Path.of(journalDirectory)));
+
+        String spillFilePath = properties.getSpillFilePath();
+        if (spillFilePath != null && !spillFilePath.isEmpty()) {
+            this.spillFile = new UncaughtGuardTraceSpillFile(Path.of(spillFilePath));
+            tracesToRedeliver.addAll(takeSpilledTraces());
+        }
+
+        redeliverTraces(tracesToRedeliver);
+    }
+
+    private List<UncaughtGuardExceptionTrace> openJournal(Path journalDirectory) {
+        try {
+            this.journal = new UncaughtGuardTraceJournal(journalDirectory, properties.getJournalSegmentSizeBytes(), properties.getJournalSegmentCount());
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Cannot open the exception traces journal in " + journalDirectory + ", traces will not be journaled", e);
+            return List.of();
+        }
+
+        List<UncaughtGuardExceptionTrace> recoveredTraces = journal.takeRecoveredTraces();
+        if (!recoveredTraces.isEmpty())
+            logger.info("Recovered " + recoveredTraces.size() + " exception traces left unacknowledged in the journal " + journalDirectory + " by the previous run");
+        return recoveredTraces;
+    }
+
+    private List<UncaughtGuardExceptionTrace> takeSpilledTraces() {
+        List<UncaughtGuardExceptionTrace> spilledTraces;
+        try {
+            spilledTraces = spillFile.takeAll();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Cannot read spilled exception traces from " + spillFile.getPath() + ", they will not be redelivered", e);
+            return List.of();
+        }
+
+        if (!spilledTraces.isEmpty())
+            logger.info("Redelivering " + spilledTraces.size() + " exception traces spilled during the previous shutdown to " + spillFile.getPath());
+        return spilledTraces;
+    }
+
+    private void redeliverTraces(List<UncaughtGuardExceptionTrace> traces) {
+        if (traces.isEmpty())
+            return;
+
+        // redelivered traces bypass the dispatcher queue, so that they can neither overflow it nor delay the startup
+        Thread redeliveryThread = new Thread(() -> traces.forEach(this::redeliverTrace), SPILL_REDELIVERY_THREAD_NAME);
+        redeliveryThread.setDaemon(true);
+        redeliveryThread.start();
+    }
+
+    private void redeliverTrace(UncaughtGuardExceptionTrace trace) {
+        // spilled traces are journaled like new ones, the recovered ones are still pending in the journal
+        if (journal != null && !journal.isPending(trace))
+            journal.append(trace);
+        logExceptionTrace(trace);
+    }
+
+    /**
+     * Stops the dispatcher and the strategy invoker when the application context is closed.
+     * New traces are not accepted anymore, the queued ones are delivered and the strategy invocations in progress
+     * are awaited until the configured deadline. The traces still queued, and the ones whose strategy invocations
+     * did not complete, are spilled to the spill file, if configured.
+     */
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getShutdownDrainTimeoutMillis());
+        List<UncaughtGuardExceptionTrace> undeliveredTraces = new ArrayList<>();
+        if (dispatcher != null)
+            undeliveredTraces.addAll(dispatcher.drain(properties.getShutdownDrainTimeoutMillis()));
+        if (coalescer != null)
+            coalescer.shutdown();
+        strategyInvoker.shutdown(Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        undeliveredTraces.addAll(abandonInvokingTraces());
+        spillUndeliveredTraces(undeliveredTraces);
+        if (journal != null)
+            journal.close();
+    }
+
+    private List<UncaughtGuardExceptionTrace> abandonInvokingTraces() {
+        // a trace removed here is spilled, its completion callback will ignore it if it is ever called
+        List<UncaughtGuardExceptionTrace> abandonedTraces = new ArrayList<>();
+        for (UncaughtGuardExceptionTrace trace : invokingTraces) {
+            if (invokingTraces.remove(trace))
+                abandonedTraces.add(trace);
+        }
+        return abandonedTraces;
+    }
+
+    private void spillUndeliveredTraces(List<UncaughtGuardExceptionTrace> undeliveredTraces) {
+        if (journal != null) {
+            // journaled traces are recovered from the journal on the next startup, they must not be spilled twice
+            undeliveredTraces = undeliveredTraces.stream().filter(trace -> !journal.isPending(trace)).toList();
+        }
+
+        if (undeliveredTraces.isEmpty())
+            return;
+
+        if (spillFile == null) {
+            logger.warning(undeliveredTraces.size() + " exception traces were not delivered before shutdown and no spill file is configured, they are lost");
+            return;
+        }
+
+        try {
+            int spilled = spillFile.spill(undeliveredTraces);
+            logger.info("Spilled " + spilled + " undelivered exception traces to " + spillFile.getPath() + ", they will be redelivered on the next startup");
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Cannot spill " + undeliveredTraces.size() + " undelivered exception traces to " + spillFile.getPath() + ", they are lost", e);
+        }
+    }
 
     /**
      * Logs the given exception trace asynchronously using the configured logging strategies.
-     * This method will attempt to log the trace using each of the specified logging strategies.
-     * If none of the strategies succeed, it will fall back to the default system error logging strategy.
+     * The trace is handed over to the dispatcher, which will log it with {@link #logExceptionTrace(UncaughtGuardExceptionTrace)}
+     * on one of its worker threads, or apply its overflow policy if it is full.
+     * If the journal is enabled, the trace is journaled first, on the calling thread.
      *
      * @param trace the exception trace to log
      */
-    @Async
     public void logExceptionTraceAsync(UncaughtGuardExceptionTrace trace) {
-        int successfulLoggingCount = 0;
-        for (Class<? extends UncaughtGuardLoggingStrategy> loggingStrategy : properties.getLoggingStrategies()) {
-            logger.fine("Logging exception trace with assigned Trace ID: " + trace.getTraceId() + " using specified logging strategy " + loggingStrategy.getSimpleName());
-            UncaughtGuardLoggingStrategy loggingStrategyBean = context.getBean(loggingStrategy);
-            boolean loggingSuccessfull = loggingStrategyBean.callLog(trace);
-            if (loggingSuccessfull)
-                successfulLoggingCount++;
+        if (journal != null)
+            journal.append(trace);
+        dispatcher.dispatch(trace);
+    }
+
+    /**
+     * Logs the given exception trace using the configured logging strategies.
+     * This method will attempt to log the trace using each of the logging strategies selected by the router,
+     * invoked according to the configured strategy execution mode.
+     * If none of the strategies succeed, it will fall back to the default system error logging strategy,
+     * once every strategy invocation is over.
+     *
+     * If coalescing is enabled, the repetitions of an exception already logged in the current window
+     * are only counted, to be logged later in the summary of the window.
+     * If the trace is pending in the journal, each strategy is invoked on its own and recorded in the journal
+     * once it logged the trace, and the strategies that already logged a recovered trace are not invoked again.
+     *
+     * @param trace the exception trace to log
+     */
+    public void logExceptionTrace(UncaughtGuardExceptionTrace trace) {
+        if (coalescer != null && !coalescer.offer(trace)) {
+            if (journal != null)
+                journal.acknowledge(trace);
+            return;
+        }
+
+        invokingTraces.add(trace);
+        IntConsumer onCompletion = successfulLoggingCount -> {
+            if (!invokingTraces.remove(trace))
+                return;
+
+            if (successfulLoggingCount == 0) {
+                logger.warning("No logging strategies were able to log the exception trace con Trace ID assegnato: " + trace.getTraceId() + ", logging con strategia di default");
+                logExceptionTraceDegraded(trace);
+            } else if (journal != null) {
+                journal.acknowledge(trace);
+            }
+        };
+
+        List<UncaughtGuardLoggingStrategy> strategies = router.route(trace);
+        if (journal != null && journal.isPending(trace))
+            invokeAcknowledgingEachStrategy(trace, strategies, onCompletion);
+        else
+            strategyInvoker.invoke(trace, strategies, onCompletion);
+    }
+
+    private void invokeAcknowledgingEachStrategy(UncaughtGuardExceptionTrace trace, List<UncaughtGuardLoggingStrategy> strategies, IntConsumer onCompletion) {
+        // the strategies that logged the trace before a crash count as successful, without being invoked again
+        long acknowledgedStrategies = journal.getAcknowledgedStrategies(trace);
+        List<UncaughtGuardLoggingStrategy> remainingStrategies = new ArrayList<>(strategies.size());
+        int alreadyLoggedCount = 0;
+        for (UncaughtGuardLoggingStrategy strategy : strategies) {
+            if (isAcknowledged(acknowledgedStrategies, router.getStrategyIndex(strategy)))
+                alreadyLoggedCount++;
+            else
+                remainingStrategies.add(strategy);
+        }
+
+        if (remainingStrategies.isEmpty()) {
+            onCompletion.accept(alreadyLoggedCount);
+            return;
         }
 
-        if (successfulLoggingCount == 0) {
-            logger.warning("No logging strategies were able to log the exception trace con Trace ID assegnato: " + trace.getTraceId() + ", logging con strategia di default");
-            UncaughtGuardSystemErrorLoggingStrategy defaultLoggingStrategy = context.getBean(UncaughtGuardSystemErrorLoggingStrategy.class);
-            defaultLoggingStrategy.callLog(trace);
+        // each strategy is invoked on its own, so that its outcome can be recorded in the journal as soon as it is known
+        AtomicInteger remainingCalls = new AtomicInteger(remainingStrategies.size());
+        AtomicInteger successfulCalls = new AtomicInteger(alreadyLoggedCount);
+        for (UncaughtGuardLoggingStrategy strategy : remainingStrategies) {
+            int strategyIndex = router.getStrategyIndex(strategy);
+            strategyInvoker.invoke(trace, List.of(strategy), successfulLoggingCount -> {
+                if (successfulLoggingCount > 0) {
+                    successfulCalls.incrementAndGet();
+                    journal.acknowledgeStrategy(trace, strategyIndex);
+                }
+                if (remainingCalls.decrementAndGet() == 0)
+                    onCompletion.accept(successfulCalls.get());
+            });
         }
     }
-}
 
+    private static boolean isAcknowledged(long acknowledgedStrategies, int strategyIndex) {
+        return strategyIndex >= 0
+                && strategyIndex < UncaughtGuardTraceJournal.MAX_ACKNOWLEDGED_STRATEGIES
+                && (acknowledgedStrategies & (1L << strategyIndex)) != 0;
+    }
+
+    /**
+     * Logs the summary of the repetitions of an exception folded during a coalescing window,
+     * with the logging strategies the first trace of the window was routed to, invoked according to the configured
+     * strategy execution mode like the traces, so that a slow strategy does not hold the coalescer thread
+     * except in {@code SEQUENTIAL} mode.
+     * If none of the strategies succeed, it falls back to the default system error logging strategy.
+     *
+     * @param summary the summary to log
+     */
+    public void logExceptionTraceSummary(UncaughtGuardExceptionTraceSummary summary) {
+        strategyInvoker.invokeSummary(summary, router.route(summary.getFirstTrace()), successfulLoggingCount -> {
+            if (successfulLoggingCount == 0) {
+                logger.warning("No logging strategies were able to log the summary of exception traces with fingerprint: " + summary.getFingerprint() + ", logging with default strategy");
+                router.getFallbackStrategy().callLogSummary(summary);
+            }
+        });
+    }
+
+    /**
+     * Logs the given exception trace only with the default system error logging strategy.
+     * It is used as a fallback when no other strategy succeeded, and when the dispatcher is full
+     * and configured to run the logging on the calling thread with a degraded capture.
+     *
+     * @param trace the exception trace to log
+     */
+    public void logExceptionTraceDegraded(UncaughtGuardExceptionTrace trace) {
+        router.getFallbackStrategy().callLog(trace);
+        if (journal != null)
+            journal.acknowledge(trace);
+    }
+
+    /**
+     * Keeps in the journal the traces the dispatcher refused once the shutdown has started, to recover them on the next
+     * startup. The traces discarded because of the overflow policy are acknowledged, so that they are not recovered.
+     */
+    private void onTraceDropped(UncaughtGuardExceptionTrace trace) {
+        if (journal == null)
+            return;
+
+        if (!shuttingDown)
+            journal.acknowledge(trace);
+        else if (!journal.isPending(trace))
+            journal.append(trace);
+    }
+
+    /**
+     * @return the journal of the traces not delivered yet, or null if the journal is disabled
+     */
+    public UncaughtGuardTraceJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * @return the coalescer folding the repetitions of the same exception, or null if coalescing is disabled
+     */
+    public UncaughtGuardTraceCoalescer getCoalescer() {
+        return coalescer;
+    }
+
+    /**
+     * @return the number of traces dispatched ahead of the backlog because their fingerprint was never seen before
+     */
+    public long getPriorityTracesCount() {
+        return dispatcher instanceof UncaughtGuardNoveltyPriorityTraceDispatcher priorityDispatcher ? priorityDispatcher.getPriorityTracesCount() : 0;
+    }
+
+    /**
+     * @return the number of traces the dispatcher could not queue because it was full
+     */
+    public long getRejectedTracesCount() {
+        return dispatcher.getRejectedTracesCount();
+    }
+
+    /**
+     * @return the number of traces the dispatcher discarded without logging them
+     */
+    public long getDroppedTracesCount() {
+        return dispatcher.getDroppedTracesCount();
+    }
+
+    /**
+     * @return the number of traces logged on the calling thread with a degraded capture
+     */
+    public long getDegradedTracesCount() {
+        return dispatcher.getDegradedTracesCount();
+    }
+}
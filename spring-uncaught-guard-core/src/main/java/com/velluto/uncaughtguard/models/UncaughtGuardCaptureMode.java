@@ -0,0 +1,18 @@
+package com.velluto.uncaughtguard.models;
+
+/**
+ * Selects how much of the exception trace is built on the request thread.
+ */
+public enum UncaughtGuardCaptureMode {
+    /**
+     * Query parameters, headers and body are parsed and decoded on the request thread,
+     * when the exception trace is captured.
+     */
+    EAGER,
+    /**
+     * Only immutable references to the raw query string, header names and values and body bytes are recorded
+     * on the request thread. They are parsed and decoded the first time they are read, usually by the logging
+     * strategies on the dispatcher threads.
+     */
+    DEFERRED
+}
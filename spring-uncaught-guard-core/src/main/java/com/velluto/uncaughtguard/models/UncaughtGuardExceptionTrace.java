@@ -6,14 +6,19 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.velluto.uncaughtguard.exceptions.UncaughtGuardMethodParametersEnrichedRuntimeException;
+import com.velluto.uncaughtguard.filters.UncaughtGuardHeaderCaptureFilter;
 import com.velluto.uncaughtguard.serializers.UncaughtGuardExceptionTraceBodyJsonSerializer;
 import com.velluto.uncaughtguard.serializers.UncaughtGuardExceptionTraceExceptionJsonSerializer;
+import com.velluto.uncaughtguard.wrappers.UncaughtGuardBodyCachingRequest;
+import com.velluto.uncaughtguard.wrappers.UncaughtGuardBodyDrainer;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.logging.Level;
@@ -32,6 +37,17 @@ import java.util.stream.Collectors;
  * From an exception trace it is possible to retrieve the HTTP response DTO
  * which contains the incident timestamp, trace ID, and an error message.
  * This DTO is the HTTP response that will be sent back to the client.
+ * <p>
+ * In {@link UncaughtGuardCaptureMode#DEFERRED} capture mode the request thread only records the raw query string,
+ * header names and values and body bytes, which are rendered into query parameters, headers and body
+ * the first time any of them is read.
+ * <p>
+ * Bodies cached only in part, see {@link UncaughtGuardBodyCachingRequest}, end with
+ * a truncation marker, {@code ...[truncated, Content-Length: <bytes>]} or {@code ...[truncated]} when the
+ * Content-Length is unknown.
+ * <p>
+ * When the method flight recorder is enabled, the method entries and exits recorded during the failing request
+ * are attached to the trace, see {@link #attachMethodFlightRecording(List)}.
  */
 public class UncaughtGuardExceptionTrace {
     private static final Logger logger = Logger.getLogger(UncaughtGuardExceptionTrace.class.getName());
@@ -41,24 +57,173 @@ public class UncaughtGuardExceptionTrace {
     private final UUID traceId;
     private final String method;
     private final String path;
-    private final Map<String, String> queryParams;
-    private final Map<String, String> headers;
+    private final String contextPath;
+    private Map<String, String> queryParams;
+    private Map<String, String> headers;
     @JsonSerialize(using = UncaughtGuardExceptionTraceBodyJsonSerializer.class)
-    private final String body;
+    private String body;
+    private long bodyContentLength = -1;
     private final List<UncaughtGuardThrowingMethod> throwingMethods;
+    private List<UncaughtGuardMethodFlightRecorderEvent> methodFlightRecording = List.of();
     @JsonSerialize(using = UncaughtGuardExceptionTraceExceptionJsonSerializer.class)
     private final RuntimeException exception;
 
+    // raw request snapshot, released once rendered
+    private String rawQueryString;
+    private String[] rawHeaders;
+    private byte[] rawBody;
+    private String rawBodyCharacterEncoding;
+    private boolean rawBodyTruncated;
+    private boolean rawBodyIncomplete;
+    private volatile boolean rendered;
+
     public UncaughtGuardExceptionTrace(HttpServletRequest request, RuntimeException exception, boolean isEnableLogRequestBody) {
+        this(request, exception, isEnableLogRequestBody, UncaughtGuardCaptureMode.EAGER);
+    }
+
+    /**
+     * Captures an exception trace from the request that did throw the exception.
+     * In {@link UncaughtGuardCaptureMode#DEFERRED} mode the request is only snapshotted, and the trace is rendered
+     * on first read; the request itself is never referenced after the constructor returns.
+     */
+    public UncaughtGuardExceptionTrace(HttpServletRequest request, RuntimeException exception, boolean isEnableLogRequestBody, UncaughtGuardCaptureMode captureMode) {
+        this(request, exception, isEnableLogRequestBody, captureMode, UUID.randomUUID());
+    }
+
+    /**
+     * Captures an exception trace from the request that did throw the exception, assigning it the given trace ID.
+     * See {@link #UncaughtGuardExceptionTrace(HttpServletRequest, RuntimeException, boolean, UncaughtGuardCaptureMode)}.
+     */
+    public UncaughtGuardExceptionTrace(HttpServletRequest request, RuntimeException exception, boolean isEnableLogRequestBody, UncaughtGuardCaptureMode captureMode, UUID traceId) {
+        this(request, exception, isEnableLogRequestBody, captureMode, traceId, null);
+    }
+
+    /**
+     * Captures an exception trace from the request that did throw the exception, assigning it the given trace ID
+     * and copying only the headers selected by the given header capture filter, or all of them if it is null.
+     * See {@link #UncaughtGuardExceptionTrace(HttpServletRequest, RuntimeException, boolean, UncaughtGuardCaptureMode)}.
+     */
+    public UncaughtGuardExceptionTrace(
+            HttpServletRequest request,
+            RuntimeException exception,
+            boolean isEnableLogRequestBody,
+            UncaughtGuardCaptureMode captureMode,
+            UUID traceId,
+            UncaughtGuardHeaderCaptureFilter headerCaptureFilter
+    ) {
         this.incidentTimestamp = LocalDateTime.now();
-        this.traceId = UUID.randomUUID();
+        this.traceId = traceId;
         this.method = request.getMethod();
         this.path = request.getRequestURI();
-        this.queryParams = getQueryParamsFromRequest(request);
-        this.headers = getHeadersFromRequest(request);
-        this.body = getBodyFromRequest(request, isEnableLogRequestBody);
+        this.contextPath = request.getContextPath() != null ? request.getContextPath() : "";
         this.throwingMethods = retrieveThrowingMethods(exception);
         this.exception = retrieveOriginalException(exception);
+        snapshotRequest(request, isEnableLogRequestBody, headerCaptureFilter);
+
+        if (captureMode != UncaughtGuardCaptureMode.DEFERRED)
+            render();
+    }
+
+    /**
+     * Restores an exception trace from its recorded fields, e.g. when reading a spilled trace back.
+     * The trace keeps its original trace ID and incident timestamp.
+     */
+    public UncaughtGuardExceptionTrace(
+            LocalDateTime incidentTimestamp,
+            UUID traceId,
+            String method,
+            String path,
+            Map<String, String> queryParams,
+            Map<String, String> headers,
+            String body,
+            List<UncaughtGuardThrowingMethod> throwingMethods,
+            RuntimeException exception
+    ) {
+        this(incidentTimestamp, traceId, method, path, queryParams, headers, body, -1, throwingMethods, exception);
+    }
+
+    /**
+     * Restores an exception trace from its recorded fields, including the original Content-Length of the body.
+     * The context path is not known, so the whole path is taken as the path within the application.
+     * See {@link #UncaughtGuardExceptionTrace(LocalDateTime, UUID, String, String, Map, Map, String, List, RuntimeException)}.
+     */
+    public UncaughtGuardExceptionTrace(
+            LocalDateTime incidentTimestamp,
+            UUID traceId,
+            String method,
+            String path,
+            Map<String, String> queryParams,
+            Map<String, String> headers,
+            String body,
+            long bodyContentLength,
+            List<UncaughtGuardThrowingMethod> throwingMethods,
+            RuntimeException exception
+    ) {
+        this(incidentTimestamp, traceId, method, path, "", queryParams, headers, body, bodyContentLength, throwingMethods, exception);
+    }
+
+    /**
+     * Restores an exception trace from its recorded fields, including the context path the request was served under
+     * and the original Content-Length of the body.
+     * See {@link #UncaughtGuardExceptionTrace(LocalDateTime, UUID, String, String, Map, Map, String, List, RuntimeException)}.
+     */
+    public UncaughtGuardExceptionTrace(
+            LocalDateTime incidentTimestamp,
+            UUID traceId,
+            String method,
+            String path,
+            String contextPath,
+            Map<String, String> queryParams,
+            Map<String, String> headers,
+            String body,
+            long bodyContentLength,
+            List<UncaughtGuardThrowingMethod> throwingMethods,
+            RuntimeException exception
+    ) {
+        this.incidentTimestamp = incidentTimestamp;
+        this.traceId = traceId;
+        this.method = method;
+        this.path = path;
+        this.contextPath = contextPath != null ? contextPath : "";
+        this.queryParams = queryParams;
+        this.headers = headers;
+        this.body = body;
+        this.bodyContentLength = bodyContentLength;
+        this.throwingMethods = throwingMethods;
+        this.exception = exception;
+        this.rendered = true;
+    }
+
+    /**
+     * Restores an exception trace whose request was recorded but not rendered yet, e.g. when reading a journaled trace
+     * back. The request snapshot is rendered the first time the query parameters, headers or body are read.
+     * See {@link #UncaughtGuardExceptionTrace(LocalDateTime, UUID, String, String, String, Map, Map, String, long, List, RuntimeException)}.
+     */
+    public UncaughtGuardExceptionTrace(
+            LocalDateTime incidentTimestamp,
+            UUID traceId,
+            String method,
+            String path,
+            String contextPath,
+            UncaughtGuardRequestSnapshot requestSnapshot,
+            long bodyContentLength,
+            List<UncaughtGuardThrowingMethod> throwingMethods,
+            RuntimeException exception
+    ) {
+        this.incidentTimestamp = incidentTimestamp;
+        this.traceId = traceId;
+        this.method = method;
+        this.path = path;
+        this.contextPath = contextPath != null ? contextPath : "";
+        this.bodyContentLength = bodyContentLength;
+        this.throwingMethods = throwingMethods;
+        this.exception = exception;
+        this.rawQueryString = requestSnapshot.getQueryString();
+        this.rawHeaders = requestSnapshot.getHeaders();
+        this.rawBody = requestSnapshot.getBody();
+        this.rawBodyCharacterEncoding = requestSnapshot.getBodyCharacterEncoding();
+        this.rawBodyTruncated = requestSnapshot.isBodyTruncated();
+        this.rawBodyIncomplete = requestSnapshot.isBodyIncomplete();
     }
 
     private static List<UncaughtGuardThrowingMethod> retrieveThrowingMethods(RuntimeException receivedException) {
@@ -75,10 +240,91 @@ public class UncaughtGuardExceptionTrace {
             return receivedException;
     }
 
-    private Map<String, String> getQueryParamsFromRequest(HttpServletRequest request) {
+    private void snapshotRequest(HttpServletRequest request, boolean isEnableLogRequestBody, UncaughtGuardHeaderCaptureFilter headerCaptureFilter) {
+        this.rawQueryString = request.getQueryString();
+        this.rawHeaders = headerCaptureFilter != null ? headerCaptureFilter.captureHeaders(request) : captureAllHeaders(request);
+
+        // the body stream can only be read while the request is alive, so the bytes are always taken here
+        if (isEnableLogRequestBody && (request instanceof UncaughtGuardBodyCachingRequest || request instanceof ContentCachingRequestWrapper)) {
+            this.bodyContentLength = request.getContentLengthLong();
+            this.rawBody = readRequestBody(request);
+            this.rawBodyCharacterEncoding = request.getCharacterEncoding();
+        }
+    }
+
+    private static String[] captureAllHeaders(HttpServletRequest request) {
+        List<String> namesAndValues = new ArrayList<>();
+
+        Enumeration<String> names = request.getHeaderNames();
+        while (names != null && names.hasMoreElements()) {
+            String name = names.nextElement();
+            namesAndValues.add(name);
+            namesAndValues.add(request.getHeader(name));
+        }
+
+        return namesAndValues.toArray(new String[0]);
+    }
+
+    private byte[] readRequestBody(HttpServletRequest wrappedRequest) {
+        int limit = wrappedRequest instanceof UncaughtGuardBodyCachingRequest cachingRequest ? cachingRequest.getContentCacheLimit() : 0;
+        byte[] cached = getCachedBody(wrappedRequest);
+
+        // body can be never read yet or actually empty, only what was already received is drained within the budget
+        if (cached.length == 0) {
+            try {
+                UncaughtGuardBodyDrainer.Outcome outcome = wrappedRequest instanceof UncaughtGuardBodyCachingRequest cachingRequest
+                        ? cachingRequest.drainBody()
+                        : UncaughtGuardBodyDrainer.drain((ContentCachingRequestWrapper) wrappedRequest, UncaughtGuardBodyDrainer.DEFAULT_MAX_BYTES, UncaughtGuardBodyDrainer.DEFAULT_TIMEOUT_MILLIS);
+                this.rawBodyTruncated = outcome == UncaughtGuardBodyDrainer.Outcome.BYTE_BUDGET_EXHAUSTED;
+                this.rawBodyIncomplete = outcome == UncaughtGuardBodyDrainer.Outcome.TIME_BUDGET_EXHAUSTED;
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Error reading body from the request that did throw unhandled exception with assigned traceId: " + traceId, e);
+                this.rawBodyIncomplete = true;
+            }
+            cached = getCachedBody(wrappedRequest);
+        }
+
+        if (limit > 0 && wrappedRequest instanceof UncaughtGuardBodyCachingRequest cachingRequest)
+            this.rawBodyTruncated |= cachingRequest.isTruncated() || (cached.length >= limit && bodyContentLength > cached.length);
+
+        return cached;
+    }
+
+    private static byte[] getCachedBody(HttpServletRequest wrappedRequest) {
+        if (wrappedRequest instanceof UncaughtGuardBodyCachingRequest cachingRequest)
+            return cachingRequest.getCachedBody();
+        return ((ContentCachingRequestWrapper) wrappedRequest).getContentAsByteArray();
+    }
+
+    /**
+     * Renders the raw request snapshot into query parameters, headers and body, if not done yet.
+     * It is called by the getters, so it runs on the first thread reading the trace.
+     */
+    private void render() {
+        if (rendered)
+            return;
+
+        synchronized (this) {
+            if (rendered)
+                return;
+
+            this.queryParams = parseQueryParams(rawQueryString);
+            this.headers = parseHeaders(rawHeaders);
+            this.body = decodeBody(rawBody, rawBodyCharacterEncoding, rawBodyTruncated, rawBodyIncomplete, bodyContentLength);
+
+            this.rawQueryString = null;
+            this.rawHeaders = null;
+            this.rawBody = null;
+            this.rawBodyCharacterEncoding = null;
+            this.rendered = true;
+        }
+    }
+
+    private static Map<String, String> parseQueryParams(String query) {
         Map<String, String> queryParams = new HashMap<>();
+        if (query == null || query.isEmpty())
+            return queryParams;
 
-        String query = request.getQueryString();
         String[] nameValueParams = query.split("&");
 
         for (String nameValueParam : nameValueParams) {
@@ -91,40 +337,51 @@ public class UncaughtGuardExceptionTrace {
         return queryParams;
     }
 
-    private Map<String, String> getHeadersFromRequest(HttpServletRequest request) {
+    private static Map<String, String> parseHeaders(String[] namesAndValues) {
         Map<String, String> headers = new HashMap<>();
 
-        Enumeration<String> headerNames = request.getHeaderNames();
-        while (headerNames.hasMoreElements()) {
-            String name = headerNames.nextElement();
-            String value = request.getHeader(name);
-            headers.put(name, value);
-        }
+        for (int i = 0; i + 1 < namesAndValues.length; i += 2)
+            headers.put(namesAndValues[i], namesAndValues[i + 1]);
 
         return headers;
     }
 
-    private String readRequestBody(ContentCachingRequestWrapper wrappedRequest) {
-        byte[] cached = wrappedRequest.getContentAsByteArray();
+    private static String decodeBody(byte[] body, String characterEncoding, boolean truncated, boolean incomplete, long contentLength) {
+        String decoded = body == null || body.length == 0 ? "" : new String(body, resolveCharset(characterEncoding));
 
-        // body can be never read yet or actually empty
-        if (cached.length == 0) {
-            try {
-                wrappedRequest.getInputStream().readAllBytes();
-            } catch (IOException e) {
-                logger.log(Level.WARNING, "Error reading body from the request that did throw unhandled exception with assigned traceId: " + traceId, e);
-            }
-        }
+        // a body still in transit is marked even when nothing of it was received
+        if (incomplete)
+            return decoded + (contentLength >= 0 ? "...[body not fully received, Content-Length: " + contentLength + "]" : "...[body not fully received]");
+        if (!truncated || decoded.isEmpty())
+            return decoded;
 
-        // at this point we are sure the body was read, if this returns nothing then the body is actually empty
-        return wrappedRequest.getContentAsString();
+        return decoded + (contentLength >= 0 ? "...[truncated, Content-Length: " + contentLength + "]" : "...[truncated]");
     }
 
-    private String getBodyFromRequest(HttpServletRequest request, boolean isEnableLogRequestBody) {
-        if (!isEnableLogRequestBody || !(request instanceof ContentCachingRequestWrapper wrappedRequest))
-            return "";
+    private static Charset resolveCharset(String characterEncoding) {
+        if (characterEncoding == null)
+            return StandardCharsets.ISO_8859_1;
 
-        return readRequestBody(wrappedRequest);
+        try {
+            return Charset.forName(characterEncoding);
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.ISO_8859_1;
+        }
+    }
+
+    /**
+     * @return the raw request snapshot, or null if the trace is already rendered, it never renders the trace
+     */
+    @JsonIgnore
+    public UncaughtGuardRequestSnapshot getRequestSnapshot() {
+        if (rendered)
+            return null;
+
+        synchronized (this) {
+            if (rendered)
+                return null;
+            return new UncaughtGuardRequestSnapshot(rawQueryString, rawHeaders, rawBody, rawBodyCharacterEncoding, rawBodyTruncated, rawBodyIncomplete);
+        }
     }
 
     public LocalDateTime getIncidentTimestamp() {
@@ -143,7 +400,22 @@ public class UncaughtGuardExceptionTrace {
         return path;
     }
 
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    /**
+     * @return the path of the request without the context path, i.e. the path the application mappings are matched against
+     */
+    @JsonIgnore
+    public String getPathWithinApplication() {
+        if (path == null || contextPath.isEmpty() || !path.startsWith(contextPath))
+            return path;
+        return path.substring(contextPath.length());
+    }
+
     public Map<String, String> getQueryParams() {
+        render();
         return queryParams;
     }
 
@@ -152,13 +424,22 @@ public class UncaughtGuardExceptionTrace {
     }
 
     public Map<String, String> getHeaders() {
+        render();
         return headers;
     }
 
     public String getBody() {
+        render();
         return body;
     }
 
+    /**
+     * @return the Content-Length declared by the request whose body was captured, or -1 if unknown or not captured
+     */
+    public long getBodyContentLength() {
+        return bodyContentLength;
+    }
+
     public UncaughtGuardExceptionTraceHttpResponseDTO getHttpResponseDTO(String httpResponseErrorMessage) {
         return new UncaughtGuardExceptionTraceHttpResponseDTO(incidentTimestamp, traceId, httpResponseErrorMessage);
     }
@@ -167,6 +448,20 @@ public class UncaughtGuardExceptionTrace {
         return throwingMethods;
     }
 
+    /**
+     * @return the method entries and exits recorded during the request, empty if the method flight recorder is disabled
+     */
+    public List<UncaughtGuardMethodFlightRecorderEvent> getMethodFlightRecording() {
+        return methodFlightRecording;
+    }
+
+    /**
+     * Attaches the method entries and exits recorded during the request that did throw the exception.
+     */
+    public void attachMethodFlightRecording(List<UncaughtGuardMethodFlightRecorderEvent> methodFlightRecording) {
+        this.methodFlightRecording = methodFlightRecording;
+    }
+
     @JsonIgnore
     public String getLoggableExceptionStackTrace() {
         StringWriter stringWriter = new StringWriter();
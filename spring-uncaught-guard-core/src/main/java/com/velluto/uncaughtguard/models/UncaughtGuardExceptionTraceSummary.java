@@ -0,0 +1,114 @@
+package com.velluto.uncaughtguard.models;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * This class represents the summary of the repetitions of the same exception over a coalescing window.
+ * <p>
+ * The first exception trace of a window is logged in full, while the following traces with the same fingerprint
+ * are folded into this summary: it counts them and keeps a bounded sample of their trace IDs,
+ * so that the clients referring to one of them can still be related to the logged exception.
+ */
+public class UncaughtGuardExceptionTraceSummary {
+    private final String fingerprint;
+    private final String exceptionClassName;
+    private final String exceptionMessage;
+    private final String method;
+    private final String path;
+    private final UUID firstTraceId;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private final LocalDateTime windowStart;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private final LocalDateTime windowEnd;
+    private final long coalescedTracesCount;
+    private final List<UUID> sampledTraceIds;
+    @JsonIgnore
+    private final UncaughtGuardExceptionTrace firstTrace;
+
+    public UncaughtGuardExceptionTraceSummary(
+            String fingerprint,
+            UncaughtGuardExceptionTrace firstTrace,
+            String exceptionClassName,
+            LocalDateTime windowStart,
+            LocalDateTime windowEnd,
+            long coalescedTracesCount,
+            List<UUID> sampledTraceIds
+    ) {
+        this.fingerprint = fingerprint;
+        this.exceptionClassName = exceptionClassName;
+        this.exceptionMessage = firstTrace.getException().getMessage();
+        this.method = firstTrace.getMethod();
+        this.path = firstTrace.getPath();
+        this.firstTraceId = firstTrace.getTraceId();
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.coalescedTracesCount = coalescedTracesCount;
+        this.sampledTraceIds = List.copyOf(sampledTraceIds);
+        this.firstTrace = firstTrace;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public String getExceptionClassName() {
+        return exceptionClassName;
+    }
+
+    public String getExceptionMessage() {
+        return exceptionMessage;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public UUID getFirstTraceId() {
+        return firstTraceId;
+    }
+
+    public LocalDateTime getWindowStart() {
+        return windowStart;
+    }
+
+    public LocalDateTime getWindowEnd() {
+        return windowEnd;
+    }
+
+    public long getCoalescedTracesCount() {
+        return coalescedTracesCount;
+    }
+
+    public List<UUID> getSampledTraceIds() {
+        return sampledTraceIds;
+    }
+
+    /**
+     * @return the trace logged in full at the beginning of the window, used to route the summary
+     */
+    @JsonIgnore
+    public UncaughtGuardExceptionTrace getFirstTrace() {
+        return firstTrace;
+    }
+
+    @JsonIgnore
+    public String getLoggableSummary() {
+        return "Fingerprint  : " + fingerprint + '\n' +
+                "Exception    : " + exceptionClassName + (exceptionMessage != null ? ": " + exceptionMessage : "") + '\n' +
+                "Method       : " + method + '\n' +
+                "Path         : " + path + '\n' +
+                "First Trace  : " + firstTraceId + '\n' +
+                "Window       : " + windowStart + " - " + windowEnd + '\n' +
+                "Repetitions  : " + coalescedTracesCount + '\n' +
+                "Trace IDs    : " + sampledTraceIds;
+    }
+}
@@ -0,0 +1,59 @@
+package com.velluto.uncaughtguard.models;
+
+/**
+ * Represents a method entry or exit recorded by the method flight recorder during the request
+ * that did throw the exception, handled by UncaughtGuard.
+ * <p>
+ * Events are listed in the order they happened, the elapsed time is measured from the start of the request
+ * and the duration is only known for exits.
+ */
+public class UncaughtGuardMethodFlightRecorderEvent {
+    private final UncaughtGuardMethodFlightRecorderEventType type;
+    private final String methodSignature;
+    private final int depth;
+    private final long elapsedNanos;
+    private final long durationNanos;
+
+    public UncaughtGuardMethodFlightRecorderEvent(
+            UncaughtGuardMethodFlightRecorderEventType type,
+            String methodSignature,
+            int depth,
+            long elapsedNanos,
+            long durationNanos
+    ) {
+        this.type = type;
+        this.methodSignature = methodSignature;
+        this.depth = depth;
+        this.elapsedNanos = elapsedNanos;
+        this.durationNanos = durationNanos;
+    }
+
+    public UncaughtGuardMethodFlightRecorderEventType getType() {
+        return type;
+    }
+
+    public String getMethodSignature() {
+        return methodSignature;
+    }
+
+    /**
+     * @return nesting level of the method among the recorded methods, 0 for the outermost one
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return nanoseconds elapsed from the start of the request to the event
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return nanoseconds spent in the method for exits, -1 for entries
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+}
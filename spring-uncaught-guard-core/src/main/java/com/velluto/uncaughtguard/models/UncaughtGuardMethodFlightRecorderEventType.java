@@ -0,0 +1,19 @@
+package com.velluto.uncaughtguard.models;
+
+/**
+ * Kind of a method event recorded by the method flight recorder.
+ */
+public enum UncaughtGuardMethodFlightRecorderEventType {
+    /**
+     * The method was invoked.
+     */
+    ENTRY,
+    /**
+     * The method returned.
+     */
+    EXIT,
+    /**
+     * The method threw an exception.
+     */
+    EXCEPTIONAL_EXIT
+}
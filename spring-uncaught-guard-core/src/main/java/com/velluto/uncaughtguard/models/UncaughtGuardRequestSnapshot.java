@@ -0,0 +1,64 @@
+package com.velluto.uncaughtguard.models;
+
+/**
+ * Raw request data recorded by an exception trace in {@link UncaughtGuardCaptureMode#DEFERRED} capture mode
+ * and not rendered yet: the query string, the header names and values and the body bytes as received.
+ * <p>
+ * It lets the trace be written out, e.g. to the journal, without rendering it, and restored later still deferred.
+ */
+public class UncaughtGuardRequestSnapshot {
+    private final String queryString;
+    private final String[] headers;
+    private final byte[] body;
+    private final String bodyCharacterEncoding;
+    private final boolean bodyTruncated;
+    private final boolean bodyIncomplete;
+
+    /**
+     * @param queryString           raw query string, or null if the request had none
+     * @param headers               header names and values, alternated
+     * @param body                  body bytes, or null if the body was not captured
+     * @param bodyCharacterEncoding character encoding declared by the request, or null if unknown
+     * @param bodyTruncated         true if only a part of the body was captured
+     * @param bodyIncomplete        true if the body was not fully received when it was captured
+     */
+    public UncaughtGuardRequestSnapshot(
+            String queryString,
+            String[] headers,
+            byte[] body,
+            String bodyCharacterEncoding,
+            boolean bodyTruncated,
+            boolean bodyIncomplete
+    ) {
+        this.queryString = queryString;
+        this.headers = headers != null ? headers : new String[0];
+        this.body = body;
+        this.bodyCharacterEncoding = bodyCharacterEncoding;
+        this.bodyTruncated = bodyTruncated;
+        this.bodyIncomplete = bodyIncomplete;
+    }
+
+    public String getQueryString() {
+        return queryString;
+    }
+
+    public String[] getHeaders() {
+        return headers;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getBodyCharacterEncoding() {
+        return bodyCharacterEncoding;
+    }
+
+    public boolean isBodyTruncated() {
+        return bodyTruncated;
+    }
+
+    public boolean isBodyIncomplete() {
+        return bodyIncomplete;
+    }
+}
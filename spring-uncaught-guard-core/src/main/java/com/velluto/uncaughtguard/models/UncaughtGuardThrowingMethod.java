@@ -18,6 +18,14 @@ public class UncaughtGuardThrowingMethod {
         this.passedParameters = buildPassedParameters(passedParameters);
     }
 
+    /**
+     * Restores a throwing method from its already built parameters, e.g. when reading a spilled trace back.
+     */
+    public UncaughtGuardThrowingMethod(String methodSignature, UncaughtGuardThrowingMethodParameter[] passedParameters) {
+        this.methodSignature = methodSignature;
+        this.passedParameters = passedParameters;
+    }
+
     private UncaughtGuardThrowingMethodParameter[] buildPassedParameters(Object[] parameters) {
         if (parameters == null || parameters.length == 0)
             return new UncaughtGuardThrowingMethodParameter[0];
@@ -24,6 +24,14 @@ public class UncaughtGuardThrowingMethodParameter {
         }
     }
 
+    /**
+     * Restores a parameter from its recorded type name and value, e.g. when reading a spilled trace back.
+     */
+    public UncaughtGuardThrowingMethodParameter(String typeClassName, Object value) {
+        this.typeClassName = typeClassName;
+        this.value = value;
+    }
+
     public String getTypeClassName() {
         return typeClassName;
     }
@@ -1,6 +1,16 @@
 package com.velluto.uncaughtguard.properties;
 
+import com.velluto.uncaughtguard.advices.UncaughtGuardWeavingMode;
+import com.velluto.uncaughtguard.dispatchers.UncaughtGuardDispatchMode;
+import com.velluto.uncaughtguard.dispatchers.UncaughtGuardDispatchOverflowPolicy;
+import com.velluto.uncaughtguard.dispatchers.UncaughtGuardRingBufferWaitStrategy;
+import com.velluto.uncaughtguard.generators.UncaughtGuardRandomTraceIdGenerator;
+import com.velluto.uncaughtguard.generators.UncaughtGuardTraceIdGenerator;
+import com.velluto.uncaughtguard.invokers.UncaughtGuardStrategyExecutionMode;
+import com.velluto.uncaughtguard.models.UncaughtGuardCaptureMode;
+import com.velluto.uncaughtguard.routers.UncaughtGuardRouteDefinition;
 import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
+import org.springframework.web.bind.annotation.RequestMethod;
 
 public class UncaughtGuardProperties {
     private Class<? extends UncaughtGuardLoggingStrategy>[] loggingStrategies;
@@ -10,6 +20,71 @@ public class UncaughtGuardProperties {
     private boolean keepThrowingExceptions;
     private boolean enableLogRequestBody;
     private boolean enableLogThrowingMethodParameters;
+    private int dispatchWorkerThreads = 2;
+    private int dispatchQueueCapacity = 1024;
+    private UncaughtGuardDispatchOverflowPolicy dispatchOverflowPolicy = UncaughtGuardDispatchOverflowPolicy.DROP_NEWEST;
+    private UncaughtGuardDispatchMode dispatchMode = UncaughtGuardDispatchMode.EXECUTOR;
+    private UncaughtGuardRingBufferWaitStrategy ringBufferWaitStrategy = UncaughtGuardRingBufferWaitStrategy.PARK;
+    private UncaughtGuardStrategyExecutionMode strategyExecutionMode = UncaughtGuardStrategyExecutionMode.SEQUENTIAL;
+    private int virtualThreadMaxInFlightCalls = 10000;
+    private int bulkheadWorkerThreads = 1;
+    private int bulkheadQueueCapacity = 256;
+    private long strategyCallTimeoutMillis = 10000;
+    private UncaughtGuardRouteDefinition[] routes = new UncaughtGuardRouteDefinition[0];
+    private long shutdownDrainTimeoutMillis = 5000;
+    private String spillFilePath = "";
+    private int batchMaxSize = 100;
+    private long batchMaxBytes = 1048576;
+    private long batchLingerMillis = 200;
+    private boolean enableCircuitBreakers = true;
+    private int circuitBreakerFailureRateThreshold = 50;
+    private int circuitBreakerWindowSize = 20;
+    private int circuitBreakerMinimumCalls = 10;
+    private long circuitBreakerOpenDurationMillis = 30000;
+    private int circuitBreakerHalfOpenProbes = 1;
+    private int maxRetries = 0;
+    private long retryInitialBackoffMillis = 100;
+    private long retryMaxBackoffMillis = 5000;
+    private int retryBudgetPercent = 20;
+    private int maxOutstandingRetries = 10000;
+    private String journalDirectory = "";
+    private int journalSegmentSizeBytes = 8388608;
+    private int journalSegmentCount = 4;
+    private int samplingThresholdPerSecond = 0;
+    private long samplingWindowMillis = 10000;
+    private int samplingMinimumPercent = 1;
+    private long coalescingWindowMillis = 0;
+    private int coalescingFingerprintFrames = 5;
+    private int coalescingMaxSampledTraceIds = 10;
+    private int coalescingMaxFingerprints = 10000;
+    private int noveltyLaneCapacity = 0;
+    private int noveltyFilterBits = 1048576;
+    private int noveltyFilterHashes = 4;
+    private RequestMethod[] excludedHttpMethods = new RequestMethod[0];
+    private String[] excludedPathPatterns = new String[0];
+    private UncaughtGuardCaptureMode captureMode = UncaughtGuardCaptureMode.EAGER;
+    private Class<? extends UncaughtGuardTraceIdGenerator> traceIdGenerator = UncaughtGuardRandomTraceIdGenerator.class;
+    private int traceIdNodeId = -1;
+    private String[] capturedHeaders = new String[0];
+    private String[] excludedHeaders = new String[0];
+    private int headerMaxValueLength = 0;
+    private int headersMaxTotalBytes = 0;
+    private int requestBodyMaxBytes = 0;
+    private String[] capturedBodyContentTypes = new String[0];
+    private RequestMethod[] bodyCaptureIncludedHttpMethods = new RequestMethod[0];
+    private RequestMethod[] bodyCaptureExcludedHttpMethods = new RequestMethod[0];
+    private String[] bodyCaptureIncludedPathPatterns = new String[0];
+    private String[] bodyCaptureExcludedPathPatterns = new String[0];
+    private int bodyBufferPoolSlabCount = 0;
+    private int bodyBufferPoolSlabSizeBytes = 8192;
+    private boolean bodyBufferPoolDirect = false;
+    private int requestBodyDrainMaxBytes = 1048576;
+    private long requestBodyDrainTimeoutMillis = 0;
+    private boolean enableMethodFlightRecorder = false;
+    private int methodFlightRecorderCapacity = 64;
+    private String[] enricherBasePackages = {};
+    private boolean enricherRequireMarkerAnnotation = false;
+    private UncaughtGuardWeavingMode enricherWeavingMode = UncaughtGuardWeavingMode.PROXY;
 
     public Class<? extends UncaughtGuardLoggingStrategy>[] getLoggingStrategies() {
         return loggingStrategies;
@@ -66,5 +141,524 @@ public class UncaughtGuardProperties {
     public void setEnableLogThrowingMethodParameters(boolean enableLogThrowingMethodParameters) {
         this.enableLogThrowingMethodParameters = enableLogThrowingMethodParameters;
     }
-}
 
+    public int getDispatchWorkerThreads() {
+        return dispatchWorkerThreads;
+    }
+
+    public void setDispatchWorkerThreads(int dispatchWorkerThreads) {
+        this.dispatchWorkerThreads = dispatchWorkerThreads;
+    }
+
+    public int getDispatchQueueCapacity() {
+        return dispatchQueueCapacity;
+    }
+
+    public void setDispatchQueueCapacity(int dispatchQueueCapacity) {
+        this.dispatchQueueCapacity = dispatchQueueCapacity;
+    }
+
+    public UncaughtGuardDispatchOverflowPolicy getDispatchOverflowPolicy() {
+        return dispatchOverflowPolicy;
+    }
+
+    public void setDispatchOverflowPolicy(UncaughtGuardDispatchOverflowPolicy dispatchOverflowPolicy) {
+        this.dispatchOverflowPolicy = dispatchOverflowPolicy;
+    }
+
+    public UncaughtGuardDispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
+
+    public void setDispatchMode(UncaughtGuardDispatchMode dispatchMode) {
+        this.dispatchMode = dispatchMode;
+    }
+
+    public UncaughtGuardRingBufferWaitStrategy getRingBufferWaitStrategy() {
+        return ringBufferWaitStrategy;
+    }
+
+    public void setRingBufferWaitStrategy(UncaughtGuardRingBufferWaitStrategy ringBufferWaitStrategy) {
+        this.ringBufferWaitStrategy = ringBufferWaitStrategy;
+    }
+
+    public UncaughtGuardStrategyExecutionMode getStrategyExecutionMode() {
+        return strategyExecutionMode;
+    }
+
+    public void setStrategyExecutionMode(UncaughtGuardStrategyExecutionMode strategyExecutionMode) {
+        this.strategyExecutionMode = strategyExecutionMode;
+    }
+
+    public int getVirtualThreadMaxInFlightCalls() {
+        return virtualThreadMaxInFlightCalls;
+    }
+
+    public void setVirtualThreadMaxInFlightCalls(int virtualThreadMaxInFlightCalls) {
+        this.virtualThreadMaxInFlightCalls = virtualThreadMaxInFlightCalls;
+    }
+
+    public int getBulkheadWorkerThreads() {
+        return bulkheadWorkerThreads;
+    }
+
+    public void setBulkheadWorkerThreads(int bulkheadWorkerThreads) {
+        this.bulkheadWorkerThreads = bulkheadWorkerThreads;
+    }
+
+    public int getBulkheadQueueCapacity() {
+        return bulkheadQueueCapacity;
+    }
+
+    public void setBulkheadQueueCapacity(int bulkheadQueueCapacity) {
+        this.bulkheadQueueCapacity = bulkheadQueueCapacity;
+    }
+
+    public long getStrategyCallTimeoutMillis() {
+        return strategyCallTimeoutMillis;
+    }
+
+    public void setStrategyCallTimeoutMillis(long strategyCallTimeoutMillis) {
+        this.strategyCallTimeoutMillis = strategyCallTimeoutMillis;
+    }
+
+    public UncaughtGuardRouteDefinition[] getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(UncaughtGuardRouteDefinition[] routes) {
+        this.routes = routes;
+    }
+
+    public long getShutdownDrainTimeoutMillis() {
+        return shutdownDrainTimeoutMillis;
+    }
+
+    public void setShutdownDrainTimeoutMillis(long shutdownDrainTimeoutMillis) {
+        this.shutdownDrainTimeoutMillis = shutdownDrainTimeoutMillis;
+    }
+
+    public String getSpillFilePath() {
+        return spillFilePath;
+    }
+
+    public void setSpillFilePath(String spillFilePath) {
+        this.spillFilePath = spillFilePath;
+    }
+
+    public int getBatchMaxSize() {
+        return batchMaxSize;
+    }
+
+    public void setBatchMaxSize(int batchMaxSize) {
+        this.batchMaxSize = batchMaxSize;
+    }
+
+    public long getBatchMaxBytes() {
+        return batchMaxBytes;
+    }
+
+    public void setBatchMaxBytes(long batchMaxBytes) {
+        this.batchMaxBytes = batchMaxBytes;
+    }
+
+    public long getBatchLingerMillis() {
+        return batchLingerMillis;
+    }
+
+    public void setBatchLingerMillis(long batchLingerMillis) {
+        this.batchLingerMillis = batchLingerMillis;
+    }
+
+    public boolean isEnableCircuitBreakers() {
+        return enableCircuitBreakers;
+    }
+
+    public void setEnableCircuitBreakers(boolean enableCircuitBreakers) {
+        this.enableCircuitBreakers = enableCircuitBreakers;
+    }
+
+    public int getCircuitBreakerFailureRateThreshold() {
+        return circuitBreakerFailureRateThreshold;
+    }
+
+    public void setCircuitBreakerFailureRateThreshold(int circuitBreakerFailureRateThreshold) {
+        this.circuitBreakerFailureRateThreshold = circuitBreakerFailureRateThreshold;
+    }
+
+    public int getCircuitBreakerWindowSize() {
+        return circuitBreakerWindowSize;
+    }
+
+    public void setCircuitBreakerWindowSize(int circuitBreakerWindowSize) {
+        this.circuitBreakerWindowSize = circuitBreakerWindowSize;
+    }
+
+    public int getCircuitBreakerMinimumCalls() {
+        return circuitBreakerMinimumCalls;
+    }
+
+    public void setCircuitBreakerMinimumCalls(int circuitBreakerMinimumCalls) {
+        this.circuitBreakerMinimumCalls = circuitBreakerMinimumCalls;
+    }
+
+    public long getCircuitBreakerOpenDurationMillis() {
+        return circuitBreakerOpenDurationMillis;
+    }
+
+    public void setCircuitBreakerOpenDurationMillis(long circuitBreakerOpenDurationMillis) {
+        this.circuitBreakerOpenDurationMillis = circuitBreakerOpenDurationMillis;
+    }
+
+    public int getCircuitBreakerHalfOpenProbes() {
+        return circuitBreakerHalfOpenProbes;
+    }
+
+    public void setCircuitBreakerHalfOpenProbes(int circuitBreakerHalfOpenProbes) {
+        this.circuitBreakerHalfOpenProbes = circuitBreakerHalfOpenProbes;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public long getRetryInitialBackoffMillis() {
+        return retryInitialBackoffMillis;
+    }
+
+    public void setRetryInitialBackoffMillis(long retryInitialBackoffMillis) {
+        this.retryInitialBackoffMillis = retryInitialBackoffMillis;
+    }
+
+    public long getRetryMaxBackoffMillis() {
+        return retryMaxBackoffMillis;
+    }
+
+    public void setRetryMaxBackoffMillis(long retryMaxBackoffMillis) {
+        this.retryMaxBackoffMillis = retryMaxBackoffMillis;
+    }
+
+    public int getRetryBudgetPercent() {
+        return retryBudgetPercent;
+    }
+
+    public void setRetryBudgetPercent(int retryBudgetPercent) {
+        this.retryBudgetPercent = retryBudgetPercent;
+    }
+
+    public int getMaxOutstandingRetries() {
+        return maxOutstandingRetries;
+    }
+
+    public void setMaxOutstandingRetries(int maxOutstandingRetries) {
+        this.maxOutstandingRetries = maxOutstandingRetries;
+    }
+
+    public String getJournalDirectory() {
+        return journalDirectory;
+    }
+
+    public void setJournalDirectory(String journalDirectory) {
+        this.journalDirectory = journalDirectory;
+    }
+
+    public int getJournalSegmentSizeBytes() {
+        return journalSegmentSizeBytes;
+    }
+
+    public void setJournalSegmentSizeBytes(int journalSegmentSizeBytes) {
+        this.journalSegmentSizeBytes = journalSegmentSizeBytes;
+    }
+
+    public int getJournalSegmentCount() {
+        return journalSegmentCount;
+    }
+
+    public void setJournalSegmentCount(int journalSegmentCount) {
+        this.journalSegmentCount = journalSegmentCount;
+    }
+
+    public int getSamplingThresholdPerSecond() {
+        return samplingThresholdPerSecond;
+    }
+
+    public void setSamplingThresholdPerSecond(int samplingThresholdPerSecond) {
+        this.samplingThresholdPerSecond = samplingThresholdPerSecond;
+    }
+
+    public long getSamplingWindowMillis() {
+        return samplingWindowMillis;
+    }
+
+    public void setSamplingWindowMillis(long samplingWindowMillis) {
+        this.samplingWindowMillis = samplingWindowMillis;
+    }
+
+    public int getSamplingMinimumPercent() {
+        return samplingMinimumPercent;
+    }
+
+    public void setSamplingMinimumPercent(int samplingMinimumPercent) {
+        this.samplingMinimumPercent = samplingMinimumPercent;
+    }
+
+    public long getCoalescingWindowMillis() {
+        return coalescingWindowMillis;
+    }
+
+    public void setCoalescingWindowMillis(long coalescingWindowMillis) {
+        this.coalescingWindowMillis = coalescingWindowMillis;
+    }
+
+    public int getCoalescingFingerprintFrames() {
+        return coalescingFingerprintFrames;
+    }
+
+    public void setCoalescingFingerprintFrames(int coalescingFingerprintFrames) {
+        this.coalescingFingerprintFrames = coalescingFingerprintFrames;
+    }
+
+    public int getCoalescingMaxSampledTraceIds() {
+        return coalescingMaxSampledTraceIds;
+    }
+
+    public void setCoalescingMaxSampledTraceIds(int coalescingMaxSampledTraceIds) {
+        this.coalescingMaxSampledTraceIds = coalescingMaxSampledTraceIds;
+    }
+
+    public int getCoalescingMaxFingerprints() {
+        return coalescingMaxFingerprints;
+    }
+
+    public void setCoalescingMaxFingerprints(int coalescingMaxFingerprints) {
+        this.coalescingMaxFingerprints = coalescingMaxFingerprints;
+    }
+
+    public int getNoveltyLaneCapacity() {
+        return noveltyLaneCapacity;
+    }
+
+    public void setNoveltyLaneCapacity(int noveltyLaneCapacity) {
+        this.noveltyLaneCapacity = noveltyLaneCapacity;
+    }
+
+    public int getNoveltyFilterBits() {
+        return noveltyFilterBits;
+    }
+
+    public void setNoveltyFilterBits(int noveltyFilterBits) {
+        this.noveltyFilterBits = noveltyFilterBits;
+    }
+
+    public int getNoveltyFilterHashes() {
+        return noveltyFilterHashes;
+    }
+
+    public void setNoveltyFilterHashes(int noveltyFilterHashes) {
+        this.noveltyFilterHashes = noveltyFilterHashes;
+    }
+
+    public RequestMethod[] getExcludedHttpMethods() {
+        return excludedHttpMethods;
+    }
+
+    public void setExcludedHttpMethods(RequestMethod[] excludedHttpMethods) {
+        this.excludedHttpMethods = excludedHttpMethods;
+    }
+
+    public String[] getExcludedPathPatterns() {
+        return excludedPathPatterns;
+    }
+
+    public void setExcludedPathPatterns(String[] excludedPathPatterns) {
+        this.excludedPathPatterns = excludedPathPatterns;
+    }
+
+    public UncaughtGuardCaptureMode getCaptureMode() {
+        return captureMode;
+    }
+
+    public void setCaptureMode(UncaughtGuardCaptureMode captureMode) {
+        this.captureMode = captureMode;
+    }
+
+    public Class<? extends UncaughtGuardTraceIdGenerator> getTraceIdGenerator() {
+        return traceIdGenerator;
+    }
+
+    public void setTraceIdGenerator(Class<? extends UncaughtGuardTraceIdGenerator> traceIdGenerator) {
+        this.traceIdGenerator = traceIdGenerator;
+    }
+
+    public int getTraceIdNodeId() {
+        return traceIdNodeId;
+    }
+
+    public void setTraceIdNodeId(int traceIdNodeId) {
+        this.traceIdNodeId = traceIdNodeId;
+    }
+
+    public String[] getCapturedHeaders() {
+        return capturedHeaders;
+    }
+
+    public void setCapturedHeaders(String[] capturedHeaders) {
+        this.capturedHeaders = capturedHeaders;
+    }
+
+    public String[] getExcludedHeaders() {
+        return excludedHeaders;
+    }
+
+    public void setExcludedHeaders(String[] excludedHeaders) {
+        this.excludedHeaders = excludedHeaders;
+    }
+
+    public int getHeaderMaxValueLength() {
+        return headerMaxValueLength;
+    }
+
+    public void setHeaderMaxValueLength(int headerMaxValueLength) {
+        this.headerMaxValueLength = headerMaxValueLength;
+    }
+
+    public int getHeadersMaxTotalBytes() {
+        return headersMaxTotalBytes;
+    }
+
+    public void setHeadersMaxTotalBytes(int headersMaxTotalBytes) {
+        this.headersMaxTotalBytes = headersMaxTotalBytes;
+    }
+
+    public int getRequestBodyMaxBytes() {
+        return requestBodyMaxBytes;
+    }
+
+    public void setRequestBodyMaxBytes(int requestBodyMaxBytes) {
+        this.requestBodyMaxBytes = requestBodyMaxBytes;
+    }
+
+    public String[] getCapturedBodyContentTypes() {
+        return capturedBodyContentTypes;
+    }
+
+    public void setCapturedBodyContentTypes(String[] capturedBodyContentTypes) {
+        this.capturedBodyContentTypes = capturedBodyContentTypes;
+    }
+
+    public RequestMethod[] getBodyCaptureIncludedHttpMethods() {
+        return bodyCaptureIncludedHttpMethods;
+    }
+
+    public void setBodyCaptureIncludedHttpMethods(RequestMethod[] bodyCaptureIncludedHttpMethods) {
+        this.bodyCaptureIncludedHttpMethods = bodyCaptureIncludedHttpMethods;
+    }
+
+    public RequestMethod[] getBodyCaptureExcludedHttpMethods() {
+        return bodyCaptureExcludedHttpMethods;
+    }
+
+    public void setBodyCaptureExcludedHttpMethods(RequestMethod[] bodyCaptureExcludedHttpMethods) {
+        this.bodyCaptureExcludedHttpMethods = bodyCaptureExcludedHttpMethods;
+    }
+
+    public String[] getBodyCaptureIncludedPathPatterns() {
+        return bodyCaptureIncludedPathPatterns;
+    }
+
+    public void setBodyCaptureIncludedPathPatterns(String[] bodyCaptureIncludedPathPatterns) {
+        this.bodyCaptureIncludedPathPatterns = bodyCaptureIncludedPathPatterns;
+    }
+
+    public String[] getBodyCaptureExcludedPathPatterns() {
+        return bodyCaptureExcludedPathPatterns;
+    }
+
+    public void setBodyCaptureExcludedPathPatterns(String[] bodyCaptureExcludedPathPatterns) {
+        this.bodyCaptureExcludedPathPatterns = bodyCaptureExcludedPathPatterns;
+    }
+
+    public int getBodyBufferPoolSlabCount() {
+        return bodyBufferPoolSlabCount;
+    }
+
+    public void setBodyBufferPoolSlabCount(int bodyBufferPoolSlabCount) {
+        this.bodyBufferPoolSlabCount = bodyBufferPoolSlabCount;
+    }
+
+    public int getBodyBufferPoolSlabSizeBytes() {
+        return bodyBufferPoolSlabSizeBytes;
+    }
+
+    public void setBodyBufferPoolSlabSizeBytes(int bodyBufferPoolSlabSizeBytes) {
+        this.bodyBufferPoolSlabSizeBytes = bodyBufferPoolSlabSizeBytes;
+    }
+
+    public boolean isBodyBufferPoolDirect() {
+        return bodyBufferPoolDirect;
+    }
+
+    public void setBodyBufferPoolDirect(boolean bodyBufferPoolDirect) {
+        this.bodyBufferPoolDirect = bodyBufferPoolDirect;
+    }
+
+    public int getRequestBodyDrainMaxBytes() {
+        return requestBodyDrainMaxBytes;
+    }
+
+    public void setRequestBodyDrainMaxBytes(int requestBodyDrainMaxBytes) {
+        this.requestBodyDrainMaxBytes = requestBodyDrainMaxBytes;
+    }
+
+    public long getRequestBodyDrainTimeoutMillis() {
+        return requestBodyDrainTimeoutMillis;
+    }
+
+    public void setRequestBodyDrainTimeoutMillis(long requestBodyDrainTimeoutMillis) {
+        this.requestBodyDrainTimeoutMillis = requestBodyDrainTimeoutMillis;
+    }
+
+    public boolean isEnableMethodFlightRecorder() {
+        return enableMethodFlightRecorder;
+    }
+
+    public void setEnableMethodFlightRecorder(boolean enableMethodFlightRecorder) {
+        this.enableMethodFlightRecorder = enableMethodFlightRecorder;
+    }
+
+    public int getMethodFlightRecorderCapacity() {
+        return methodFlightRecorderCapacity;
+    }
+
+    public void setMethodFlightRecorderCapacity(int methodFlightRecorderCapacity) {
+        this.methodFlightRecorderCapacity = methodFlightRecorderCapacity;
+    }
+
+    public String[] getEnricherBasePackages() {
+        return enricherBasePackages;
+    }
+
+    public void setEnricherBasePackages(String[] enricherBasePackages) {
+        this.enricherBasePackages = enricherBasePackages;
+    }
+
+    public boolean isEnricherRequireMarkerAnnotation() {
+        return enricherRequireMarkerAnnotation;
+    }
+
+    public void setEnricherRequireMarkerAnnotation(boolean enricherRequireMarkerAnnotation) {
+        this.enricherRequireMarkerAnnotation = enricherRequireMarkerAnnotation;
+    }
+
+    public UncaughtGuardWeavingMode getEnricherWeavingMode() {
+        return enricherWeavingMode;
+    }
+
+    public void setEnricherWeavingMode(UncaughtGuardWeavingMode enricherWeavingMode) {
+        this.enricherWeavingMode = enricherWeavingMode;
+    }
+}
@@ -0,0 +1,154 @@
+package com.velluto.uncaughtguard.recorders;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardMethodFlightRecorderEvent;
+import com.velluto.uncaughtguard.models.UncaughtGuardMethodFlightRecorderEventType;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Fixed-size ring of the method entries and exits of the request running on a thread.
+ * <p>
+ * The ring is confined to the thread of the request it records and reused across requests, so it is not synchronized
+ * and, once allocated, records events without allocating: each event overwrites the oldest slot of preallocated arrays,
+ * and method signatures are only rendered when a failing request takes a {@link #snapshot()}.
+ * Events are only recorded between {@link #start()} and {@link #stop()}, which also releases the recorded methods.
+ */
+public class UncaughtGuardMethodFlightRecorder {
+    private static final byte ENTRY = 0;
+    private static final byte EXIT = 1;
+    private static final byte EXCEPTIONAL_EXIT = 2;
+
+    private final int capacity;
+    private final Method[] methods;
+    private final byte[] types;
+    private final int[] depths;
+    private final long[] timestamps;
+    private final long[] durations;
+
+    private boolean active;
+    private long startNanos;
+    private long recordedEventsCount;
+    private int depth;
+
+    /**
+     * @param capacity number of most recent events kept
+     */
+    public UncaughtGuardMethodFlightRecorder(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Method flight recorder capacity must be at least 1, got " + capacity);
+
+        this.capacity = capacity;
+        this.methods = new Method[capacity];
+        this.types = new byte[capacity];
+        this.depths = new int[capacity];
+        this.timestamps = new long[capacity];
+        this.durations = new long[capacity];
+    }
+
+    /**
+     * Clears the ring and starts recording, at the start of a request.
+     */
+    public void start() {
+        clear();
+        this.startNanos = System.nanoTime();
+        this.active = true;
+    }
+
+    /**
+     * Stops recording and clears the ring, at the end of a request.
+     */
+    public void stop() {
+        this.active = false;
+        clear();
+    }
+
+    private void clear() {
+        Arrays.fill(methods, 0, (int) Math.min(recordedEventsCount, capacity), null);
+        this.recordedEventsCount = 0;
+        this.depth = 0;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * @param method the invoked method
+     * @return the entry timestamp, to be passed back to {@link #exit}
+     */
+    public long enter(Method method) {
+        long now = System.nanoTime();
+        record(ENTRY, method, depth++, now, -1);
+        return now;
+    }
+
+    /**
+     * @param method      the method leaving
+     * @param entryNanos  the timestamp returned by {@link #enter}
+     * @param exceptional true if the method threw an exception
+     */
+    public void exit(Method method, long entryNanos, boolean exceptional) {
+        long now = System.nanoTime();
+        record(exceptional ? EXCEPTIONAL_EXIT : EXIT, method, --depth, now, now - entryNanos);
+    }
+
+    private void record(byte type, Method method, int eventDepth, long timestamp, long duration) {
+        int slot = (int) (recordedEventsCount++ % capacity);
+        methods[slot] = method;
+        types[slot] = type;
+        depths[slot] = eventDepth;
+        timestamps[slot] = timestamp;
+        durations[slot] = duration;
+    }
+
+    /**
+     * @return the recorded events from the oldest to the most recent one
+     */
+    public List<UncaughtGuardMethodFlightRecorderEvent> snapshot() {
+        int size = (int) Math.min(recordedEventsCount, capacity);
+        long first = recordedEventsCount - size;
+        List<UncaughtGuardMethodFlightRecorderEvent> events = new ArrayList<>(size);
+
+        for (long i = first; i < recordedEventsCount; i++) {
+            int slot = (int) (i % capacity);
+            events.add(new UncaughtGuardMethodFlightRecorderEvent(
+                    toEventType(types[slot]),
+                    toSignature(methods[slot]),
+                    depths[slot],
+                    timestamps[slot] - startNanos,
+                    durations[slot]
+            ));
+        }
+
+        return events;
+    }
+
+    // e.g. String com.example.UserService.find(long)
+    private static String toSignature(Method method) {
+        return method.getReturnType().getSimpleName() + " " + method.getDeclaringClass().getName() + "." + method.getName() +
+                Arrays.stream(method.getParameterTypes()).map(Class::getSimpleName).collect(Collectors.joining(",", "(", ")"));
+    }
+
+    private static UncaughtGuardMethodFlightRecorderEventType toEventType(byte type) {
+        return switch (type) {
+            case ENTRY -> UncaughtGuardMethodFlightRecorderEventType.ENTRY;
+            case EXIT -> UncaughtGuardMethodFlightRecorderEventType.EXIT;
+            default -> UncaughtGuardMethodFlightRecorderEventType.EXCEPTIONAL_EXIT;
+        };
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return number of events recorded since the start of the request, including the ones overwritten
+     */
+    public long getRecordedEventsCount() {
+        return recordedEventsCount;
+    }
+}
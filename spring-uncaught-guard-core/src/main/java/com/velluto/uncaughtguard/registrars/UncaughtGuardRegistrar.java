@@ -1,16 +1,37 @@
 package com.velluto.uncaughtguard.registrars;
 
+import com.velluto.uncaughtguard.advices.UncaughtGuardMethodFlightRecorderAdvice;
+import com.velluto.uncaughtguard.advices.UncaughtGuardMethodFlightRecorderAspect;
 import com.velluto.uncaughtguard.advices.UncaughtGuardMethodParametersEnricherAdvice;
+import com.velluto.uncaughtguard.advices.UncaughtGuardMethodParametersEnricherAspect;
+import com.velluto.uncaughtguard.advices.UncaughtGuardMethodParametersEnricherPointcut;
+import com.velluto.uncaughtguard.advices.UncaughtGuardWeavingMode;
 import com.velluto.uncaughtguard.annotations.EnableUncaughtGuard;
+import com.velluto.uncaughtguard.dispatchers.UncaughtGuardDispatchMode;
+import com.velluto.uncaughtguard.dispatchers.UncaughtGuardDispatchOverflowPolicy;
+import com.velluto.uncaughtguard.dispatchers.UncaughtGuardRingBufferWaitStrategy;
 import com.velluto.uncaughtguard.filters.UncaughtGuardContentRequestCachingFilter;
+import com.velluto.uncaughtguard.filters.UncaughtGuardMethodFlightRecorderFilter;
+import com.velluto.uncaughtguard.generators.UncaughtGuardTimeOrderedTraceIdGenerator;
+import com.velluto.uncaughtguard.generators.UncaughtGuardTraceIdGenerator;
+import com.velluto.uncaughtguard.invokers.UncaughtGuardStrategyExecutionMode;
+import com.velluto.uncaughtguard.models.UncaughtGuardCaptureMode;
 import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import com.velluto.uncaughtguard.routers.UncaughtGuardRouteDefinition;
+import com.velluto.uncaughtguard.samplers.UncaughtGuardAdaptiveSampler;
 import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
 import com.velluto.uncaughtguard.strategies.UncaughtGuardSystemErrorLoggingStrategy;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestMethod;
 
 import java.util.Arrays;
 import java.util.logging.Logger;
@@ -38,9 +59,26 @@ public class UncaughtGuardRegistrar implements ImportBeanDefinitionRegistrar {
         boolean enableLogThrowingMethodParameters = attrs.getBoolean("enableLogThrowingMethodParameters");
 
         registerPropertiesBean(registry, strategies, excludedExceptions, httpResponseErrorMessage, logErrorMessage, keepThrowingExceptions, enableLogRequestBody, enableLogThrowingMethodParameters);
+        registerDispatchProperties(registry, attrs);
+        registerStrategyExecutionProperties(registry, attrs);
+        registerRoutingProperties(registry, attrs);
+        registerShutdownProperties(registry, attrs);
+        registerBatchProperties(registry, attrs);
+        registerCircuitBreakerProperties(registry, attrs);
+        registerRetryProperties(registry, attrs);
+        registerJournalProperties(registry, attrs);
+        registerSamplingProperties(registry, attrs);
+        registerCoalescingProperties(registry, attrs);
+        registerNoveltyLaneProperties(registry, attrs);
+        registerPreCaptureFilterProperties(registry, attrs);
+        registerCaptureProperties(registry, attrs);
+        registerTraceIdGeneratorBean(registry, attrs);
+        registerHeaderCaptureProperties(registry, attrs);
+        registerBodyCaptureProperties(registry, attrs);
         registerLoggingStrategiesBeans(registry, strategies);
         registerRequestCachingFilter(registry, enableLogRequestBody);
-        registerMethodParametersEnricherAdvice(registry, enableLogThrowingMethodParameters);
+        registerMethodParametersEnricherAdvice(registry, enableLogThrowingMethodParameters, attrs);
+        registerMethodFlightRecorder(registry, attrs);
     }
 
     private Class<? extends UncaughtGuardLoggingStrategy>[] getLoggingStrategies(AnnotationAttributes attrs) {
@@ -91,6 +129,531 @@ public class UncaughtGuardRegistrar implements ImportBeanDefinitionRegistrar {
         ));
     }
 
+    private void registerDispatchProperties(BeanDefinitionRegistry registry, AnnotationAttributes attrs) {
+        int dispatchWorkerThreads = attrs.getNumber("dispatchWorkerThreads");
+        int dispatchQueueCapacity = attrs.getNumber("dispatchQueueCapacity");
+        UncaughtGuardDispatchOverflowPolicy dispatchOverflowPolicy = attrs.getEnum("dispatchOverflowPolicy");
+        UncaughtGuardDispatchMode dispatchMode = attrs.getEnum("dispatchMode");
+        UncaughtGuardRingBufferWaitStrategy ringBufferWaitStrategy = attrs.getEnum("ringBufferWaitStrategy");
+
+        if (dispatchWorkerThreads < 1)
+            throw new IllegalArgumentException("Specified dispatchWorkerThreads " + dispatchWorkerThreads + " is not valid, at least 1 worker thread is required.");
+        if (dispatchQueueCapacity < 1)
+            throw new IllegalArgumentException("Specified dispatchQueueCapacity " + dispatchQueueCapacity + " is not valid, the queue must hold at least 1 exception trace.");
+
+        MutablePropertyValues propertyValues = registry.getBeanDefinition("uncaughtGuardProperties").getPropertyValues();
+        propertyValues.add("dispatchWorkerThreads", dispatchWorkerThreads);
+        propertyValues.add("dispatchQueueCapacity", dispatchQueueCapacity);
+        propertyValues.add("dispatchOverflowPolicy", dispatchOverflowPolicy);
+        propertyValues.add("dispatchMode", dispatchMode);
+        propertyValues.add("ringBufferWaitStrategy", ringBufferWaitStrategy);
+
+        logger.fine(String.format(
+                "Registered UncaughtGuard dispatch properties:\n\n" +
+                        "dispatchWorkerThreads             : %s\n" +
+                        "dispatchQueueCapacity             : %s\n" +
+                        "dispatchOverflowPolicy            : %s\n" +
+                        "dispatchMode                      : %s\n" +
+                        "ringBufferWaitStrategy            : %s",
+                dispatchWorkerThreads,
+                dispatchQueueCapacity,
+                dispatchOverflowPolicy,
+                dispatchMode,
+                ringBufferWaitStrategy
+        ));
+    }
+
+    private void registerStrategyExecutionProperties(BeanDefinitionRegistry registry, AnnotationAttributes attrs) {
+        UncaughtGuardStrategyExecutionMode strategyExecutionMode = attrs.getEnum("strategyExecutionMode");
+        int virtualThreadMaxInFlightCalls = attrs.getNumber("virtualThreadMaxInFlightCalls");
+        int bulkheadWorkerThreads = attrs.getNumber("bulkheadWorkerThreads");
+        int bulkheadQueueCapacity = attrs.getNumber("bulkheadQueueCapacity");
+        long strategyCallTimeoutMillis = attrs.getNumber("strategyCallTimeoutMillis");
+
+        if (virtualThreadMaxInFlightCalls < 1)
+            throw new IllegalArgumentException("Specified virtualThreadMaxInFlightCalls " + virtualThreadMaxInFlightCalls + " is not valid, at least 1 in flight call is required.");
+        if (bulkheadWorkerThreads < 1)
+            throw new IllegalArgumentException("Specified bulkheadWorkerThreads " + bulkheadWorkerThreads + " is not valid, at least 1 worker thread is required.");
+        if (bulkheadQueueCapacity < 1)
+            throw new IllegalArgumentException("Specified bulkheadQueueCapacity " + bulkheadQueueCapacity + " is not valid, capacity must be at least 1.");
+        if (strategyCallTimeoutMillis < 1)
+            throw new IllegalArgumentException("Specified strategyCallTimeoutMillis " + strategyCallTimeoutMillis + " is not valid, timeout must be at least 1 millisecond.");
+
+        MutablePropertyValues propertyValues = registry.getBeanDefinition("uncaughtGuardProperties").getPropertyValues();
+        propertyValues.add("strategyExecutionMode", strategyExecutionMode);
+        propertyValues.add("virtualThreadMaxInFlightCalls", virtualThreadMaxInFlightCalls);
+        propertyValues.add("bulkheadWorkerThreads", bulkheadWorkerThreads);
+        propertyValues.add("bulkheadQueueCapacity", bulkheadQueueCapacity);
+        propertyValues.add("strategyCallTimeoutMillis", strategyCallTimeoutMillis);
+
+        logger.fine(String.format(
+                "Registered UncaughtGuard strategy execution properties:\n\n" +
+                        "strategyExecutionMode             : %s\n" +
+                        "virtualThreadMaxInFlightCalls     : %s\n" +
+                        "bulkheadWorkerThreads             : %s\n" +
+                        "bulkheadQueueCapacity             : %s\n" +
+                        "strategyCallTimeoutMillis         : %s",
+                strategyExecutionMode,
+                virtualThreadMaxInFlightCalls,
+                bulkheadWorkerThreads,
+                bulkheadQueueCapacity,
+                strategyCallTimeoutMillis
+        ));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void registerRoutingProperties(BeanDefinitionRegistry registry, AnnotationAttributes attrs) {
+        AnnotationAttributes[] routeAttrs = attrs.getAnnotationArray("routes");
+        UncaughtGuardRouteDefinition[] routes = new UncaughtGuardRouteDefinition[routeAttrs.length];
+        for (int i = 0; i < routeAttrs.length; i++) {
+            Class<? extends UncaughtGuardLoggingStrategy>[] routeStrategies = (Class<? extends UncaughtGuardLoggingStrategy>[]) routeAttrs[i].getClassArray("strategies");
+            if (routeStrategies.length == 0)
+                throw new IllegalArgumentException("Specified route at position " + i + " is not valid, at least 1 logging strategy is required.");
+
+            routes[i] = new UncaughtGuardRouteDefinition(
+                    (Class<? extends RuntimeException>[]) routeAttrs[i].getClassArray("exceptions"),
+                    (RequestMethod[]) routeAttrs[i].get("httpMethods"),
+                    routeAttrs[i].getStringArray("pathPatterns"),
+                    routeStrategies
+            );
+        }
+
+        registry.getBeanDefinition("uncaughtGuardProperties").getPropertyValues().add("routes", routes);
+
+        logger.fine(String.format(
+                "Registered UncaughtGuard routing properties:\n\n" +
+                        "routes                            : %s",
+                Arrays.stream(routes).map(UncaughtGuardRouteDefinition::toString).collect(Collectors.joining("; "))
+        ));
+    }
+
+    private void registerShutdownProperties(BeanDefinitionRegistry registry, AnnotationAttributes attrs) {
+        long shutdownDrainTimeoutMillis = attrs.getNumber("shutdownDrainTimeoutMillis");
+        String spillFilePath = attrs.getString("spillFilePath");
+
+        if (shutdownDrainTimeoutMillis < 0)
+            throw new IllegalArgumentException("Specified shutdownDrainTimeoutMillis " + shutdownDrainTimeoutMillis + " is not valid, timeout cannot be negative.");
+
+        MutablePropertyValues propertyValues = registry.getBeanDefinition("uncaughtGuardProperties").getPropertyValues();
+        propertyValues.add("shutdownDrainTimeoutMillis", shutdownDrainTimeoutMillis);
+        propertyValues.add("spillFilePath", spillFilePath);
+
+        logger.fine(String.format(
+                "Registered UncaughtGuard shutdown properties:\n\n" +
+                        "shutdownDrainTimeoutMillis        : %s\n" +
+                        "spillFilePath                     : %s",
+                shutdownDrainTimeoutMillis,
+                spillFilePath
+        ));
+    }
+
+    private void registerBatchProperties(BeanDefinitionRegistry registry, AnnotationAttributes attrs) {
+        int batchMaxSize = attrs.getNumber("batchMaxSize");
+        long batchMaxBytes = attrs.getNumber("batchMaxBytes");
+        long batchLingerMillis = attrs.getNumber("batchLingerMillis");
+
+        if (batchMaxSize < 1)
+            throw new IllegalArgumentException("Specified batchMaxSize " + batchMaxSize + " is not valid, at least one trace per batch is required.");
+        if (batchMaxBytes < 1)
+            throw new IllegalArgumentException("Specified batchMaxBytes " + batchMaxBytes + " is not valid, at least one byte per batch is required.");
+        if (batchLingerMillis < 0)
+            throw new IllegalArgumentException("Specified batchLingerMillis " + batchLingerMillis + " is not valid, linger time cannot be negative.");
+
+        MutablePropertyValues propertyValues = registry.getBeanDefinition("uncaughtGuardProperties").getPropertyValues();
+        propertyValues.add("batchMaxSize", batchMaxSize);
+        propertyValues.add("batchMaxBytes", batchMaxBytes);
+        propertyValues.add("batchLingerMillis", batchLingerMillis);
+
+        logger.fine(String.format(
+                "Registered UncaughtGuard batch properties:\n\n" +
+                        "batchMaxSize                      : %s\n" +
+                        "batchMaxBytes                     : %s\n" +
+                        "batchLingerMillis                 : %s",
+                batchMaxSize,
+                batchMaxBytes,
+                batchLingerMillis
+        ));
+    }
+
+    private void registerCircuitBreakerProperties(BeanDefinitionRegistry registry, AnnotationAttributes attrs) {
+        boolean enableCircuitBreakers = attrs.getBoolean("enableCircuitBreakers");
+        int circuitBreakerFailureRateThreshold = attrs.getNumber("circuitBreakerFailureRateThreshold");
+        int circuitBreakerWindowSize = attrs.getNumber("circuitBreakerWindowSize");
+        int circuitBreakerMinimumCalls = attrs.getNumber("circuitBreakerMinimumCalls");
+        long circuitBreakerOpenDurationMillis = attrs.getNumber("circuitBreakerOpenDurationMillis");
+        int circuitBreakerHalfOpenProbes = attrs.getNumber("circuitBreakerHalfOpenProbes");
+
+        if (circuitBreakerFailureRateThreshold < 1 || circuitBreakerFailureRateThreshold > 100)
+            throw new IllegalArgumentException("Specified circuitBreakerFailureRateThreshold " + circuitBreakerFailureRateThreshold + " is not valid, it must be a percentage between 1 and 100.");
+        if (circuitBreakerWindowSize < 1)
+            throw new IllegalArgumentException("Specified circuitBreakerWindowSize " + circuitBreakerWindowSize + " is not valid, at least one call is required.");
+        if (circuitBreakerMinimumCalls < 1 || circuitBreakerMinimumCalls > circuitBreakerWindowSize)
+            throw new IllegalArgumentException("Specified circuitBreakerMinimumCalls " + circuitBreakerMinimumCalls + " is not valid, it must be between 1 and circuitBreakerWindowSize.");
+        if (circuitBreakerOpenDurationMillis < 1)
+            throw new IllegalArgumentException("Specified circuitBreakerOpenDurationMillis " + circuitBreakerOpenDurationMillis + " is not valid, at least one millisecond is required.");
+        if (circuitBreakerHalfOpenProbes < 1)
+            throw new IllegalArgumentException("Specified circuitBreakerHalfOpenProbes " + circuitBreakerHalfOpenProbes + " is not valid, at least one probe is required.");
+
+        MutablePropertyValues propertyValues = registry.getBeanDefinition("uncaughtGuardProperties").getPropertyValues();
+        propertyValues.add("enableCircuitBreakers", enableCircuitBreakers);
+        propertyValues.add("circuitBreakerFailureRateThreshold", circuitBreakerFailureRateThreshold);
+        propertyValues.add("circuitBreakerWindowSize", circuitBreakerWindowSize);
+        propertyValues.add("circuitBreakerMinimumCalls", circuitBreakerMinimumCalls);
+        propertyValues.add("circuitBreakerOpenDurationMillis", circuitBreakerOpenDurationMillis);
+        propertyValues.add("circuitBreakerHalfOpenProbes", circuitBreakerHalfOpenProbes);
+
+        logger.fine(String.format(
+                "Registered UncaughtGuard circuit breaker properties:\n\n" +
+                        "enableCircuitBreakers             : %s\n" +
+                        "circuitBreakerFailureRateThreshold: %s\n" +
+                        "circuitBreakerWindowSize          : %s\n" +
+                        "circuitBreakerMinimumCalls        : %s\n" +
+                        "circuitBreakerOpenDurationMillis  : %s\n" +
+                        "circuitBreakerHalfOpenProbes      : %s",
+                enableCircuitBreakers,
+                circuitBreakerFailureRateThreshold,
+                circuitBreakerWindowSize,
+                circuitBreakerMinimumCalls,
+                circuitBreakerOpenDurationMillis,
+                circuitBreakerHalfOpenProbes
+        ));
+    }
+
+    private void registerRetryProperties(BeanDefinitionRegistry registry, AnnotationAttributes attrs) {
+        int maxRetries = attrs.getNumber("maxRetries");
+        long retryInitialBackoffMillis = attrs.getNumber("retryInitialBackoffMillis");
+        long retryMaxBackoffMillis = attrs.getNumber("retryMaxBackoffMillis");
+        int retryBudgetPercent = attrs.getNumber("retryBudgetPercent");
+        int maxOutstandingRetries = attrs.getNumber("maxOutstandingRetries");
+
+        if (maxRetries < 0)
+            throw new IllegalArgumentException("Specified maxRetries " + maxRetries + " is not valid, retries cannot be negative.");
+        if (retryInitialBackoffMillis < 1)
+            throw new IllegalArgumentException("Specified retryInitialBackoffMillis " + retryInitialBackoffMillis + " is not valid, at least one millisecond is required.");
+        if (retryMaxBackoffMillis < retryInitialBackoffMillis)
+            throw new IllegalArgumentException("Specified retryMaxBackoffMillis " + retryMaxBackoffMillis + " is not valid, it cannot be lower than retryInitialBackoffMillis.");
+        if (retryBudgetPercent < 1 || retryBudgetPercent > 100)
+            throw new IllegalArgumentException("Specified retryBudgetPercent " + retryBudgetPercent + " is not valid, it must be a percentage between 1 and 100.");
+        if (maxOutstandingRetries < 1)
+            throw new IllegalArgumentException("Specified maxOutstandingRetries " + maxOutstandingRetries + " is not valid, at least one retry is required.");
+
+        MutablePropertyValues propertyValues = registry.getBeanDefinition("uncaughtGuardProperties").getPropertyValues();
+        propertyValues.add("maxRetries", maxRetries);
+        propertyValues.add("retryInitialBackoffMillis", retryInitialBackoffMillis);
+        propertyValues.add("retryMaxBackoffMillis", retryMaxBackoffMillis);
+        propertyValues.add("retryBudgetPercent", retryBudgetPercent);
+        propertyValues.add("maxOutstandingRetries", maxOutstandingRetries);
+
+        logger.fine(String.format(
+                "Registered UncaughtGuard retry properties:\n\n" +
+                        "maxRetries                        : %s\n" +
+                        "retryInitialBackoffMillis         : %s\n" +
+                        "retryMaxBackoffMillis             : %s\n" +
+                        "retryBudgetPercent                : %s\n" +
+                        "maxOutstandingRetries             : %s",
+                maxRetries,
+                retryInitialBackoffMillis,
+                retryMaxBackoffMillis,
+                retryBudgetPercent,
+                maxOutstandingRetries
+        ));
+    }
+
+    private void registerJournalProperties(BeanDefinitionRegistry registry, AnnotationAttributes attrs) {
+        String journalDirectory = attrs.getString("journalDirectory");
+        int journalSegmentSizeBytes = attrs.getNumber("journalSegmentSizeBytes");
+        int journalSegmentCount = attrs.getNumber("journalSegmentCount");
+
+        if (journalSegmentSizeBytes < 1024)
+            throw new IllegalArgumentException("Specified journalSegmentSizeBytes " + journalSegmentSizeBytes + " is not valid, at least 1024 bytes are required.");
+        if (journalSegmentCount < 2)
+            throw new IllegalArgumentException("Specified journalSegmentCount " + journalSegmentCount + " is not valid, at least two segments are required.");
+
+        MutablePropertyValues propertyValues = registry.getBeanDefinition("uncaughtGuardProperties").getPropertyValues();
+        propertyValues.add("journalDirectory", journalDirectory);
+        propertyValues.add("journalSegmentSizeBytes", journalSegmentSizeBytes);
+        propertyValues.add("journalSegmentCount", journalSegmentCount);
+
+        logger.fine(String.format(
+                "Registered UncaughtGuard journal properties:\n\n" +
+                        "journalDirectory                  : %s\n" +
+                        "journalSegmentSizeBytes           : %s\n" +
+                        "journalSegmentCount               : %s",
+                journalDirectory,
+                journalSegmentSizeBytes,
+                journalSegmentCount
+        ));
+    }
+
+    private void registerSamplingProperties(BeanDefinitionRegistry registry, AnnotationAttributes attrs) {
+        int samplingThresholdPerSecond = attrs.getNumber("samplingThresholdPerSecond");
+        long samplingWindowMillis = attrs.getNumber("samplingWindowMillis");
+        int samplingMinimumPercent = attrs.getNumber("samplingMinimumPercent");
+
+        if (samplingThresholdPerSecond < 0)
+            throw new IllegalArgumentException("Specified samplingThresholdPerSecond " + samplingThresholdPerSecond + " is not valid, the threshold cannot be negative.");
+        if (samplingWindowMillis < UncaughtGuardAdaptiveSampler.WINDOW_BUCKETS)
+            throw new IllegalArgumentException("Specified samplingWindowMillis " + samplingWindowMillis + " is not valid, at least " + UncaughtGuardAdaptiveSampler.WINDOW_BUCKETS + " milliseconds are required.");
+        if (samplingMinimumPercent < 0 || samplingMinimumPercent > 100)
+            throw new IllegalArgumentException("Specified samplingMinimumPercent " + samplingMinimumPercent + " is not valid, it must be a percentage between 0 and 100.");
+
+        MutablePropertyValues propertyValues = registry.getBeanDefinition("uncaughtGuardProperties").getPropertyValues();
+        propertyValues.add("samplingThresholdPerSecond", samplingThresholdPerSecond);
+        propertyValues.add("samplingWindowMillis", samplingWindowMillis);
+        propertyValues.add("samplingMinimumPercent", samplingMinimumPercent);
+
+        logger.fine(String.format(
+                "Registered UncaughtGuard sampling properties:\n\n" +
+                        "samplingThresholdPerSecond        : %s\n" +
+                        "samplingWindowMillis              : %s\n" +
+                        "samplingMinimumPercent            : %s",
+                samplingThresholdPerSecond,
+                samplingWindowMillis,
+                samplingMinimumPercent
+        ));
+    }
+
+    private void registerCoalescingProperties(BeanDefinitionRegistry registry, AnnotationAttributes attrs) {
+        long coalescingWindowMillis = attrs.getNumber("coalescingWindowMillis");
+        int coalescingFingerprintFrames = attrs.getNumber("coalescingFingerprintFrames");
+        int coalescingMaxSampledTraceIds = attrs.getNumber("coalescingMaxSampledTraceIds");
+        int coalescingMaxFingerprints = attrs.getNumber("coalescingMaxFingerprints");
+
+        if (coalescingWindowMillis < 0)
+            throw new IllegalArgumentException("Specified coalescingWindowMillis " + coalescingWindowMillis + " is not valid, the window cannot be negative.");
+        if (coalescingFingerprintFrames < 0)
+            throw new IllegalArgumentException("Specified coalescingFingerprintFrames " + coalescingFingerprintFrames + " is not valid, frames cannot be negative.");
+        if (coalescingMaxSampledTraceIds < 0)
+            throw new IllegalArgumentException("Specified coalescingMaxSampledTraceIds " + coalescingMaxSampledTraceIds + " is not valid, trace IDs cannot be negative.");
+        if (coalescingMaxFingerprints < 1)
+            throw new IllegalArgumentException("Specified coalescingMaxFingerprints " + coalescingMaxFingerprints + " is not valid, at least one fingerprint is required.");
+
+        MutablePropertyValues propertyValues = registry.getBeanDefinition("uncaughtGuardProperties").getPropertyValues();
+        propertyValues.add("coalescingWindowMillis", coalescingWindowMillis);
+        propertyValues.add("coalescingFingerprintFrames", coalescingFingerprintFrames);
+        propertyValues.add("coalescingMaxSampledTraceIds", coalescingMaxSampledTraceIds);
+        propertyValues.add("coalescingMaxFingerprints", coalescingMaxFingerprints);
+
+        logger.fine(String.format(
+                "Registered UncaughtGuard coalescing properties:\n\n" +
+                        "coalescingWindowMillis            : %s\n" +
+                        "coalescingFingerprintFrames       : %s\n" +
+                        "coalescingMaxSampledTraceIds      : %s\n" +
+                        "coalescingMaxFingerprints         : %s",
+                coalescingWindowMillis,
+                coalescingFingerprintFrames,
+                coalescingMaxSampledTraceIds,
+                coalescingMaxFingerprints
+        ));
+    }
+
+    private void registerNoveltyLaneProperties(BeanDefinitionRegistry registry, AnnotationAttributes attrs) {
+        int noveltyLaneCapacity = attrs.getNumber("noveltyLaneCapacity");
+        int noveltyFilterBits = attrs.getNumber("noveltyFilterBits");
+        int noveltyFilterHashes = attrs.getNumber("noveltyFilterHashes");
+
+        if (noveltyLaneCapacity < 0)
+            throw new IllegalArgumentException("Specified noveltyLaneCapacity " + noveltyLaneCapacity + " is not valid, the capacity cannot be negative.");
+        if (noveltyFilterBits < 64)
+            throw new IllegalArgumentException("Specified noveltyFilterBits " + noveltyFilterBits + " is not valid, at least 64 bits are required.");
+        if (noveltyFilterHashes < 1)
+            throw new IllegalArgumentException("Specified noveltyFilterHashes " + noveltyFilterHashes + " is not valid, at least one hash is required.");
+
+        MutablePropertyValues propertyValues = registry.getBeanDefinition("uncaughtGuardProperties").getPropertyValues();
+        propertyValues.add("noveltyLaneCapacity", noveltyLaneCapacity);
+        propertyValues.add("noveltyFilterBits", noveltyFilterBits);
+        propertyValues.add("noveltyFilterHashes", noveltyFilterHashes);
+
+        logger.fine(String.format(
+                "Registered UncaughtGuard novelty lane properties:\n\n" +
+                        "noveltyLaneCapacity               : %s\n" +
+                        "noveltyFilterBits                 : %s\n" +
+                        "noveltyFilterHashes               : %s",
+                noveltyLaneCapacity,
+                noveltyFilterBits,
+                noveltyFilterHashes
+        ));
+    }
+
+    private void registerPreCaptureFilterProperties(BeanDefinitionRegistry registry, AnnotationAttributes attrs) {
+        RequestMethod[] excludedHttpMethods = (RequestMethod[]) attrs.get("excludedHttpMethods");
+        String[] excludedPathPatterns = attrs.getStringArray("excludedPathPatterns");
+
+        for (String pattern : excludedPathPatterns) {
+            if (pattern == null || pattern.isBlank())
+                throw new IllegalArgumentException("Specified excludedPathPatterns pattern \"" + pattern + "\" is not valid, it cannot be empty.");
+        }
+
+        MutablePropertyValues propertyValues = registry.getBeanDefinition("uncaughtGuardProperties").getPropertyValues();
+        propertyValues.add("excludedHttpMethods", excludedHttpMethods);
+        propertyValues.add("excludedPathPatterns", excludedPathPatterns);
+
+        logger.fine(String.format(
+                "Registered UncaughtGuard pre-capture filter properties:\n\n" +
+                        "excludedHttpMethods               : %s\n" +
+                        "excludedPathPatterns              : %s",
+                Arrays.toString(excludedHttpMethods),
+                Arrays.toString(excludedPathPatterns)
+        ));
+    }
+
+    private void registerCaptureProperties(BeanDefinitionRegistry registry, AnnotationAttributes attrs) {
+        UncaughtGuardCaptureMode captureMode = attrs.getEnum("captureMode");
+
+        MutablePropertyValues propertyValues = registry.getBeanDefinition("uncaughtGuardProperties").getPropertyValues();
+        propertyValues.add("captureMode", captureMode);
+
+        logger.fine(String.format(
+                "Registered UncaughtGuard capture properties:\n\n" +
+                        "captureMode                       : %s",
+                captureMode
+        ));
+    }
+
+    private void registerTraceIdGeneratorBean(BeanDefinitionRegistry registry, AnnotationAttributes attrs) {
+        Class<? extends UncaughtGuardTraceIdGenerator> traceIdGenerator = attrs.getClass("traceIdGenerator");
+        int traceIdNodeId = attrs.getNumber("traceIdNodeId");
+
+        if (traceIdGenerator.isInterface() || java.lang.reflect.Modifier.isAbstract(traceIdGenerator.getModifiers()))
+            throw new IllegalArgumentException("Specified traceIdGenerator class " + traceIdGenerator.getName() + " is abstract and cannot be instantiated. Please provide a concrete implementation.");
+        if (traceIdNodeId < UncaughtGuardTimeOrderedTraceIdGenerator.NO_NODE_ID || traceIdNodeId > UncaughtGuardTimeOrderedTraceIdGenerator.MAX_NODE_ID)
+            throw new IllegalArgumentException("Specified traceIdNodeId " + traceIdNodeId + " is not valid, it must be between 0 and " + UncaughtGuardTimeOrderedTraceIdGenerator.MAX_NODE_ID + ", or -1 for none.");
+
+        MutablePropertyValues propertyValues = registry.getBeanDefinition("uncaughtGuardProperties").getPropertyValues();
+        propertyValues.add("traceIdGenerator", traceIdGenerator);
+        propertyValues.add("traceIdNodeId", traceIdNodeId);
+
+        RootBeanDefinition beanDef = new RootBeanDefinition(traceIdGenerator);
+        registry.registerBeanDefinition("uncaughtGuardTraceIdGenerator", beanDef);
+
+        logger.fine(String.format(
+                "Registered UncaughtGuard trace ID generator properties:\n\n" +
+                        "traceIdGenerator                  : %s\n" +
+                        "traceIdNodeId                     : %s",
+                traceIdGenerator.getName(),
+                traceIdNodeId
+        ));
+    }
+
+    private void registerHeaderCaptureProperties(BeanDefinitionRegistry registry, AnnotationAttributes attrs) {
+        String[] capturedHeaders = attrs.getStringArray("capturedHeaders");
+        String[] excludedHeaders = attrs.getStringArray("excludedHeaders");
+        int headerMaxValueLength = attrs.getNumber("headerMaxValueLength");
+        int headersMaxTotalBytes = attrs.getNumber("headersMaxTotalBytes");
+
+        for (String header : capturedHeaders) {
+            if (header == null || header.isBlank() || header.trim().equals("*"))
+                throw new IllegalArgumentException("Specified capturedHeaders header \"" + header + "\" is not valid, it must contain a header name or prefix.");
+        }
+        for (String header : excludedHeaders) {
+            if (header == null || header.isBlank() || header.trim().equals("*"))
+                throw new IllegalArgumentException("Specified excludedHeaders header \"" + header + "\" is not valid, it must contain a header name or prefix.");
+        }
+        if (headerMaxValueLength < 0)
+            throw new IllegalArgumentException("Specified headerMaxValueLength " + headerMaxValueLength + " is not valid, it must be 0 or positive.");
+        if (headersMaxTotalBytes < 0)
+            throw new IllegalArgumentException("Specified headersMaxTotalBytes " + headersMaxTotalBytes + " is not valid, it must be 0 or positive.");
+
+        MutablePropertyValues propertyValues = registry.getBeanDefinition("uncaughtGuardProperties").getPropertyValues();
+        propertyValues.add("capturedHeaders", capturedHeaders);
+        propertyValues.add("excludedHeaders", excludedHeaders);
+        propertyValues.add("headerMaxValueLength", headerMaxValueLength);
+        propertyValues.add("headersMaxTotalBytes", headersMaxTotalBytes);
+
+        logger.fine(String.format(
+                "Registered UncaughtGuard header capture properties:\n\n" +
+                        "capturedHeaders                   : %s\n" +
+                        "excludedHeaders                   : %s\n" +
+                        "headerMaxValueLength              : %s\n" +
+                        "headersMaxTotalBytes              : %s",
+                Arrays.toString(capturedHeaders),
+                Arrays.toString(excludedHeaders),
+                headerMaxValueLength,
+                headersMaxTotalBytes
+        ));
+    }
+
+    private void registerBodyCaptureProperties(BeanDefinitionRegistry registry, AnnotationAttributes attrs) {
+        int requestBodyMaxBytes = attrs.getNumber("requestBodyMaxBytes");
+        String[] capturedBodyContentTypes = attrs.getStringArray("capturedBodyContentTypes");
+        RequestMethod[] bodyCaptureIncludedHttpMethods = (RequestMethod[]) attrs.get("bodyCaptureIncludedHttpMethods");
+        RequestMethod[] bodyCaptureExcludedHttpMethods = (RequestMethod[]) attrs.get("bodyCaptureExcludedHttpMethods");
+        String[] bodyCaptureIncludedPathPatterns = attrs.getStringArray("bodyCaptureIncludedPathPatterns");
+        String[] bodyCaptureExcludedPathPatterns = attrs.getStringArray("bodyCaptureExcludedPathPatterns");
+        int bodyBufferPoolSlabCount = attrs.getNumber("bodyBufferPoolSlabCount");
+        int bodyBufferPoolSlabSizeBytes = attrs.getNumber("bodyBufferPoolSlabSizeBytes");
+        boolean bodyBufferPoolDirect = attrs.getBoolean("bodyBufferPoolDirect");
+        int requestBodyDrainMaxBytes = attrs.getNumber("requestBodyDrainMaxBytes");
+        long requestBodyDrainTimeoutMillis = attrs.getNumber("requestBodyDrainTimeoutMillis");
+
+        if (requestBodyMaxBytes < 0)
+            throw new IllegalArgumentException("Specified requestBodyMaxBytes " + requestBodyMaxBytes + " is not valid, it must be 0 or positive.");
+        for (String contentType : capturedBodyContentTypes) {
+            try {
+                MediaType.parseMediaType(contentType);
+            } catch (InvalidMediaTypeException e) {
+                throw new IllegalArgumentException("Specified capturedBodyContentTypes content type \"" + contentType + "\" is not valid, " + e.getMessage());
+            }
+        }
+        for (String pattern : bodyCaptureIncludedPathPatterns) {
+            if (pattern == null || pattern.isBlank())
+                throw new IllegalArgumentException("Specified bodyCaptureIncludedPathPatterns pattern \"" + pattern + "\" is not valid, it cannot be empty.");
+        }
+        for (String pattern : bodyCaptureExcludedPathPatterns) {
+            if (pattern == null || pattern.isBlank())
+                throw new IllegalArgumentException("Specified bodyCaptureExcludedPathPatterns pattern \"" + pattern + "\" is not valid, it cannot be empty.");
+        }
+        if (bodyBufferPoolSlabCount < 0)
+            throw new IllegalArgumentException("Specified bodyBufferPoolSlabCount " + bodyBufferPoolSlabCount + " is not valid, it must be 0 or positive.");
+        if (bodyBufferPoolSlabSizeBytes < 1)
+            throw new IllegalArgumentException("Specified bodyBufferPoolSlabSizeBytes " + bodyBufferPoolSlabSizeBytes + " is not valid, a slab must hold at least 1 byte.");
+        if ((long) bodyBufferPoolSlabCount * bodyBufferPoolSlabSizeBytes > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Specified bodyBufferPoolSlabCount " + bodyBufferPoolSlabCount + " and bodyBufferPoolSlabSizeBytes " + bodyBufferPoolSlabSizeBytes + " are not valid, the pool cannot exceed " + Integer.MAX_VALUE + " bytes.");
+        if (requestBodyDrainMaxBytes < 1)
+            throw new IllegalArgumentException("Specified requestBodyDrainMaxBytes " + requestBodyDrainMaxBytes + " is not valid, the drain must read at least 1 byte.");
+        if (requestBodyDrainTimeoutMillis < 0)
+            throw new IllegalArgumentException("Specified requestBodyDrainTimeoutMillis " + requestBodyDrainTimeoutMillis + " is not valid, it must be 0 or positive.");
+
+        MutablePropertyValues propertyValues = registry.getBeanDefinition("uncaughtGuardProperties").getPropertyValues();
+        propertyValues.add("requestBodyMaxBytes", requestBodyMaxBytes);
+        propertyValues.add("capturedBodyContentTypes", capturedBodyContentTypes);
+        propertyValues.add("bodyCaptureIncludedHttpMethods", bodyCaptureIncludedHttpMethods);
+        propertyValues.add("bodyCaptureExcludedHttpMethods", bodyCaptureExcludedHttpMethods);
+        propertyValues.add("bodyCaptureIncludedPathPatterns", bodyCaptureIncludedPathPatterns);
+        propertyValues.add("bodyCaptureExcludedPathPatterns", bodyCaptureExcludedPathPatterns);
+        propertyValues.add("bodyBufferPoolSlabCount", bodyBufferPoolSlabCount);
+        propertyValues.add("bodyBufferPoolSlabSizeBytes", bodyBufferPoolSlabSizeBytes);
+        propertyValues.add("bodyBufferPoolDirect", bodyBufferPoolDirect);
+        propertyValues.add("requestBodyDrainMaxBytes", requestBodyDrainMaxBytes);
+        propertyValues.add("requestBodyDrainTimeoutMillis", requestBodyDrainTimeoutMillis);
+
+        logger.fine(String.format(
+                "Registered UncaughtGuard body capture properties:\n\n" +
+                        "requestBodyMaxBytes               : %s\n" +
+                        "capturedBodyContentTypes          : %s\n" +
+                        "bodyCaptureIncludedHttpMethods    : %s\n" +
+                        "bodyCaptureExcludedHttpMethods    : %s\n" +
+                        "bodyCaptureIncludedPathPatterns   : %s\n" +
+                        "bodyCaptureExcludedPathPatterns   : %s\n" +
+                        "bodyBufferPoolSlabCount           : %s\n" +
+                        "bodyBufferPoolSlabSizeBytes       : %s\n" +
+                        "bodyBufferPoolDirect              : %s\n" +
+                        "requestBodyDrainMaxBytes          : %s\n" +
+                        "requestBodyDrainTimeoutMillis     : %s",
+                requestBodyMaxBytes,
+                Arrays.toString(capturedBodyContentTypes),
+                Arrays.toString(bodyCaptureIncludedHttpMethods),
+                Arrays.toString(bodyCaptureExcludedHttpMethods),
+                Arrays.toString(bodyCaptureIncludedPathPatterns),
+                Arrays.toString(bodyCaptureExcludedPathPatterns),
+                bodyBufferPoolSlabCount,
+                bodyBufferPoolSlabSizeBytes,
+                bodyBufferPoolDirect,
+                requestBodyDrainMaxBytes,
+                requestBodyDrainTimeoutMillis
+        ));
+    }
+
     private void registerLoggingStrategiesBeans(BeanDefinitionRegistry registry, Class<? extends UncaughtGuardLoggingStrategy>[] strategies) {
         for (Class<? extends UncaughtGuardLoggingStrategy> strategyClass : strategies) {
             // if class is an abstract class, throw exception
@@ -129,7 +692,34 @@ public class UncaughtGuardRegistrar implements ImportBeanDefinitionRegistrar {
         logger.fine("Successfully enabled request body logging, by registering the request content caching filter");
     }
 
-    private void registerMethodParametersEnricherAdvice(BeanDefinitionRegistry registry, boolean enableLogThrowingMethodParameters) {
+    private void registerMethodParametersEnricherAdvice(BeanDefinitionRegistry registry, boolean enableLogThrowingMethodParameters, AnnotationAttributes attrs) {
+        String[] enricherBasePackages = attrs.getStringArray("enricherBasePackages");
+        boolean enricherRequireMarkerAnnotation = attrs.getBoolean("enricherRequireMarkerAnnotation");
+        UncaughtGuardWeavingMode enricherWeavingMode = attrs.getEnum("enricherWeavingMode");
+
+        for (String basePackage : enricherBasePackages) {
+            if (!isValidPackageName(basePackage))
+                throw new IllegalArgumentException("Specified enricherBasePackages package \"" + basePackage + "\" is not valid, it must be a Java package name.");
+        }
+
+        MutablePropertyValues propertyValues = registry.getBeanDefinition("uncaughtGuardProperties").getPropertyValues();
+        propertyValues.add("enricherBasePackages", enricherBasePackages);
+        propertyValues.add("enricherRequireMarkerAnnotation", enricherRequireMarkerAnnotation);
+        propertyValues.add("enricherWeavingMode", enricherWeavingMode);
+
+        String pointcutExpression = UncaughtGuardMethodParametersEnricherPointcut.expression(enricherBasePackages, enricherRequireMarkerAnnotation);
+        logger.fine(String.format(
+                "Registered UncaughtGuard method parameters enricher properties:\n\n" +
+                        "enricherBasePackages              : %s\n" +
+                        "enricherRequireMarkerAnnotation   : %s\n" +
+                        "enricherWeavingMode               : %s\n" +
+                        "pointcut expression               : %s",
+                Arrays.toString(enricherBasePackages),
+                enricherRequireMarkerAnnotation,
+                enricherWeavingMode,
+                pointcutExpression
+        ));
+
         if (!enableLogThrowingMethodParameters) {
             logger.fine("Method parameters logging is disabled, skipping method parameters enricher advice registration.");
             return;
@@ -138,9 +728,81 @@ public class UncaughtGuardRegistrar implements ImportBeanDefinitionRegistrar {
         RootBeanDefinition beanDef = new RootBeanDefinition(UncaughtGuardMethodParametersEnricherAdvice.class);
         registry.registerBeanDefinition("uncaughtGuardMethodParametersEnricherAdvice", beanDef);
 
+        if (enricherWeavingMode == UncaughtGuardWeavingMode.ASPECTJ_LOAD_TIME_WEAVING) {
+            // the advice is woven by AspectJ, no advisor is registered so that no proxy is created
+            logger.info("Method parameters enricher runs in AspectJ load-time weaving mode, declare a concrete aspect extending " +
+                    UncaughtGuardMethodParametersEnricherAspect.class.getName() + " with pointcut \"enrichedMethods\" set to: " + pointcutExpression);
+            return;
+        }
+
+        registry.registerBeanDefinition("uncaughtGuardMethodParametersEnricherAdvisor", pointcutAdvisor(enricherBasePackages, enricherRequireMarkerAnnotation, "uncaughtGuardMethodParametersEnricherAdvice"));
+
         logger.fine("Successfully enabled method parameters logging, by registering the method parameters enricher advice");
     }
 
+    private static RootBeanDefinition pointcutAdvisor(String[] basePackages, boolean requireMarkerAnnotation, String adviceBeanName) {
+        RootBeanDefinition advisorDef = new RootBeanDefinition(DefaultPointcutAdvisor.class);
+        advisorDef.getConstructorArgumentValues().addIndexedArgumentValue(0, new UncaughtGuardMethodParametersEnricherPointcut(basePackages, requireMarkerAnnotation));
+        advisorDef.getConstructorArgumentValues().addIndexedArgumentValue(1, new RuntimeBeanReference(adviceBeanName));
+        return advisorDef;
+    }
+
+    private static boolean isValidPackageName(String packageName) {
+        if (packageName == null || packageName.isEmpty())
+            return false;
+
+        for (String identifier : packageName.split("\\.", -1)) {
+            if (identifier.isEmpty() || !Character.isJavaIdentifierStart(identifier.charAt(0)))
+                return false;
+            if (!identifier.chars().skip(1).allMatch(Character::isJavaIdentifierPart))
+                return false;
+        }
+        return true;
+    }
+
+    private void registerMethodFlightRecorder(BeanDefinitionRegistry registry, AnnotationAttributes attrs) {
+        boolean enableMethodFlightRecorder = attrs.getBoolean("enableMethodFlightRecorder");
+        int methodFlightRecorderCapacity = attrs.getNumber("methodFlightRecorderCapacity");
+
+        if (methodFlightRecorderCapacity < 1)
+            throw new IllegalArgumentException("Specified methodFlightRecorderCapacity " + methodFlightRecorderCapacity + " is not valid, at least 1 event must be kept.");
+
+        MutablePropertyValues propertyValues = registry.getBeanDefinition("uncaughtGuardProperties").getPropertyValues();
+        propertyValues.add("enableMethodFlightRecorder", enableMethodFlightRecorder);
+        propertyValues.add("methodFlightRecorderCapacity", methodFlightRecorderCapacity);
+
+        logger.fine(String.format(
+                "Registered UncaughtGuard method flight recorder properties:\n\n" +
+                        "enableMethodFlightRecorder        : %s\n" +
+                        "methodFlightRecorderCapacity      : %s",
+                enableMethodFlightRecorder,
+                methodFlightRecorderCapacity
+        ));
+
+        if (!enableMethodFlightRecorder) {
+            logger.fine("Method flight recorder is disabled, skipping method flight recorder advice and filter registration.");
+            return;
+        }
+
+        // the recorder advises the same methods as the parameters enricher, in the same weaving mode
+        String[] enricherBasePackages = attrs.getStringArray("enricherBasePackages");
+        boolean enricherRequireMarkerAnnotation = attrs.getBoolean("enricherRequireMarkerAnnotation");
+        registry.registerBeanDefinition("uncaughtGuardMethodFlightRecorderAdvice", new RootBeanDefinition(UncaughtGuardMethodFlightRecorderAdvice.class));
+        registry.registerBeanDefinition("uncaughtGuardMethodFlightRecorderFilter", new RootBeanDefinition(UncaughtGuardMethodFlightRecorderFilter.class));
+
+        if (attrs.getEnum("enricherWeavingMode") == UncaughtGuardWeavingMode.ASPECTJ_LOAD_TIME_WEAVING) {
+            // the advice is woven by AspectJ, no advisor is registered so that no proxy is created
+            logger.info("Method flight recorder runs in AspectJ load-time weaving mode, declare a concrete aspect extending " +
+                    UncaughtGuardMethodFlightRecorderAspect.class.getName() + " with pointcut \"recordedMethods\" set to: " +
+                    UncaughtGuardMethodParametersEnricherPointcut.expression(enricherBasePackages, enricherRequireMarkerAnnotation));
+            return;
+        }
+
+        registry.registerBeanDefinition("uncaughtGuardMethodFlightRecorderAdvisor", pointcutAdvisor(enricherBasePackages, enricherRequireMarkerAnnotation, "uncaughtGuardMethodFlightRecorderAdvice"));
+
+        logger.fine("Successfully enabled the method flight recorder, by registering the method flight recorder advice and filter");
+    }
+
     private String decapitalize(String name) {
         if (name == null || name.isEmpty()) return name;
         return Character.toLowerCase(name.charAt(0)) + name.substring(1);
@@ -0,0 +1,161 @@
+package com.velluto.uncaughtguard.retries;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Timer running delayed tasks with a single thread, whatever the number of scheduled tasks.
+ * <p>
+ * Time is divided in ticks and the tasks are kept in a wheel of buckets, one per tick:
+ * scheduling a task only appends it to a lock-free queue, and at each tick the timer thread moves the queued tasks
+ * to their bucket and runs the expired tasks of the current bucket. Tasks scheduled beyond one wheel revolution
+ * wait in their bucket for the remaining rounds. Deadlines are therefore approximated to the tick duration.
+ * <p>
+ * Tasks run on the timer thread, so they must be short: they are expected to hand the actual work over to other threads.
+ */
+public class UncaughtGuardHashedWheelTimer {
+    public static final String THREAD_NAME = "uncaught-guard-retry-timer";
+
+    private static final Logger logger = Logger.getLogger(UncaughtGuardHashedWheelTimer.class.getName());
+
+    private final long tickNanos;
+    private final ArrayDeque<Timeout>[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final long startNanos = System.nanoTime();
+    private final Thread worker;
+
+    private volatile boolean stopped;
+    private long tick;
+
+    /**
+     * @param tickMillis duration of a tick in milliseconds, the precision of the deadlines
+     * @param ticksPerWheel number of buckets of the wheel, rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public UncaughtGuardHashedWheelTimer(long tickMillis, int ticksPerWheel) {
+        if (tickMillis < 1)
+            throw new IllegalArgumentException("Timer tick duration must be at least 1 millisecond, got " + tickMillis);
+        if (ticksPerWheel < 1 || ticksPerWheel > 1 << 30)
+            throw new IllegalArgumentException("Timer ticks per wheel must be between 1 and 2^30, got " + ticksPerWheel);
+
+        int wheelSize = 1;
+        while (wheelSize < ticksPerWheel)
+            wheelSize <<= 1;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.wheel = new ArrayDeque[wheelSize];
+        for (int i = 0; i < wheelSize; i++)
+            this.wheel[i] = new ArrayDeque<>();
+        this.mask = wheelSize - 1;
+
+        this.worker = new Thread(this::run, THREAD_NAME);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Schedules the given task to run on the timer thread after the given delay.
+     *
+     * @param task        the task to run, it must not block
+     * @param delayMillis delay before running the task, in milliseconds
+     * @return true if the task was scheduled, false if the timer is stopped
+     */
+    public boolean schedule(Runnable task, long delayMillis) {
+        if (stopped)
+            return false;
+
+        long deadlineNanos = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+        pendingTimeouts.add(new Timeout(task, deadlineNanos));
+        return true;
+    }
+
+    /**
+     * Stops the timer thread and returns the tasks that did not run yet.
+     * Tasks scheduled concurrently with this call may be returned or discarded, they never run.
+     *
+     * @return the scheduled tasks that did not run
+     */
+    public List<Runnable> stop() {
+        stopped = true;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Runnable> unexpired = new ArrayList<>();
+        for (ArrayDeque<Timeout> bucket : wheel) {
+            for (Timeout timeout : bucket)
+                unexpired.add(timeout.task);
+            bucket.clear();
+        }
+        Timeout pending;
+        while ((pending = pendingTimeouts.poll()) != null)
+            unexpired.add(pending.task);
+        return unexpired;
+    }
+
+    private void run() {
+        while (!stopped) {
+            long nextTickNanos = tickNanos * (tick + 1);
+            long sleepNanos = nextTickNanos - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+                continue;
+            }
+
+            transferPendingTimeouts();
+            expireTimeouts(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            long deadlineTick = timeout.deadlineNanos / tickNanos;
+            timeout.remainingRounds = (deadlineTick - tick) / wheel.length;
+            // a deadline already in the past expires at the current tick
+            long bucketTick = Math.max(deadlineTick, tick);
+            wheel[(int) (bucketTick & mask)].add(timeout);
+        }
+    }
+
+    private void expireTimeouts(ArrayDeque<Timeout> bucket) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                continue;
+            }
+
+            iterator.remove();
+            try {
+                timeout.task.run();
+            } catch (Throwable t) {
+                logger.log(Level.WARNING, "A task scheduled on the Uncaught Guard timer failed", t);
+            }
+        }
+    }
+
+    private static final class Timeout {
+        private final Runnable task;
+        private final long deadlineNanos;
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
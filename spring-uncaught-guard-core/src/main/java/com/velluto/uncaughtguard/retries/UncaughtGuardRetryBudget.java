@@ -0,0 +1,56 @@
+package com.velluto.uncaughtguard.retries;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the retries of a logging strategy to a percentage of its calls, so that retries cannot multiply
+ * the load on a sink that is already failing.
+ * <p>
+ * The budget is a token bucket: each first call of the strategy deposits a fraction of a token
+ * and each retry withdraws a whole token. The bucket starts full with a small reserve of tokens,
+ * which lets strategies with little traffic retry as well, and never holds more than that reserve.
+ */
+public class UncaughtGuardRetryBudget {
+    private static final long TOKEN = 1000;
+
+    private final long depositPerCall;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    /**
+     * @param retryPercent   maximum retries in percent of the calls, on the long run
+     * @param reserveRetries retries allowed in a burst, before any call deposited into the budget
+     */
+    public UncaughtGuardRetryBudget(int retryPercent, int reserveRetries) {
+        if (retryPercent < 1 || retryPercent > 100)
+            throw new IllegalArgumentException("Retry budget percentage must be between 1 and 100, got " + retryPercent);
+        if (reserveRetries < 1)
+            throw new IllegalArgumentException("Retry budget reserve must be at least 1, got " + reserveRetries);
+
+        this.depositPerCall = TOKEN * retryPercent / 100;
+        this.capacity = TOKEN * reserveRetries;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    /**
+     * Deposits the share of a first call of the strategy into the budget.
+     */
+    public void recordCall() {
+        balance.accumulateAndGet(depositPerCall, (current, deposit) -> Math.min(capacity, current + deposit));
+    }
+
+    /**
+     * Withdraws a retry from the budget, if available.
+     *
+     * @return true if the retry is allowed, false if the budget is exhausted
+     */
+    public boolean tryWithdrawRetry() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN)
+                return false;
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+}
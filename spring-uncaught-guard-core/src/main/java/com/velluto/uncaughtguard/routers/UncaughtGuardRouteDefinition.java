@@ -0,0 +1,54 @@
+package com.velluto.uncaughtguard.routers;
+
+import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Routing rule as declared by the application, see {@link com.velluto.uncaughtguard.annotations.UncaughtGuardRoute}.
+ * It is compiled into the dispatch table of {@link UncaughtGuardStrategyRouter} at startup.
+ */
+public class UncaughtGuardRouteDefinition {
+    private final Class<? extends RuntimeException>[] exceptions;
+    private final RequestMethod[] httpMethods;
+    private final String[] pathPatterns;
+    private final Class<? extends UncaughtGuardLoggingStrategy>[] strategies;
+
+    public UncaughtGuardRouteDefinition(
+            Class<? extends RuntimeException>[] exceptions,
+            RequestMethod[] httpMethods,
+            String[] pathPatterns,
+            Class<? extends UncaughtGuardLoggingStrategy>[] strategies
+    ) {
+        this.exceptions = exceptions;
+        this.httpMethods = httpMethods;
+        this.pathPatterns = pathPatterns;
+        this.strategies = strategies;
+    }
+
+    public Class<? extends RuntimeException>[] getExceptions() {
+        return exceptions;
+    }
+
+    public RequestMethod[] getHttpMethods() {
+        return httpMethods;
+    }
+
+    public String[] getPathPatterns() {
+        return pathPatterns;
+    }
+
+    public Class<? extends UncaughtGuardLoggingStrategy>[] getStrategies() {
+        return strategies;
+    }
+
+    @Override
+    public String toString() {
+        return "exceptions=" + Arrays.stream(exceptions).map(Class::getSimpleName).collect(Collectors.joining(",", "[", "]")) +
+                " httpMethods=" + Arrays.toString(httpMethods) +
+                " pathPatterns=" + Arrays.toString(pathPatterns) +
+                " -> " + Arrays.stream(strategies).map(Class::getSimpleName).collect(Collectors.joining(",", "[", "]"));
+    }
+}
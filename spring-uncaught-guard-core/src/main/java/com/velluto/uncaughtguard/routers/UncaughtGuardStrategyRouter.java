@@ -0,0 +1,184 @@
+package com.velluto.uncaughtguard.routers;
+
+import com.velluto.uncaughtguard.exceptions.UncaughtGuardRestoredException;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardSystemErrorLoggingStrategy;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Decides which logging strategies receive each exception trace.
+ * <p>
+ * At startup, the routing rules declared in the properties are compiled into an immutable dispatch table:
+ * strategy beans are resolved once, HTTP methods become sets and path patterns are parsed.
+ * The rules matching a given exception type are computed the first time that type is seen and cached,
+ * so routing a trace only walks the candidate rules of its exception type, checking the method and the path.
+ * Restored exceptions, e.g. read back from the journal, are routed by the type of the exception they stand in for,
+ * and paths are matched within the application, i.e. without the context path.
+ * Traces not matched by any rule are sent to all the configured logging strategies.
+ */
+@Component
+public class UncaughtGuardStrategyRouter {
+    private static final Logger logger = Logger.getLogger(UncaughtGuardStrategyRouter.class.getName());
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private UncaughtGuardProperties properties;
+
+    private CompiledRoute[] routes;
+    private List<UncaughtGuardLoggingStrategy> defaultStrategies;
+    private UncaughtGuardSystemErrorLoggingStrategy fallbackStrategy;
+
+    private final ClassValue<CompiledRoute[]> routesByExceptionType = new ClassValue<>() {
+        @Override
+        protected CompiledRoute[] computeValue(Class<?> exceptionType) {
+            return Arrays.stream(routes).filter(route -> route.matchesExceptionType(exceptionType)).toArray(CompiledRoute[]::new);
+        }
+    };
+    private final Map<String, CompiledRoute[]> routesByRestoredExceptionType = new ConcurrentHashMap<>();
+
+    /**
+     * Compiles the routing rules into the dispatch table, resolving all the strategy beans.
+     *
+     * @throws IllegalArgumentException if a rule references a strategy that is not a configured logging strategy
+     */
+    @PostConstruct
+    public void init() {
+        Set<Class<? extends UncaughtGuardLoggingStrategy>> configuredStrategies = new HashSet<>(Arrays.asList(properties.getLoggingStrategies()));
+        this.defaultStrategies = resolveStrategies(properties.getLoggingStrategies());
+        this.fallbackStrategy = context.getBean(UncaughtGuardSystemErrorLoggingStrategy.class);
+
+        UncaughtGuardRouteDefinition[] definitions = properties.getRoutes();
+        this.routes = new CompiledRoute[definitions.length];
+        for (int i = 0; i < definitions.length; i++) {
+            for (Class<? extends UncaughtGuardLoggingStrategy> strategy : definitions[i].getStrategies()) {
+                if (!configuredStrategies.contains(strategy))
+                    throw new IllegalArgumentException("Logging strategy " + strategy.getName() + " used in route " + definitions[i] + " is not one of the configured logging strategies.");
+            }
+
+            this.routes[i] = new CompiledRoute(definitions[i], resolveStrategies(definitions[i].getStrategies()));
+            logger.fine("Compiled Uncaught Guard route " + definitions[i]);
+        }
+    }
+
+    private List<UncaughtGuardLoggingStrategy> resolveStrategies(Class<? extends UncaughtGuardLoggingStrategy>[] strategyClasses) {
+        return Arrays.stream(strategyClasses).<UncaughtGuardLoggingStrategy>map(context::getBean).toList();
+    }
+
+    /**
+     * @param trace the exception trace to route
+     * @return the logging strategies that must receive the trace, in the order they are declared
+     */
+    public List<UncaughtGuardLoggingStrategy> route(UncaughtGuardExceptionTrace trace) {
+        CompiledRoute[] candidates = trace.getException() instanceof UncaughtGuardRestoredException restoredException
+                ? routesByRestoredExceptionType.computeIfAbsent(restoredException.getOriginalClassName(), this::routesByExceptionTypeName)
+                : routesByExceptionType.get(trace.getException().getClass());
+        PathContainer path = null;
+        for (CompiledRoute route : candidates) {
+            if (!route.matchesMethod(trace.getMethod()))
+                continue;
+
+            if (route.hasPathPatterns()) {
+                if (path == null)
+                    path = PathContainer.parsePath(trace.getPathWithinApplication());
+                if (!route.matchesPath(path))
+                    continue;
+            }
+
+            return route.strategies;
+        }
+
+        return defaultStrategies;
+    }
+
+    private CompiledRoute[] routesByExceptionTypeName(String exceptionTypeName) {
+        try {
+            return routesByExceptionType.get(ClassUtils.forName(exceptionTypeName, context.getClassLoader()));
+        } catch (ClassNotFoundException | LinkageError e) {
+            // the type is gone, e.g. after a redeploy, so only its exact name can be matched
+            return Arrays.stream(routes).filter(route -> route.matchesExceptionTypeName(exceptionTypeName)).toArray(CompiledRoute[]::new);
+        }
+    }
+
+    /**
+     * @param strategy a logging strategy returned by {@link #route(UncaughtGuardExceptionTrace)}
+     * @return the index of the strategy among the configured logging strategies, in the order they are declared,
+     * or -1 if it is not one of them
+     */
+    public int getStrategyIndex(UncaughtGuardLoggingStrategy strategy) {
+        return defaultStrategies.indexOf(strategy);
+    }
+
+    /**
+     * @return the strategy used when no other strategy succeeded, or when the dispatcher logs with a degraded capture
+     */
+    public UncaughtGuardSystemErrorLoggingStrategy getFallbackStrategy() {
+        return fallbackStrategy;
+    }
+
+    private static final class CompiledRoute {
+        private final Class<?>[] exceptionTypes;
+        private final Set<String> httpMethods;
+        private final PathPattern[] pathPatterns;
+        private final List<UncaughtGuardLoggingStrategy> strategies;
+
+        private CompiledRoute(UncaughtGuardRouteDefinition definition, List<UncaughtGuardLoggingStrategy> strategies) {
+            this.exceptionTypes = definition.getExceptions().clone();
+            this.httpMethods = new HashSet<>();
+            for (RequestMethod method : definition.getHttpMethods())
+                this.httpMethods.add(method.name());
+            this.pathPatterns = Arrays.stream(definition.getPathPatterns()).map(PathPatternParser.defaultInstance::parse).toArray(PathPattern[]::new);
+            this.strategies = strategies;
+        }
+
+        private boolean matchesExceptionType(Class<?> exceptionType) {
+            if (exceptionTypes.length == 0)
+                return true;
+            for (Class<?> matched : exceptionTypes) {
+                if (matched.isAssignableFrom(exceptionType))
+                    return true;
+            }
+            return false;
+        }
+
+        private boolean matchesExceptionTypeName(String exceptionTypeName) {
+            if (exceptionTypes.length == 0)
+                return true;
+            for (Class<?> matched : exceptionTypes) {
+                if (matched.getName().equals(exceptionTypeName))
+                    return true;
+            }
+            return false;
+        }
+
+        private boolean matchesMethod(String method) {
+            return httpMethods.isEmpty() || httpMethods.contains(method);
+        }
+
+        private boolean hasPathPatterns() {
+            return pathPatterns.length > 0;
+        }
+
+        private boolean matchesPath(PathContainer path) {
+            for (PathPattern pattern : pathPatterns) {
+                if (pattern.matches(path))
+                    return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.velluto.uncaughtguard.samplers;
+
+import com.velluto.uncaughtguard.exceptions.UncaughtGuardMethodParametersEnrichedRuntimeException;
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Sheds the capture of exception traces during exception storms, e.g. when a downstream dependency is down
+ * and every request fails.
+ * <p>
+ * The arrival rate of the uncaught exceptions is measured over a sliding window. While it stays below the
+ * configured threshold every exception is captured. Above the threshold each exception is captured with a
+ * probability of threshold / rate, never lower than the configured minimum, so that roughly the threshold
+ * number of traces per second keeps reaching the logging strategies whatever the storm intensity.
+ * <p>
+ * Sampled out exceptions are not captured nor logged, but they are counted exactly, in total and by exception class,
+ * so that the actual volume of the storm can be reconstructed from the counters and the logged traces.
+ */
+@Component
+public class UncaughtGuardAdaptiveSampler {
+    public static final int WINDOW_BUCKETS = 10;
+
+    private static final Logger logger = Logger.getLogger(UncaughtGuardAdaptiveSampler.class.getName());
+
+    @Autowired
+    private UncaughtGuardProperties properties;
+
+    private final LongSupplier nanoClock;
+    private final DoubleSupplier random;
+
+    private double thresholdPerSecond;
+    private double minimumProbability;
+    private UncaughtGuardSlidingWindowCounter arrivals;
+
+    private final AtomicBoolean sampling = new AtomicBoolean();
+    private final LongAdder sampledTracesCount = new LongAdder();
+    private final LongAdder sampledOutTracesCount = new LongAdder();
+    private final Map<String, LongAdder> sampledOutTracesCounts = new ConcurrentHashMap<>();
+
+    public UncaughtGuardAdaptiveSampler() {
+        this(System::nanoTime, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    UncaughtGuardAdaptiveSampler(LongSupplier nanoClock, DoubleSupplier random) {
+        this.nanoClock = nanoClock;
+        this.random = random;
+    }
+
+    /**
+     * Builds the sliding window from the configured sampling properties, if sampling is enabled.
+     */
+    @PostConstruct
+    public void init() {
+        configure(properties.getSamplingThresholdPerSecond(), properties.getSamplingWindowMillis(), properties.getSamplingMinimumPercent());
+    }
+
+    void configure(int thresholdPerSecond, long windowMillis, int minimumPercent) {
+        if (thresholdPerSecond == 0) {
+            logger.fine("Adaptive sampling is disabled, every uncaught exception is captured");
+            return;
+        }
+
+        this.thresholdPerSecond = thresholdPerSecond;
+        this.minimumProbability = minimumPercent / 100.0;
+        this.arrivals = new UncaughtGuardSlidingWindowCounter(windowMillis, WINDOW_BUCKETS, nanoClock);
+        logger.fine("Adaptive sampling is enabled above " + thresholdPerSecond + " exceptions per second over " + windowMillis + " ms");
+    }
+
+    /**
+     * Records the arrival of an uncaught exception and decides whether its trace has to be captured.
+     *
+     * @param exception the uncaught exception
+     * @return true if the trace has to be captured and logged, false if it is sampled out
+     */
+    public boolean sample(RuntimeException exception) {
+        if (arrivals == null)
+            return true;
+
+        arrivals.increment();
+        double probability = getSamplingProbability();
+        updateSamplingState(probability);
+
+        if (probability >= 1.0 || random.getAsDouble() < probability) {
+            sampledTracesCount.increment();
+            return true;
+        }
+
+        sampledOutTracesCount.increment();
+        sampledOutTracesCounts.computeIfAbsent(getExceptionClassName(exception), name -> new LongAdder()).increment();
+        return false;
+    }
+
+    private static String getExceptionClassName(RuntimeException exception) {
+        if (exception instanceof UncaughtGuardMethodParametersEnrichedRuntimeException enrichedRuntimeException)
+            return enrichedRuntimeException.getOriginalExceptionReference().getClass().getName();
+        return exception.getClass().getName();
+    }
+
+    private void updateSamplingState(double probability) {
+        boolean overThreshold = probability < 1.0;
+        if (sampling.get() == overThreshold || !sampling.compareAndSet(!overThreshold, overThreshold))
+            return;
+
+        if (overThreshold)
+            logger.warning(String.format("Uncaught exceptions arrive at %.1f per second, above the sampling threshold of %.0f per second, only part of them will be captured", getArrivalRatePerSecond(), thresholdPerSecond));
+        else
+            logger.info("Uncaught exceptions arrive again below the sampling threshold, every exception is captured, " + getSampledOutTracesCount() + " traces were sampled out so far");
+    }
+
+    /**
+     * @return the probability that the next uncaught exception is captured, 1 when sampling is disabled or below the threshold
+     */
+    public double getSamplingProbability() {
+        if (arrivals == null)
+            return 1.0;
+
+        double rate = arrivals.getRatePerSecond();
+        if (rate <= thresholdPerSecond)
+            return 1.0;
+        return Math.max(thresholdPerSecond / rate, minimumProbability);
+    }
+
+    /**
+     * @return the arrival rate of the uncaught exceptions over the sliding window, 0 when sampling is disabled
+     */
+    public double getArrivalRatePerSecond() {
+        return arrivals == null ? 0 : arrivals.getRatePerSecond();
+    }
+
+    /**
+     * @return true if the arrival rate is above the threshold and exceptions are being sampled out
+     */
+    public boolean isSampling() {
+        return sampling.get();
+    }
+
+    /**
+     * @return the number of exceptions the sampler let through to be captured, 0 when sampling is disabled
+     */
+    public long getSampledTracesCount() {
+        return sampledTracesCount.sum();
+    }
+
+    /**
+     * @return the number of exceptions sampled out, exact
+     */
+    public long getSampledOutTracesCount() {
+        return sampledOutTracesCount.sum();
+    }
+
+    /**
+     * @return the number of exceptions sampled out, by exception class name
+     */
+    public Map<String, Long> getSampledOutTracesCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        sampledOutTracesCounts.forEach((exceptionClass, count) -> counts.put(exceptionClass, count.sum()));
+        return Collections.unmodifiableMap(counts);
+    }
+}
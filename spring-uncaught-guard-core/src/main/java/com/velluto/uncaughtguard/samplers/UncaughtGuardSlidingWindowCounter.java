@@ -0,0 +1,91 @@
+package com.velluto.uncaughtguard.samplers;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts the events of a sliding time window, split in a fixed number of buckets.
+ * <p>
+ * Each bucket covers an equal slice of the window and is reused, lock-free, once the window has moved past it,
+ * so that counting an event costs a few atomic operations whatever the event rate.
+ * The count is an estimate: increments racing with the reuse of their bucket may be lost,
+ * which is accurate enough to measure an arrival rate.
+ */
+public class UncaughtGuardSlidingWindowCounter {
+    private final long windowMillis;
+    private final long bucketNanos;
+    private final int buckets;
+    private final LongSupplier nanoClock;
+
+    private final AtomicLongArray bucketEpochs;
+    private final AtomicLongArray bucketCounts;
+
+    /**
+     * @param windowMillis length of the window, in milliseconds
+     * @param buckets      number of buckets the window is split in
+     */
+    public UncaughtGuardSlidingWindowCounter(long windowMillis, int buckets) {
+        this(windowMillis, buckets, System::nanoTime);
+    }
+
+    UncaughtGuardSlidingWindowCounter(long windowMillis, int buckets, LongSupplier nanoClock) {
+        if (buckets < 1)
+            throw new IllegalArgumentException("Sliding window buckets must be at least 1, got " + buckets);
+        if (windowMillis < buckets)
+            throw new IllegalArgumentException("Sliding window must last at least one millisecond per bucket, got " + windowMillis + " ms for " + buckets + " buckets");
+
+        this.windowMillis = windowMillis;
+        this.bucketNanos = windowMillis * 1_000_000L / buckets;
+        this.buckets = buckets;
+        this.nanoClock = nanoClock;
+        this.bucketEpochs = new AtomicLongArray(buckets);
+        this.bucketCounts = new AtomicLongArray(buckets);
+        for (int i = 0; i < buckets; i++)
+            bucketEpochs.set(i, Long.MIN_VALUE);
+    }
+
+    /**
+     * Counts an event at the current time.
+     *
+     * @return the number of events in the window, this one included
+     */
+    public long increment() {
+        long epoch = currentEpoch();
+        int slot = (int) Math.floorMod(epoch, (long) buckets);
+
+        long slotEpoch = bucketEpochs.get(slot);
+        if (slotEpoch != epoch && bucketEpochs.compareAndSet(slot, slotEpoch, epoch))
+            bucketCounts.set(slot, 0);
+        bucketCounts.incrementAndGet(slot);
+
+        return sum(epoch);
+    }
+
+    /**
+     * @return the number of events in the window ending at the current time
+     */
+    public long getCount() {
+        return sum(currentEpoch());
+    }
+
+    /**
+     * @return the average number of events per second in the window ending at the current time
+     */
+    public double getRatePerSecond() {
+        return getCount() * 1000.0 / windowMillis;
+    }
+
+    private long currentEpoch() {
+        return Math.floorDiv(nanoClock.getAsLong(), bucketNanos);
+    }
+
+    private long sum(long epoch) {
+        long count = 0;
+        for (int i = 0; i < buckets; i++) {
+            long slotEpoch = bucketEpochs.get(i);
+            if (slotEpoch > epoch - buckets && slotEpoch <= epoch)
+                count += bucketCounts.get(i);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,186 @@
+package com.velluto.uncaughtguard.serializers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.velluto.uncaughtguard.exceptions.UncaughtGuardRestoredException;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardMethodFlightRecorderEvent;
+import com.velluto.uncaughtguard.models.UncaughtGuardMethodFlightRecorderEventType;
+import com.velluto.uncaughtguard.models.UncaughtGuardThrowingMethod;
+import com.velluto.uncaughtguard.models.UncaughtGuardThrowingMethodParameter;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Encodes exception traces into single-line JSON documents and decodes them back.
+ * <p>
+ * Traces are encoded with the same JSON representation sent to the logging strategies.
+ * A decoded trace keeps its trace ID and incident timestamp, its exception is restored as an
+ * {@link UncaughtGuardRestoredException} carrying the original type, message, stack trace and causes,
+ * and method parameter values are kept as JSON trees.
+ */
+public class UncaughtGuardExceptionTraceCodec {
+    // matches the StackTraceElement#toString format, e.g. java.base/java.lang.Thread.run(Thread.java:1583)
+    private static final Pattern STACK_TRACE_ELEMENT_PATTERN = Pattern.compile("^(?:(.*)/)?([^/]+)\\.([^./]+)\\((.*)\\)$");
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new SimpleModule().addSerializer(LocalDateTime.class, ToStringSerializer.instance));
+
+    /**
+     * @param trace the exception trace to encode
+     * @return the JSON document of the trace, without line breaks
+     * @throws JsonProcessingException if the trace cannot be serialized
+     */
+    public String encode(UncaughtGuardExceptionTrace trace) throws JsonProcessingException {
+        return mapper.writeValueAsString(trace);
+    }
+
+    /**
+     * @param json the JSON document of a trace, as produced by {@link #encode(UncaughtGuardExceptionTrace)}
+     * @return the decoded exception trace
+     * @throws JsonProcessingException if the document is not a valid encoded trace
+     */
+    public UncaughtGuardExceptionTrace decode(String json) throws JsonProcessingException {
+        JsonNode node = mapper.readTree(json);
+        if (node == null || !node.hasNonNull("traceId") || !node.hasNonNull("exception"))
+            throw new JsonProcessingException("Document is not an encoded exception trace") {
+            };
+
+        UncaughtGuardExceptionTrace trace = new UncaughtGuardExceptionTrace(
+                LocalDateTime.parse(node.get("incidentTimestamp").asText()),
+                UUID.fromString(node.get("traceId").asText()),
+                textOrNull(node.get("method")),
+                textOrNull(node.get("path")),
+                textOrNull(node.get("contextPath")),
+                decodeStringMap(node.get("queryParams")),
+                decodeStringMap(node.get("headers")),
+                decodeBody(node.get("body")),
+                node.path("bodyContentLength").asLong(-1),
+                decodeThrowingMethods(node.get("throwingMethods")),
+                decodeException(node.get("exception"))
+        );
+        trace.attachMethodFlightRecording(decodeMethodFlightRecording(node.get("methodFlightRecording")));
+        return trace;
+    }
+
+    private static String textOrNull(JsonNode node) {
+        return node == null || node.isNull() ? null : node.asText();
+    }
+
+    private static Map<String, String> decodeStringMap(JsonNode node) {
+        Map<String, String> map = new HashMap<>();
+        if (node != null)
+            node.properties().forEach(entry -> map.put(entry.getKey(), textOrNull(entry.getValue())));
+        return map;
+    }
+
+    private static String decodeBody(JsonNode node) {
+        if (node == null || node.isNull())
+            return null;
+        // the body serializer writes JSON bodies as trees and any other body as a string
+        return node.isTextual() ? node.asText() : node.toString();
+    }
+
+    private static List<UncaughtGuardThrowingMethod> decodeThrowingMethods(JsonNode node) {
+        List<UncaughtGuardThrowingMethod> throwingMethods = new ArrayList<>();
+        if (node == null)
+            return throwingMethods;
+
+        for (JsonNode method : node) {
+            List<UncaughtGuardThrowingMethodParameter> parameters = new ArrayList<>();
+            for (JsonNode parameter : method.path("passedParameters")) {
+                JsonNode value = parameter.get("value");
+                parameters.add(new UncaughtGuardThrowingMethodParameter(
+                        textOrNull(parameter.get("typeClassName")),
+                        value == null || value.isNull() ? null : value
+                ));
+            }
+            throwingMethods.add(new UncaughtGuardThrowingMethod(
+                    textOrNull(method.get("methodSignature")),
+                    parameters.toArray(UncaughtGuardThrowingMethodParameter[]::new)
+            ));
+        }
+        return throwingMethods;
+    }
+
+    private static List<UncaughtGuardMethodFlightRecorderEvent> decodeMethodFlightRecording(JsonNode node) {
+        List<UncaughtGuardMethodFlightRecorderEvent> events = new ArrayList<>();
+        if (node == null)
+            return events;
+
+        for (JsonNode event : node) {
+            events.add(new UncaughtGuardMethodFlightRecorderEvent(
+                    UncaughtGuardMethodFlightRecorderEventType.valueOf(event.get("type").asText()),
+                    textOrNull(event.get("methodSignature")),
+                    event.path("depth").asInt(),
+                    event.path("elapsedNanos").asLong(),
+                    event.path("durationNanos").asLong(-1)
+            ));
+        }
+        return events;
+    }
+
+    private static UncaughtGuardRestoredException decodeException(JsonNode node) {
+        if (node == null || node.isNull() || !node.has("thrownException"))
+            return null;
+
+        List<StackTraceElement> stackTrace = new ArrayList<>();
+        for (JsonNode element : node.path("stackTrace"))
+            stackTrace.add(decodeStackTraceElement(element.asText()));
+
+        return new UncaughtGuardRestoredException(
+                node.get("thrownException").asText(),
+                textOrNull(node.get("message")),
+                stackTrace.toArray(StackTraceElement[]::new),
+                decodeException(node.get("cause"))
+        );
+    }
+
+    private static StackTraceElement decodeStackTraceElement(String element) {
+        Matcher matcher = STACK_TRACE_ELEMENT_PATTERN.matcher(element);
+        if (!matcher.matches())
+            return new StackTraceElement("", element, null, -1);
+
+        // the optional prefix is either "module[@version]" or "classLoader/[module[@version]]"
+        String classLoaderName = null;
+        String module = matcher.group(1);
+        if (module != null && module.contains("/")) {
+            classLoaderName = module.substring(0, module.indexOf('/'));
+            module = module.substring(module.indexOf('/') + 1);
+        }
+        String moduleName = module == null || module.isEmpty() ? null : module;
+        String moduleVersion = null;
+        if (moduleName != null && moduleName.contains("@")) {
+            moduleVersion = moduleName.substring(moduleName.indexOf('@') + 1);
+            moduleName = moduleName.substring(0, moduleName.indexOf('@'));
+        }
+
+        String declaringClass = matcher.group(2);
+        String methodName = matcher.group(3);
+        String location = matcher.group(4);
+        String fileName = location;
+        int lineNumber = -1;
+        int lineSeparator = location.lastIndexOf(':');
+        if (location.equals("Native Method")) {
+            fileName = null;
+            lineNumber = -2;
+        } else if (location.equals("Unknown Source")) {
+            fileName = null;
+        } else if (lineSeparator > 0) {
+            try {
+                lineNumber = Integer.parseInt(location.substring(lineSeparator + 1));
+                fileName = location.substring(0, lineSeparator);
+            } catch (NumberFormatException e) {
+                // not a line number, the whole location is kept as the file name
+            }
+        }
+
+        return new StackTraceElement(classLoaderName, moduleName, moduleVersion, declaringClass, methodName, fileName, lineNumber);
+    }
+}
@@ -3,6 +3,7 @@ package com.velluto.uncaughtguard.serializers;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import com.velluto.uncaughtguard.exceptions.UncaughtGuardRestoredException;
 
 import java.io.IOException;
 import java.util.HashSet;
@@ -35,7 +36,9 @@ public class UncaughtGuardExceptionTraceExceptionJsonSerializer extends JsonSeri
 
         gen.writeStartObject();
 
-        gen.writeStringField("thrownException", ex.getClass().getName());
+        // a restored exception is written with the type of the exception it stands in for
+        String thrownException = ex instanceof UncaughtGuardRestoredException restored ? restored.getOriginalClassName() : ex.getClass().getName();
+        gen.writeStringField("thrownException", thrownException);
         gen.writeStringField("message", ex.getMessage());
         gen.writeArrayFieldStart("stackTrace");
         for (StackTraceElement element : ex.getStackTrace())
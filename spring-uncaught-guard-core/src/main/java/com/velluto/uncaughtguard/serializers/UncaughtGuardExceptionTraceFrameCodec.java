@@ -0,0 +1,299 @@
+package com.velluto.uncaughtguard.serializers;
+
+import com.velluto.uncaughtguard.exceptions.UncaughtGuardRestoredException;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardMethodFlightRecorderEvent;
+import com.velluto.uncaughtguard.models.UncaughtGuardMethodFlightRecorderEventType;
+import com.velluto.uncaughtguard.models.UncaughtGuardRequestSnapshot;
+import com.velluto.uncaughtguard.models.UncaughtGuardThrowingMethod;
+import com.velluto.uncaughtguard.models.UncaughtGuardThrowingMethodParameter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Encodes exception traces into compact binary frames and decodes them back.
+ * <p>
+ * Unlike {@link UncaughtGuardExceptionTraceCodec}, the frame is cheap enough to be written on the request thread:
+ * it copies the fields as they are, without rendering the trace nor going through Jackson. A trace captured in
+ * {@link com.velluto.uncaughtguard.models.UncaughtGuardCaptureMode#DEFERRED} mode is written as its raw request snapshot,
+ * body bytes included, and decoded still deferred. Strings are written as their UTF-8 bytes preceded by their length,
+ * the exception is written with its cause chain, stack trace elements field by field, and method parameter values
+ * are written as their string representation.
+ */
+public class UncaughtGuardExceptionTraceFrameCodec {
+    private static final byte FRAME_VERSION = 1;
+    private static final byte RENDERED = 0;
+    private static final byte SNAPSHOT = 1;
+    private static final int NULL_LENGTH = -1;
+    private static final int INITIAL_FRAME_BYTES = 1024;
+
+    /**
+     * @param trace the exception trace to encode
+     * @return the binary frame of the trace
+     */
+    public byte[] encode(UncaughtGuardExceptionTrace trace) {
+        UncaughtGuardRequestSnapshot snapshot = trace.getRequestSnapshot();
+        int bodyBytes = snapshot != null && snapshot.getBody() != null ? snapshot.getBody().length : 0;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(INITIAL_FRAME_BYTES + bodyBytes);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FRAME_VERSION);
+            out.writeLong(trace.getTraceId().getMostSignificantBits());
+            out.writeLong(trace.getTraceId().getLeastSignificantBits());
+            out.writeLong(trace.getIncidentTimestamp().toLocalDate().toEpochDay());
+            out.writeLong(trace.getIncidentTimestamp().toLocalTime().toNanoOfDay());
+            writeString(out, trace.getMethod());
+            writeString(out, trace.getPath());
+            writeString(out, trace.getContextPath());
+            out.writeLong(trace.getBodyContentLength());
+
+            if (snapshot != null) {
+                out.writeByte(SNAPSHOT);
+                writeString(out, snapshot.getQueryString());
+                writeStrings(out, snapshot.getHeaders());
+                writeBytes(out, snapshot.getBody());
+                writeString(out, snapshot.getBodyCharacterEncoding());
+                out.writeBoolean(snapshot.isBodyTruncated());
+                out.writeBoolean(snapshot.isBodyIncomplete());
+            } else {
+                out.writeByte(RENDERED);
+                writeStringMap(out, trace.getQueryParams());
+                writeStringMap(out, trace.getHeaders());
+                writeString(out, trace.getBody());
+            }
+
+            writeException(out, trace.getException());
+            writeThrowingMethods(out, trace.getThrowingMethods());
+            writeMethodFlightRecording(out, trace.getMethodFlightRecording());
+        } catch (IOException e) {
+            // writing to a byte array cannot fail
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param frame the binary frame of a trace, as produced by {@link #encode(UncaughtGuardExceptionTrace)}
+     * @return the decoded exception trace
+     * @throws IOException if the frame is not a valid encoded trace
+     */
+    public UncaughtGuardExceptionTrace decode(byte[] frame) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(frame));
+        byte version = in.readByte();
+        if (version != FRAME_VERSION)
+            throw new IOException("Frame is not an encoded exception trace, or has an unsupported version " + version);
+
+        UUID traceId = new UUID(in.readLong(), in.readLong());
+        LocalDateTime incidentTimestamp = LocalDateTime.of(LocalDate.ofEpochDay(in.readLong()), LocalTime.ofNanoOfDay(in.readLong()));
+        String method = readString(in);
+        String path = readString(in);
+        String contextPath = readString(in);
+        long bodyContentLength = in.readLong();
+
+        byte form = in.readByte();
+        UncaughtGuardRequestSnapshot snapshot = null;
+        Map<String, String> queryParams = null;
+        Map<String, String> headers = null;
+        String body = null;
+        if (form == SNAPSHOT) {
+            snapshot = new UncaughtGuardRequestSnapshot(readString(in), readStrings(in), readBytes(in), readString(in), in.readBoolean(), in.readBoolean());
+        } else if (form == RENDERED) {
+            queryParams = readStringMap(in);
+            headers = readStringMap(in);
+            body = readString(in);
+        } else {
+            throw new IOException("Unknown request form " + form + " in encoded exception trace");
+        }
+
+        UncaughtGuardRestoredException exception = readException(in);
+        List<UncaughtGuardThrowingMethod> throwingMethods = readThrowingMethods(in);
+        List<UncaughtGuardMethodFlightRecorderEvent> methodFlightRecording = readMethodFlightRecording(in);
+
+        UncaughtGuardExceptionTrace trace = snapshot != null
+                ? new UncaughtGuardExceptionTrace(incidentTimestamp, traceId, method, path, contextPath, snapshot, bodyContentLength, throwingMethods, exception)
+                : new UncaughtGuardExceptionTrace(incidentTimestamp, traceId, method, path, contextPath, queryParams, headers, body, bodyContentLength, throwingMethods, exception);
+        trace.attachMethodFlightRecording(methodFlightRecording);
+        return trace;
+    }
+
+    private static void writeException(DataOutputStream out, Throwable exception) throws IOException {
+        // the cause chain is written outermost first, a cycle ends it like in the JSON representation
+        List<Throwable> chain = new ArrayList<>();
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Throwable current = exception; current != null && seen.add(current); current = current.getCause())
+            chain.add(current);
+
+        out.writeInt(chain.size());
+        for (Throwable current : chain) {
+            writeString(out, current instanceof UncaughtGuardRestoredException restored ? restored.getOriginalClassName() : current.getClass().getName());
+            writeString(out, current.getMessage());
+            StackTraceElement[] stackTrace = current.getStackTrace();
+            out.writeInt(stackTrace.length);
+            for (StackTraceElement element : stackTrace) {
+                writeString(out, element.getClassLoaderName());
+                writeString(out, element.getModuleName());
+                writeString(out, element.getModuleVersion());
+                writeString(out, element.getClassName());
+                writeString(out, element.getMethodName());
+                writeString(out, element.getFileName());
+                out.writeInt(element.getLineNumber());
+            }
+        }
+    }
+
+    private static UncaughtGuardRestoredException readException(DataInputStream in) throws IOException {
+        int chainLength = readCount(in);
+        String[] classNames = new String[chainLength];
+        String[] messages = new String[chainLength];
+        StackTraceElement[][] stackTraces = new StackTraceElement[chainLength][];
+        for (int i = 0; i < chainLength; i++) {
+            classNames[i] = readString(in);
+            messages[i] = readString(in);
+            stackTraces[i] = new StackTraceElement[readCount(in)];
+            for (int j = 0; j < stackTraces[i].length; j++)
+                stackTraces[i][j] = new StackTraceElement(readString(in), readString(in), readString(in), readString(in), readString(in), readString(in), in.readInt());
+        }
+
+        UncaughtGuardRestoredException exception = null;
+        for (int i = chainLength - 1; i >= 0; i--)
+            exception = new UncaughtGuardRestoredException(classNames[i], messages[i], stackTraces[i], exception);
+        return exception;
+    }
+
+    private static void writeThrowingMethods(DataOutputStream out, List<UncaughtGuardThrowingMethod> throwingMethods) throws IOException {
+        if (throwingMethods == null) {
+            out.writeInt(0);
+            return;
+        }
+
+        out.writeInt(throwingMethods.size());
+        for (UncaughtGuardThrowingMethod method : throwingMethods) {
+            writeString(out, method.getMethodSignature());
+            UncaughtGuardThrowingMethodParameter[] parameters = method.getPassedParameters();
+            out.writeInt(parameters.length);
+            for (UncaughtGuardThrowingMethodParameter parameter : parameters) {
+                writeString(out, parameter.getTypeClassName());
+                writeString(out, parameter.getValue() != null ? parameter.getValue().toString() : null);
+            }
+        }
+    }
+
+    private static List<UncaughtGuardThrowingMethod> readThrowingMethods(DataInputStream in) throws IOException {
+        int count = readCount(in);
+        List<UncaughtGuardThrowingMethod> throwingMethods = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String methodSignature = readString(in);
+            UncaughtGuardThrowingMethodParameter[] parameters = new UncaughtGuardThrowingMethodParameter[readCount(in)];
+            for (int j = 0; j < parameters.length; j++)
+                parameters[j] = new UncaughtGuardThrowingMethodParameter(readString(in), readString(in));
+            throwingMethods.add(new UncaughtGuardThrowingMethod(methodSignature, parameters));
+        }
+        return throwingMethods;
+    }
+
+    private static void writeMethodFlightRecording(DataOutputStream out, List<UncaughtGuardMethodFlightRecorderEvent> events) throws IOException {
+        out.writeInt(events.size());
+        for (UncaughtGuardMethodFlightRecorderEvent event : events) {
+            out.writeByte(event.getType().ordinal());
+            writeString(out, event.getMethodSignature());
+            out.writeInt(event.getDepth());
+            out.writeLong(event.getElapsedNanos());
+            out.writeLong(event.getDurationNanos());
+        }
+    }
+
+    private static List<UncaughtGuardMethodFlightRecorderEvent> readMethodFlightRecording(DataInputStream in) throws IOException {
+        UncaughtGuardMethodFlightRecorderEventType[] types = UncaughtGuardMethodFlightRecorderEventType.values();
+        int count = readCount(in);
+        List<UncaughtGuardMethodFlightRecorderEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int type = in.readUnsignedByte();
+            if (type >= types.length)
+                throw new IOException("Unknown method flight recorder event type " + type + " in encoded exception trace");
+            events.add(new UncaughtGuardMethodFlightRecorderEvent(types[type], readString(in), in.readInt(), in.readLong(), in.readLong()));
+        }
+        return events;
+    }
+
+    private static void writeStringMap(DataOutputStream out, Map<String, String> map) throws IOException {
+        if (map == null) {
+            out.writeInt(0);
+            return;
+        }
+
+        out.writeInt(map.size());
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+    }
+
+    private static Map<String, String> readStringMap(DataInputStream in) throws IOException {
+        int count = readCount(in);
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < count; i++)
+            map.put(readString(in), readString(in));
+        return map;
+    }
+
+    private static void writeStrings(DataOutputStream out, String[] strings) throws IOException {
+        out.writeInt(strings.length);
+        for (String string : strings)
+            writeString(out, string);
+    }
+
+    private static String[] readStrings(DataInputStream in) throws IOException {
+        String[] strings = new String[readCount(in)];
+        for (int i = 0; i < strings.length; i++)
+            strings[i] = readString(in);
+        return strings;
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        writeBytes(out, string != null ? string.getBytes(StandardCharsets.UTF_8) : null);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = readBytes(in);
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == NULL_LENGTH)
+            return null;
+        if (length < 0 || length > in.available())
+            throw new IOException("Invalid length " + length + " in encoded exception trace");
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        // each counted item takes at least one byte, a larger count can only come from a corrupt frame
+        if (count < 0 || count > in.available())
+            throw new IOException("Invalid count " + count + " in encoded exception trace");
+        return count;
+    }
+}
@@ -0,0 +1,106 @@
+package com.velluto.uncaughtguard.spill;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.serializers.UncaughtGuardExceptionTraceCodec;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Local file holding the exception traces that could not be delivered before the application stopped.
+ * <p>
+ * Traces are appended as JSON lines encoded with {@link UncaughtGuardExceptionTraceCodec} and forced to disk.
+ * On the next startup they are taken back and the file is removed, lines that cannot be decoded are skipped.
+ */
+public class UncaughtGuardTraceSpillFile {
+    private static final Logger logger = Logger.getLogger(UncaughtGuardTraceSpillFile.class.getName());
+
+    private final Path path;
+    private final UncaughtGuardExceptionTraceCodec codec = new UncaughtGuardExceptionTraceCodec();
+
+    /**
+     * @param path the location of the spill file
+     */
+    public UncaughtGuardTraceSpillFile(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Appends the given traces to the spill file, creating it and its parent directories if needed.
+     *
+     * @param traces the traces to spill
+     * @return the number of traces actually written, traces that cannot be encoded are skipped
+     * @throws IOException if the spill file cannot be written
+     */
+    public int spill(List<UncaughtGuardExceptionTrace> traces) throws IOException {
+        if (traces.isEmpty())
+            return 0;
+
+        StringBuilder lines = new StringBuilder();
+        int spilled = 0;
+        for (UncaughtGuardExceptionTrace trace : traces) {
+            try {
+                lines.append(codec.encode(trace)).append('\n');
+                spilled++;
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Cannot encode exception trace with assigned Trace ID: " + trace.getTraceId() + " to spill it, it will be lost", e);
+            }
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            channel.force(true);
+        }
+
+        return spilled;
+    }
+
+    /**
+     * Reads all the traces of the spill file and removes it.
+     *
+     * @return the spilled traces, empty if there is no spill file
+     * @throws IOException if the spill file cannot be read or removed
+     */
+    public List<UncaughtGuardExceptionTrace> takeAll() throws IOException {
+        List<UncaughtGuardExceptionTrace> traces = new ArrayList<>();
+        if (!Files.exists(path))
+            return traces;
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank())
+                    continue;
+
+                try {
+                    traces.add(codec.decode(line));
+                } catch (IOException | RuntimeException e) {
+                    logger.log(Level.WARNING, "Skipping spilled exception trace that cannot be decoded from " + path, e);
+                }
+            }
+        }
+
+        Files.delete(path);
+        return traces;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+}
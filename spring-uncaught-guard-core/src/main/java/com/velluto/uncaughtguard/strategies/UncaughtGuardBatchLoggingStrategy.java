@@ -0,0 +1,50 @@
+package com.velluto.uncaughtguard.strategies;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optional contract for logging strategies able to log several exception traces at once,
+ * e.g. with a single Kafka produce request, HTTP request or file write.
+ * <p>
+ * It is meant to be implemented by subclasses of {@link UncaughtGuardLoggingStrategy}.
+ * The traces routed to a batch logging strategy are accumulated and handed over to {@link #logBatch(List)}
+ * as soon as one of the configured limits is reached: the maximum number of traces, the maximum estimated
+ * size in bytes, or the maximum time the first trace of the batch may wait.
+ * Strategies not implementing this contract keep receiving traces one by one through their {@code log} method.
+ */
+public interface UncaughtGuardBatchLoggingStrategy {
+    /**
+     * Logs all the given exception traces.
+     * The batch is considered delivered only if this method returns normally,
+     * if it throws an exception every trace of the batch is considered not logged by this strategy.
+     *
+     * @param exceptionTraces the exception traces to log, never empty
+     */
+    void logBatch(List<UncaughtGuardExceptionTrace> exceptionTraces);
+
+    /**
+     * Estimates the size in bytes of the given trace once logged, used to flush batches by size.
+     * By default, it sums up the length of the request path, headers, body and exception stack trace.
+     *
+     * @param exceptionTrace the exception trace to estimate
+     * @return the estimated size of the trace in bytes
+     */
+    default long estimateBatchBytes(UncaughtGuardExceptionTrace exceptionTrace) {
+        long bytes = 0;
+        if (exceptionTrace.getPath() != null)
+            bytes += exceptionTrace.getPath().length();
+        if (exceptionTrace.getHeaders() != null) {
+            for (Map.Entry<String, String> header : exceptionTrace.getHeaders().entrySet())
+                bytes += header.getKey().length() + (header.getValue() != null ? header.getValue().length() : 0);
+        }
+        if (exceptionTrace.getBody() != null)
+            bytes += exceptionTrace.getBody().length();
+        // each stack frame is roughly one hundred characters once printed
+        if (exceptionTrace.getException() != null)
+            bytes += 100L * exceptionTrace.getException().getStackTrace().length;
+        return bytes;
+    }
+}
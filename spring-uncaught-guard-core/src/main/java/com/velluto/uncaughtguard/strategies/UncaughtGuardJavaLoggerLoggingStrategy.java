@@ -10,6 +10,15 @@ import java.util.logging.Logger;
  * This strategy logs the exception details using the Logger associated with the class and method that threw the exception.
  */
 public class UncaughtGuardJavaLoggerLoggingStrategy extends UncaughtGuardLoggingStrategy {
+    /**
+     * The java.util.logging handlers publish records inside synchronized methods (e.g. {@code StreamHandler#publish}),
+     * writing to the console or to a file while holding the monitor, which pins the carrier of a virtual thread.
+     */
+    @Override
+    public boolean mayPinVirtualThreads() {
+        return true;
+    }
+
     @Override
     protected void log(UncaughtGuardExceptionTrace exceptionTrace) {
         // get the class that threw the exception
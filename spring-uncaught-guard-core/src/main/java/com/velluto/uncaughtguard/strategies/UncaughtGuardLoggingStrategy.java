@@ -1,9 +1,13 @@
 package com.velluto.uncaughtguard.strategies;
 
+import com.velluto.uncaughtguard.breakers.UncaughtGuardCircuitBreaker;
 import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
 import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.List;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -25,6 +29,8 @@ public abstract class UncaughtGuardLoggingStrategy {
     @Autowired
     private UncaughtGuardProperties properties;
 
+    private volatile UncaughtGuardCircuitBreaker circuitBreaker;
+
     /**
      * Returns the error message to be logged when an uncaught exception occurs and before all the details of the exception trace.
      * It is configured in the annotation property named "logErrorMessage" of @EnableUncaughtGuard.
@@ -91,17 +97,122 @@ public abstract class UncaughtGuardLoggingStrategy {
         return "log";
     }
 
+    /**
+     * Tells whether this strategy may pin the carrier thread when invoked on a virtual thread,
+     * for example because it blocks while holding a monitor (a {@code synchronized} block or method).
+     * Strategies returning true are never run on virtual threads, they are invoked on the dispatcher thread instead.
+     * <p>
+     * By default, this returns false: strategies blocking on sockets, files or {@code CompletableFuture#join}
+     * just unmount the virtual thread while waiting.
+     * Override it to return true if the strategy blocks inside synchronized code.
+     *
+     * @return true if the strategy must not be invoked on a virtual thread, false otherwise
+     */
+    public boolean mayPinVirtualThreads() {
+        return false;
+    }
+
+    /**
+     * Returns the circuit breaker guarding this strategy, attached at startup when circuit breakers are enabled.
+     *
+     * @return the circuit breaker of this strategy, or null if the strategy is not guarded
+     */
+    public final UncaughtGuardCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Attaches the circuit breaker guarding this strategy.
+     *
+     * @param circuitBreaker the circuit breaker of this strategy, or null to stop guarding it
+     */
+    public final void setCircuitBreaker(UncaughtGuardCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Tells whether this strategy would currently be called, i.e. it is not guarded by a circuit breaker refusing calls.
+     *
+     * @return false if the circuit breaker of this strategy refuses calls, true otherwise
+     */
+    public final boolean isCallPermitted() {
+        UncaughtGuardCircuitBreaker breaker = this.circuitBreaker;
+        return breaker == null || breaker.isCallPermitted();
+    }
+
     /**
      * Calls the logging strategy to log the uncaught exception trace.
      * This is a wrapper method that handles any exceptions that may occur during the logging process.
      * It ensures that even if the logging fails, the application does not crash and provides a meaningful error message.
+     * If the strategy is guarded by an open circuit breaker, the strategy is not called at all and the logging fails immediately.
      *
      * @param exceptionTrace the full exception trace to log
      * @return true if the logging was successful, false otherwise
      */
     public final boolean callLog(UncaughtGuardExceptionTrace exceptionTrace) {
+        return guardedCall(() -> log(exceptionTrace), "callLog",
+                () -> "uncaught exception with assigned Trace Id: " + exceptionTrace.getTraceId());
+    }
+
+    /**
+     * Calls the logging strategy to log a batch of uncaught exception traces at once.
+     * It handles failures and the circuit breaker exactly like {@link #callLog(UncaughtGuardExceptionTrace)},
+     * the whole batch counting as a single call.
+     *
+     * @param exceptionTraces the exception traces to log
+     * @return true if the whole batch was logged, false otherwise
+     * @throws IllegalStateException if this strategy does not implement {@link UncaughtGuardBatchLoggingStrategy}
+     */
+    public final boolean callLogBatch(List<UncaughtGuardExceptionTrace> exceptionTraces) {
+        if (!(this instanceof UncaughtGuardBatchLoggingStrategy batchStrategy))
+            throw new IllegalStateException("Logging strategy " + this.getClass().getName() + " does not implement " + UncaughtGuardBatchLoggingStrategy.class.getSimpleName());
+
+        return guardedCall(() -> batchStrategy.logBatch(exceptionTraces), "callLogBatch",
+                () -> "a batch of " + exceptionTraces.size() + " uncaught exceptions");
+    }
+
+    /**
+     * Calls the logging strategy to log the summary of the repetitions of an exception folded during a coalescing window.
+     * It handles failures and the circuit breaker exactly like {@link #callLog(UncaughtGuardExceptionTrace)}.
+     *
+     * @param summary the summary of the folded exception traces
+     * @return true if the logging was successful, false otherwise
+     */
+    public final boolean callLogSummary(UncaughtGuardExceptionTraceSummary summary) {
+        return guardedCall(() -> logSummary(summary), "callLogSummary",
+                () -> "the summary of " + summary.getCoalescedTracesCount() + " uncaught exceptions with fingerprint " + summary.getFingerprint());
+    }
+
+    /**
+     * Runs a call of the logging strategy through its circuit breaker, if any, and reports its outcome to it.
+     *
+     * @param action     the call of the logging strategy
+     * @param methodName name of the calling method, used in the log messages
+     * @param subject    supplies the description of what is logged, used in the log messages
+     * @return true if the call was permitted and succeeded, false otherwise
+     */
+    private boolean guardedCall(LoggingAction action, String methodName, Supplier<String> subject) {
+        UncaughtGuardCircuitBreaker breaker = this.circuitBreaker;
+        if (breaker == null)
+            return call(action, methodName, subject);
+
+        long permission = breaker.tryAcquirePermission();
+        if (permission == UncaughtGuardCircuitBreaker.PERMISSION_REFUSED) {
+            logger.fine("Circuit breaker of logging strategy " + this.getClass().getName() + " is open, skipped " + subject.get());
+            return false;
+        }
+
+        boolean logged = call(action, methodName, subject);
+        if (logged)
+            breaker.onSuccess(permission);
+        else
+            breaker.onFailure(permission);
+        return logged;
+    }
+
+    private boolean call(LoggingAction action, String methodName, Supplier<String> subject) {
         try {
-            log(exceptionTrace);
+            action.run();
             return true;
         } catch (Exception e) {
             // get the name of the concrete class that extends this abstract class
@@ -110,8 +221,8 @@ public abstract class UncaughtGuardLoggingStrategy {
             logger.logp(
                     Level.WARNING,
                     className,
-                    "callLog",
-                    "Could not log uncaught exception with assigned Trace Id: " + exceptionTrace.getTraceId() + " with specified logging strategy " + className,
+                    methodName,
+                    "Could not log " + subject.get() + " with specified logging strategy " + className,
                     e);
 
             return false;
@@ -124,4 +235,20 @@ public abstract class UncaughtGuardLoggingStrategy {
      * @param exceptionTrace the full exception trace to log
      */
     protected abstract void log(UncaughtGuardExceptionTrace exceptionTrace);
+
+    /**
+     * Logs the summary of the repetitions of an exception folded during a coalescing window.
+     * By default, the summary is logged with the java.util.logging Logger associated with the exception class.
+     * Override it to send the summaries to the same sink as the exception traces.
+     *
+     * @param summary the summary of the folded exception traces
+     */
+    protected void logSummary(UncaughtGuardExceptionTraceSummary summary) {
+        Logger.getLogger(summary.getExceptionClassName()).warning(getLogErrorMessage() + " (repeated)" + '\n' + '\n' + summary.getLoggableSummary());
+    }
+
+    @FunctionalInterface
+    private interface LoggingAction {
+        void run() throws Exception;
+    }
 }
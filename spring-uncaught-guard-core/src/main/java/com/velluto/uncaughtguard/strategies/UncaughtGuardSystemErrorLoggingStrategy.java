@@ -1,6 +1,7 @@
 package com.velluto.uncaughtguard.strategies;
 
 import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
 
 /**
  * A logging strategy for uncaught exceptions that logs the details to the standard error output.
@@ -8,6 +9,15 @@ import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
  * If many logging strategies are defined, and they all fail to log, this one will be used as a fallback.
  */
 public class UncaughtGuardSystemErrorLoggingStrategy extends UncaughtGuardLoggingStrategy {
+    /**
+     * If the application replaced System.err with a PrintStream subclass, printing happens inside a synchronized block,
+     * which pins the carrier of a virtual thread. Printing a single line is cheap anyway, so it is kept off virtual threads.
+     */
+    @Override
+    public boolean mayPinVirtualThreads() {
+        return true;
+    }
+
     @Override
     public void log(UncaughtGuardExceptionTrace exceptionTrace) {
         System.err.println(
@@ -23,4 +33,9 @@ public class UncaughtGuardSystemErrorLoggingStrategy extends UncaughtGuardLoggin
                         "Exception    : " + '\n' + exceptionTrace.getLoggableExceptionStackTrace()
         );
     }
+
+    @Override
+    protected void logSummary(UncaughtGuardExceptionTraceSummary summary) {
+        System.err.println(getLogErrorMessage() + " (repeated)" + '\n' + '\n' + summary.getLoggableSummary());
+    }
 }
@@ -4,7 +4,6 @@ import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
 import java.util.logging.Logger;
 
 @Component
@@ -14,15 +13,30 @@ public class UncaughtGuardExceptionUtils {
     @Autowired
     private UncaughtGuardProperties properties;
 
+    // the exclusion of each concrete exception class is decided once, the first time the class is seen
+    private final ClassValue<Boolean> excludedByExceptionType = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> exceptionType) {
+            for (Class<? extends RuntimeException> excluded : properties.getExcludedExceptions()) {
+                if (excluded.isAssignableFrom(exceptionType)) {
+                    logger.fine("Exception type " + exceptionType.getName() + " is excluded from handling, as a subtype of " + excluded.getName());
+                    return true;
+                }
+            }
+            return false;
+        }
+    };
+
     /**
      * Checks if the given RuntimeException is excluded from handling based on the annotation configuration properties.
+     * An exception is excluded if it is an instance of one of the excluded exception types, subclasses included.
+     * The decision is computed once per concrete exception class and cached.
      *
      * @param e the RuntimeException to check
      * @return true if the exception is excluded, false otherwise
      */
     public boolean isExceptionExcluded(RuntimeException e) {
-        logger.fine("Checking if exception of type " + e.getClass().getSimpleName() + " is excluded from handling");
-        boolean isExcluded = Arrays.stream(properties.getExcludedExceptions()).anyMatch(excluded -> excluded.equals(e.getClass()));
+        boolean isExcluded = excludedByExceptionType.get(e.getClass());
 
         if (isExcluded)
             logger.fine("Exception of type " + e.getClass().getSimpleName() + " is specified to be excluded from handling, it will be thrown again");
@@ -0,0 +1,33 @@
+package com.velluto.uncaughtguard.wrappers;
+
+import java.io.IOException;
+
+/**
+ * Request caching the bytes of its body read by the application, so that they can be copied into the exception
+ * traces afterward. Implemented by the request wrappers installed by the request caching filter.
+ */
+public interface UncaughtGuardBodyCachingRequest {
+    /**
+     * @return a copy of the body bytes cached so far
+     */
+    byte[] getCachedBody();
+
+    /**
+     * @return the maximum number of body bytes cached, or 0 if the whole body is cached
+     */
+    int getContentCacheLimit();
+
+    /**
+     * @return true if more bytes than the limit were read from the body, false otherwise
+     */
+    boolean isTruncated();
+
+    /**
+     * Reads the part of the body not read by the application, within the drain budget of the wrapper,
+     * so that it gets cached. See {@link UncaughtGuardBodyDrainer}.
+     *
+     * @return how the drain ended
+     * @throws IOException if the body cannot be read
+     */
+    UncaughtGuardBodyDrainer.Outcome drainBody() throws IOException;
+}
@@ -0,0 +1,97 @@
+package com.velluto.uncaughtguard.wrappers;
+
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Reads the part of a request body not read by the application within a byte and a time budget,
+ * so that it gets cached by the request wrapper and copied into the exception trace.
+ * <p>
+ * Only the bytes the container already buffered, as reported by {@link ServletInputStream#available()}, are read,
+ * so a read never blocks and the time budget is a hard bound on the drain. With a positive time budget the drain
+ * waits in short pauses for more bytes to become available while the budget lasts, which only helps streams the
+ * container keeps filling on its own, e.g. a non-blocking stream of a started async cycle.
+ * A blocking stream is filled from the socket only when the application reads, e.g. Tomcat buffers little more
+ * than what came with the request headers, so a body sent after them, or held back by {@code Expect: 100-continue},
+ * is logged as not fully received even when the client already sent it.
+ */
+public final class UncaughtGuardBodyDrainer {
+    public static final int DEFAULT_MAX_BYTES = 1048576;
+    public static final long DEFAULT_TIMEOUT_MILLIS = 0;
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final long PAUSE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private UncaughtGuardBodyDrainer() {
+    }
+
+    /**
+     * How a drain ended.
+     */
+    public enum Outcome {
+        /**
+         * The whole body was received.
+         */
+        COMPLETE,
+        /**
+         * The byte budget ran out before the end of the body.
+         */
+        BYTE_BUDGET_EXHAUSTED,
+        /**
+         * The time budget ran out while waiting for the rest of the body.
+         */
+        TIME_BUDGET_EXHAUSTED
+    }
+
+    /**
+     * @param request       the caching wrapper whose body is drained, bytes are read through its input stream so that they get cached
+     * @param maxBytes      maximum number of bytes to read
+     * @param timeoutMillis maximum time to wait for bytes not received yet, 0 not to wait at all
+     * @return how the drain ended
+     * @throws IOException if the body cannot be read
+     */
+    public static Outcome drain(HttpServletRequestWrapper request, int maxBytes, long timeoutMillis) throws IOException {
+        return drain(request, maxBytes, timeoutMillis, System::nanoTime);
+    }
+
+    static Outcome drain(HttpServletRequestWrapper request, int maxBytes, long timeoutMillis, LongSupplier nanoClock) throws IOException {
+        // bodies without a declared length are only expected when sent in chunks
+        long contentLength = request.getContentLengthLong();
+        if (contentLength == 0 || (contentLength < 0 && request.getHeader("Transfer-Encoding") == null))
+            return Outcome.COMPLETE;
+
+        // caching streams do not report the available bytes, so those are asked to the stream of the wrapped request
+        ServletInputStream inputStream = request.getInputStream();
+        ServletInputStream receivedStream = request.getRequest().getInputStream();
+        byte[] buffer = new byte[Math.max(1, Math.min(BUFFER_SIZE, maxBytes))];
+        long deadline = nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long drained = 0;
+
+        while (true) {
+            if ((contentLength > 0 && drained >= contentLength) || receivedStream.isFinished())
+                return Outcome.COMPLETE;
+            if (drained >= maxBytes)
+                return Outcome.BYTE_BUDGET_EXHAUSTED;
+
+            int available = receivedStream.available();
+            if (available > 0) {
+                int read = inputStream.read(buffer, 0, (int) Math.min(Math.min(available, buffer.length), maxBytes - drained));
+                if (read < 0)
+                    return Outcome.COMPLETE;
+                drained += read;
+                continue;
+            }
+
+            if (nanoClock.getAsLong() - deadline >= 0)
+                return Outcome.TIME_BUDGET_EXHAUSTED;
+
+            // a read past the available bytes would block until the client sends them, whatever the budget left
+            LockSupport.parkNanos(PAUSE_NANOS);
+        }
+    }
+}
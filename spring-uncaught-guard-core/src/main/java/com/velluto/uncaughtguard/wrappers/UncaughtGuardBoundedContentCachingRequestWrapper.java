@@ -0,0 +1,68 @@
+package com.velluto.uncaughtguard.wrappers;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+
+/**
+ * Request wrapper caching at most the first bytes of the request body, so that they can be copied into the
+ * exception traces after the body has been consumed by the application.
+ * <p>
+ * Bytes read past the limit are still handed to the application but are not cached,
+ * and the wrapper remembers that the cached body was truncated.
+ */
+public class UncaughtGuardBoundedContentCachingRequestWrapper extends ContentCachingRequestWrapper implements UncaughtGuardBodyCachingRequest {
+    private final int contentCacheLimit;
+    private final int drainMaxBytes;
+    private final long drainTimeoutMillis;
+    private volatile boolean truncated;
+
+    /**
+     * @param request           the request to wrap
+     * @param contentCacheLimit maximum number of body bytes to cache, or 0 to cache the whole body
+     */
+    public UncaughtGuardBoundedContentCachingRequestWrapper(HttpServletRequest request, int contentCacheLimit) {
+        this(request, contentCacheLimit, UncaughtGuardBodyDrainer.DEFAULT_MAX_BYTES, UncaughtGuardBodyDrainer.DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param request            the request to wrap
+     * @param contentCacheLimit  maximum number of body bytes to cache, or 0 to cache the whole body
+     * @param drainMaxBytes      maximum number of unread body bytes read by {@link #drainBody()}
+     * @param drainTimeoutMillis maximum time {@link #drainBody()} waits for body bytes not received yet
+     */
+    public UncaughtGuardBoundedContentCachingRequestWrapper(HttpServletRequest request, int contentCacheLimit, int drainMaxBytes, long drainTimeoutMillis) {
+        super(request, contentCacheLimit > 0 ? contentCacheLimit : Integer.MAX_VALUE);
+        this.contentCacheLimit = contentCacheLimit;
+        this.drainMaxBytes = drainMaxBytes;
+        this.drainTimeoutMillis = drainTimeoutMillis;
+    }
+
+    @Override
+    protected void handleContentOverflow(int contentCacheLimit) {
+        this.truncated = true;
+    }
+
+    @Override
+    public byte[] getCachedBody() {
+        return getContentAsByteArray();
+    }
+
+    @Override
+    public int getContentCacheLimit() {
+        return contentCacheLimit;
+    }
+
+    @Override
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    @Override
+    public UncaughtGuardBodyDrainer.Outcome drainBody() throws IOException {
+        // a bounded body is read one byte past the limit, just enough to know whether it was truncated
+        int maxBytes = contentCacheLimit > 0 ? (int) Math.min(drainMaxBytes, contentCacheLimit + 1L) : drainMaxBytes;
+        return UncaughtGuardBodyDrainer.drain(this, maxBytes, drainTimeoutMillis);
+    }
+}
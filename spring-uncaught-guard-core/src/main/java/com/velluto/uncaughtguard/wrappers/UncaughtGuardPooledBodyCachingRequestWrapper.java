@@ -0,0 +1,214 @@
+package com.velluto.uncaughtguard.wrappers;
+
+import com.velluto.uncaughtguard.buffers.UncaughtGuardBodyBufferPool;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request wrapper caching the request body into slabs taken from a {@link UncaughtGuardBodyBufferPool}
+ * instead of growing a heap byte array for each request.
+ * <p>
+ * Slabs are taken only when the body is read, and must be handed back with {@link #release()} once the request
+ * completes. Only when an exception trace is captured are the cached bytes copied out into a heap array.
+ * When the pool is exhausted the remaining body is cached into heap slabs, which are left to the garbage collector.
+ */
+public class UncaughtGuardPooledBodyCachingRequestWrapper extends HttpServletRequestWrapper implements UncaughtGuardBodyCachingRequest {
+    private final UncaughtGuardBodyBufferPool bufferPool;
+    private final int contentCacheLimit;
+    private final int drainMaxBytes;
+    private final long drainTimeoutMillis;
+    private final List<ByteBuffer> slabs = new ArrayList<>(2);
+
+    // pooled slabs always come first, once the pool is exhausted the following slabs are heap ones
+    private int pooledSlabsCount;
+    private boolean poolExhausted;
+    private int cachedBytes;
+    private boolean truncated;
+    private boolean released;
+
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    /**
+     * @param request           the request to wrap
+     * @param bufferPool        pool of the slabs caching the body
+     * @param contentCacheLimit maximum number of body bytes to cache, or 0 to cache the whole body
+     */
+    public UncaughtGuardPooledBodyCachingRequestWrapper(HttpServletRequest request, UncaughtGuardBodyBufferPool bufferPool, int contentCacheLimit) {
+        this(request, bufferPool, contentCacheLimit, UncaughtGuardBodyDrainer.DEFAULT_MAX_BYTES, UncaughtGuardBodyDrainer.DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param request            the request to wrap
+     * @param bufferPool         pool of the slabs caching the body
+     * @param contentCacheLimit  maximum number of body bytes to cache, or 0 to cache the whole body
+     * @param drainMaxBytes      maximum number of unread body bytes read by {@link #drainBody()}
+     * @param drainTimeoutMillis maximum time {@link #drainBody()} waits for body bytes not received yet
+     */
+    public UncaughtGuardPooledBodyCachingRequestWrapper(HttpServletRequest request, UncaughtGuardBodyBufferPool bufferPool, int contentCacheLimit, int drainMaxBytes, long drainTimeoutMillis) {
+        super(request);
+        this.bufferPool = bufferPool;
+        this.contentCacheLimit = contentCacheLimit;
+        this.drainMaxBytes = drainMaxBytes;
+        this.drainTimeoutMillis = drainTimeoutMillis;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null)
+            inputStream = new CachingInputStream(getRequest().getInputStream());
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            String characterEncoding = getCharacterEncoding();
+            reader = characterEncoding != null
+                    ? new BufferedReader(new InputStreamReader(getInputStream(), characterEncoding))
+                    : new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.ISO_8859_1));
+        }
+        return reader;
+    }
+
+    private synchronized void cache(byte[] bytes, int offset, int length) {
+        if (released)
+            return;
+
+        if (contentCacheLimit > 0 && length > contentCacheLimit - cachedBytes) {
+            truncated = true;
+            length = contentCacheLimit - cachedBytes;
+        }
+
+        while (length > 0) {
+            ByteBuffer slab = writableSlab();
+            int written = Math.min(length, slab.remaining());
+            slab.put(bytes, offset, written);
+            offset += written;
+            length -= written;
+            cachedBytes += written;
+        }
+    }
+
+    private synchronized void cache(int b) {
+        if (released)
+            return;
+
+        if (contentCacheLimit > 0 && cachedBytes >= contentCacheLimit) {
+            truncated = true;
+            return;
+        }
+
+        writableSlab().put((byte) b);
+        cachedBytes++;
+    }
+
+    private ByteBuffer writableSlab() {
+        if (!slabs.isEmpty()) {
+            ByteBuffer last = slabs.get(slabs.size() - 1);
+            if (last.hasRemaining())
+                return last;
+        }
+
+        ByteBuffer slab = poolExhausted ? null : bufferPool.tryAcquire();
+        if (slab != null) {
+            pooledSlabsCount++;
+        } else {
+            poolExhausted = true;
+            slab = ByteBuffer.allocate(bufferPool.getSlabSizeBytes());
+        }
+        slabs.add(slab);
+        return slab;
+    }
+
+    @Override
+    public synchronized byte[] getCachedBody() {
+        byte[] body = new byte[cachedBytes];
+        int position = 0;
+        for (ByteBuffer slab : slabs) {
+            slab.get(0, body, position, slab.position());
+            position += slab.position();
+        }
+        return body;
+    }
+
+    @Override
+    public int getContentCacheLimit() {
+        return contentCacheLimit;
+    }
+
+    @Override
+    public synchronized boolean isTruncated() {
+        return truncated;
+    }
+
+    @Override
+    public UncaughtGuardBodyDrainer.Outcome drainBody() throws IOException {
+        // a bounded body is read one byte past the limit, just enough to know whether it was truncated
+        int maxBytes = contentCacheLimit > 0 ? (int) Math.min(drainMaxBytes, contentCacheLimit + 1L) : drainMaxBytes;
+        return UncaughtGuardBodyDrainer.drain(this, maxBytes, drainTimeoutMillis);
+    }
+
+    /**
+     * Hands the pooled slabs back to the pool. Bytes read afterward are not cached anymore.
+     */
+    public synchronized void release() {
+        if (released)
+            return;
+
+        released = true;
+        for (int i = 0; i < pooledSlabsCount; i++)
+            bufferPool.release(slabs.get(i));
+        slabs.clear();
+        cachedBytes = 0;
+    }
+
+    private final class CachingInputStream extends ServletInputStream {
+        private final ServletInputStream delegate;
+
+        private CachingInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1)
+                cache(b);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = delegate.read(bytes, offset, length);
+            if (read > 0)
+                cache(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.velluto.uncaughtguard.advices;
+
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UncaughtGuardMethodFlightRecorderAdviceTest {
+    private UncaughtGuardMethodFlightRecorderAdvice advice;
+    private Method method;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        advice = new UncaughtGuardMethodFlightRecorderAdvice();
+        UncaughtGuardProperties properties = mock(UncaughtGuardProperties.class);
+        when(properties.getMethodFlightRecorderCapacity()).thenReturn(8);
+        when(properties.getEnricherWeavingMode()).thenReturn(UncaughtGuardWeavingMode.PROXY);
+
+        var propField = UncaughtGuardMethodFlightRecorderAdvice.class.getDeclaredField("properties");
+        propField.setAccessible(true);
+        propField.set(advice, properties);
+        advice.init();
+
+        method = Object.class.getMethod("toString");
+    }
+
+    @Test
+    void record_outsideOfRecording_proceedsWithoutBindingARing() throws Throwable {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals("result", advice.record(method, () -> {
+            calls.incrementAndGet();
+            return "result";
+        }));
+
+        assertEquals(1, calls.get());
+        assertTrue(advice.snapshot().isEmpty());
+        assertEquals(0, advice.getAvailableRecordersCount());
+    }
+
+    @Test
+    void record_duringRecording_recordsEntryAndExit() throws Throwable {
+        advice.startRecording();
+        advice.record(method, () -> null);
+
+        assertEquals(2, advice.snapshot().size());
+
+        advice.stopRecording();
+        assertTrue(advice.snapshot().isEmpty());
+    }
+
+    @Test
+    void stopRecording_handsTheRingBackToThePool_forTheNextRequestOnAnyThread() throws Throwable {
+        advice.startRecording();
+        advice.record(method, () -> null);
+        advice.stopRecording();
+        assertEquals(1, advice.getAvailableRecordersCount());
+
+        AtomicInteger availableWhileRecording = new AtomicInteger(-1);
+        AtomicInteger eventsCarriedOver = new AtomicInteger(-1);
+        Thread request = Thread.ofVirtual().start(() -> {
+            advice.startRecording();
+            availableWhileRecording.set(advice.getAvailableRecordersCount());
+            eventsCarriedOver.set(advice.snapshot().size());
+            advice.stopRecording();
+        });
+        request.join();
+
+        assertEquals(0, availableWhileRecording.get());
+        // the reused ring does not carry the events of the previous request
+        assertEquals(0, eventsCarriedOver.get());
+        assertEquals(1, advice.getAvailableRecordersCount());
+    }
+
+    @Test
+    void stopRecording_withoutRecording_isIgnored() {
+        advice.stopRecording();
+
+        assertEquals(0, advice.getAvailableRecordersCount());
+    }
+}
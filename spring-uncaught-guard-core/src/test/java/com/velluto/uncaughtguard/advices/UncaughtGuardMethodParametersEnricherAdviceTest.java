@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -73,5 +74,35 @@ public class UncaughtGuardMethodParametersEnricherAdviceTest {
         assertEquals("arg1", thrown.getThrowingMethods().get(0).getPassedParameters()[0].getValue());
         assertEquals(2, thrown.getThrowingMethods().get(0).getPassedParameters()[1].getValue());
     }
-}
 
+    @Test
+    void testCaptureMethodParameters_OuterLayersRethrowSameStacklessException() {
+        NullPointerException runtimeException = new NullPointerException("Test");
+        UncaughtGuardMethodParametersEnrichedRuntimeException innerThrown = assertThrows(
+                UncaughtGuardMethodParametersEnrichedRuntimeException.class,
+                () -> advice.captureMethodParameters(joinPoint, runtimeException)
+        );
+
+        when(methodSignature.toString()).thenReturn("outerMethod()");
+        UncaughtGuardMethodParametersEnrichedRuntimeException outerThrown = assertThrows(
+                UncaughtGuardMethodParametersEnrichedRuntimeException.class,
+                () -> advice.captureMethodParameters(joinPoint, innerThrown)
+        );
+
+        assertSame(innerThrown, outerThrown);
+        assertSame(runtimeException, outerThrown.getOriginalExceptionReference());
+        assertEquals(0, outerThrown.getStackTrace().length);
+        assertEquals(2, outerThrown.getThrowingMethods().size());
+        assertEquals("testMethod()", outerThrown.getThrowingMethods().get(0).getMethodSignature());
+        assertEquals("outerMethod()", outerThrown.getThrowingMethods().get(1).getMethodSignature());
+    }
+
+    @Test
+    void testEnrichedExceptionsDoNotShareThrowingMethods() {
+        UncaughtGuardMethodParametersEnrichedRuntimeException inner = new UncaughtGuardMethodParametersEnrichedRuntimeException(new IllegalStateException(), "inner()", new Object[0]);
+        UncaughtGuardMethodParametersEnrichedRuntimeException outer = new UncaughtGuardMethodParametersEnrichedRuntimeException(inner, "outer()", new Object[0]);
+
+        assertEquals(1, inner.getThrowingMethods().size());
+        assertEquals(2, outer.getThrowingMethods().size());
+    }
+}
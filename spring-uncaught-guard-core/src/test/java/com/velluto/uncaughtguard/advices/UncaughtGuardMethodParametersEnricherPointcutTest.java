@@ -0,0 +1,67 @@
+package com.velluto.uncaughtguard.advices;
+
+import com.velluto.uncaughtguard.annotations.UncaughtGuardEnriched;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UncaughtGuardMethodParametersEnricherPointcutTest {
+    private static boolean matches(String[] basePackages, boolean requireMarkerAnnotation, Class<?> type) throws NoSuchMethodException {
+        UncaughtGuardMethodParametersEnricherPointcut pointcut = new UncaughtGuardMethodParametersEnricherPointcut(basePackages, requireMarkerAnnotation);
+        boolean matches = AopUtils.canApply(pointcut, type) && pointcut.matches(type.getMethod("run"), type);
+
+        // the AspectJ expression declared in load-time weaving mode selects the same methods
+        AspectJExpressionPointcut expressionPointcut = new AspectJExpressionPointcut();
+        expressionPointcut.setExpression(UncaughtGuardMethodParametersEnricherPointcut.expression(basePackages, requireMarkerAnnotation));
+        assertEquals(expressionPointcut.matches(type.getMethod("run"), type), matches);
+
+        return matches;
+    }
+
+    @Test
+    void testDefaultPointcutMatchesStereotypes() throws Exception {
+        assertEquals(UncaughtGuardMethodParametersEnricherPointcut.STEREOTYPES_EXPRESSION, UncaughtGuardMethodParametersEnricherPointcut.expression(new String[0], false));
+        assertTrue(matches(new String[0], false, StereotypedService.class));
+        assertFalse(matches(new String[0], false, MarkedComponent.class));
+    }
+
+    @Test
+    void testMarkerPointcutMatchesOnlyMarkedClassesAndMethods() throws Exception {
+        assertFalse(matches(new String[0], true, StereotypedService.class));
+        assertTrue(matches(new String[0], true, MarkedComponent.class));
+        assertTrue(matches(new String[0], true, MarkedMethodComponent.class));
+    }
+
+    @Test
+    void testBasePackagesNarrowThePointcut() throws Exception {
+        assertTrue(matches(new String[]{"com.example", "com.velluto.uncaughtguard"}, false, StereotypedService.class));
+        assertFalse(matches(new String[]{"com.example"}, false, StereotypedService.class));
+        assertFalse(matches(new String[]{"com.velluto.uncaught"}, false, StereotypedService.class));
+    }
+
+    @Test
+    void testPointcutIsNotEvaluatedOnCalls() {
+        assertFalse(new UncaughtGuardMethodParametersEnricherPointcut(new String[0], false).isRuntime());
+    }
+
+    @Service
+    public static class StereotypedService {
+        public void run() {
+        }
+    }
+
+    @UncaughtGuardEnriched
+    public static class MarkedComponent {
+        public void run() {
+        }
+    }
+
+    public static class MarkedMethodComponent {
+        @UncaughtGuardEnriched
+        public void run() {
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.velluto.uncaughtguard.advices;
 
+import com.velluto.uncaughtguard.filters.UncaughtGuardHeaderCaptureFilter;
+import com.velluto.uncaughtguard.filters.UncaughtGuardPreCaptureFilter;
+import com.velluto.uncaughtguard.generators.UncaughtGuardRandomTraceIdGenerator;
 import com.velluto.uncaughtguard.loggers.UncaughtGuardAsyncLogger;
 import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
 import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceHttpResponseDTO;
 import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
-import com.velluto.uncaughtguard.utils.UncaughtGuardExceptionUtils;
+import com.velluto.uncaughtguard.samplers.UncaughtGuardAdaptiveSampler;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,7 +23,8 @@ public class UncaughtGuardRestControllerAdviceTest {
     private UncaughtGuardAsyncLogger asyncLogger;
     private HttpServletRequest request;
     private RuntimeException exception;
-    private UncaughtGuardExceptionUtils exceptionUtils;
+    private UncaughtGuardPreCaptureFilter preCaptureFilter;
+    private UncaughtGuardAdaptiveSampler sampler;
 
     @BeforeEach
     void setUp() {
@@ -28,7 +32,9 @@ public class UncaughtGuardRestControllerAdviceTest {
         asyncLogger = mock(UncaughtGuardAsyncLogger.class);
         request = mock(HttpServletRequest.class);
         exception = new RuntimeException("Test exception");
-        exceptionUtils = mock(UncaughtGuardExceptionUtils.class);
+        preCaptureFilter = mock(UncaughtGuardPreCaptureFilter.class);
+        sampler = mock(UncaughtGuardAdaptiveSampler.class);
+        when(sampler.sample(any())).thenReturn(true);
         advice = new UncaughtGuardRestControllerAdvice();
 
         // fill request with necessary mock data
@@ -45,9 +51,18 @@ public class UncaughtGuardRestControllerAdviceTest {
             var loggerField = UncaughtGuardRestControllerAdvice.class.getDeclaredField("asyncLogger");
             loggerField.setAccessible(true);
             loggerField.set(advice, asyncLogger);
-            var utilsField = UncaughtGuardRestControllerAdvice.class.getDeclaredField("exceptionUtils");
-            utilsField.setAccessible(true);
-            utilsField.set(advice, exceptionUtils);
+            var filterField = UncaughtGuardRestControllerAdvice.class.getDeclaredField("preCaptureFilter");
+            filterField.setAccessible(true);
+            filterField.set(advice, preCaptureFilter);
+            var samplerField = UncaughtGuardRestControllerAdvice.class.getDeclaredField("sampler");
+            samplerField.setAccessible(true);
+            samplerField.set(advice, sampler);
+            var traceIdGeneratorField = UncaughtGuardRestControllerAdvice.class.getDeclaredField("traceIdGenerator");
+            traceIdGeneratorField.setAccessible(true);
+            traceIdGeneratorField.set(advice, new UncaughtGuardRandomTraceIdGenerator());
+            var headerCaptureFilterField = UncaughtGuardRestControllerAdvice.class.getDeclaredField("headerCaptureFilter");
+            headerCaptureFilterField.setAccessible(true);
+            headerCaptureFilterField.set(advice, new UncaughtGuardHeaderCaptureFilter());
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -55,7 +70,7 @@ public class UncaughtGuardRestControllerAdviceTest {
 
     @Test
     void testHandleUncaughtExceptions_logsAndReturnsResponse() {
-        when(exceptionUtils.isExceptionExcluded(exception)).thenReturn(false);
+        when(preCaptureFilter.isExcluded(exception, request)).thenReturn(false);
         when(properties.isEnableLogRequestBody()).thenReturn(false);
         when(properties.isKeepThrowingExceptions()).thenReturn(false);
         when(properties.getHttpResponseErrorMessage()).thenReturn("Errore generico");
@@ -68,19 +83,38 @@ public class UncaughtGuardRestControllerAdviceTest {
 
     @Test
     void testHandleUncaughtExceptions_excludedExceptionIsRethrown() {
-        when(exceptionUtils.isExceptionExcluded(exception)).thenReturn(true);
+        when(preCaptureFilter.isExcluded(exception, request)).thenReturn(true);
         when(properties.isEnableLogRequestBody()).thenReturn(false);
         when(properties.isKeepThrowingExceptions()).thenReturn(false);
         assertThrows(RuntimeException.class, () -> advice.handleUncaughtExceptions(exception, request));
         verify(asyncLogger, never()).logExceptionTraceAsync(any());
+        // nothing is copied from an excluded request
+        verify(request, never()).getHeaderNames();
+        verify(request, never()).getQueryString();
+        verify(sampler, never()).sample(any());
     }
 
     @Test
     void testHandleUncaughtExceptions_keepThrowingExceptions() {
-        when(exceptionUtils.isExceptionExcluded(exception)).thenReturn(false);
+        when(preCaptureFilter.isExcluded(exception, request)).thenReturn(false);
         when(properties.isEnableLogRequestBody()).thenReturn(false);
         when(properties.isKeepThrowingExceptions()).thenReturn(true);
         assertThrows(RuntimeException.class, () -> advice.handleUncaughtExceptions(exception, request));
         verify(asyncLogger, times(1)).logExceptionTraceAsync(any(UncaughtGuardExceptionTrace.class));
     }
+
+    @Test
+    void testHandleUncaughtExceptions_sampledOutExceptionStillGetsTraceId() {
+        when(preCaptureFilter.isExcluded(exception, request)).thenReturn(false);
+        when(sampler.sample(exception)).thenReturn(false);
+        when(properties.isKeepThrowingExceptions()).thenReturn(false);
+        when(properties.getHttpResponseErrorMessage()).thenReturn("Errore generico");
+
+        ResponseEntity<UncaughtGuardExceptionTraceHttpResponseDTO> response = advice.handleUncaughtExceptions(exception, request);
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertNotNull(response.getBody().getTraceId());
+        assertEquals("Errore generico", response.getBody().getErrorMessage());
+        verify(asyncLogger, never()).logExceptionTraceAsync(any());
+    }
 }
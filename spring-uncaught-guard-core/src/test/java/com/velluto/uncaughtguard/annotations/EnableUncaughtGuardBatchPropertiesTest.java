@@ -0,0 +1,33 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ContextConfiguration(classes = EnableUncaughtGuardBatchPropertiesTest.BatchPropertiesTestConfiguration.class)
+@EnableUncaughtGuard(
+        batchMaxSize = 50,
+        batchMaxBytes = 65536,
+        batchLingerMillis = 1000
+)
+public class EnableUncaughtGuardBatchPropertiesTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testBatchProperties() {
+        UncaughtGuardProperties properties = applicationContext.getBean(UncaughtGuardProperties.class);
+        assertEquals(50, properties.getBatchMaxSize());
+        assertEquals(65536, properties.getBatchMaxBytes());
+        assertEquals(1000, properties.getBatchLingerMillis());
+    }
+
+    static class BatchPropertiesTestConfiguration {
+    }
+}
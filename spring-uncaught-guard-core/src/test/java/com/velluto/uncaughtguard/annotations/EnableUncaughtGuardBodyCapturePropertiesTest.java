@@ -0,0 +1,52 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ContextConfiguration(classes = EnableUncaughtGuardBodyCapturePropertiesTest.BodyCapturePropertiesTestConfiguration.class)
+@EnableUncaughtGuard(
+        requestBodyMaxBytes = 8192,
+        capturedBodyContentTypes = {"application/json", "text/*", "application/x-www-form-urlencoded"},
+        bodyCaptureIncludedHttpMethods = {RequestMethod.POST, RequestMethod.PUT},
+        bodyCaptureExcludedHttpMethods = {RequestMethod.GET},
+        bodyCaptureIncludedPathPatterns = {"/api/**"},
+        bodyCaptureExcludedPathPatterns = {"/actuator/**"},
+        bodyBufferPoolSlabCount = 64,
+        bodyBufferPoolSlabSizeBytes = 4096,
+        bodyBufferPoolDirect = true,
+        requestBodyDrainMaxBytes = 65536,
+        requestBodyDrainTimeoutMillis = 50
+)
+public class EnableUncaughtGuardBodyCapturePropertiesTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testBodyCaptureProperties() {
+        UncaughtGuardProperties properties = applicationContext.getBean(UncaughtGuardProperties.class);
+        assertEquals(8192, properties.getRequestBodyMaxBytes());
+        assertArrayEquals(new String[]{"application/json", "text/*", "application/x-www-form-urlencoded"}, properties.getCapturedBodyContentTypes());
+        assertArrayEquals(new RequestMethod[]{RequestMethod.POST, RequestMethod.PUT}, properties.getBodyCaptureIncludedHttpMethods());
+        assertArrayEquals(new RequestMethod[]{RequestMethod.GET}, properties.getBodyCaptureExcludedHttpMethods());
+        assertArrayEquals(new String[]{"/api/**"}, properties.getBodyCaptureIncludedPathPatterns());
+        assertArrayEquals(new String[]{"/actuator/**"}, properties.getBodyCaptureExcludedPathPatterns());
+        assertEquals(64, properties.getBodyBufferPoolSlabCount());
+        assertEquals(4096, properties.getBodyBufferPoolSlabSizeBytes());
+        assertTrue(properties.isBodyBufferPoolDirect());
+        assertEquals(65536, properties.getRequestBodyDrainMaxBytes());
+        assertEquals(50, properties.getRequestBodyDrainTimeoutMillis());
+    }
+
+    static class BodyCapturePropertiesTestConfiguration {
+    }
+}
@@ -0,0 +1,30 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardCaptureMode;
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ContextConfiguration(classes = EnableUncaughtGuardCapturePropertiesTest.CapturePropertiesTestConfiguration.class)
+@EnableUncaughtGuard(
+        captureMode = UncaughtGuardCaptureMode.DEFERRED
+)
+public class EnableUncaughtGuardCapturePropertiesTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testCaptureProperties() {
+        UncaughtGuardProperties properties = applicationContext.getBean(UncaughtGuardProperties.class);
+        assertEquals(UncaughtGuardCaptureMode.DEFERRED, properties.getCaptureMode());
+    }
+
+    static class CapturePropertiesTestConfiguration {
+    }
+}
@@ -0,0 +1,58 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.breakers.UncaughtGuardCircuitBreaker;
+import com.velluto.uncaughtguard.breakers.UncaughtGuardCircuitBreakerRegistry;
+import com.velluto.uncaughtguard.breakers.UncaughtGuardCircuitBreakerState;
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardJavaLoggerLoggingStrategy;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardSystemErrorLoggingStrategy;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ContextConfiguration(classes = EnableUncaughtGuardCircuitBreakerPropertiesTest.CircuitBreakerPropertiesTestConfiguration.class)
+@EnableUncaughtGuard(
+        loggingStrategies = {UncaughtGuardJavaLoggerLoggingStrategy.class, UncaughtGuardSystemErrorLoggingStrategy.class},
+        circuitBreakerFailureRateThreshold = 75,
+        circuitBreakerWindowSize = 40,
+        circuitBreakerMinimumCalls = 20,
+        circuitBreakerOpenDurationMillis = 5000,
+        circuitBreakerHalfOpenProbes = 3
+)
+public class EnableUncaughtGuardCircuitBreakerPropertiesTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testCircuitBreakerProperties() {
+        UncaughtGuardProperties properties = applicationContext.getBean(UncaughtGuardProperties.class);
+        assertTrue(properties.isEnableCircuitBreakers());
+        assertEquals(75, properties.getCircuitBreakerFailureRateThreshold());
+        assertEquals(40, properties.getCircuitBreakerWindowSize());
+        assertEquals(20, properties.getCircuitBreakerMinimumCalls());
+        assertEquals(5000, properties.getCircuitBreakerOpenDurationMillis());
+        assertEquals(3, properties.getCircuitBreakerHalfOpenProbes());
+    }
+
+    @Test
+    void testCircuitBreakersAttachedToStrategiesButFallback() {
+        UncaughtGuardCircuitBreakerRegistry registry = applicationContext.getBean(UncaughtGuardCircuitBreakerRegistry.class);
+
+        UncaughtGuardCircuitBreaker breaker = registry.getCircuitBreaker(UncaughtGuardJavaLoggerLoggingStrategy.class);
+        assertNotNull(breaker);
+        assertEquals(UncaughtGuardCircuitBreakerState.CLOSED, breaker.getState());
+        assertSame(breaker, applicationContext.getBean(UncaughtGuardJavaLoggerLoggingStrategy.class).getCircuitBreaker());
+
+        assertNull(registry.getCircuitBreaker(UncaughtGuardSystemErrorLoggingStrategy.class));
+        assertNull(applicationContext.getBean(UncaughtGuardSystemErrorLoggingStrategy.class).getCircuitBreaker());
+        assertEquals(1, registry.getCircuitBreakers().size());
+    }
+
+    static class CircuitBreakerPropertiesTestConfiguration {
+    }
+}
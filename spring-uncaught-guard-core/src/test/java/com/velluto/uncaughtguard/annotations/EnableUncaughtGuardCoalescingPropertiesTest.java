@@ -0,0 +1,38 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.loggers.UncaughtGuardAsyncLogger;
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest
+@ContextConfiguration(classes = EnableUncaughtGuardCoalescingPropertiesTest.CoalescingPropertiesTestConfiguration.class)
+@EnableUncaughtGuard(
+        coalescingWindowMillis = 60000,
+        coalescingFingerprintFrames = 8,
+        coalescingMaxSampledTraceIds = 20,
+        coalescingMaxFingerprints = 500
+)
+public class EnableUncaughtGuardCoalescingPropertiesTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testCoalescingProperties() {
+        UncaughtGuardProperties properties = applicationContext.getBean(UncaughtGuardProperties.class);
+        assertEquals(60000, properties.getCoalescingWindowMillis());
+        assertEquals(8, properties.getCoalescingFingerprintFrames());
+        assertEquals(20, properties.getCoalescingMaxSampledTraceIds());
+        assertEquals(500, properties.getCoalescingMaxFingerprints());
+        assertNotNull(applicationContext.getBean(UncaughtGuardAsyncLogger.class).getCoalescer());
+    }
+
+    static class CoalescingPropertiesTestConfiguration {
+    }
+}
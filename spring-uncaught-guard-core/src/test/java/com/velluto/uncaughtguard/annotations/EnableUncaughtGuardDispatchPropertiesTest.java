@@ -0,0 +1,45 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.dispatchers.UncaughtGuardDispatchMode;
+import com.velluto.uncaughtguard.dispatchers.UncaughtGuardDispatchOverflowPolicy;
+import com.velluto.uncaughtguard.dispatchers.UncaughtGuardRingBufferWaitStrategy;
+import com.velluto.uncaughtguard.loggers.UncaughtGuardAsyncLogger;
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ContextConfiguration(classes = EnableUncaughtGuardDispatchPropertiesTest.DispatchPropertiesTestConfiguration.class)
+@EnableUncaughtGuard(
+        dispatchWorkerThreads = 4,
+        dispatchQueueCapacity = 16,
+        dispatchOverflowPolicy = UncaughtGuardDispatchOverflowPolicy.CALLER_RUNS_DEGRADED,
+        dispatchMode = UncaughtGuardDispatchMode.RING_BUFFER,
+        ringBufferWaitStrategy = UncaughtGuardRingBufferWaitStrategy.YIELD
+)
+public class EnableUncaughtGuardDispatchPropertiesTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testDispatchProperties() {
+        UncaughtGuardProperties properties = applicationContext.getBean(UncaughtGuardProperties.class);
+        assertEquals(4, properties.getDispatchWorkerThreads());
+        assertEquals(16, properties.getDispatchQueueCapacity());
+        assertEquals(UncaughtGuardDispatchOverflowPolicy.CALLER_RUNS_DEGRADED, properties.getDispatchOverflowPolicy());
+        assertEquals(UncaughtGuardDispatchMode.RING_BUFFER, properties.getDispatchMode());
+        assertEquals(UncaughtGuardRingBufferWaitStrategy.YIELD, properties.getRingBufferWaitStrategy());
+
+        UncaughtGuardAsyncLogger asyncLogger = applicationContext.getBean(UncaughtGuardAsyncLogger.class);
+        assertEquals(0, asyncLogger.getRejectedTracesCount());
+        assertEquals(0, asyncLogger.getDroppedTracesCount());
+    }
+
+    static class DispatchPropertiesTestConfiguration {
+    }
+}
@@ -0,0 +1,73 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.advices.UncaughtGuardWeavingMode;
+import com.velluto.uncaughtguard.exceptions.UncaughtGuardMethodParametersEnrichedRuntimeException;
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.stereotype.Service;
+import org.springframework.test.context.ContextConfiguration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ContextConfiguration(classes = EnableUncaughtGuardEnricherPropertiesTest.EnricherPropertiesTestConfiguration.class)
+@EnableUncaughtGuard(
+        enricherBasePackages = {"com.velluto.uncaughtguard.annotations"},
+        enricherRequireMarkerAnnotation = true,
+        enricherWeavingMode = UncaughtGuardWeavingMode.PROXY
+)
+public class EnableUncaughtGuardEnricherPropertiesTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testEnricherProperties() {
+        UncaughtGuardProperties properties = applicationContext.getBean(UncaughtGuardProperties.class);
+        assertArrayEquals(new String[]{"com.velluto.uncaughtguard.annotations"}, properties.getEnricherBasePackages());
+        assertTrue(properties.isEnricherRequireMarkerAnnotation());
+        assertEquals(UncaughtGuardWeavingMode.PROXY, properties.getEnricherWeavingMode());
+    }
+
+    @Test
+    void testOnlyMarkedBeansAreProxiedAndEnriched() {
+        MarkedService markedService = applicationContext.getBean(MarkedService.class);
+        UnmarkedService unmarkedService = applicationContext.getBean(UnmarkedService.class);
+
+        assertTrue(AopUtils.isAopProxy(markedService));
+        assertFalse(AopUtils.isAopProxy(unmarkedService));
+
+        UncaughtGuardMethodParametersEnrichedRuntimeException thrown = assertThrows(
+                UncaughtGuardMethodParametersEnrichedRuntimeException.class,
+                () -> markedService.fail(42)
+        );
+        assertInstanceOf(IllegalStateException.class, thrown.getOriginalExceptionReference());
+        assertEquals(42, thrown.getThrowingMethods().get(0).getPassedParameters()[0].getValue());
+        assertThrows(IllegalStateException.class, () -> unmarkedService.fail(42));
+    }
+
+    @Service
+    @UncaughtGuardEnriched
+    public static class MarkedService {
+        public void fail(int value) {
+            throw new IllegalStateException("failed with " + value);
+        }
+    }
+
+    @Service
+    public static class UnmarkedService {
+        public void fail(int value) {
+            throw new IllegalStateException("failed with " + value);
+        }
+    }
+
+    @EnableAspectJAutoProxy
+    @Import({MarkedService.class, UnmarkedService.class})
+    static class EnricherPropertiesTestConfiguration {
+    }
+}
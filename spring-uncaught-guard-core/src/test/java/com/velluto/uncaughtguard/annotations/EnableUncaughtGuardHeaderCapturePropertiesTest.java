@@ -0,0 +1,44 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.filters.UncaughtGuardHeaderCaptureFilter;
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ContextConfiguration(classes = EnableUncaughtGuardHeaderCapturePropertiesTest.HeaderCapturePropertiesTestConfiguration.class)
+@EnableUncaughtGuard(
+        capturedHeaders = {"content-type", "x-b3-*"},
+        excludedHeaders = {"x-b3-sampled"},
+        headerMaxValueLength = 256,
+        headersMaxTotalBytes = 4096
+)
+public class EnableUncaughtGuardHeaderCapturePropertiesTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testHeaderCaptureProperties() {
+        UncaughtGuardProperties properties = applicationContext.getBean(UncaughtGuardProperties.class);
+        assertArrayEquals(new String[]{"content-type", "x-b3-*"}, properties.getCapturedHeaders());
+        assertArrayEquals(new String[]{"x-b3-sampled"}, properties.getExcludedHeaders());
+        assertEquals(256, properties.getHeaderMaxValueLength());
+        assertEquals(4096, properties.getHeadersMaxTotalBytes());
+    }
+
+    @Test
+    void testHeaderCaptureFilterIsCompiled() {
+        UncaughtGuardHeaderCaptureFilter filter = applicationContext.getBean(UncaughtGuardHeaderCaptureFilter.class);
+        assertTrue(filter.isCaptured("X-B3-TraceId"));
+        assertFalse(filter.isCaptured("X-B3-Sampled"));
+        assertFalse(filter.isCaptured("Authorization"));
+    }
+
+    static class HeaderCapturePropertiesTestConfiguration {
+    }
+}
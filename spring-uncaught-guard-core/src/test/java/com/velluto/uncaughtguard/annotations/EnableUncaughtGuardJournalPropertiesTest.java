@@ -0,0 +1,41 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.loggers.UncaughtGuardAsyncLogger;
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest
+@ContextConfiguration(classes = EnableUncaughtGuardJournalPropertiesTest.JournalPropertiesTestConfiguration.class)
+@EnableUncaughtGuard(
+        journalDirectory = "target/uncaught-guard-journal-test",
+        journalSegmentSizeBytes = 65536,
+        journalSegmentCount = 3
+)
+public class EnableUncaughtGuardJournalPropertiesTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testJournalProperties() {
+        UncaughtGuardProperties properties = applicationContext.getBean(UncaughtGuardProperties.class);
+        assertEquals("target/uncaught-guard-journal-test", properties.getJournalDirectory());
+        assertEquals(65536, properties.getJournalSegmentSizeBytes());
+        assertEquals(3, properties.getJournalSegmentCount());
+
+        UncaughtGuardAsyncLogger asyncLogger = applicationContext.getBean(UncaughtGuardAsyncLogger.class);
+        assertNotNull(asyncLogger.getJournal());
+        assertEquals(Path.of("target/uncaught-guard-journal-test"), asyncLogger.getJournal().getDirectory());
+    }
+
+    static class JournalPropertiesTestConfiguration {
+    }
+}
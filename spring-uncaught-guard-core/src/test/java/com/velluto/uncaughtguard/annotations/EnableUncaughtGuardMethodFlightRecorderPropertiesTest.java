@@ -0,0 +1,35 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.advices.UncaughtGuardMethodFlightRecorderAdvice;
+import com.velluto.uncaughtguard.filters.UncaughtGuardMethodFlightRecorderFilter;
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ContextConfiguration(classes = EnableUncaughtGuardMethodFlightRecorderPropertiesTest.MethodFlightRecorderPropertiesTestConfiguration.class)
+@EnableUncaughtGuard(
+        enableMethodFlightRecorder = true,
+        methodFlightRecorderCapacity = 128
+)
+public class EnableUncaughtGuardMethodFlightRecorderPropertiesTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testMethodFlightRecorderProperties() {
+        UncaughtGuardProperties properties = applicationContext.getBean(UncaughtGuardProperties.class);
+        assertTrue(properties.isEnableMethodFlightRecorder());
+        assertEquals(128, properties.getMethodFlightRecorderCapacity());
+        assertNotNull(applicationContext.getBean(UncaughtGuardMethodFlightRecorderAdvice.class));
+        assertNotNull(applicationContext.getBean(UncaughtGuardMethodFlightRecorderFilter.class));
+    }
+
+    static class MethodFlightRecorderPropertiesTestConfiguration {
+    }
+}
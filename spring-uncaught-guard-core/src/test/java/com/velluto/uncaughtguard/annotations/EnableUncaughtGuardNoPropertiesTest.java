@@ -53,6 +53,9 @@ public class EnableUncaughtGuardNoPropertiesTest {
         assertTrue(properties.isEnableLogRequestBody());
 
         assertEquals(0, properties.getExcludedExceptions().length);
+
+        // retries are opt-in
+        assertEquals(0, properties.getMaxRetries());
     }
 
     @EnableUncaughtGuard
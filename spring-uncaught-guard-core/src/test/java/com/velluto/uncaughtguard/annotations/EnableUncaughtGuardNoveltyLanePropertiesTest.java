@@ -0,0 +1,35 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.loggers.UncaughtGuardAsyncLogger;
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ContextConfiguration(classes = EnableUncaughtGuardNoveltyLanePropertiesTest.NoveltyLanePropertiesTestConfiguration.class)
+@EnableUncaughtGuard(
+        noveltyLaneCapacity = 64,
+        noveltyFilterBits = 4096,
+        noveltyFilterHashes = 3
+)
+public class EnableUncaughtGuardNoveltyLanePropertiesTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testNoveltyLaneProperties() {
+        UncaughtGuardProperties properties = applicationContext.getBean(UncaughtGuardProperties.class);
+        assertEquals(64, properties.getNoveltyLaneCapacity());
+        assertEquals(4096, properties.getNoveltyFilterBits());
+        assertEquals(3, properties.getNoveltyFilterHashes());
+        assertEquals(0, applicationContext.getBean(UncaughtGuardAsyncLogger.class).getPriorityTracesCount());
+    }
+
+    static class NoveltyLanePropertiesTestConfiguration {
+    }
+}
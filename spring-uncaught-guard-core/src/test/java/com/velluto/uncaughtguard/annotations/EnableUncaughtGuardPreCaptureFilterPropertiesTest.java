@@ -0,0 +1,32 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+@SpringBootTest
+@ContextConfiguration(classes = EnableUncaughtGuardPreCaptureFilterPropertiesTest.PreCaptureFilterPropertiesTestConfiguration.class)
+@EnableUncaughtGuard(
+        excludedHttpMethods = {RequestMethod.HEAD, RequestMethod.OPTIONS},
+        excludedPathPatterns = {"/actuator/**", "/internal/*"}
+)
+public class EnableUncaughtGuardPreCaptureFilterPropertiesTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testPreCaptureFilterProperties() {
+        UncaughtGuardProperties properties = applicationContext.getBean(UncaughtGuardProperties.class);
+        assertArrayEquals(new RequestMethod[]{RequestMethod.HEAD, RequestMethod.OPTIONS}, properties.getExcludedHttpMethods());
+        assertArrayEquals(new String[]{"/actuator/**", "/internal/*"}, properties.getExcludedPathPatterns());
+    }
+
+    static class PreCaptureFilterPropertiesTestConfiguration {
+    }
+}
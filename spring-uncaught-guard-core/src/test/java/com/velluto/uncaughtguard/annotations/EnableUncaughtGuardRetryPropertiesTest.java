@@ -0,0 +1,37 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ContextConfiguration(classes = EnableUncaughtGuardRetryPropertiesTest.RetryPropertiesTestConfiguration.class)
+@EnableUncaughtGuard(
+        maxRetries = 5,
+        retryInitialBackoffMillis = 50,
+        retryMaxBackoffMillis = 2000,
+        retryBudgetPercent = 10,
+        maxOutstandingRetries = 500
+)
+public class EnableUncaughtGuardRetryPropertiesTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testRetryProperties() {
+        UncaughtGuardProperties properties = applicationContext.getBean(UncaughtGuardProperties.class);
+        assertEquals(5, properties.getMaxRetries());
+        assertEquals(50, properties.getRetryInitialBackoffMillis());
+        assertEquals(2000, properties.getRetryMaxBackoffMillis());
+        assertEquals(10, properties.getRetryBudgetPercent());
+        assertEquals(500, properties.getMaxOutstandingRetries());
+    }
+
+    static class RetryPropertiesTestConfiguration {
+    }
+}
@@ -0,0 +1,51 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import com.velluto.uncaughtguard.routers.UncaughtGuardRouteDefinition;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardJavaLoggerLoggingStrategy;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardSystemErrorLoggingStrategy;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ContextConfiguration(classes = EnableUncaughtGuardRoutesPropertyTest.RoutesPropertyTestConfiguration.class)
+@EnableUncaughtGuard(
+        loggingStrategies = {UncaughtGuardJavaLoggerLoggingStrategy.class, UncaughtGuardSystemErrorLoggingStrategy.class},
+        routes = {
+                @UncaughtGuardRoute(
+                        exceptions = IllegalStateException.class,
+                        httpMethods = RequestMethod.POST,
+                        pathPatterns = "/payments/**",
+                        strategies = UncaughtGuardJavaLoggerLoggingStrategy.class
+                ),
+                @UncaughtGuardRoute(strategies = UncaughtGuardSystemErrorLoggingStrategy.class)
+        }
+)
+public class EnableUncaughtGuardRoutesPropertyTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testRoutesProperty() {
+        UncaughtGuardProperties properties = applicationContext.getBean(UncaughtGuardProperties.class);
+        UncaughtGuardRouteDefinition[] routes = properties.getRoutes();
+
+        assertEquals(2, routes.length);
+        assertArrayEquals(new Class[]{IllegalStateException.class}, routes[0].getExceptions());
+        assertArrayEquals(new RequestMethod[]{RequestMethod.POST}, routes[0].getHttpMethods());
+        assertArrayEquals(new String[]{"/payments/**"}, routes[0].getPathPatterns());
+        assertArrayEquals(new Class[]{UncaughtGuardJavaLoggerLoggingStrategy.class}, routes[0].getStrategies());
+        assertEquals(0, routes[1].getExceptions().length);
+        assertArrayEquals(new Class[]{UncaughtGuardSystemErrorLoggingStrategy.class}, routes[1].getStrategies());
+    }
+
+    static class RoutesPropertyTestConfiguration {
+    }
+}
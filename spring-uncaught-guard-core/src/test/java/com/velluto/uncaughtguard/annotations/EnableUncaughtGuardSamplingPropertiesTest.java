@@ -0,0 +1,42 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import com.velluto.uncaughtguard.samplers.UncaughtGuardAdaptiveSampler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ContextConfiguration(classes = EnableUncaughtGuardSamplingPropertiesTest.SamplingPropertiesTestConfiguration.class)
+@EnableUncaughtGuard(
+        samplingThresholdPerSecond = 50,
+        samplingWindowMillis = 5000,
+        samplingMinimumPercent = 5
+)
+public class EnableUncaughtGuardSamplingPropertiesTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testSamplingProperties() {
+        UncaughtGuardProperties properties = applicationContext.getBean(UncaughtGuardProperties.class);
+        assertEquals(50, properties.getSamplingThresholdPerSecond());
+        assertEquals(5000, properties.getSamplingWindowMillis());
+        assertEquals(5, properties.getSamplingMinimumPercent());
+    }
+
+    @Test
+    void testSamplerIsRegistered() {
+        UncaughtGuardAdaptiveSampler sampler = applicationContext.getBean(UncaughtGuardAdaptiveSampler.class);
+        assertTrue(sampler.sample(new IllegalStateException()));
+        assertEquals(1, sampler.getSampledTracesCount());
+    }
+
+    static class SamplingPropertiesTestConfiguration {
+    }
+}
@@ -0,0 +1,31 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ContextConfiguration(classes = EnableUncaughtGuardShutdownPropertiesTest.ShutdownPropertiesTestConfiguration.class)
+@EnableUncaughtGuard(
+        shutdownDrainTimeoutMillis = 250,
+        spillFilePath = "target/uncaught-guard-spill-test.jsonl"
+)
+public class EnableUncaughtGuardShutdownPropertiesTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testShutdownProperties() {
+        UncaughtGuardProperties properties = applicationContext.getBean(UncaughtGuardProperties.class);
+        assertEquals(250, properties.getShutdownDrainTimeoutMillis());
+        assertEquals("target/uncaught-guard-spill-test.jsonl", properties.getSpillFilePath());
+    }
+
+    static class ShutdownPropertiesTestConfiguration {
+    }
+}
@@ -0,0 +1,38 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.invokers.UncaughtGuardStrategyExecutionMode;
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ContextConfiguration(classes = EnableUncaughtGuardStrategyExecutionPropertiesTest.StrategyExecutionPropertiesTestConfiguration.class)
+@EnableUncaughtGuard(
+        strategyExecutionMode = UncaughtGuardStrategyExecutionMode.BULKHEAD,
+        virtualThreadMaxInFlightCalls = 64,
+        bulkheadWorkerThreads = 2,
+        bulkheadQueueCapacity = 32,
+        strategyCallTimeoutMillis = 500
+)
+public class EnableUncaughtGuardStrategyExecutionPropertiesTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testStrategyExecutionProperties() {
+        UncaughtGuardProperties properties = applicationContext.getBean(UncaughtGuardProperties.class);
+        assertEquals(UncaughtGuardStrategyExecutionMode.BULKHEAD, properties.getStrategyExecutionMode());
+        assertEquals(64, properties.getVirtualThreadMaxInFlightCalls());
+        assertEquals(2, properties.getBulkheadWorkerThreads());
+        assertEquals(32, properties.getBulkheadQueueCapacity());
+        assertEquals(500, properties.getStrategyCallTimeoutMillis());
+    }
+
+    static class StrategyExecutionPropertiesTestConfiguration {
+    }
+}
@@ -0,0 +1,46 @@
+package com.velluto.uncaughtguard.annotations;
+
+import com.velluto.uncaughtguard.generators.UncaughtGuardTimeOrderedTraceIdGenerator;
+import com.velluto.uncaughtguard.generators.UncaughtGuardTraceIdGenerator;
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest
+@ContextConfiguration(classes = EnableUncaughtGuardTraceIdPropertiesTest.TraceIdPropertiesTestConfiguration.class)
+@EnableUncaughtGuard(
+        traceIdGenerator = UncaughtGuardTimeOrderedTraceIdGenerator.class,
+        traceIdNodeId = 42
+)
+public class EnableUncaughtGuardTraceIdPropertiesTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testTraceIdProperties() {
+        UncaughtGuardProperties properties = applicationContext.getBean(UncaughtGuardProperties.class);
+        assertEquals(UncaughtGuardTimeOrderedTraceIdGenerator.class, properties.getTraceIdGenerator());
+        assertEquals(42, properties.getTraceIdNodeId());
+    }
+
+    @Test
+    void testTraceIdGeneratorIsRegistered() {
+        UncaughtGuardTraceIdGenerator generator = applicationContext.getBean(UncaughtGuardTraceIdGenerator.class);
+        assertInstanceOf(UncaughtGuardTimeOrderedTraceIdGenerator.class, generator);
+
+        UUID traceId = generator.generate(null);
+        assertEquals(7, traceId.version());
+        assertEquals(42, (traceId.getLeastSignificantBits() >>> 46) & 0xFFFF);
+    }
+
+    static class TraceIdPropertiesTestConfiguration {
+    }
+}
@@ -0,0 +1,144 @@
+package com.velluto.uncaughtguard.breakers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UncaughtGuardCircuitBreakerTest {
+    private final AtomicLong nanoClock = new AtomicLong();
+
+    private UncaughtGuardCircuitBreaker buildBreaker() {
+        // opens at 50% failures over the last 4 calls, once at least 2 calls are recorded, for 1 second
+        return new UncaughtGuardCircuitBreaker("strategy", 50, 4, 2, 1000, 1, nanoClock::get);
+    }
+
+    private void call(UncaughtGuardCircuitBreaker breaker, boolean successful) {
+        long permission = breaker.tryAcquirePermission();
+        assertNotEquals(UncaughtGuardCircuitBreaker.PERMISSION_REFUSED, permission);
+        if (successful)
+            breaker.onSuccess(permission);
+        else
+            breaker.onFailure(permission);
+    }
+
+    @Test
+    void constructor_invalidArguments_throwException() {
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardCircuitBreaker("s", 0, 4, 2, 1000, 1));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardCircuitBreaker("s", 101, 4, 2, 1000, 1));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardCircuitBreaker("s", 50, 0, 1, 1000, 1));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardCircuitBreaker("s", 50, 4, 5, 1000, 1));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardCircuitBreaker("s", 50, 4, 2, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardCircuitBreaker("s", 50, 4, 2, 1000, 0));
+    }
+
+    @Test
+    void failureRateBelowMinimumCalls_staysClosed() {
+        UncaughtGuardCircuitBreaker breaker = buildBreaker();
+        call(breaker, false);
+
+        assertEquals(UncaughtGuardCircuitBreakerState.CLOSED, breaker.getState());
+        assertEquals(-1, breaker.getFailureRate());
+    }
+
+    @Test
+    void failureRateReachesThreshold_opensAndRejectsCalls() {
+        UncaughtGuardCircuitBreaker breaker = buildBreaker();
+        call(breaker, true);
+        call(breaker, true);
+        call(breaker, false);
+        assertEquals(UncaughtGuardCircuitBreakerState.CLOSED, breaker.getState());
+
+        call(breaker, false);
+        assertEquals(UncaughtGuardCircuitBreakerState.OPEN, breaker.getState());
+        assertEquals(UncaughtGuardCircuitBreaker.PERMISSION_REFUSED, breaker.tryAcquirePermission());
+        assertEquals(1, breaker.getRejectedCallsCount());
+    }
+
+    @Test
+    void isCallPermitted_doesNotAcquirePermission() {
+        UncaughtGuardCircuitBreaker breaker = buildBreaker();
+        assertTrue(breaker.isCallPermitted());
+        call(breaker, false);
+        call(breaker, false);
+
+        assertFalse(breaker.isCallPermitted());
+        assertEquals(0, breaker.getRejectedCallsCount());
+
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(breaker.isCallPermitted());
+        assertTrue(breaker.isCallPermitted());
+        // the single probe is still available
+        long probe = breaker.tryAcquirePermission();
+        assertNotEquals(UncaughtGuardCircuitBreaker.PERMISSION_REFUSED, probe);
+        assertFalse(breaker.isCallPermitted());
+    }
+
+    @Test
+    void window_forgetsOldestCalls() {
+        UncaughtGuardCircuitBreaker breaker = buildBreaker();
+        call(breaker, false);
+        call(breaker, true);
+        call(breaker, true);
+        call(breaker, true);
+        assertEquals(25f, breaker.getFailureRate());
+
+        // the first failure leaves the window
+        call(breaker, true);
+        assertEquals(0f, breaker.getFailureRate());
+    }
+
+    @Test
+    void openDurationElapsed_successfulProbeCloses() {
+        UncaughtGuardCircuitBreaker breaker = buildBreaker();
+        call(breaker, false);
+        call(breaker, false);
+
+        nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertEquals(UncaughtGuardCircuitBreakerState.HALF_OPEN, breaker.getState());
+
+        long probe = breaker.tryAcquirePermission();
+        assertNotEquals(UncaughtGuardCircuitBreaker.PERMISSION_REFUSED, probe);
+        // only one probe at a time
+        assertEquals(UncaughtGuardCircuitBreaker.PERMISSION_REFUSED, breaker.tryAcquirePermission());
+
+        breaker.onSuccess(probe);
+        assertEquals(UncaughtGuardCircuitBreakerState.CLOSED, breaker.getState());
+        assertEquals(-1, breaker.getFailureRate());
+    }
+
+    @Test
+    void openDurationElapsed_failedProbeReopens() {
+        UncaughtGuardCircuitBreaker breaker = buildBreaker();
+        call(breaker, false);
+        call(breaker, false);
+
+        nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        call(breaker, false);
+
+        assertEquals(UncaughtGuardCircuitBreakerState.OPEN, breaker.getState());
+        assertEquals(UncaughtGuardCircuitBreaker.PERMISSION_REFUSED, breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void callAdmittedWhileClosed_completingWhileHalfOpen_isNotCountedAsProbe() {
+        UncaughtGuardCircuitBreaker breaker = buildBreaker();
+        long slowSuccess = breaker.tryAcquirePermission();
+        long slowFailure = breaker.tryAcquirePermission();
+        call(breaker, false);
+        call(breaker, false);
+
+        nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        long probe = breaker.tryAcquirePermission();
+        assertNotEquals(UncaughtGuardCircuitBreaker.PERMISSION_REFUSED, probe);
+
+        breaker.onSuccess(slowSuccess);
+        breaker.onFailure(slowFailure);
+        assertEquals(UncaughtGuardCircuitBreakerState.HALF_OPEN, breaker.getState());
+
+        breaker.onSuccess(probe);
+        assertEquals(UncaughtGuardCircuitBreakerState.CLOSED, breaker.getState());
+    }
+}
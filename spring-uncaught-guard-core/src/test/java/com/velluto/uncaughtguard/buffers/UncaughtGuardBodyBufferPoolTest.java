@@ -0,0 +1,56 @@
+package com.velluto.uncaughtguard.buffers;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UncaughtGuardBodyBufferPoolTest {
+    @Test
+    void testSlabsAreReused() {
+        UncaughtGuardBodyBufferPool pool = new UncaughtGuardBodyBufferPool(16, 2, false);
+
+        ByteBuffer first = pool.tryAcquire();
+        first.put((byte) 1);
+        pool.release(first);
+        pool.tryAcquire();
+        ByteBuffer reused = pool.tryAcquire();
+
+        assertSame(first, reused);
+        assertEquals(0, reused.position());
+        assertEquals(16, reused.remaining());
+    }
+
+    @Test
+    void testExhaustedPoolReturnsNull() {
+        UncaughtGuardBodyBufferPool pool = new UncaughtGuardBodyBufferPool(16, 1, true);
+
+        ByteBuffer slab = pool.tryAcquire();
+
+        assertTrue(slab.isDirect());
+        assertNull(pool.tryAcquire());
+        assertEquals(1, pool.getExhaustedCount());
+        assertEquals(0, pool.getAvailableSlabsCount());
+    }
+
+    @Test
+    void testSlabsDoNotOverlap() {
+        UncaughtGuardBodyBufferPool pool = new UncaughtGuardBodyBufferPool(4, 2, false);
+
+        ByteBuffer first = pool.tryAcquire();
+        ByteBuffer second = pool.tryAcquire();
+        first.put(new byte[]{1, 1, 1, 1});
+        second.put(new byte[]{2, 2, 2, 2});
+
+        assertEquals(1, first.get(3));
+        assertEquals(2, second.get(0));
+    }
+
+    @Test
+    void testInvalidSizesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardBodyBufferPool(0, 1, false));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardBodyBufferPool(16, 0, false));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardBodyBufferPool(Integer.MAX_VALUE, 2, false));
+    }
+}
@@ -0,0 +1,124 @@
+package com.velluto.uncaughtguard.coalescers;
+
+import com.velluto.uncaughtguard.fingerprints.UncaughtGuardExceptionFingerprinter;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UncaughtGuardTraceCoalescerTest {
+    private final AtomicLong nanoClock = new AtomicLong();
+    private final List<UncaughtGuardExceptionTraceSummary> summaries = new CopyOnWriteArrayList<>();
+
+    private UncaughtGuardTraceCoalescer buildCoalescer(int maxSampledTraceIds, int maxOpenWindows) {
+        // windows of 1 second, closed explicitly by the tests
+        return new UncaughtGuardTraceCoalescer(new UncaughtGuardExceptionFingerprinter(3), 1000, maxSampledTraceIds, maxOpenWindows, summaries::add, nanoClock::get, false);
+    }
+
+    private static UncaughtGuardExceptionTrace trace(String path) {
+        return new UncaughtGuardExceptionTrace(LocalDateTime.now(), UUID.randomUUID(), "GET", path, Map.of(), Map.of(), "", List.of(), new IllegalStateException("failure"));
+    }
+
+    @Test
+    void offer_firstOccurrenceIsDeliveredAndRepetitionsFolded() {
+        UncaughtGuardTraceCoalescer coalescer = buildCoalescer(10, 100);
+        UncaughtGuardExceptionTrace first = trace("/orders");
+        UncaughtGuardExceptionTrace second = trace("/orders");
+        UncaughtGuardExceptionTrace third = trace("/orders");
+
+        assertTrue(coalescer.offer(first));
+        assertFalse(coalescer.offer(second));
+        assertFalse(coalescer.offer(third));
+        assertTrue(coalescer.offer(trace("/customers")));
+        assertEquals(2, coalescer.getCoalescedTracesCount());
+        assertTrue(summaries.isEmpty());
+
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        coalescer.closeExpiredWindows();
+
+        assertEquals(1, summaries.size());
+        UncaughtGuardExceptionTraceSummary summary = summaries.get(0);
+        assertEquals(2, summary.getCoalescedTracesCount());
+        assertEquals(first.getTraceId(), summary.getFirstTraceId());
+        assertEquals(List.of(second.getTraceId(), third.getTraceId()), summary.getSampledTraceIds());
+        assertEquals(IllegalStateException.class.getName(), summary.getExceptionClassName());
+        assertEquals(0, coalescer.getOpenWindowsCount());
+    }
+
+    @Test
+    void offer_afterWindowExpired_deliversAgainAndEmitsSummary() {
+        UncaughtGuardTraceCoalescer coalescer = buildCoalescer(10, 100);
+        coalescer.offer(trace("/orders"));
+        coalescer.offer(trace("/orders"));
+
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertTrue(coalescer.offer(trace("/orders")));
+        assertEquals(1, summaries.size());
+        assertEquals(1, summaries.get(0).getCoalescedTracesCount());
+    }
+
+    @Test
+    void closeExpiredWindows_withoutRepetitions_emitsNoSummary() {
+        UncaughtGuardTraceCoalescer coalescer = buildCoalescer(10, 100);
+        coalescer.offer(trace("/orders"));
+
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        coalescer.closeExpiredWindows();
+
+        assertTrue(summaries.isEmpty());
+        assertEquals(0, coalescer.getOpenWindowsCount());
+    }
+
+    @Test
+    void offer_sampledTraceIdsAreBounded() {
+        UncaughtGuardTraceCoalescer coalescer = buildCoalescer(3, 100);
+        for (int i = 0; i < 100; i++)
+            coalescer.offer(trace("/orders"));
+
+        coalescer.shutdown();
+
+        assertEquals(1, summaries.size());
+        assertEquals(99, summaries.get(0).getCoalescedTracesCount());
+        assertEquals(3, summaries.get(0).getSampledTraceIds().size());
+    }
+
+    @Test
+    void offer_tooManyFingerprints_deliversWithoutTracking() {
+        UncaughtGuardTraceCoalescer coalescer = buildCoalescer(10, 1);
+        coalescer.offer(trace("/orders"));
+
+        assertTrue(coalescer.offer(trace("/customers")));
+        assertTrue(coalescer.offer(trace("/customers")));
+        assertEquals(2, coalescer.getUntrackedTracesCount());
+        assertEquals(1, coalescer.getOpenWindowsCount());
+    }
+
+    @Test
+    void shutdown_emitsSummariesOfOpenWindows() {
+        UncaughtGuardTraceCoalescer coalescer = buildCoalescer(10, 100);
+        coalescer.offer(trace("/orders"));
+        coalescer.offer(trace("/orders"));
+
+        coalescer.shutdown();
+
+        assertEquals(1, summaries.size());
+    }
+
+    @Test
+    void constructor_invalidArguments_throw() {
+        UncaughtGuardExceptionFingerprinter fingerprinter = new UncaughtGuardExceptionFingerprinter(3);
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardTraceCoalescer(fingerprinter, 0, 10, 10, summaries::add));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardTraceCoalescer(fingerprinter, 1000, -1, 10, summaries::add));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardTraceCoalescer(fingerprinter, 1000, 10, 0, summaries::add));
+    }
+}
@@ -0,0 +1,158 @@
+package com.velluto.uncaughtguard.dispatchers;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class UncaughtGuardExecutorTraceDispatcherTest {
+    private final CountDownLatch workerBlocked = new CountDownLatch(1);
+    private final CountDownLatch releaseWorker = new CountDownLatch(1);
+    private final List<UncaughtGuardExceptionTrace> delivered = new CopyOnWriteArrayList<>();
+    private final List<UncaughtGuardExceptionTrace> degraded = new CopyOnWriteArrayList<>();
+    private UncaughtGuardExecutorTraceDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        releaseWorker.countDown();
+        if (dispatcher != null)
+            dispatcher.shutdown();
+    }
+
+    private UncaughtGuardExecutorTraceDispatcher buildDispatcher(UncaughtGuardDispatchOverflowPolicy policy) {
+        // the first delivered trace blocks the only worker, so that the queue can be filled deterministically
+        Consumer<UncaughtGuardExceptionTrace> blockingDelivery = trace -> {
+            delivered.add(trace);
+            workerBlocked.countDown();
+            try {
+                releaseWorker.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        return new UncaughtGuardExecutorTraceDispatcher(1, 1, policy, blockingDelivery, degraded::add);
+    }
+
+    private UncaughtGuardExceptionTrace fillDispatcher(UncaughtGuardExecutorTraceDispatcher dispatcher) throws InterruptedException {
+        dispatcher.dispatch(mock(UncaughtGuardExceptionTrace.class));
+        assertTrue(workerBlocked.await(5, TimeUnit.SECONDS));
+        UncaughtGuardExceptionTrace queued = mock(UncaughtGuardExceptionTrace.class);
+        dispatcher.dispatch(queued);
+        return queued;
+    }
+
+    @Test
+    void dispatch_runsDeliveryOnNamedWorkerThread() throws InterruptedException {
+        CountDownLatch deliveredLatch = new CountDownLatch(1);
+        List<String> threadNames = new CopyOnWriteArrayList<>();
+        dispatcher = new UncaughtGuardExecutorTraceDispatcher(1, 1, UncaughtGuardDispatchOverflowPolicy.DROP_NEWEST, trace -> {
+            threadNames.add(Thread.currentThread().getName());
+            deliveredLatch.countDown();
+        }, degraded::add);
+
+        dispatcher.dispatch(mock(UncaughtGuardExceptionTrace.class));
+
+        assertTrue(deliveredLatch.await(5, TimeUnit.SECONDS));
+        assertTrue(threadNames.get(0).startsWith(UncaughtGuardExecutorTraceDispatcher.THREAD_NAME_PREFIX));
+        assertEquals(0, dispatcher.getRejectedTracesCount());
+    }
+
+    @Test
+    void dispatch_dropNewest_discardsIncomingTrace() throws InterruptedException {
+        dispatcher = buildDispatcher(UncaughtGuardDispatchOverflowPolicy.DROP_NEWEST);
+        UncaughtGuardExceptionTrace queued = fillDispatcher(dispatcher);
+        UncaughtGuardExceptionTrace overflowing = mock(UncaughtGuardExceptionTrace.class);
+
+        dispatcher.dispatch(overflowing);
+        releaseWorker.countDown();
+        dispatcher.shutdown();
+
+        assertEquals(1, dispatcher.getRejectedTracesCount());
+        assertEquals(1, dispatcher.getDroppedTracesCount());
+        assertEquals(0, dispatcher.getDegradedTracesCount());
+        awaitDelivered(2);
+        assertTrue(delivered.contains(queued));
+        assertFalse(delivered.contains(overflowing));
+    }
+
+    @Test
+    void dispatch_dropOldest_discardsQueuedTrace() throws InterruptedException {
+        dispatcher = buildDispatcher(UncaughtGuardDispatchOverflowPolicy.DROP_OLDEST);
+        UncaughtGuardExceptionTrace queued = fillDispatcher(dispatcher);
+        UncaughtGuardExceptionTrace overflowing = mock(UncaughtGuardExceptionTrace.class);
+
+        dispatcher.dispatch(overflowing);
+        releaseWorker.countDown();
+
+        assertEquals(1, dispatcher.getRejectedTracesCount());
+        assertEquals(1, dispatcher.getDroppedTracesCount());
+        awaitDelivered(2);
+        assertFalse(delivered.contains(queued));
+        assertTrue(delivered.contains(overflowing));
+    }
+
+    @Test
+    void dispatch_callerRunsDegraded_logsOnCallingThread() throws InterruptedException {
+        dispatcher = buildDispatcher(UncaughtGuardDispatchOverflowPolicy.CALLER_RUNS_DEGRADED);
+        fillDispatcher(dispatcher);
+        UncaughtGuardExceptionTrace overflowing = mock(UncaughtGuardExceptionTrace.class);
+
+        dispatcher.dispatch(overflowing);
+
+        assertEquals(1, dispatcher.getRejectedTracesCount());
+        assertEquals(0, dispatcher.getDroppedTracesCount());
+        assertEquals(1, dispatcher.getDegradedTracesCount());
+        assertEquals(List.of(overflowing), degraded);
+    }
+
+    @Test
+    void constructor_invalidSizes_throw() {
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardExecutorTraceDispatcher(0, 1, UncaughtGuardDispatchOverflowPolicy.DROP_NEWEST, t -> {
+        }, t -> {
+        }));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardExecutorTraceDispatcher(1, 0, UncaughtGuardDispatchOverflowPolicy.DROP_NEWEST, t -> {
+        }, t -> {
+        }));
+    }
+
+    private void awaitDelivered(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (delivered.size() < expected && System.nanoTime() < deadline)
+            Thread.sleep(10);
+        assertEquals(expected, delivered.size());
+    }
+
+    @Test
+    void drain_deliveredWithinTimeout_returnsNoTraces() throws InterruptedException {
+        dispatcher = buildDispatcher(UncaughtGuardDispatchOverflowPolicy.DROP_NEWEST);
+        fillDispatcher(dispatcher);
+        releaseWorker.countDown();
+
+        assertTrue(dispatcher.drain(5000).isEmpty());
+        assertEquals(2, delivered.size());
+    }
+
+    @Test
+    void drain_timeoutExpired_returnsQueuedAndInFlightTraces() throws InterruptedException {
+        dispatcher = buildDispatcher(UncaughtGuardDispatchOverflowPolicy.DROP_NEWEST);
+        UncaughtGuardExceptionTrace queued = fillDispatcher(dispatcher);
+        UncaughtGuardExceptionTrace inFlight = delivered.get(0);
+
+        List<UncaughtGuardExceptionTrace> undelivered = dispatcher.drain(50);
+
+        assertEquals(2, undelivered.size());
+        assertTrue(undelivered.containsAll(List.of(queued, inFlight)));
+
+        // traces dispatched after the drain are not accepted anymore
+        dispatcher.dispatch(mock(UncaughtGuardExceptionTrace.class));
+        assertEquals(1, dispatcher.getDroppedTracesCount());
+    }
+}
@@ -0,0 +1,180 @@
+package com.velluto.uncaughtguard.dispatchers;
+
+import com.velluto.uncaughtguard.fingerprints.UncaughtGuardExceptionFingerprinter;
+import com.velluto.uncaughtguard.fingerprints.UncaughtGuardSeenFingerprints;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UncaughtGuardNoveltyPriorityTraceDispatcherTest {
+    private final UncaughtGuardTraceDispatcher bulkDispatcher = mock(UncaughtGuardTraceDispatcher.class);
+    private final List<UncaughtGuardExceptionTrace> delivered = new CopyOnWriteArrayList<>();
+    private final List<String> deliveryThreads = new CopyOnWriteArrayList<>();
+    private UncaughtGuardNoveltyPriorityTraceDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null)
+            dispatcher.shutdown();
+    }
+
+    private UncaughtGuardNoveltyPriorityTraceDispatcher buildDispatcher(CountDownLatch deliveredLatch) {
+        return new UncaughtGuardNoveltyPriorityTraceDispatcher(
+                bulkDispatcher,
+                new UncaughtGuardExceptionFingerprinter(3),
+                new UncaughtGuardSeenFingerprints(1 << 16, 4),
+                100,
+                10,
+                trace -> {
+                    delivered.add(trace);
+                    deliveryThreads.add(Thread.currentThread().getName());
+                    deliveredLatch.countDown();
+                }
+        );
+    }
+
+    private static UncaughtGuardExceptionTrace trace(String path) {
+        return new UncaughtGuardExceptionTrace(LocalDateTime.now(), UUID.randomUUID(), "GET", path, Map.of(), Map.of(), "", List.of(), new IllegalStateException("failure"));
+    }
+
+    @Test
+    void dispatch_unseenFingerprint_goesToPriorityLane() throws InterruptedException {
+        CountDownLatch deliveredLatch = new CountDownLatch(2);
+        dispatcher = buildDispatcher(deliveredLatch);
+        UncaughtGuardExceptionTrace orders = trace("/orders");
+        UncaughtGuardExceptionTrace customers = trace("/customers");
+
+        dispatcher.dispatch(orders);
+        dispatcher.dispatch(customers);
+
+        assertTrue(deliveredLatch.await(5, TimeUnit.SECONDS));
+        assertTrue(delivered.containsAll(List.of(orders, customers)));
+        assertTrue(deliveryThreads.stream().allMatch(UncaughtGuardNoveltyPriorityTraceDispatcher.THREAD_NAME::equals));
+        assertEquals(2, dispatcher.getPriorityTracesCount());
+        verify(bulkDispatcher, never()).dispatch(any());
+    }
+
+    @Test
+    void dispatch_seenFingerprint_goesToBulkDispatcher() throws InterruptedException {
+        CountDownLatch deliveredLatch = new CountDownLatch(1);
+        dispatcher = buildDispatcher(deliveredLatch);
+        dispatcher.dispatch(trace("/orders"));
+        assertTrue(deliveredLatch.await(5, TimeUnit.SECONDS));
+
+        UncaughtGuardExceptionTrace repeated = trace("/orders");
+        dispatcher.dispatch(repeated);
+
+        verify(bulkDispatcher, timeout(5000).times(1)).dispatch(repeated);
+        assertEquals(1, dispatcher.getPriorityTracesCount());
+    }
+
+    @Test
+    void dispatch_fingerprintsOffTheCallingThread() throws InterruptedException {
+        CountDownLatch deliveredLatch = new CountDownLatch(1);
+        List<String> fingerprintingThreads = new CopyOnWriteArrayList<>();
+        UncaughtGuardExceptionFingerprinter fingerprinter = new UncaughtGuardExceptionFingerprinter(3) {
+            @Override
+            public long fingerprint(UncaughtGuardExceptionTrace trace) {
+                fingerprintingThreads.add(Thread.currentThread().getName());
+                return super.fingerprint(trace);
+            }
+        };
+        dispatcher = new UncaughtGuardNoveltyPriorityTraceDispatcher(bulkDispatcher, fingerprinter, new UncaughtGuardSeenFingerprints(1 << 16, 4), 100, 10, trace -> deliveredLatch.countDown());
+
+        dispatcher.dispatch(trace("/orders"));
+
+        assertTrue(deliveredLatch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(UncaughtGuardNoveltyPriorityTraceDispatcher.CLASSIFIER_THREAD_NAME), fingerprintingThreads);
+    }
+
+    @Test
+    void dispatch_afterShutdown_goesToBulkDispatcherWithoutFingerprint() {
+        UncaughtGuardExceptionFingerprinter fingerprinter = mock(UncaughtGuardExceptionFingerprinter.class);
+        dispatcher = new UncaughtGuardNoveltyPriorityTraceDispatcher(bulkDispatcher, fingerprinter, new UncaughtGuardSeenFingerprints(1 << 16, 4), 1, 10, trace -> {
+        });
+        dispatcher.shutdown();
+
+        UncaughtGuardExceptionTrace trace = trace("/orders");
+        dispatcher.dispatch(trace);
+
+        verify(bulkDispatcher, times(1)).dispatch(trace);
+        verify(fingerprinter, never()).fingerprint(any());
+    }
+
+    @Test
+    void drain_idleDispatcher_returnsWithoutWaitingForTheTimeout() {
+        when(bulkDispatcher.drain(anyLong())).thenReturn(List.of());
+        dispatcher = buildDispatcher(new CountDownLatch(0));
+
+        long start = System.nanoTime();
+        dispatcher.drain(5000);
+
+        // the parked threads are woken up by the drain, they do not wait for a polling interval or the timeout
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+    }
+
+    @Test
+    void drain_returnsUndeliveredTracesOfBothLanes() {
+        UncaughtGuardExceptionTrace bulkTrace = trace("/orders");
+        when(bulkDispatcher.drain(anyLong())).thenReturn(List.of(bulkTrace));
+        dispatcher = buildDispatcher(new CountDownLatch(0));
+
+        List<UncaughtGuardExceptionTrace> undelivered = dispatcher.drain(100);
+
+        assertEquals(List.of(bulkTrace), undelivered);
+        verify(bulkDispatcher, times(1)).drain(anyLong());
+    }
+
+    @Test
+    void drain_classifierStuck_returnsItsTracesWithoutHandingThemToTheStoppedBulkDispatcher() throws InterruptedException {
+        CountDownLatch fingerprinting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        UncaughtGuardExceptionFingerprinter fingerprinter = new UncaughtGuardExceptionFingerprinter(3) {
+            @Override
+            public long fingerprint(UncaughtGuardExceptionTrace trace) {
+                fingerprinting.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    // the drain interrupts the abandoned classifier, keep fingerprinting like a non-interruptible computation
+                }
+                return super.fingerprint(trace);
+            }
+        };
+        dispatcher = new UncaughtGuardNoveltyPriorityTraceDispatcher(bulkDispatcher, fingerprinter, new UncaughtGuardSeenFingerprints(1 << 16, 4), 100, 10, trace -> {
+        });
+        UncaughtGuardExceptionTrace classifying = trace("/orders");
+        UncaughtGuardExceptionTrace queued = trace("/customers");
+        dispatcher.dispatch(classifying);
+        assertTrue(fingerprinting.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(queued);
+
+        List<UncaughtGuardExceptionTrace> undelivered = dispatcher.drain(100);
+        release.countDown();
+
+        assertEquals(List.of(classifying, queued), undelivered);
+        Thread.sleep(100);
+        verify(bulkDispatcher, never()).dispatch(any());
+    }
+
+    @Test
+    void constructor_invalidCapacity_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardNoveltyPriorityTraceDispatcher(
+                bulkDispatcher, new UncaughtGuardExceptionFingerprinter(3), new UncaughtGuardSeenFingerprints(64, 1), 10, 0, trace -> {
+        }));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardNoveltyPriorityTraceDispatcher(
+                bulkDispatcher, new UncaughtGuardExceptionFingerprinter(3), new UncaughtGuardSeenFingerprints(64, 1), 0, 10, trace -> {
+        }));
+    }
+}
@@ -0,0 +1,196 @@
+package com.velluto.uncaughtguard.dispatchers;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class UncaughtGuardRingBufferTraceDispatcherTest {
+    private final List<UncaughtGuardExceptionTrace> degraded = new CopyOnWriteArrayList<>();
+    private UncaughtGuardRingBufferTraceDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null)
+            dispatcher.shutdown();
+    }
+
+    @Test
+    void constructor_roundsCapacityToPowerOfTwo() {
+        dispatcher = new UncaughtGuardRingBufferTraceDispatcher(100, UncaughtGuardDispatchOverflowPolicy.DROP_NEWEST, UncaughtGuardRingBufferWaitStrategy.PARK, t -> {
+        }, degraded::add);
+        assertEquals(128, dispatcher.getCapacity());
+    }
+
+    @ParameterizedTest
+    @EnumSource(UncaughtGuardRingBufferWaitStrategy.class)
+    void dispatch_concurrentProducers_allTracesDelivered(UncaughtGuardRingBufferWaitStrategy waitStrategy) throws InterruptedException {
+        int producers = 4;
+        int tracesPerProducer = 250;
+        Set<UncaughtGuardExceptionTrace> delivered = ConcurrentHashMap.newKeySet();
+        CountDownLatch deliveredLatch = new CountDownLatch(producers * tracesPerProducer);
+        dispatcher = new UncaughtGuardRingBufferTraceDispatcher(producers * tracesPerProducer, UncaughtGuardDispatchOverflowPolicy.DROP_NEWEST, waitStrategy, trace -> {
+            delivered.add(trace);
+            deliveredLatch.countDown();
+        }, degraded::add);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            List<UncaughtGuardExceptionTrace> traces = new ArrayList<>();
+            for (int i = 0; i < tracesPerProducer; i++)
+                traces.add(mock(UncaughtGuardExceptionTrace.class));
+            Thread thread = new Thread(() -> traces.forEach(dispatcher::dispatch));
+            threads.add(thread);
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads)
+            thread.join();
+
+        assertTrue(deliveredLatch.await(10, TimeUnit.SECONDS));
+        assertEquals(producers * tracesPerProducer, delivered.size());
+        assertEquals(0, dispatcher.getRejectedTracesCount());
+    }
+
+    @Test
+    void dispatch_fullRingBuffer_appliesOverflowPolicy() throws InterruptedException {
+        CountDownLatch consumerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseConsumer = new CountDownLatch(1);
+        dispatcher = new UncaughtGuardRingBufferTraceDispatcher(1, UncaughtGuardDispatchOverflowPolicy.CALLER_RUNS_DEGRADED, UncaughtGuardRingBufferWaitStrategy.PARK, trace -> {
+            consumerBlocked.countDown();
+            try {
+                releaseConsumer.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, degraded::add);
+
+        // the first trace is taken by the consumer, the second fills the only slot, the third overflows
+        dispatcher.dispatch(mock(UncaughtGuardExceptionTrace.class));
+        assertTrue(consumerBlocked.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(mock(UncaughtGuardExceptionTrace.class));
+        UncaughtGuardExceptionTrace overflowing = mock(UncaughtGuardExceptionTrace.class);
+        dispatcher.dispatch(overflowing);
+        releaseConsumer.countDown();
+
+        assertEquals(1, dispatcher.getRejectedTracesCount());
+        assertEquals(1, dispatcher.getDegradedTracesCount());
+        assertEquals(0, dispatcher.getDroppedTracesCount());
+        assertEquals(List.of(overflowing), degraded);
+    }
+
+    @Test
+    void dispatch_afterShutdown_isRejected() {
+        dispatcher = new UncaughtGuardRingBufferTraceDispatcher(8, UncaughtGuardDispatchOverflowPolicy.DROP_OLDEST, UncaughtGuardRingBufferWaitStrategy.YIELD, t -> {
+        }, degraded::add);
+        dispatcher.shutdown();
+
+        dispatcher.dispatch(mock(UncaughtGuardExceptionTrace.class));
+
+        assertEquals(1, dispatcher.getRejectedTracesCount());
+        assertEquals(1, dispatcher.getDroppedTracesCount());
+    }
+
+    @Test
+    void drain_deliveredWithinTimeout_returnsNoTraces() {
+        List<UncaughtGuardExceptionTrace> delivered = new CopyOnWriteArrayList<>();
+        dispatcher = new UncaughtGuardRingBufferTraceDispatcher(8, UncaughtGuardDispatchOverflowPolicy.DROP_NEWEST, UncaughtGuardRingBufferWaitStrategy.PARK, delivered::add, degraded::add);
+        for (int i = 0; i < 5; i++)
+            dispatcher.dispatch(mock(UncaughtGuardExceptionTrace.class));
+
+        assertTrue(dispatcher.drain(5000).isEmpty());
+        assertEquals(5, delivered.size());
+    }
+
+    @Test
+    void drain_timeoutExpired_returnsUndeliveredTraces() throws InterruptedException {
+        CountDownLatch consumerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseConsumer = new CountDownLatch(1);
+        dispatcher = new UncaughtGuardRingBufferTraceDispatcher(8, UncaughtGuardDispatchOverflowPolicy.DROP_NEWEST, UncaughtGuardRingBufferWaitStrategy.PARK, trace -> {
+            consumerBlocked.countDown();
+            try {
+                releaseConsumer.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, degraded::add);
+
+        UncaughtGuardExceptionTrace inFlight = mock(UncaughtGuardExceptionTrace.class);
+        dispatcher.dispatch(inFlight);
+        assertTrue(consumerBlocked.await(5, TimeUnit.SECONDS));
+        UncaughtGuardExceptionTrace queued = mock(UncaughtGuardExceptionTrace.class);
+        dispatcher.dispatch(queued);
+
+        List<UncaughtGuardExceptionTrace> undelivered = dispatcher.drain(50);
+        releaseConsumer.countDown();
+
+        assertEquals(2, undelivered.size());
+        assertTrue(undelivered.containsAll(List.of(inFlight, queued)));
+    }
+
+    @Test
+    void drain_producerPublishingAfterTheSweep_rejectsItsTrace() {
+        List<UncaughtGuardExceptionTrace> dropped = new CopyOnWriteArrayList<>();
+        dispatcher = new UncaughtGuardRingBufferTraceDispatcher(8, UncaughtGuardDispatchOverflowPolicy.DROP_NEWEST, UncaughtGuardRingBufferWaitStrategy.PARK, t -> {
+        }, degraded::add, dropped::add);
+        assertTrue(dispatcher.drain(5000).isEmpty());
+
+        // a producer that checked the dispatcher was running before the drain, and claims its slot after it
+        UncaughtGuardExceptionTrace late = mock(UncaughtGuardExceptionTrace.class);
+        dispatcher.publish(late);
+
+        assertEquals(List.of(late), dropped);
+        assertEquals(1, dispatcher.getDroppedTracesCount());
+    }
+
+    @Test
+    void drain_concurrentProducers_everyTraceIsDeliveredReturnedOrRejected() throws InterruptedException {
+        UncaughtGuardExceptionTrace trace = mock(UncaughtGuardExceptionTrace.class);
+        for (int round = 0; round < 50; round++) {
+            int producers = 4;
+            LongAdder dispatched = new LongAdder();
+            LongAdder delivered = new LongAdder();
+            LongAdder dropped = new LongAdder();
+            dispatcher = new UncaughtGuardRingBufferTraceDispatcher(1024, UncaughtGuardDispatchOverflowPolicy.DROP_NEWEST, UncaughtGuardRingBufferWaitStrategy.BUSY_SPIN, t -> delivered.increment(), degraded::add, t -> dropped.increment());
+            UncaughtGuardRingBufferTraceDispatcher roundDispatcher = dispatcher;
+
+            AtomicBoolean drained = new AtomicBoolean();
+            CountDownLatch started = new CountDownLatch(producers);
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                Thread thread = new Thread(() -> {
+                    started.countDown();
+                    // keep publishing while the drain runs, and a little after it returned
+                    for (int afterDrain = 0; afterDrain < 100; afterDrain += drained.get() ? 1 : 0) {
+                        roundDispatcher.dispatch(trace);
+                        dispatched.increment();
+                    }
+                });
+                threads.add(thread);
+            }
+            threads.forEach(Thread::start);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            List<UncaughtGuardExceptionTrace> undelivered = dispatcher.drain(5000);
+            drained.set(true);
+            for (Thread thread : threads)
+                thread.join();
+
+            assertEquals(dispatched.sum(), delivered.sum() + undelivered.size() + dropped.sum());
+            assertEquals(dropped.sum(), dispatcher.getDroppedTracesCount());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.velluto.uncaughtguard.filters;
+
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import com.velluto.uncaughtguard.wrappers.UncaughtGuardBoundedContentCachingRequestWrapper;
+import com.velluto.uncaughtguard.wrappers.UncaughtGuardPooledBodyCachingRequestWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import jakarta.servlet.FilterChain;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UncaughtGuardContentRequestCachingFilterTest {
+    private UncaughtGuardProperties properties;
+    private UncaughtGuardContentRequestCachingFilter filter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = mock(UncaughtGuardProperties.class);
+        when(properties.getCapturedBodyContentTypes()).thenReturn(new String[0]);
+        when(properties.getRequestBodyMaxBytes()).thenReturn(0);
+        when(properties.getBodyCaptureIncludedHttpMethods()).thenReturn(new RequestMethod[0]);
+        when(properties.getBodyCaptureExcludedHttpMethods()).thenReturn(new RequestMethod[0]);
+        when(properties.getBodyCaptureIncludedPathPatterns()).thenReturn(new String[0]);
+        when(properties.getBodyCaptureExcludedPathPatterns()).thenReturn(new String[0]);
+        filter = new UncaughtGuardContentRequestCachingFilter();
+
+        // inject mocks via reflection
+        var propField = UncaughtGuardContentRequestCachingFilter.class.getDeclaredField("properties");
+        propField.setAccessible(true);
+        propField.set(filter, properties);
+    }
+
+    private static MockHttpServletRequest request(String contentType) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        request.setContentType(contentType);
+        request.setContent(new byte[]{1, 2, 3});
+        return request;
+    }
+
+    private static MockHttpServletRequest requestInContext(String contextPath, String requestUri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", requestUri);
+        request.setContextPath(contextPath);
+        return request;
+    }
+
+    @Test
+    void testAllBodiesAreCachedByDefault() throws Exception {
+        filter.init();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("application/octet-stream"), new MockHttpServletResponse(), chain);
+
+        assertInstanceOf(UncaughtGuardBoundedContentCachingRequestWrapper.class, chain.getRequest());
+    }
+
+    @Test
+    void testOnlyCapturedContentTypesAreCached() throws Exception {
+        when(properties.getCapturedBodyContentTypes()).thenReturn(new String[]{"application/json", "text/*"});
+        filter.init();
+
+        assertTrue(filter.isBodyCaptured(request("application/json;charset=UTF-8")));
+        assertTrue(filter.isBodyCaptured(request("text/plain")));
+        assertFalse(filter.isBodyCaptured(request("multipart/form-data; boundary=x")));
+        assertFalse(filter.isBodyCaptured(request(null)));
+        assertFalse(filter.isBodyCaptured(request("not a content type")));
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletRequest binaryRequest = request("application/octet-stream");
+        filter.doFilter(binaryRequest, new MockHttpServletResponse(), chain);
+        assertSame(binaryRequest, chain.getRequest());
+    }
+
+    @Test
+    void testBodyCacheIsBounded() throws Exception {
+        when(properties.getRequestBodyMaxBytes()).thenReturn(16);
+        filter.init();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("application/json"), new MockHttpServletResponse(), chain);
+
+        UncaughtGuardBoundedContentCachingRequestWrapper wrappedRequest = (UncaughtGuardBoundedContentCachingRequestWrapper) chain.getRequest();
+        assertEquals(16, wrappedRequest.getContentCacheLimit());
+    }
+
+    @Test
+    void testOnlyCapturedRoutesAreCached() throws Exception {
+        when(properties.getBodyCaptureExcludedHttpMethods()).thenReturn(new RequestMethod[]{RequestMethod.GET});
+        when(properties.getBodyCaptureIncludedPathPatterns()).thenReturn(new String[]{"/api/**"});
+        when(properties.getBodyCaptureExcludedPathPatterns()).thenReturn(new String[]{"/api/uploads/**"});
+        filter.init();
+
+        assertTrue(filter.isRouteCaptured(new MockHttpServletRequest("POST", "/api/orders")));
+        assertFalse(filter.isRouteCaptured(new MockHttpServletRequest("GET", "/api/orders")));
+        assertFalse(filter.isRouteCaptured(new MockHttpServletRequest("POST", "/api/uploads/1")));
+        assertFalse(filter.isRouteCaptured(new MockHttpServletRequest("POST", "/actuator/health")));
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletRequest healthRequest = new MockHttpServletRequest("POST", "/actuator/health");
+        filter.doFilter(healthRequest, new MockHttpServletResponse(), chain);
+        assertSame(healthRequest, chain.getRequest());
+    }
+
+    @Test
+    void testCapturedRoutesIgnoreContextPath() throws Exception {
+        when(properties.getBodyCaptureIncludedPathPatterns()).thenReturn(new String[]{"/api/**"});
+        when(properties.getBodyCaptureExcludedPathPatterns()).thenReturn(new String[]{"/api/uploads/**"});
+        filter.init();
+
+        assertTrue(filter.isRouteCaptured(requestInContext("/shop", "/shop/api/orders")));
+        assertFalse(filter.isRouteCaptured(requestInContext("/shop", "/shop/api/uploads/1")));
+        assertFalse(filter.isRouteCaptured(requestInContext("/api", "/api/actuator/health")));
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletRequest uploadRequest = requestInContext("/shop", "/shop/api/uploads/1");
+        filter.doFilter(uploadRequest, new MockHttpServletResponse(), chain);
+        assertSame(uploadRequest, chain.getRequest());
+    }
+
+    @Test
+    void testOnlyIncludedHttpMethodsAreCached() throws Exception {
+        when(properties.getBodyCaptureIncludedHttpMethods()).thenReturn(new RequestMethod[]{RequestMethod.POST, RequestMethod.PUT});
+        filter.init();
+
+        assertTrue(filter.isRouteCaptured(new MockHttpServletRequest("PUT", "/orders/1")));
+        assertFalse(filter.isRouteCaptured(new MockHttpServletRequest("DELETE", "/orders/1")));
+    }
+
+    @Test
+    void testPooledBodiesAreReleasedOnCompletion() throws Exception {
+        when(properties.getBodyBufferPoolSlabCount()).thenReturn(2);
+        when(properties.getBodyBufferPoolSlabSizeBytes()).thenReturn(16);
+        filter.init();
+
+        FilterChain chain = (request, response) -> {
+            assertInstanceOf(UncaughtGuardPooledBodyCachingRequestWrapper.class, request);
+            request.getInputStream().readAllBytes();
+            assertEquals(1, filter.getBodyBufferPool().getAvailableSlabsCount());
+        };
+        filter.doFilter(request("application/json"), new MockHttpServletResponse(), chain);
+
+        assertEquals(2, filter.getBodyBufferPool().getAvailableSlabsCount());
+    }
+
+    @Test
+    void testFormPostsAreCachedOnHeap() throws Exception {
+        when(properties.getBodyBufferPoolSlabCount()).thenReturn(2);
+        when(properties.getBodyBufferPoolSlabSizeBytes()).thenReturn(16);
+        filter.init();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("application/x-www-form-urlencoded"), new MockHttpServletResponse(), chain);
+
+        assertInstanceOf(UncaughtGuardBoundedContentCachingRequestWrapper.class, chain.getRequest());
+    }
+}
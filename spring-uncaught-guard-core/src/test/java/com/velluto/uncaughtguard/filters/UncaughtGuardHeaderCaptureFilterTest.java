@@ -0,0 +1,77 @@
+package com.velluto.uncaughtguard.filters;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UncaughtGuardHeaderCaptureFilterTest {
+    private final UncaughtGuardHeaderCaptureFilter filter = new UncaughtGuardHeaderCaptureFilter();
+
+    private static MockHttpServletRequest requestWithHeaders() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/test");
+        request.addHeader("Content-Type", "application/json");
+        request.addHeader("Authorization", "Bearer secret");
+        request.addHeader("X-B3-TraceId", "80f198ee56343ba864fe8b2a57d3eff7");
+        request.addHeader("Cookie", "session=abc");
+        return request;
+    }
+
+    @Test
+    void testAllHeadersAreCapturedByDefault() {
+        String[] captured = filter.captureHeaders(requestWithHeaders());
+
+        assertEquals(8, captured.length);
+    }
+
+    @Test
+    void testExcludedHeadersAreNotCaptured() {
+        filter.configure(new String[0], new String[]{"authorization", "COOKIE"}, 0, 0);
+
+        assertArrayEquals(
+                new String[]{"Content-Type", "application/json", "X-B3-TraceId", "80f198ee56343ba864fe8b2a57d3eff7"},
+                filter.captureHeaders(requestWithHeaders())
+        );
+    }
+
+    @Test
+    void testCapturedHeadersAreMatchedByPrefix() {
+        filter.configure(new String[]{"x-b3-*", "content-type"}, new String[0], 0, 0);
+
+        assertTrue(filter.isCaptured("X-B3-SpanId"));
+        assertTrue(filter.isCaptured("Content-Type"));
+        assertFalse(filter.isCaptured("Authorization"));
+        assertEquals(4, filter.captureHeaders(requestWithHeaders()).length);
+    }
+
+    @Test
+    void testExactCapturedHeadersAreRequestedWithoutEnumeration() {
+        filter.configure(new String[]{"Content-Type"}, new String[0], 0, 0);
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getHeader("content-type")).thenReturn("application/json");
+
+        assertArrayEquals(new String[]{"content-type", "application/json"}, filter.captureHeaders(request));
+        verify(request, never()).getHeaderNames();
+    }
+
+    @Test
+    void testLongValuesAreTruncated() {
+        filter.configure(new String[]{"authorization"}, new String[0], 6, 0);
+
+        String[] captured = filter.captureHeaders(requestWithHeaders());
+
+        assertEquals("Bearer" + UncaughtGuardHeaderCaptureFilter.TRUNCATION_MARKER, captured[1]);
+    }
+
+    @Test
+    void testHeadersStopBeingCapturedOverTotalBytes() {
+        filter.configure(new String[0], new String[0], 0, 40);
+
+        String[] captured = filter.captureHeaders(requestWithHeaders());
+
+        // Content-Type (28 bytes) fits, Authorization (26 bytes) would exceed the cap
+        assertArrayEquals(new String[]{"Content-Type", "application/json"}, captured);
+    }
+}
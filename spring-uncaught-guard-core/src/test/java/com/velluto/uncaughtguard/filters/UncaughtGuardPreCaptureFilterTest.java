@@ -0,0 +1,95 @@
+package com.velluto.uncaughtguard.filters;
+
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import com.velluto.uncaughtguard.utils.UncaughtGuardExceptionUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class UncaughtGuardPreCaptureFilterTest {
+    private UncaughtGuardPreCaptureFilter filter;
+    private UncaughtGuardProperties properties;
+    private UncaughtGuardExceptionUtils exceptionUtils;
+    private HttpServletRequest request;
+    private RuntimeException exception;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        filter = new UncaughtGuardPreCaptureFilter();
+        properties = mock(UncaughtGuardProperties.class);
+        exceptionUtils = mock(UncaughtGuardExceptionUtils.class);
+        request = mock(HttpServletRequest.class);
+        exception = new IllegalStateException("Test exception");
+        when(properties.getExcludedHttpMethods()).thenReturn(new RequestMethod[]{RequestMethod.OPTIONS});
+        when(properties.getExcludedPathPatterns()).thenReturn(new String[]{"/actuator/**"});
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn("/orders/42");
+
+        var propField = UncaughtGuardPreCaptureFilter.class.getDeclaredField("properties");
+        propField.setAccessible(true);
+        propField.set(filter, properties);
+        var utilsField = UncaughtGuardPreCaptureFilter.class.getDeclaredField("exceptionUtils");
+        utilsField.setAccessible(true);
+        utilsField.set(filter, exceptionUtils);
+        filter.init();
+    }
+
+    @Test
+    void isExcluded_regularRequest_isCaptured() {
+        assertFalse(filter.isExcluded(exception, request));
+    }
+
+    @Test
+    void isExcluded_excludedException() {
+        when(exceptionUtils.isExceptionExcluded(exception)).thenReturn(true);
+
+        assertTrue(filter.isExcluded(exception, request));
+        verify(request, never()).getRequestURI();
+    }
+
+    @Test
+    void isExcluded_excludedHttpMethod() {
+        when(request.getMethod()).thenReturn("OPTIONS");
+
+        assertTrue(filter.isExcluded(exception, request));
+    }
+
+    @Test
+    void isExcluded_excludedPathPattern() {
+        when(request.getRequestURI()).thenReturn("/actuator/health");
+
+        assertTrue(filter.isExcluded(exception, request));
+    }
+
+    @Test
+    void isExcluded_excludedPathPattern_ignoresContextPath() {
+        when(request.getContextPath()).thenReturn("/shop");
+        when(request.getRequestURI()).thenReturn("/shop/actuator/health");
+
+        assertTrue(filter.isExcluded(exception, request));
+    }
+
+    @Test
+    void isExcluded_contextPathAlone_isNotMatched() {
+        when(properties.getExcludedPathPatterns()).thenReturn(new String[]{"/shop/**"});
+        filter.init();
+        when(request.getContextPath()).thenReturn("/shop");
+        when(request.getRequestURI()).thenReturn("/shop/orders/42");
+
+        assertFalse(filter.isExcluded(exception, request));
+    }
+
+    @Test
+    void isExcluded_onlyReadsRequestLine() throws Exception {
+        filter.isExcluded(exception, request);
+
+        verify(request, never()).getHeaderNames();
+        verify(request, never()).getQueryString();
+        verify(request, never()).getInputStream();
+    }
+}
@@ -0,0 +1,84 @@
+package com.velluto.uncaughtguard.fingerprints;
+
+import com.velluto.uncaughtguard.exceptions.UncaughtGuardRestoredException;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UncaughtGuardExceptionFingerprinterTest {
+    private final UncaughtGuardExceptionFingerprinter fingerprinter = new UncaughtGuardExceptionFingerprinter(2);
+
+    private static UncaughtGuardExceptionTrace trace(String method, String path, RuntimeException exception) {
+        return new UncaughtGuardExceptionTrace(LocalDateTime.now(), UUID.randomUUID(), method, path, Map.of(), Map.of(), "", List.of(), exception);
+    }
+
+    private static RuntimeException exception(String message, StackTraceElement... frames) {
+        RuntimeException exception = new IllegalStateException(message);
+        exception.setStackTrace(frames);
+        return exception;
+    }
+
+    private static StackTraceElement frame(String className, String methodName, int line) {
+        return new StackTraceElement(className, methodName, className + ".java", line);
+    }
+
+    @Test
+    void fingerprint_ignoresRequestSpecificData() {
+        long first = fingerprinter.fingerprint(trace("GET", "/orders/42", exception("Order 42 not found for 3f2504e0-4f89-11d3-9a0c-0305e82c3301", frame("a.Service", "find", 10))));
+        long second = fingerprinter.fingerprint(trace("GET", "/orders/1337", exception("Order 1337 not found for 6ba7b810-9dad-11d1-80b4-00c04fd430c8", frame("a.Service", "find", 12))));
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void fingerprint_distinguishesFailureModes() {
+        StackTraceElement top = frame("a.Service", "find", 10);
+        long reference = fingerprinter.fingerprint(trace("GET", "/orders/42", exception("Order not found", top)));
+
+        assertNotEquals(reference, fingerprinter.fingerprint(trace("POST", "/orders/42", exception("Order not found", top))));
+        assertNotEquals(reference, fingerprinter.fingerprint(trace("GET", "/customers/42", exception("Order not found", top))));
+        assertNotEquals(reference, fingerprinter.fingerprint(trace("GET", "/orders/42", exception("Order locked", top))));
+        assertNotEquals(reference, fingerprinter.fingerprint(trace("GET", "/orders/42", exception("Order not found", frame("a.Service", "save", 10)))));
+        assertNotEquals(reference, fingerprinter.fingerprint(trace("GET", "/orders/42", new IllegalArgumentException("Order not found"))));
+    }
+
+    @Test
+    void fingerprint_onlyConsidersTopFrames() {
+        long first = fingerprinter.fingerprint(trace("GET", "/", exception("x", frame("a.A", "a", 1), frame("b.B", "b", 1), frame("c.C", "c", 1))));
+        long second = fingerprinter.fingerprint(trace("GET", "/", exception("x", frame("a.A", "a", 1), frame("b.B", "b", 1), frame("d.D", "d", 1))));
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void fingerprint_restoredExceptionMatchesOriginal() {
+        StackTraceElement[] frames = {frame("a.Service", "find", 10)};
+        RuntimeException original = exception("Order not found", frames);
+        RuntimeException restored = new UncaughtGuardRestoredException(IllegalStateException.class.getName(), "Order not found", frames, null);
+
+        assertEquals(fingerprinter.fingerprint(trace("GET", "/orders", original)), fingerprinter.fingerprint(trace("GET", "/orders", restored)));
+    }
+
+    @Test
+    void normalizeMessage_replacesVariableParts() {
+        assertEquals("Timeout after <n> ms on <hex> for <uuid>", UncaughtGuardExceptionFingerprinter.normalizeMessage("Timeout after 3000 ms on 0x7ffe for 3f2504e0-4f89-11d3-9a0c-0305e82c3301"));
+        assertEquals("", UncaughtGuardExceptionFingerprinter.normalizeMessage(null));
+    }
+
+    @Test
+    void normalizePath_replacesIdentifierSegments() {
+        assertEquals("/orders/{}/items/{}", UncaughtGuardExceptionFingerprinter.normalizePath("/orders/42/items/3f2504e0-4f89-11d3-9a0c-0305e82c3301"));
+        assertEquals("/orders/latest", UncaughtGuardExceptionFingerprinter.normalizePath("/orders/latest"));
+    }
+
+    @Test
+    void constructor_negativeFrames_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardExceptionFingerprinter(-1));
+    }
+}
@@ -0,0 +1,45 @@
+package com.velluto.uncaughtguard.fingerprints;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UncaughtGuardSeenFingerprintsTest {
+    @Test
+    void markSeen_reportsOnlyFirstOccurrenceAsUnseen() {
+        UncaughtGuardSeenFingerprints seenFingerprints = new UncaughtGuardSeenFingerprints(1 << 16, 4);
+
+        assertTrue(seenFingerprints.markSeen(42L));
+        assertFalse(seenFingerprints.markSeen(42L));
+        assertTrue(seenFingerprints.markSeen(43L));
+        assertFalse(seenFingerprints.markSeen(43L));
+    }
+
+    @Test
+    void markSeen_fewFalsePositivesBelowCapacity() {
+        UncaughtGuardSeenFingerprints seenFingerprints = new UncaughtGuardSeenFingerprints(1 << 16, 4);
+
+        int falsePositives = 0;
+        for (long fingerprint = 0; fingerprint < 2000; fingerprint++) {
+            if (!seenFingerprints.markSeen(fingerprint * 0x9e3779b97f4a7c15L))
+                falsePositives++;
+        }
+        assertTrue(falsePositives < 10, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void markSeen_halfFullFilterIsCleared() {
+        UncaughtGuardSeenFingerprints seenFingerprints = new UncaughtGuardSeenFingerprints(64, 1);
+
+        for (long fingerprint = 0; fingerprint < 1000; fingerprint++) {
+            seenFingerprints.markSeen(fingerprint);
+            assertTrue(seenFingerprints.getFillRatio() <= 0.5);
+        }
+    }
+
+    @Test
+    void constructor_invalidArguments_throw() {
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardSeenFingerprints(63, 4));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardSeenFingerprints(64, 0));
+    }
+}
@@ -0,0 +1,65 @@
+package com.velluto.uncaughtguard.generators;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UncaughtGuardTimeOrderedTraceIdGeneratorTest {
+    @Test
+    void testTraceIdIsVersion7WithTimestamp() {
+        UncaughtGuardTimeOrderedTraceIdGenerator generator = new UncaughtGuardTimeOrderedTraceIdGenerator(-1, () -> 1_700_000_000_000L);
+
+        UUID traceId = generator.generate();
+
+        assertEquals(7, traceId.version());
+        assertEquals(2, traceId.variant());
+        assertEquals(1_700_000_000_000L, traceId.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void testTraceIdsAreOrderedWithinSameMillisecond() {
+        UncaughtGuardTimeOrderedTraceIdGenerator generator = new UncaughtGuardTimeOrderedTraceIdGenerator(-1, () -> 1_700_000_000_000L);
+
+        List<UUID> traceIds = new ArrayList<>();
+        for (int i = 0; i < 10000; i++)
+            traceIds.add(generator.generate());
+
+        for (int i = 1; i < traceIds.size(); i++)
+            assertTrue(Long.compareUnsigned(traceIds.get(i - 1).getMostSignificantBits(), traceIds.get(i).getMostSignificantBits()) < 0);
+        assertEquals(traceIds.size(), new HashSet<>(traceIds).size());
+    }
+
+    @Test
+    void testTraceIdsStayOrderedWhenClockMovesBackwards() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        UncaughtGuardTimeOrderedTraceIdGenerator generator = new UncaughtGuardTimeOrderedTraceIdGenerator(-1, clock::get);
+
+        UUID first = generator.generate();
+        clock.addAndGet(-1000);
+        UUID second = generator.generate();
+
+        assertTrue(Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits()) < 0);
+    }
+
+    @Test
+    void testNodeIdIsEmbedded() {
+        UncaughtGuardTimeOrderedTraceIdGenerator generator = new UncaughtGuardTimeOrderedTraceIdGenerator(0xBEEF);
+
+        UUID traceId = generator.generate(null);
+
+        assertEquals(2, traceId.variant());
+        assertEquals(0xBEEF, (traceId.getLeastSignificantBits() >>> 46) & 0xFFFF);
+    }
+
+    @Test
+    void testInvalidNodeIdIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardTimeOrderedTraceIdGenerator(0x10000));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardTimeOrderedTraceIdGenerator(-2));
+    }
+}
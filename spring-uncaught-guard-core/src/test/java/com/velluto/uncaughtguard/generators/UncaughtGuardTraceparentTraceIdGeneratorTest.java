@@ -0,0 +1,49 @@
+package com.velluto.uncaughtguard.generators;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UncaughtGuardTraceparentTraceIdGeneratorTest {
+    private static final UUID FALLBACK_TRACE_ID = UUID.fromString("00000000-0000-7000-8000-000000000001");
+
+    private final UncaughtGuardTraceparentTraceIdGenerator generator = new UncaughtGuardTraceparentTraceIdGenerator(request -> FALLBACK_TRACE_ID);
+
+    @Test
+    void testInboundTraceIdIsReused() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getHeader("traceparent")).thenReturn("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+        assertEquals(UUID.fromString("4bf92f35-77b3-4da6-a3ce-929d0e0e4736"), generator.generate(request));
+    }
+
+    @Test
+    void testFallbackIsUsedWithoutTraceparent() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+
+        assertEquals(FALLBACK_TRACE_ID, generator.generate(request));
+    }
+
+    @Test
+    void testInvalidTraceparentsAreRejected() {
+        assertNull(UncaughtGuardTraceparentTraceIdGenerator.parseTraceparent("00-00000000000000000000000000000000-00f067aa0ba902b7-01"));
+        assertNull(UncaughtGuardTraceparentTraceIdGenerator.parseTraceparent("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"));
+        assertNull(UncaughtGuardTraceparentTraceIdGenerator.parseTraceparent("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01"));
+        assertNull(UncaughtGuardTraceparentTraceIdGenerator.parseTraceparent("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-extra"));
+        assertNull(UncaughtGuardTraceparentTraceIdGenerator.parseTraceparent("00-4bf92f3577b34da6a3ce929d0e0e47-00f067aa0ba902b7-01"));
+        assertNull(UncaughtGuardTraceparentTraceIdGenerator.parseTraceparent(""));
+    }
+
+    @Test
+    void testFutureVersionsWithTrailingFieldsAreAccepted() {
+        assertEquals(
+                UUID.fromString("4bf92f35-77b3-4da6-a3ce-929d0e0e4736"),
+                UncaughtGuardTraceparentTraceIdGenerator.parseTraceparent("01-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-future")
+        );
+    }
+}
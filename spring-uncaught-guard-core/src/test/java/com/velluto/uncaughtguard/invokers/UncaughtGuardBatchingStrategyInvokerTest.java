@@ -0,0 +1,180 @@
+package com.velluto.uncaughtguard.invokers;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardBatchLoggingStrategy;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class UncaughtGuardBatchingStrategyInvokerTest {
+    private UncaughtGuardBatchingStrategyInvoker invoker;
+
+    @AfterEach
+    void tearDown() {
+        if (invoker != null)
+            invoker.shutdown();
+    }
+
+    static class BatchStrategy extends UncaughtGuardLoggingStrategy implements UncaughtGuardBatchLoggingStrategy {
+        private final List<List<UncaughtGuardExceptionTrace>> batches = Collections.synchronizedList(new ArrayList<>());
+        private final List<Thread> flushingThreads = Collections.synchronizedList(new ArrayList<>());
+        private final long traceBytes;
+        private final boolean failing;
+
+        BatchStrategy(long traceBytes, boolean failing) {
+            this.traceBytes = traceBytes;
+            this.failing = failing;
+        }
+
+        @Override
+        protected void log(UncaughtGuardExceptionTrace exceptionTrace) {
+            logBatch(List.of(exceptionTrace));
+        }
+
+        @Override
+        public void logBatch(List<UncaughtGuardExceptionTrace> exceptionTraces) {
+            if (failing)
+                throw new RuntimeException("Logging failed");
+            batches.add(exceptionTraces);
+            flushingThreads.add(Thread.currentThread());
+        }
+
+        @Override
+        public long estimateBatchBytes(UncaughtGuardExceptionTrace exceptionTrace) {
+            return traceBytes;
+        }
+    }
+
+    static class SingleTraceStrategy extends UncaughtGuardLoggingStrategy {
+        @Override
+        protected void log(UncaughtGuardExceptionTrace exceptionTrace) {
+        }
+    }
+
+    @Test
+    void constructor_invalidArguments_throwException() {
+        UncaughtGuardStrategyInvoker delegate = new UncaughtGuardSequentialStrategyInvoker();
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardBatchingStrategyInvoker(delegate, 0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardBatchingStrategyInvoker(delegate, 1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardBatchingStrategyInvoker(delegate, 1, 1, -1));
+    }
+
+    @Test
+    void invoke_batchReachesMaxSize_flushesOnCallingThread() {
+        invoker = new UncaughtGuardBatchingStrategyInvoker(new UncaughtGuardSequentialStrategyInvoker(), 3, Long.MAX_VALUE, 60000);
+        BatchStrategy strategy = new BatchStrategy(1, false);
+        List<Integer> completions = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < 3; i++)
+            invoker.invoke(mock(UncaughtGuardExceptionTrace.class), List.of(strategy), completions::add);
+
+        assertEquals(1, strategy.batches.size());
+        assertEquals(3, strategy.batches.get(0).size());
+        assertEquals(Thread.currentThread(), strategy.flushingThreads.get(0));
+        assertEquals(List.of(1, 1, 1), completions);
+    }
+
+    @Test
+    void invoke_bulkheadMode_flushesBatchInTheBulkheadOfTheStrategy() throws Exception {
+        invoker = new UncaughtGuardBatchingStrategyInvoker(new UncaughtGuardBulkheadStrategyInvoker(1, 1, 5000), 2, Long.MAX_VALUE, 60000);
+        BatchStrategy strategy = new BatchStrategy(1, false);
+        CompletableFuture<Integer> completion = new CompletableFuture<>();
+
+        invoker.invoke(mock(UncaughtGuardExceptionTrace.class), List.of(strategy), count -> {
+        });
+        invoker.invoke(mock(UncaughtGuardExceptionTrace.class), List.of(strategy), completion::complete);
+
+        assertEquals(1, completion.get(5, TimeUnit.SECONDS));
+        assertTrue(strategy.flushingThreads.get(0).getName().startsWith(UncaughtGuardBulkheadStrategyInvoker.THREAD_NAME_PREFIX));
+    }
+
+    @Test
+    void invoke_bulkheadMode_slowBatchIsTimedOutWithoutHoldingTheCallingThread() throws Exception {
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        BatchStrategy strategy = new BatchStrategy(1, false) {
+            @Override
+            public void logBatch(List<UncaughtGuardExceptionTrace> exceptionTraces) {
+                release.join();
+            }
+        };
+        invoker = new UncaughtGuardBatchingStrategyInvoker(new UncaughtGuardBulkheadStrategyInvoker(1, 1, 50), 1, Long.MAX_VALUE, 60000);
+        CompletableFuture<Integer> completion = new CompletableFuture<>();
+
+        invoker.invoke(mock(UncaughtGuardExceptionTrace.class), List.of(strategy), completion::complete);
+
+        assertFalse(completion.isDone());
+        assertEquals(0, completion.get(5, TimeUnit.SECONDS));
+        release.complete(null);
+    }
+
+    @Test
+    void invoke_batchReachesMaxBytes_flushes() {
+        invoker = new UncaughtGuardBatchingStrategyInvoker(new UncaughtGuardSequentialStrategyInvoker(), 100, 250, 60000);
+        BatchStrategy strategy = new BatchStrategy(100, false);
+
+        for (int i = 0; i < 3; i++)
+            invoker.invoke(mock(UncaughtGuardExceptionTrace.class), List.of(strategy), count -> {
+            });
+
+        assertEquals(1, strategy.batches.size());
+        assertEquals(3, strategy.batches.get(0).size());
+    }
+
+    @Test
+    void invoke_lingerExpires_flushesOnFlusherThread() throws Exception {
+        invoker = new UncaughtGuardBatchingStrategyInvoker(new UncaughtGuardSequentialStrategyInvoker(), 100, Long.MAX_VALUE, 50);
+        BatchStrategy strategy = new BatchStrategy(1, false);
+        CompletableFuture<Integer> completion = new CompletableFuture<>();
+
+        invoker.invoke(mock(UncaughtGuardExceptionTrace.class), List.of(strategy), completion::complete);
+
+        assertEquals(1, completion.get(5, TimeUnit.SECONDS));
+        assertEquals(1, strategy.batches.size());
+        assertEquals(UncaughtGuardBatchingStrategyInvoker.FLUSHER_THREAD_NAME, strategy.flushingThreads.get(0).getName());
+    }
+
+    @Test
+    void invoke_mixedStrategies_completesOnceWithAllResults() {
+        invoker = new UncaughtGuardBatchingStrategyInvoker(new UncaughtGuardSequentialStrategyInvoker(), 1, Long.MAX_VALUE, 60000);
+        List<Integer> completions = new ArrayList<>();
+
+        invoker.invoke(mock(UncaughtGuardExceptionTrace.class), List.of(new SingleTraceStrategy(), new BatchStrategy(1, false), new BatchStrategy(1, true)), completions::add);
+
+        assertEquals(List.of(2), completions);
+    }
+
+    @Test
+    void invoke_failingBatch_completesTracesAsNotLogged() {
+        invoker = new UncaughtGuardBatchingStrategyInvoker(new UncaughtGuardSequentialStrategyInvoker(), 2, Long.MAX_VALUE, 60000);
+        BatchStrategy strategy = new BatchStrategy(1, true);
+        List<Integer> completions = new ArrayList<>();
+
+        invoker.invoke(mock(UncaughtGuardExceptionTrace.class), List.of(strategy), completions::add);
+        invoker.invoke(mock(UncaughtGuardExceptionTrace.class), List.of(strategy), completions::add);
+
+        assertEquals(List.of(0, 0), completions);
+    }
+
+    @Test
+    void shutdown_flushesPendingBatches() {
+        invoker = new UncaughtGuardBatchingStrategyInvoker(new UncaughtGuardSequentialStrategyInvoker(), 100, Long.MAX_VALUE, 60000);
+        BatchStrategy strategy = new BatchStrategy(1, false);
+        List<Integer> completions = new ArrayList<>();
+
+        invoker.invoke(mock(UncaughtGuardExceptionTrace.class), List.of(strategy), completions::add);
+        assertTrue(completions.isEmpty());
+
+        invoker.shutdown();
+        assertEquals(List.of(1), completions);
+        assertEquals(1, strategy.batches.size());
+    }
+}
@@ -0,0 +1,163 @@
+package com.velluto.uncaughtguard.invokers;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class UncaughtGuardBulkheadStrategyInvokerTest {
+    private final UncaughtGuardExceptionTrace trace = mock(UncaughtGuardExceptionTrace.class);
+    private final CountDownLatch releaseSlowStrategy = new CountDownLatch(1);
+    private UncaughtGuardBulkheadStrategyInvoker invoker;
+
+    @AfterEach
+    void tearDown() {
+        releaseSlowStrategy.countDown();
+        if (invoker != null)
+            invoker.shutdown();
+    }
+
+    static class FastStrategy extends UncaughtGuardLoggingStrategy {
+        private final CompletableFuture<Thread> loggingThread = new CompletableFuture<>();
+
+        @Override
+        protected void log(UncaughtGuardExceptionTrace exceptionTrace) {
+            loggingThread.complete(Thread.currentThread());
+        }
+
+        @Override
+        protected void logSummary(UncaughtGuardExceptionTraceSummary summary) {
+            loggingThread.complete(Thread.currentThread());
+        }
+    }
+
+    class SlowStrategy extends UncaughtGuardLoggingStrategy {
+        @Override
+        protected void log(UncaughtGuardExceptionTrace exceptionTrace) {
+            try {
+                releaseSlowStrategy.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while logging", e);
+            }
+        }
+    }
+
+    static class FailingStrategy extends UncaughtGuardLoggingStrategy {
+        @Override
+        protected void log(UncaughtGuardExceptionTrace exceptionTrace) {
+            throw new RuntimeException("Logging failed");
+        }
+    }
+
+    @Test
+    void constructor_invalidArguments_throwException() {
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardBulkheadStrategyInvoker(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardBulkheadStrategyInvoker(1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardBulkheadStrategyInvoker(1, 1, 0));
+    }
+
+    @Test
+    void invoke_eachStrategyRunsInItsOwnBulkhead() throws Exception {
+        invoker = new UncaughtGuardBulkheadStrategyInvoker(1, 4, 5000);
+        FastStrategy fastStrategy = new FastStrategy();
+        CompletableFuture<Integer> successfulCalls = new CompletableFuture<>();
+
+        invoker.invoke(trace, List.of(fastStrategy, new FailingStrategy()), successfulCalls::complete);
+
+        assertEquals(1, successfulCalls.get(5, TimeUnit.SECONDS));
+        assertTrue(fastStrategy.loggingThread.get().getName().startsWith(UncaughtGuardBulkheadStrategyInvoker.THREAD_NAME_PREFIX + "FastStrategy-"));
+    }
+
+    @Test
+    void invokeSummary_runsInStrategyBulkhead() throws Exception {
+        invoker = new UncaughtGuardBulkheadStrategyInvoker(1, 4, 5000);
+        FastStrategy fastStrategy = new FastStrategy();
+        CompletableFuture<Integer> successfulCalls = new CompletableFuture<>();
+
+        invoker.invokeSummary(mock(UncaughtGuardExceptionTraceSummary.class), List.of(fastStrategy), successfulCalls::complete);
+
+        assertEquals(1, successfulCalls.get(5, TimeUnit.SECONDS));
+        assertTrue(fastStrategy.loggingThread.get().getName().startsWith(UncaughtGuardBulkheadStrategyInvoker.THREAD_NAME_PREFIX + "FastStrategy-"));
+    }
+
+    @Test
+    void invoke_slowStrategy_doesNotDelayOtherStrategiesAndTimesOut() throws Exception {
+        invoker = new UncaughtGuardBulkheadStrategyInvoker(1, 4, 200);
+        FastStrategy fastStrategy = new FastStrategy();
+        CompletableFuture<Integer> successfulCalls = new CompletableFuture<>();
+
+        invoker.invoke(trace, List.of(new SlowStrategy(), fastStrategy), successfulCalls::complete);
+
+        // the fast strategy logs while the slow one is still blocked
+        assertNotNull(fastStrategy.loggingThread.get(1, TimeUnit.SECONDS));
+        assertFalse(successfulCalls.isDone());
+
+        assertEquals(1, successfulCalls.get(5, TimeUnit.SECONDS));
+        assertEquals(1, invoker.getTimedOutCallsCount());
+    }
+
+    @Test
+    void invoke_allStrategiesTimeOut_completesWithZeroSuccessfulCalls() throws Exception {
+        invoker = new UncaughtGuardBulkheadStrategyInvoker(1, 4, 100);
+        CompletableFuture<Integer> successfulCalls = new CompletableFuture<>();
+
+        invoker.invoke(trace, List.of(new SlowStrategy()), successfulCalls::complete);
+
+        assertEquals(0, successfulCalls.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void invoke_fullBulkhead_failsCallImmediately() throws Exception {
+        invoker = new UncaughtGuardBulkheadStrategyInvoker(1, 1, 5000);
+        SlowStrategy slowStrategy = new SlowStrategy();
+
+        // the first call takes the only worker, the second fills the queue, the third is rejected
+        invoker.invoke(trace, List.of(slowStrategy), successfulCalls -> {
+        });
+        invoker.invoke(trace, List.of(slowStrategy), successfulCalls -> {
+        });
+        CompletableFuture<Integer> rejectedCall = new CompletableFuture<>();
+        invoker.invoke(trace, List.of(slowStrategy), rejectedCall::complete);
+
+        assertEquals(0, rejectedCall.getNow(-1));
+        assertEquals(1, invoker.getRejectedCallsCount());
+    }
+
+    @Test
+    void shutdownWithTimeout_awaitsQueuedCalls() throws Exception {
+        invoker = new UncaughtGuardBulkheadStrategyInvoker(1, 4, 5000);
+        FastStrategy fastStrategy = new FastStrategy();
+        CompletableFuture<Integer> successfulCalls = new CompletableFuture<>();
+
+        invoker.invoke(trace, List.of(fastStrategy), successfulCalls::complete);
+        invoker.shutdown(5000);
+
+        assertEquals(1, successfulCalls.getNow(-1));
+    }
+
+    @Test
+    void shutdownWithTimeout_abandonsCallsStillRunningAtDeadline() throws Exception {
+        invoker = new UncaughtGuardBulkheadStrategyInvoker(1, 4, 5000);
+        CompletableFuture<Integer> runningCall = new CompletableFuture<>();
+        CompletableFuture<Integer> queuedCall = new CompletableFuture<>();
+
+        invoker.invoke(trace, List.of(new SlowStrategy()), runningCall::complete);
+        invoker.invoke(trace, List.of(new SlowStrategy()), queuedCall::complete);
+        invoker.shutdown(100);
+
+        // neither the interrupted call nor the dropped one is reported, so that the caller spills their traces
+        Thread.sleep(100);
+        assertFalse(runningCall.isDone());
+        assertFalse(queuedCall.isDone());
+    }
+}
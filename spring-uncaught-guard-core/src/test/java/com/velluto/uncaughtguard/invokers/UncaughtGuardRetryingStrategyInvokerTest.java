@@ -0,0 +1,157 @@
+package com.velluto.uncaughtguard.invokers;
+
+import com.velluto.uncaughtguard.breakers.UncaughtGuardCircuitBreaker;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class UncaughtGuardRetryingStrategyInvokerTest {
+    private final UncaughtGuardExceptionTrace trace = mock(UncaughtGuardExceptionTrace.class);
+    private UncaughtGuardRetryingStrategyInvoker invoker;
+
+    @AfterEach
+    void tearDown() {
+        if (invoker != null)
+            invoker.shutdown();
+    }
+
+    static class FlakyStrategy extends UncaughtGuardLoggingStrategy {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final List<Thread> callingThreads = new CopyOnWriteArrayList<>();
+        private final int failures;
+
+        FlakyStrategy(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        protected void log(UncaughtGuardExceptionTrace exceptionTrace) {
+            callingThreads.add(Thread.currentThread());
+            if (calls.incrementAndGet() <= failures)
+                throw new RuntimeException("Transient failure");
+        }
+    }
+
+    private UncaughtGuardRetryingStrategyInvoker buildInvoker(int maxRetries, int maxOutstandingRetries) {
+        return new UncaughtGuardRetryingStrategyInvoker(new UncaughtGuardSequentialStrategyInvoker(), maxRetries, 10, 20, 100, maxOutstandingRetries);
+    }
+
+    @Test
+    void constructor_invalidArguments_throwException() {
+        UncaughtGuardStrategyInvoker delegate = new UncaughtGuardSequentialStrategyInvoker();
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardRetryingStrategyInvoker(delegate, 0, 10, 20, 10, 1));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardRetryingStrategyInvoker(delegate, 1, 0, 20, 10, 1));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardRetryingStrategyInvoker(delegate, 1, 30, 20, 10, 1));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardRetryingStrategyInvoker(delegate, 1, 10, 20, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardRetryingStrategyInvoker(delegate, 1, 10, 20, 10, 0));
+    }
+
+    @Test
+    void invoke_successfulStrategy_completesWithoutRetry() {
+        invoker = buildInvoker(2, 10);
+        FlakyStrategy strategy = new FlakyStrategy(0);
+        List<Integer> completions = new CopyOnWriteArrayList<>();
+
+        invoker.invoke(trace, List.of(strategy), completions::add);
+
+        assertEquals(List.of(1), completions);
+        assertEquals(0, invoker.getRetriedCallsCount());
+    }
+
+    @Test
+    void invoke_transientFailure_retriedOnVirtualThreadAndSucceeds() throws Exception {
+        invoker = buildInvoker(2, 10);
+        FlakyStrategy strategy = new FlakyStrategy(2);
+        CompletableFuture<Integer> completion = new CompletableFuture<>();
+
+        invoker.invoke(trace, List.of(strategy), completion::complete);
+
+        assertEquals(1, completion.get(5, TimeUnit.SECONDS));
+        assertEquals(3, strategy.calls.get());
+        assertEquals(2, invoker.getRetriedCallsCount());
+        Thread retryThread = strategy.callingThreads.get(1);
+        assertTrue(retryThread.isVirtual());
+        assertTrue(retryThread.getName().startsWith(UncaughtGuardRetryingStrategyInvoker.THREAD_NAME_PREFIX));
+    }
+
+    @Test
+    void invoke_retriesExhausted_completesAsFailedOnce() throws Exception {
+        invoker = buildInvoker(2, 10);
+        FlakyStrategy failing = new FlakyStrategy(Integer.MAX_VALUE);
+        FlakyStrategy successful = new FlakyStrategy(0);
+        CompletableFuture<Integer> completion = new CompletableFuture<>();
+
+        invoker.invoke(trace, List.of(failing, successful), completion::complete);
+
+        assertEquals(1, completion.get(5, TimeUnit.SECONDS));
+        assertEquals(3, failing.calls.get());
+        assertEquals(1, successful.calls.get());
+    }
+
+    @Test
+    void invoke_retriesExhaustedOnVirtualThread_completesOnPlatformThread() throws Exception {
+        invoker = buildInvoker(1, 10);
+        CompletableFuture<Thread> completionThread = new CompletableFuture<>();
+
+        // the last attempt runs on a retry virtual thread, the fallback run by the callback may pin it
+        invoker.invoke(trace, List.of(new FlakyStrategy(Integer.MAX_VALUE)), successfulCalls -> completionThread.complete(Thread.currentThread()));
+
+        Thread thread = completionThread.get(5, TimeUnit.SECONDS);
+        assertFalse(thread.isVirtual());
+        assertEquals(UncaughtGuardRetryingStrategyInvoker.COMPLETION_THREAD_NAME, thread.getName());
+    }
+
+    @Test
+    void invoke_outstandingRetriesCapReached_refusesRetry() {
+        invoker = new UncaughtGuardRetryingStrategyInvoker(new UncaughtGuardSequentialStrategyInvoker(), 1, 60000, 60000, 100, 1);
+        List<Integer> completions = new CopyOnWriteArrayList<>();
+
+        invoker.invoke(trace, List.of(new FlakyStrategy(Integer.MAX_VALUE)), completions::add);
+        invoker.invoke(trace, List.of(new FlakyStrategy(Integer.MAX_VALUE)), completions::add);
+
+        assertEquals(1, invoker.getOutstandingRetriesCount());
+        assertEquals(1, invoker.getRefusedRetriesCount());
+        assertEquals(List.of(0), completions);
+    }
+
+    @Test
+    void invoke_callRefusedByOpenCircuitBreaker_completesAsFailedWithoutRetry() {
+        invoker = buildInvoker(2, 10);
+        FlakyStrategy strategy = new FlakyStrategy(0);
+        UncaughtGuardCircuitBreaker breaker = new UncaughtGuardCircuitBreaker("strategy", 50, 1, 1, 60000, 1);
+        breaker.onFailure(breaker.tryAcquirePermission());
+        strategy.setCircuitBreaker(breaker);
+        List<Integer> completions = new CopyOnWriteArrayList<>();
+
+        invoker.invoke(trace, List.of(strategy), completions::add);
+
+        assertEquals(List.of(0), completions);
+        assertEquals(0, strategy.calls.get());
+        assertEquals(0, invoker.getOutstandingRetriesCount());
+        assertEquals(0, invoker.getRefusedRetriesCount());
+    }
+
+    @Test
+    void shutdown_pendingRetriesCompleteAsFailed() {
+        invoker = new UncaughtGuardRetryingStrategyInvoker(new UncaughtGuardSequentialStrategyInvoker(), 1, 60000, 60000, 100, 10);
+        List<Integer> completions = new CopyOnWriteArrayList<>();
+
+        invoker.invoke(trace, List.of(new FlakyStrategy(Integer.MAX_VALUE)), completions::add);
+        assertTrue(completions.isEmpty());
+
+        invoker.shutdown();
+        assertEquals(List.of(0), completions);
+        assertEquals(0, invoker.getOutstandingRetriesCount());
+        invoker = null;
+    }
+}
@@ -0,0 +1,100 @@
+package com.velluto.uncaughtguard.invokers;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class UncaughtGuardVirtualThreadStrategyInvokerTest {
+    private final UncaughtGuardExceptionTrace trace = mock(UncaughtGuardExceptionTrace.class);
+    private final List<Thread> loggingThreads = new CopyOnWriteArrayList<>();
+
+    private UncaughtGuardLoggingStrategy recordingStrategy(boolean mayPinVirtualThreads, boolean fails) {
+        return new UncaughtGuardLoggingStrategy() {
+            @Override
+            protected void log(UncaughtGuardExceptionTrace exceptionTrace) {
+                loggingThreads.add(Thread.currentThread());
+                if (fails)
+                    throw new RuntimeException("Logging failed");
+            }
+
+            @Override
+            public boolean mayPinVirtualThreads() {
+                return mayPinVirtualThreads;
+            }
+        };
+    }
+
+    @Test
+    void constructor_invalidMaxInFlightCalls_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardVirtualThreadStrategyInvoker(0));
+    }
+
+    @Test
+    void invoke_nonPinningStrategies_runOnVirtualThreads() throws Exception {
+        UncaughtGuardVirtualThreadStrategyInvoker invoker = new UncaughtGuardVirtualThreadStrategyInvoker(8);
+        CompletableFuture<Integer> successfulCalls = new CompletableFuture<>();
+
+        invoker.invoke(trace, List.of(recordingStrategy(false, false), recordingStrategy(false, true)), successfulCalls::complete);
+
+        assertEquals(1, successfulCalls.get(5, TimeUnit.SECONDS));
+        assertEquals(2, loggingThreads.size());
+        loggingThreads.forEach(thread -> {
+            assertTrue(thread.isVirtual());
+            assertTrue(thread.getName().startsWith(UncaughtGuardVirtualThreadStrategyInvoker.THREAD_NAME_PREFIX));
+        });
+        assertEquals(8, invoker.getAvailableInFlightCalls());
+    }
+
+    @Test
+    void invoke_pinningStrategies_runOnCallingThread() throws Exception {
+        UncaughtGuardVirtualThreadStrategyInvoker invoker = new UncaughtGuardVirtualThreadStrategyInvoker(8);
+        CompletableFuture<Integer> successfulCalls = new CompletableFuture<>();
+
+        invoker.invoke(trace, List.of(recordingStrategy(true, false)), successfulCalls::complete);
+
+        assertEquals(1, successfulCalls.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(Thread.currentThread()), loggingThreads);
+    }
+
+    @Test
+    void invoke_allStrategiesFail_completesWithZeroSuccessfulCalls() throws Exception {
+        UncaughtGuardVirtualThreadStrategyInvoker invoker = new UncaughtGuardVirtualThreadStrategyInvoker(1);
+        CompletableFuture<Integer> successfulCalls = new CompletableFuture<>();
+
+        invoker.invoke(trace, List.of(recordingStrategy(false, true), recordingStrategy(false, true), recordingStrategy(true, true)), successfulCalls::complete);
+
+        assertEquals(0, successfulCalls.get(5, TimeUnit.SECONDS));
+        assertEquals(3, loggingThreads.size());
+    }
+
+    @Test
+    void invoke_lastCallOnVirtualThread_completesOnPlatformThread() throws Exception {
+        UncaughtGuardVirtualThreadStrategyInvoker invoker = new UncaughtGuardVirtualThreadStrategyInvoker(8);
+        CompletableFuture<Thread> completionThread = new CompletableFuture<>();
+
+        // the fallback run by the callback may pin virtual threads, so the callback must not run on one
+        invoker.invoke(trace, List.of(recordingStrategy(false, true), recordingStrategy(false, true)), successfulCalls -> completionThread.complete(Thread.currentThread()));
+
+        Thread thread = completionThread.get(5, TimeUnit.SECONDS);
+        assertFalse(thread.isVirtual());
+        assertEquals(UncaughtGuardVirtualThreadStrategyInvoker.COMPLETION_THREAD_NAME, thread.getName());
+    }
+
+    @Test
+    void invoke_noStrategies_completesImmediately() {
+        UncaughtGuardVirtualThreadStrategyInvoker invoker = new UncaughtGuardVirtualThreadStrategyInvoker(1);
+        CompletableFuture<Integer> successfulCalls = new CompletableFuture<>();
+
+        invoker.invoke(trace, List.of(), successfulCalls::complete);
+
+        assertEquals(0, successfulCalls.getNow(-1));
+    }
+}
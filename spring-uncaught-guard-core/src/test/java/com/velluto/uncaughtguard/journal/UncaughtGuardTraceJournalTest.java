@@ -0,0 +1,148 @@
+package com.velluto.uncaughtguard.journal;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UncaughtGuardTraceJournalTest {
+    private static final int SEGMENT_SIZE = 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private UncaughtGuardExceptionTrace trace(String path) {
+        IllegalStateException exception = new IllegalStateException("boom");
+        exception.setStackTrace(new StackTraceElement[0]);
+        return new UncaughtGuardExceptionTrace(LocalDateTime.now(), UUID.randomUUID(), "GET", path, Map.of(), Map.of(), "", List.of(), exception);
+    }
+
+    @Test
+    void constructor_invalidArguments_throwException() {
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardTraceJournal(tempDir, 1023, 2));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardTraceJournal(tempDir, SEGMENT_SIZE, 1));
+    }
+
+    @Test
+    void constructor_preallocatesSegmentFiles() throws IOException {
+        new UncaughtGuardTraceJournal(tempDir, SEGMENT_SIZE, 3);
+
+        for (int i = 0; i < 3; i++)
+            assertEquals(SEGMENT_SIZE, Files.size(tempDir.resolve(UncaughtGuardTraceJournal.SEGMENT_FILE_PREFIX + i + UncaughtGuardTraceJournal.SEGMENT_FILE_SUFFIX)));
+    }
+
+    @Test
+    void reopen_recoversOnlyUnacknowledgedTraces() throws IOException {
+        UncaughtGuardTraceJournal journal = new UncaughtGuardTraceJournal(tempDir, SEGMENT_SIZE, 2);
+        UncaughtGuardExceptionTrace delivered = trace("/delivered");
+        UncaughtGuardExceptionTrace undelivered = trace("/undelivered");
+        assertTrue(journal.append(delivered));
+        assertTrue(journal.append(undelivered));
+        journal.acknowledge(delivered);
+        assertEquals(1, journal.getPendingTracesCount());
+        assertTrue(journal.isPending(undelivered));
+
+        // a crash leaves the mapped segments as they are, the next run maps them again
+        UncaughtGuardTraceJournal reopened = new UncaughtGuardTraceJournal(tempDir, SEGMENT_SIZE, 2);
+        List<UncaughtGuardExceptionTrace> recovered = reopened.takeRecoveredTraces();
+
+        assertEquals(1, recovered.size());
+        assertEquals(undelivered.getTraceId(), recovered.get(0).getTraceId());
+        assertEquals("/undelivered", recovered.get(0).getPath());
+        assertTrue(reopened.takeRecoveredTraces().isEmpty());
+        assertTrue(reopened.isPending(recovered.get(0)));
+
+        reopened.acknowledge(recovered.get(0));
+        assertTrue(new UncaughtGuardTraceJournal(tempDir, SEGMENT_SIZE, 2).takeRecoveredTraces().isEmpty());
+    }
+
+    @Test
+    void reopen_keepsTheStrategiesThatAlreadyLoggedTheTrace() throws IOException {
+        UncaughtGuardTraceJournal journal = new UncaughtGuardTraceJournal(tempDir, SEGMENT_SIZE, 2);
+        UncaughtGuardExceptionTrace undelivered = trace("/undelivered");
+        assertTrue(journal.append(undelivered));
+        assertEquals(0, journal.getAcknowledgedStrategies(undelivered));
+
+        journal.acknowledgeStrategy(undelivered, 0);
+        journal.acknowledgeStrategy(undelivered, 9);
+        journal.acknowledgeStrategy(undelivered, UncaughtGuardTraceJournal.MAX_ACKNOWLEDGED_STRATEGIES);
+        assertEquals((1L << 9) | 1L, journal.getAcknowledgedStrategies(undelivered));
+
+        UncaughtGuardTraceJournal reopened = new UncaughtGuardTraceJournal(tempDir, SEGMENT_SIZE, 2);
+        UncaughtGuardExceptionTrace recovered = reopened.takeRecoveredTraces().get(0);
+        assertEquals((1L << 9) | 1L, reopened.getAcknowledgedStrategies(recovered));
+
+        reopened.acknowledge(recovered);
+        assertEquals(0, reopened.getAcknowledgedStrategies(recovered));
+    }
+
+    @Test
+    void reopen_recoveredTracesNotAcknowledged_areRecoveredAgain() throws IOException {
+        UncaughtGuardTraceJournal journal = new UncaughtGuardTraceJournal(tempDir, SEGMENT_SIZE, 2);
+        UncaughtGuardExceptionTrace undelivered = trace("/undelivered");
+        assertTrue(journal.append(undelivered));
+
+        // the run recovering the trace crashes again before delivering it, while journaling new traces
+        UncaughtGuardTraceJournal reopened = new UncaughtGuardTraceJournal(tempDir, SEGMENT_SIZE, 2);
+        assertEquals(1, reopened.takeRecoveredTraces().size());
+        assertTrue(reopened.append(trace("/new")));
+
+        List<UncaughtGuardExceptionTrace> recoveredAgain = new UncaughtGuardTraceJournal(tempDir, SEGMENT_SIZE, 2).takeRecoveredTraces();
+        assertEquals(2, recoveredAgain.size());
+        assertTrue(recoveredAgain.stream().anyMatch(trace -> trace.getTraceId().equals(undelivered.getTraceId())));
+    }
+
+    @Test
+    void acknowledge_allRecoveredTraces_recyclesTheirSegment() throws IOException {
+        UncaughtGuardTraceJournal journal = new UncaughtGuardTraceJournal(tempDir, SEGMENT_SIZE, 2);
+        UncaughtGuardExceptionTrace trace = trace("/full");
+        while (journal.append(trace))
+            trace = trace("/full");
+
+        // both segments hold recovered records, nothing can be journaled until they are acknowledged
+        UncaughtGuardTraceJournal reopened = new UncaughtGuardTraceJournal(tempDir, SEGMENT_SIZE, 2);
+        List<UncaughtGuardExceptionTrace> recovered = reopened.takeRecoveredTraces();
+        assertFalse(reopened.append(trace("/blocked")));
+
+        recovered.forEach(reopened::acknowledge);
+
+        assertTrue(reopened.append(trace("/recycled")));
+        assertEquals(1, reopened.getPendingTracesCount());
+    }
+
+    @Test
+    void append_allSegmentsFull_notJournaledUntilSegmentsAreRecycled() throws IOException {
+        UncaughtGuardTraceJournal journal = new UncaughtGuardTraceJournal(tempDir, SEGMENT_SIZE, 2);
+        List<UncaughtGuardExceptionTrace> journaled = new ArrayList<>();
+        UncaughtGuardExceptionTrace trace = trace("/full");
+        while (journal.append(trace)) {
+            journaled.add(trace);
+            trace = trace("/full");
+        }
+        assertTrue(journaled.size() > 2);
+        assertEquals(1, journal.getUnjournaledTracesCount());
+
+        journaled.forEach(journal::acknowledge);
+
+        assertTrue(journal.append(trace("/recycled")));
+        assertEquals(1, journal.getPendingTracesCount());
+    }
+
+    @Test
+    void append_traceLargerThanSegment_notJournaled() throws IOException {
+        UncaughtGuardTraceJournal journal = new UncaughtGuardTraceJournal(tempDir, SEGMENT_SIZE, 2);
+
+        assertFalse(journal.append(trace("/" + "x".repeat(SEGMENT_SIZE))));
+        assertEquals(1, journal.getUnjournaledTracesCount());
+    }
+}
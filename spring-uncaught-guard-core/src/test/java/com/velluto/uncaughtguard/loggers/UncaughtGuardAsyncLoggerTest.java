@@ -1,34 +1,43 @@
 package com.velluto.uncaughtguard.loggers;
 
+import com.velluto.uncaughtguard.coalescers.UncaughtGuardTraceCoalescer;
+import com.velluto.uncaughtguard.dispatchers.UncaughtGuardTraceDispatcher;
+import com.velluto.uncaughtguard.invokers.UncaughtGuardStrategyInvoker;
+import com.velluto.uncaughtguard.journal.UncaughtGuardTraceJournal;
 import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
 import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import com.velluto.uncaughtguard.routers.UncaughtGuardStrategyRouter;
+import com.velluto.uncaughtguard.spill.UncaughtGuardTraceSpillFile;
 import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
 import com.velluto.uncaughtguard.strategies.UncaughtGuardSystemErrorLoggingStrategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.context.ApplicationContext;
+import org.mockito.InOrder;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 class UncaughtGuardAsyncLoggerTest {
-    private ApplicationContext context;
+    private UncaughtGuardStrategyRouter router;
     private UncaughtGuardProperties properties;
     private UncaughtGuardAsyncLogger logger;
     private UncaughtGuardExceptionTrace trace;
 
     @BeforeEach
     void setUp() {
-        context = mock(ApplicationContext.class);
+        router = mock(UncaughtGuardStrategyRouter.class);
         properties = mock(UncaughtGuardProperties.class);
         logger = new UncaughtGuardAsyncLogger();
         trace = mock(UncaughtGuardExceptionTrace.class);
 
         // inject mocks via reflection
         try {
-            var ctxField = UncaughtGuardAsyncLogger.class.getDeclaredField("context");
-            ctxField.setAccessible(true);
-            ctxField.set(logger, context);
+            var routerField = UncaughtGuardAsyncLogger.class.getDeclaredField("router");
+            routerField.setAccessible(true);
+            routerField.set(logger, router);
             var propField = UncaughtGuardAsyncLogger.class.getDeclaredField("properties");
             propField.setAccessible(true);
             propField.set(logger, properties);
@@ -40,36 +49,214 @@ class UncaughtGuardAsyncLoggerTest {
     @Test
     void testAllStrategiesAreCalled() {
         UncaughtGuardTestLoggingStrategy strategy = mock(UncaughtGuardTestLoggingStrategy.class);
-        when(properties.getLoggingStrategies()).thenReturn(new Class[]{strategy.getClass()});
-        when(context.getBean(UncaughtGuardTestLoggingStrategy.class)).thenReturn(strategy);
+        when(router.route(trace)).thenReturn(List.of(strategy));
         when(strategy.callLog(trace)).thenReturn(true);
 
-        logger.logExceptionTraceAsync(trace);
+        logger.logExceptionTrace(trace);
 
         verify(strategy, times(1)).callLog(trace);
-        verify(context, never()).getBean(UncaughtGuardSystemErrorLoggingStrategy.class);
+        verify(router, never()).getFallbackStrategy();
     }
 
     @Test
     void testFallbackStrategyIsCalled() {
         UncaughtGuardTestLoggingStrategy strategy = mock(UncaughtGuardTestLoggingStrategy.class);
-        when(properties.getLoggingStrategies()).thenReturn(new Class[]{strategy.getClass()});
-        when(context.getBean(UncaughtGuardTestLoggingStrategy.class)).thenReturn(strategy);
+        when(router.route(trace)).thenReturn(List.of(strategy));
         when(strategy.callLog(trace)).thenReturn(false);
 
         UncaughtGuardSystemErrorLoggingStrategy fallbackStrategy = mock(UncaughtGuardSystemErrorLoggingStrategy.class);
-        when(context.getBean(UncaughtGuardSystemErrorLoggingStrategy.class)).thenReturn(fallbackStrategy);
+        when(router.getFallbackStrategy()).thenReturn(fallbackStrategy);
 
-        logger.logExceptionTraceAsync(trace);
+        logger.logExceptionTrace(trace);
 
         verify(strategy, times(1)).callLog(trace);
         verify(fallbackStrategy, times(1)).callLog(trace);
     }
 
     @Test
-    void testAsyncAnnotationPresent() throws NoSuchMethodException {
-        assertNotNull(UncaughtGuardAsyncLogger.class.getMethod("logExceptionTraceAsync", UncaughtGuardExceptionTrace.class)
-                .getAnnotation(org.springframework.scheduling.annotation.Async.class));
+    void testAsyncLoggingIsHandedToDispatcher() throws Exception {
+        UncaughtGuardTraceDispatcher dispatcher = mock(UncaughtGuardTraceDispatcher.class);
+        var dispatcherField = UncaughtGuardAsyncLogger.class.getDeclaredField("dispatcher");
+        dispatcherField.setAccessible(true);
+        dispatcherField.set(logger, dispatcher);
+        when(dispatcher.getDroppedTracesCount()).thenReturn(3L);
+
+        logger.logExceptionTraceAsync(trace);
+
+        verify(dispatcher, times(1)).dispatch(trace);
+        verify(router, never()).route(any());
+        assertEquals(3L, logger.getDroppedTracesCount());
+    }
+
+    @Test
+    void testDegradedLoggingUsesOnlyDefaultStrategy() {
+        UncaughtGuardSystemErrorLoggingStrategy fallbackStrategy = mock(UncaughtGuardSystemErrorLoggingStrategy.class);
+        when(router.getFallbackStrategy()).thenReturn(fallbackStrategy);
+
+        logger.logExceptionTraceDegraded(trace);
+
+        verify(fallbackStrategy, times(1)).callLog(trace);
+        verify(router, never()).route(any());
+    }
+
+    @Test
+    void testShutdownSpillsUndeliveredTraces() throws Exception {
+        UncaughtGuardTraceDispatcher dispatcher = mock(UncaughtGuardTraceDispatcher.class);
+        UncaughtGuardTraceSpillFile spillFile = mock(UncaughtGuardTraceSpillFile.class);
+        var dispatcherField = UncaughtGuardAsyncLogger.class.getDeclaredField("dispatcher");
+        dispatcherField.setAccessible(true);
+        dispatcherField.set(logger, dispatcher);
+        var spillFileField = UncaughtGuardAsyncLogger.class.getDeclaredField("spillFile");
+        spillFileField.setAccessible(true);
+        spillFileField.set(logger, spillFile);
+        when(properties.getShutdownDrainTimeoutMillis()).thenReturn(100L);
+        when(dispatcher.drain(100L)).thenReturn(List.of(trace));
+
+        logger.shutdown();
+
+        verify(dispatcher, times(1)).drain(100L);
+        verify(spillFile, times(1)).spill(List.of(trace));
+    }
+
+    @Test
+    void testShutdownSpillsTracesWhoseStrategiesDidNotComplete() throws Exception {
+        UncaughtGuardTraceDispatcher dispatcher = mock(UncaughtGuardTraceDispatcher.class);
+        UncaughtGuardTraceSpillFile spillFile = mock(UncaughtGuardTraceSpillFile.class);
+        UncaughtGuardStrategyInvoker strategyInvoker = mock(UncaughtGuardStrategyInvoker.class);
+        var dispatcherField = UncaughtGuardAsyncLogger.class.getDeclaredField("dispatcher");
+        dispatcherField.setAccessible(true);
+        dispatcherField.set(logger, dispatcher);
+        var spillFileField = UncaughtGuardAsyncLogger.class.getDeclaredField("spillFile");
+        spillFileField.setAccessible(true);
+        spillFileField.set(logger, spillFile);
+        var strategyInvokerField = UncaughtGuardAsyncLogger.class.getDeclaredField("strategyInvoker");
+        strategyInvokerField.setAccessible(true);
+        strategyInvokerField.set(logger, strategyInvoker);
+        when(properties.getShutdownDrainTimeoutMillis()).thenReturn(100L);
+        when(dispatcher.drain(100L)).thenReturn(List.of());
+        when(router.route(trace)).thenReturn(List.of(mock(UncaughtGuardTestLoggingStrategy.class)));
+
+        // the invoker never calls the completion callback, as if the strategy was still running at the deadline
+        logger.logExceptionTrace(trace);
+        logger.shutdown();
+
+        verify(strategyInvoker, times(1)).shutdown(anyLong());
+        verify(spillFile, times(1)).spill(List.of(trace));
+    }
+
+    @Test
+    void testJournaledTraceIsAcknowledgedOnceLogged() throws Exception {
+        UncaughtGuardTraceDispatcher dispatcher = mock(UncaughtGuardTraceDispatcher.class);
+        UncaughtGuardTraceJournal journal = mock(UncaughtGuardTraceJournal.class);
+        var dispatcherField = UncaughtGuardAsyncLogger.class.getDeclaredField("dispatcher");
+        dispatcherField.setAccessible(true);
+        dispatcherField.set(logger, dispatcher);
+        var journalField = UncaughtGuardAsyncLogger.class.getDeclaredField("journal");
+        journalField.setAccessible(true);
+        journalField.set(logger, journal);
+        UncaughtGuardTestLoggingStrategy strategy = mock(UncaughtGuardTestLoggingStrategy.class);
+        when(router.route(trace)).thenReturn(List.of(strategy));
+        when(strategy.callLog(trace)).thenReturn(true);
+
+        // the trace is journaled by the request thread before it is queued, so that a crash cannot lose it while queued
+        logger.logExceptionTraceAsync(trace);
+        InOrder inOrder = inOrder(journal, dispatcher);
+        inOrder.verify(journal).append(trace);
+        inOrder.verify(dispatcher).dispatch(trace);
+
+        when(journal.isPending(trace)).thenReturn(true);
+        logger.logExceptionTrace(trace);
+        verify(journal, times(1)).append(trace);
+        verify(journal, times(1)).acknowledgeStrategy(trace, 0);
+        verify(journal, times(1)).acknowledge(trace);
+    }
+
+    @Test
+    void testRecoveredTraceIsOnlyLoggedByStrategiesThatDidNotLogIt() throws Exception {
+        UncaughtGuardTraceJournal journal = mock(UncaughtGuardTraceJournal.class);
+        var journalField = UncaughtGuardAsyncLogger.class.getDeclaredField("journal");
+        journalField.setAccessible(true);
+        journalField.set(logger, journal);
+        UncaughtGuardTestLoggingStrategy logged = mock(UncaughtGuardTestLoggingStrategy.class);
+        UncaughtGuardTestLoggingStrategy notLogged = mock(UncaughtGuardTestLoggingStrategy.class);
+        when(router.route(trace)).thenReturn(List.of(logged, notLogged));
+        when(router.getStrategyIndex(logged)).thenReturn(0);
+        when(router.getStrategyIndex(notLogged)).thenReturn(1);
+        when(notLogged.callLog(trace)).thenReturn(true);
+        when(journal.isPending(trace)).thenReturn(true);
+        // the first strategy logged the trace before the crash
+        when(journal.getAcknowledgedStrategies(trace)).thenReturn(0b01L);
+
+        logger.logExceptionTrace(trace);
+
+        verify(logged, never()).callLog(trace);
+        verify(notLogged, times(1)).callLog(trace);
+        verify(journal, times(1)).acknowledgeStrategy(trace, 1);
+        verify(journal, times(1)).acknowledge(trace);
+    }
+
+    @Test
+    void testRecoveredTraceLoggedByEveryStrategy_isOnlyAcknowledged() throws Exception {
+        UncaughtGuardTraceJournal journal = mock(UncaughtGuardTraceJournal.class);
+        var journalField = UncaughtGuardAsyncLogger.class.getDeclaredField("journal");
+        journalField.setAccessible(true);
+        journalField.set(logger, journal);
+        UncaughtGuardTestLoggingStrategy strategy = mock(UncaughtGuardTestLoggingStrategy.class);
+        when(router.route(trace)).thenReturn(List.of(strategy));
+        when(router.getStrategyIndex(strategy)).thenReturn(0);
+        when(journal.isPending(trace)).thenReturn(true);
+        when(journal.getAcknowledgedStrategies(trace)).thenReturn(0b01L);
+
+        logger.logExceptionTrace(trace);
+
+        verify(strategy, never()).callLog(trace);
+        verify(router, never()).getFallbackStrategy();
+        verify(journal, times(1)).acknowledge(trace);
+    }
+
+    @Test
+    void testRecoveredTraceIsNotJournaledAgain() throws Exception {
+        UncaughtGuardTraceJournal journal = mock(UncaughtGuardTraceJournal.class);
+        var journalField = UncaughtGuardAsyncLogger.class.getDeclaredField("journal");
+        journalField.setAccessible(true);
+        journalField.set(logger, journal);
+        UncaughtGuardTestLoggingStrategy strategy = mock(UncaughtGuardTestLoggingStrategy.class);
+        when(router.route(trace)).thenReturn(List.of(strategy));
+        when(strategy.callLog(trace)).thenReturn(true);
+        when(journal.isPending(trace)).thenReturn(true);
+
+        logger.logExceptionTrace(trace);
+
+        verify(journal, never()).append(trace);
+        verify(journal, times(1)).acknowledge(trace);
+    }
+
+    @Test
+    void testCoalescedTraceIsNotLogged() throws Exception {
+        UncaughtGuardTraceCoalescer coalescer = mock(UncaughtGuardTraceCoalescer.class);
+        var coalescerField = UncaughtGuardAsyncLogger.class.getDeclaredField("coalescer");
+        coalescerField.setAccessible(true);
+        coalescerField.set(logger, coalescer);
+        when(coalescer.offer(trace)).thenReturn(false);
+
+        logger.logExceptionTrace(trace);
+
+        verify(router, never()).route(any());
+        verify(router, never()).getFallbackStrategy();
+    }
+
+    @Test
+    void testSummaryIsLoggedWithRoutedStrategies() {
+        UncaughtGuardExceptionTraceSummary summary = mock(UncaughtGuardExceptionTraceSummary.class);
+        when(summary.getFirstTrace()).thenReturn(trace);
+        UncaughtGuardTestLoggingStrategy strategy = mock(UncaughtGuardTestLoggingStrategy.class);
+        when(router.route(trace)).thenReturn(List.of(strategy));
+        when(strategy.callLogSummary(summary)).thenReturn(true);
+
+        logger.logExceptionTraceSummary(summary);
+
+        verify(strategy, times(1)).callLogSummary(summary);
+        verify(router, never()).getFallbackStrategy();
     }
 
     private static class UncaughtGuardTestLoggingStrategy extends UncaughtGuardLoggingStrategy {
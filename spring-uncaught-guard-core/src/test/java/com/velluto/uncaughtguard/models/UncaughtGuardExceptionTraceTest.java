@@ -0,0 +1,92 @@
+package com.velluto.uncaughtguard.models;
+
+import com.velluto.uncaughtguard.wrappers.UncaughtGuardBoundedContentCachingRequestWrapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class UncaughtGuardExceptionTraceTest {
+    private HttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = mock(HttpServletRequest.class);
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn("/test");
+        when(request.getQueryString()).thenReturn("param1=value1&param2=a=b");
+        when(request.getHeaderNames()).thenReturn(Collections.enumeration(Collections.singletonList("Content-Type")));
+        when(request.getHeader("Content-Type")).thenReturn("application/json");
+    }
+
+    @Test
+    void testEagerCaptureParsesRequest() {
+        UncaughtGuardExceptionTrace trace = new UncaughtGuardExceptionTrace(request, new RuntimeException("boom"), false);
+
+        assertEquals(Map.of("param1", "value1", "param2", "a=b"), trace.getQueryParams());
+        assertEquals(Map.of("Content-Type", "application/json"), trace.getHeaders());
+        assertEquals("", trace.getBody());
+    }
+
+    @Test
+    void testMissingQueryStringGivesNoQueryParams() {
+        when(request.getQueryString()).thenReturn(null);
+
+        UncaughtGuardExceptionTrace trace = new UncaughtGuardExceptionTrace(request, new RuntimeException("boom"), false);
+
+        assertTrue(trace.getQueryParams().isEmpty());
+    }
+
+    @Test
+    void testDeferredCaptureDoesNotTouchRequestOnceCaptured() {
+        UncaughtGuardExceptionTrace trace = new UncaughtGuardExceptionTrace(request, new RuntimeException("boom"), false, UncaughtGuardCaptureMode.DEFERRED);
+        reset(request);
+
+        assertEquals(Map.of("param1", "value1", "param2", "a=b"), trace.getQueryParams());
+        assertEquals(Map.of("Content-Type", "application/json"), trace.getHeaders());
+        assertEquals("", trace.getBody());
+        verifyNoInteractions(request);
+    }
+
+    @Test
+    void testDeferredCaptureDecodesBodyWithRequestEncoding() {
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest("POST", "/test");
+        mockRequest.setCharacterEncoding("UTF-8");
+        mockRequest.setContent("{\"name\":\"caffè\"}".getBytes(StandardCharsets.UTF_8));
+
+        UncaughtGuardExceptionTrace trace = new UncaughtGuardExceptionTrace(new ContentCachingRequestWrapper(mockRequest), new RuntimeException("boom"), true, UncaughtGuardCaptureMode.DEFERRED);
+
+        assertEquals("{\"name\":\"caffè\"}", trace.getBody());
+        assertTrue(trace.getQueryParams().isEmpty());
+    }
+
+    @Test
+    void testBoundedBodyIsTruncatedWithContentLength() {
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest("POST", "/test");
+        mockRequest.setContent("0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+
+        UncaughtGuardExceptionTrace trace = new UncaughtGuardExceptionTrace(new UncaughtGuardBoundedContentCachingRequestWrapper(mockRequest, 10), new RuntimeException("boom"), true);
+
+        assertEquals("0123456789...[truncated, Content-Length: 16]", trace.getBody());
+        assertEquals(16, trace.getBodyContentLength());
+    }
+
+    @Test
+    void testBoundedBodyWithinLimitIsNotTruncated() {
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest("POST", "/test");
+        mockRequest.setContent("0123456789".getBytes(StandardCharsets.UTF_8));
+
+        UncaughtGuardExceptionTrace trace = new UncaughtGuardExceptionTrace(new UncaughtGuardBoundedContentCachingRequestWrapper(mockRequest, 10), new RuntimeException("boom"), true);
+
+        assertEquals("0123456789", trace.getBody());
+    }
+}
@@ -0,0 +1,95 @@
+package com.velluto.uncaughtguard.recorders;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardMethodFlightRecorderEvent;
+import com.velluto.uncaughtguard.models.UncaughtGuardMethodFlightRecorderEventType;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UncaughtGuardMethodFlightRecorderTest {
+    private static Method method(String name) throws NoSuchMethodException {
+        return TestService.class.getDeclaredMethod(name, int.class);
+    }
+
+    @Test
+    void testNestedCallsAreRecordedInOrder() throws Exception {
+        UncaughtGuardMethodFlightRecorder recorder = new UncaughtGuardMethodFlightRecorder(8);
+        Method controller = method("method0");
+        Method service = method("method1");
+        recorder.start();
+
+        long controllerEntry = recorder.enter(controller);
+        long serviceEntry = recorder.enter(service);
+        recorder.exit(service, serviceEntry, true);
+        recorder.exit(controller, controllerEntry, false);
+
+        List<UncaughtGuardMethodFlightRecorderEvent> events = recorder.snapshot();
+        assertEquals(4, events.size());
+        assertEquals(UncaughtGuardMethodFlightRecorderEventType.ENTRY, events.get(0).getType());
+        assertEquals("String " + TestService.class.getName() + ".method0(int)", events.get(0).getMethodSignature());
+        assertEquals(0, events.get(0).getDepth());
+        assertEquals(-1, events.get(0).getDurationNanos());
+        assertEquals("String " + TestService.class.getName() + ".method1(int)", events.get(1).getMethodSignature());
+        assertEquals(1, events.get(1).getDepth());
+        assertEquals(UncaughtGuardMethodFlightRecorderEventType.EXCEPTIONAL_EXIT, events.get(2).getType());
+        assertEquals(1, events.get(2).getDepth());
+        assertTrue(events.get(2).getDurationNanos() >= 0);
+        assertEquals(UncaughtGuardMethodFlightRecorderEventType.EXIT, events.get(3).getType());
+        assertEquals(0, events.get(3).getDepth());
+        assertTrue(events.get(3).getElapsedNanos() >= events.get(0).getElapsedNanos());
+    }
+
+    @Test
+    void testRingKeepsMostRecentEvents() throws Exception {
+        UncaughtGuardMethodFlightRecorder recorder = new UncaughtGuardMethodFlightRecorder(3);
+        recorder.start();
+
+        for (int i = 0; i < 3; i++) {
+            Method method = method("method" + i);
+            recorder.exit(method, recorder.enter(method), false);
+        }
+
+        List<UncaughtGuardMethodFlightRecorderEvent> events = recorder.snapshot();
+        assertEquals(6, recorder.getRecordedEventsCount());
+        assertEquals(3, events.size());
+        assertTrue(events.get(0).getMethodSignature().endsWith(".method1(int)"));
+        assertEquals(UncaughtGuardMethodFlightRecorderEventType.EXIT, events.get(0).getType());
+        assertTrue(events.get(2).getMethodSignature().endsWith(".method2(int)"));
+    }
+
+    @Test
+    void testStopDiscardsRecording() throws Exception {
+        UncaughtGuardMethodFlightRecorder recorder = new UncaughtGuardMethodFlightRecorder(4);
+        recorder.start();
+        assertTrue(recorder.isActive());
+        recorder.enter(method("method0"));
+
+        recorder.stop();
+
+        assertFalse(recorder.isActive());
+        assertEquals(0, recorder.getRecordedEventsCount());
+        assertTrue(recorder.snapshot().isEmpty());
+    }
+
+    @Test
+    void testInvalidCapacityIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardMethodFlightRecorder(0));
+    }
+
+    private static class TestService {
+        String method0(int value) {
+            return null;
+        }
+
+        String method1(int value) {
+            return null;
+        }
+
+        String method2(int value) {
+            return null;
+        }
+    }
+}
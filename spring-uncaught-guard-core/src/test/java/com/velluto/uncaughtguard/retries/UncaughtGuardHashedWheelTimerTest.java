@@ -0,0 +1,73 @@
+package com.velluto.uncaughtguard.retries;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UncaughtGuardHashedWheelTimerTest {
+    private UncaughtGuardHashedWheelTimer timer;
+
+    @AfterEach
+    void tearDown() {
+        if (timer != null)
+            timer.stop();
+    }
+
+    @Test
+    void constructor_invalidArguments_throwException() {
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardHashedWheelTimer(0, 8));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardHashedWheelTimer(1, 0));
+    }
+
+    @Test
+    void schedule_runsTaskAfterDelayOnTimerThread() throws Exception {
+        timer = new UncaughtGuardHashedWheelTimer(5, 8);
+        CompletableFuture<Thread> taskThread = new CompletableFuture<>();
+        long scheduledAt = System.nanoTime();
+
+        assertTrue(timer.schedule(() -> taskThread.complete(Thread.currentThread()), 50));
+
+        assertEquals(UncaughtGuardHashedWheelTimer.THREAD_NAME, taskThread.get(5, TimeUnit.SECONDS).getName());
+        assertTrue(System.nanoTime() - scheduledAt >= TimeUnit.MILLISECONDS.toNanos(45));
+    }
+
+    @Test
+    void schedule_delayBeyondOneRevolution_waitsRemainingRounds() throws Exception {
+        // a revolution of the wheel lasts 4 ticks of 5 ms
+        timer = new UncaughtGuardHashedWheelTimer(5, 4);
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+
+        timer.schedule(() -> {
+            order.add(2);
+            done.countDown();
+        }, 100);
+        timer.schedule(() -> {
+            order.add(1);
+            done.countDown();
+        }, 10);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 2), order);
+    }
+
+    @Test
+    void stop_returnsUnexpiredTasksAndRefusesNewOnes() {
+        timer = new UncaughtGuardHashedWheelTimer(5, 8);
+        Runnable task = () -> fail("Task must not run");
+        timer.schedule(task, 60000);
+
+        List<Runnable> unexpired = timer.stop();
+
+        assertEquals(List.of(task), unexpired);
+        assertFalse(timer.schedule(() -> {
+        }, 0));
+    }
+}
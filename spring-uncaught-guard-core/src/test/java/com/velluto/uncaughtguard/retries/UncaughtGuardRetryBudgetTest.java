@@ -0,0 +1,39 @@
+package com.velluto.uncaughtguard.retries;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UncaughtGuardRetryBudgetTest {
+    @Test
+    void constructor_invalidArguments_throwException() {
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardRetryBudget(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardRetryBudget(101, 1));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardRetryBudget(10, 0));
+    }
+
+    @Test
+    void reserveExhausted_callsRefillBudget() {
+        UncaughtGuardRetryBudget budget = new UncaughtGuardRetryBudget(25, 2);
+        assertTrue(budget.tryWithdrawRetry());
+        assertTrue(budget.tryWithdrawRetry());
+        assertFalse(budget.tryWithdrawRetry());
+
+        // four calls at 25% earn one retry
+        for (int i = 0; i < 3; i++)
+            budget.recordCall();
+        assertFalse(budget.tryWithdrawRetry());
+        budget.recordCall();
+        assertTrue(budget.tryWithdrawRetry());
+    }
+
+    @Test
+    void recordCall_neverExceedsReserve() {
+        UncaughtGuardRetryBudget budget = new UncaughtGuardRetryBudget(100, 1);
+        for (int i = 0; i < 10; i++)
+            budget.recordCall();
+
+        assertTrue(budget.tryWithdrawRetry());
+        assertFalse(budget.tryWithdrawRetry());
+    }
+}
@@ -0,0 +1,169 @@
+package com.velluto.uncaughtguard.routers;
+
+import com.velluto.uncaughtguard.exceptions.UncaughtGuardRestoredException;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardLoggingStrategy;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardSystemErrorLoggingStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UncaughtGuardStrategyRouterTest {
+    private ApplicationContext context;
+    private UncaughtGuardProperties properties;
+    private UncaughtGuardStrategyRouter router;
+
+    private final PaymentsStrategy paymentsStrategy = new PaymentsStrategy();
+    private final CatchAllStrategy catchAllStrategy = new CatchAllStrategy();
+    private final UncaughtGuardSystemErrorLoggingStrategy systemErrorStrategy = new UncaughtGuardSystemErrorLoggingStrategy();
+
+    @BeforeEach
+    void setUp() {
+        context = mock(ApplicationContext.class);
+        properties = new UncaughtGuardProperties();
+        router = new UncaughtGuardStrategyRouter();
+
+        when(context.getBean(PaymentsStrategy.class)).thenReturn(paymentsStrategy);
+        when(context.getBean(CatchAllStrategy.class)).thenReturn(catchAllStrategy);
+        when(context.getBean(UncaughtGuardSystemErrorLoggingStrategy.class)).thenReturn(systemErrorStrategy);
+        properties.setLoggingStrategies(strategies(PaymentsStrategy.class, CatchAllStrategy.class, UncaughtGuardSystemErrorLoggingStrategy.class));
+
+        // inject mocks via reflection
+        try {
+            var ctxField = UncaughtGuardStrategyRouter.class.getDeclaredField("context");
+            ctxField.setAccessible(true);
+            ctxField.set(router, context);
+            var propField = UncaughtGuardStrategyRouter.class.getDeclaredField("properties");
+            propField.setAccessible(true);
+            propField.set(router, properties);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private UncaughtGuardExceptionTrace trace(RuntimeException exception, String method, String path) {
+        UncaughtGuardExceptionTrace trace = mock(UncaughtGuardExceptionTrace.class);
+        when(trace.getException()).thenReturn(exception);
+        when(trace.getMethod()).thenReturn(method);
+        when(trace.getPath()).thenReturn(path);
+        when(trace.getPathWithinApplication()).thenReturn(path);
+        return trace;
+    }
+
+    @Test
+    void route_noRoutes_returnsAllConfiguredStrategies() {
+        router.init();
+
+        List<UncaughtGuardLoggingStrategy> strategies = router.route(trace(new RuntimeException(), "GET", "/any"));
+
+        assertEquals(List.of(paymentsStrategy, catchAllStrategy, systemErrorStrategy), strategies);
+        assertSame(systemErrorStrategy, router.getFallbackStrategy());
+    }
+
+    @Test
+    void route_firstMatchingRouteWins() {
+        properties.setRoutes(new UncaughtGuardRouteDefinition[]{
+                new UncaughtGuardRouteDefinition(exceptions(IllegalStateException.class), new RequestMethod[]{RequestMethod.POST}, new String[]{"/payments/**"}, strategies(PaymentsStrategy.class)),
+                new UncaughtGuardRouteDefinition(exceptions(), new RequestMethod[0], new String[0], strategies(CatchAllStrategy.class))
+        });
+        router.init();
+
+        assertEquals(List.of(paymentsStrategy), router.route(trace(new IllegalStateException(), "POST", "/payments/42/refunds")));
+        assertEquals(List.of(catchAllStrategy), router.route(trace(new IllegalStateException(), "GET", "/payments/42")));
+        assertEquals(List.of(catchAllStrategy), router.route(trace(new IllegalStateException(), "POST", "/orders/42")));
+        assertEquals(List.of(catchAllStrategy), router.route(trace(new IllegalArgumentException(), "POST", "/payments/42")));
+    }
+
+    @Test
+    void route_matchesExceptionSubclasses() {
+        properties.setRoutes(new UncaughtGuardRouteDefinition[]{
+                new UncaughtGuardRouteDefinition(exceptions(IllegalArgumentException.class), new RequestMethod[0], new String[0], strategies(PaymentsStrategy.class))
+        });
+        router.init();
+
+        assertEquals(List.of(paymentsStrategy), router.route(trace(new NumberFormatException(), "GET", "/any")));
+        assertEquals(3, router.route(trace(new IllegalStateException(), "GET", "/any")).size());
+    }
+
+    @Test
+    void route_restoredException_routesByOriginalType() {
+        properties.setRoutes(new UncaughtGuardRouteDefinition[]{
+                new UncaughtGuardRouteDefinition(exceptions(IllegalArgumentException.class), new RequestMethod[0], new String[0], strategies(PaymentsStrategy.class)),
+                new UncaughtGuardRouteDefinition(exceptions(), new RequestMethod[0], new String[0], strategies(CatchAllStrategy.class))
+        });
+        router.init();
+
+        assertEquals(List.of(paymentsStrategy), router.route(trace(restored(NumberFormatException.class.getName()), "GET", "/any")));
+        assertEquals(List.of(catchAllStrategy), router.route(trace(restored(IllegalStateException.class.getName()), "GET", "/any")));
+    }
+
+    @Test
+    void route_restoredExceptionOfMissingType_matchesOnlyExactName() {
+        properties.setRoutes(new UncaughtGuardRouteDefinition[]{
+                new UncaughtGuardRouteDefinition(exceptions(IllegalArgumentException.class), new RequestMethod[0], new String[0], strategies(PaymentsStrategy.class)),
+                new UncaughtGuardRouteDefinition(exceptions(), new RequestMethod[0], new String[0], strategies(CatchAllStrategy.class))
+        });
+        router.init();
+
+        assertEquals(List.of(catchAllStrategy), router.route(trace(restored("com.example.RemovedException"), "GET", "/any")));
+    }
+
+    @Test
+    void route_matchesPathWithinApplication() {
+        properties.setRoutes(new UncaughtGuardRouteDefinition[]{
+                new UncaughtGuardRouteDefinition(exceptions(), new RequestMethod[0], new String[]{"/payments/**"}, strategies(PaymentsStrategy.class))
+        });
+        router.init();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/shop/payments/42");
+        request.setContextPath("/shop");
+        UncaughtGuardExceptionTrace trace = new UncaughtGuardExceptionTrace(request, new IllegalStateException(), false);
+
+        assertEquals("/shop/payments/42", trace.getPath());
+        assertEquals(List.of(paymentsStrategy), router.route(trace));
+    }
+
+    @Test
+    void init_routeWithUnconfiguredStrategy_throwsException() {
+        properties.setLoggingStrategies(strategies(CatchAllStrategy.class));
+        properties.setRoutes(new UncaughtGuardRouteDefinition[]{
+                new UncaughtGuardRouteDefinition(exceptions(), new RequestMethod[0], new String[0], strategies(PaymentsStrategy.class))
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> router.init());
+    }
+
+    @SafeVarargs
+    private static Class<? extends RuntimeException>[] exceptions(Class<? extends RuntimeException>... exceptions) {
+        return exceptions;
+    }
+
+    @SafeVarargs
+    private static Class<? extends UncaughtGuardLoggingStrategy>[] strategies(Class<? extends UncaughtGuardLoggingStrategy>... strategies) {
+        return strategies;
+    }
+
+    private static UncaughtGuardRestoredException restored(String originalClassName) {
+        return new UncaughtGuardRestoredException(originalClassName, null, new StackTraceElement[0], null);
+    }
+
+    private static class PaymentsStrategy extends UncaughtGuardLoggingStrategy {
+        @Override
+        protected void log(UncaughtGuardExceptionTrace exceptionTrace) {
+        }
+    }
+
+    private static class CatchAllStrategy extends UncaughtGuardLoggingStrategy {
+        @Override
+        protected void log(UncaughtGuardExceptionTrace exceptionTrace) {
+        }
+    }
+}
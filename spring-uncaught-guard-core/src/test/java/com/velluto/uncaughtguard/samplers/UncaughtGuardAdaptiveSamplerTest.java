@@ -0,0 +1,105 @@
+package com.velluto.uncaughtguard.samplers;
+
+import com.velluto.uncaughtguard.exceptions.UncaughtGuardMethodParametersEnrichedRuntimeException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UncaughtGuardAdaptiveSamplerTest {
+    private final AtomicLong nanoClock = new AtomicLong();
+    private double randomValue = 0.5;
+
+    private UncaughtGuardAdaptiveSampler buildSampler(int thresholdPerSecond, int minimumPercent) {
+        UncaughtGuardAdaptiveSampler sampler = new UncaughtGuardAdaptiveSampler(nanoClock::get, () -> randomValue);
+        // 1 second window, so that the arrival rate is the number of exceptions in the window
+        sampler.configure(thresholdPerSecond, 1000, minimumPercent);
+        return sampler;
+    }
+
+    @Test
+    void sample_disabled_capturesEveryException() {
+        UncaughtGuardAdaptiveSampler sampler = buildSampler(0, 1);
+
+        for (int i = 0; i < 100; i++)
+            assertTrue(sampler.sample(new IllegalStateException()));
+        assertEquals(1.0, sampler.getSamplingProbability());
+        assertEquals(0, sampler.getSampledOutTracesCount());
+        assertFalse(sampler.isSampling());
+    }
+
+    @Test
+    void sample_belowThreshold_capturesEveryException() {
+        UncaughtGuardAdaptiveSampler sampler = buildSampler(10, 1);
+
+        for (int i = 0; i < 10; i++)
+            assertTrue(sampler.sample(new IllegalStateException()));
+        assertFalse(sampler.isSampling());
+        assertEquals(0, sampler.getSampledOutTracesCount());
+    }
+
+    @Test
+    void sample_aboveThreshold_capturesWithThresholdOverRateProbability() {
+        UncaughtGuardAdaptiveSampler sampler = buildSampler(10, 1);
+        for (int i = 0; i < 10; i++)
+            sampler.sample(new IllegalStateException());
+
+        // 20 exceptions per second against a threshold of 10, half of them are captured
+        randomValue = 0.49;
+        for (int i = 0; i < 9; i++)
+            sampler.sample(new IllegalStateException());
+        assertTrue(sampler.sample(new IllegalStateException()));
+        assertEquals(0.5, sampler.getSamplingProbability());
+        assertTrue(sampler.isSampling());
+
+        randomValue = 0.51;
+        assertFalse(sampler.sample(new IllegalStateException()));
+    }
+
+    @Test
+    void sample_aboveThreshold_neverGoesBelowMinimumProbability() {
+        UncaughtGuardAdaptiveSampler sampler = buildSampler(1, 10);
+        randomValue = 0.09;
+
+        for (int i = 0; i < 1000; i++)
+            assertTrue(sampler.sample(new IllegalStateException()));
+        assertEquals(0.1, sampler.getSamplingProbability());
+    }
+
+    @Test
+    void sample_sampledOut_countsExactlyByExceptionClass() {
+        UncaughtGuardAdaptiveSampler sampler = buildSampler(1, 0);
+        randomValue = 0.99;
+        sampler.sample(new IllegalStateException());
+
+        List<RuntimeException> exceptions = List.of(
+                new IllegalStateException(),
+                new IllegalArgumentException(),
+                new UncaughtGuardMethodParametersEnrichedRuntimeException(new IllegalArgumentException(), "method()", new Object[0])
+        );
+        exceptions.forEach(sampler::sample);
+
+        assertEquals(3, sampler.getSampledOutTracesCount());
+        assertEquals(1, sampler.getSampledTracesCount());
+        assertEquals(Map.of(
+                IllegalStateException.class.getName(), 1L,
+                IllegalArgumentException.class.getName(), 2L
+        ), sampler.getSampledOutTracesCounts());
+    }
+
+    @Test
+    void sample_rateBackBelowThreshold_stopsSampling() {
+        UncaughtGuardAdaptiveSampler sampler = buildSampler(1, 0);
+        sampler.sample(new IllegalStateException());
+        sampler.sample(new IllegalStateException());
+        assertTrue(sampler.isSampling());
+
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertTrue(sampler.sample(new IllegalStateException()));
+        assertFalse(sampler.isSampling());
+    }
+}
@@ -0,0 +1,56 @@
+package com.velluto.uncaughtguard.samplers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UncaughtGuardSlidingWindowCounterTest {
+    private final AtomicLong nanoClock = new AtomicLong();
+
+    @Test
+    void constructor_invalidArguments_throwException() {
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardSlidingWindowCounter(1000, 0));
+        assertThrows(IllegalArgumentException.class, () -> new UncaughtGuardSlidingWindowCounter(5, 10));
+    }
+
+    @Test
+    void increment_countsEventsWithinWindow() {
+        // 1 second window split in 10 buckets of 100 ms
+        UncaughtGuardSlidingWindowCounter counter = new UncaughtGuardSlidingWindowCounter(1000, 10, nanoClock::get);
+
+        counter.increment();
+        nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+        counter.increment();
+        assertEquals(3, counter.increment());
+        assertEquals(3.0, counter.getRatePerSecond());
+    }
+
+    @Test
+    void getCount_forgetsEventsOlderThanWindow() {
+        UncaughtGuardSlidingWindowCounter counter = new UncaughtGuardSlidingWindowCounter(1000, 10, nanoClock::get);
+        counter.increment();
+        nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        counter.increment();
+
+        nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+        assertEquals(1, counter.getCount());
+
+        nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(0, counter.getCount());
+    }
+
+    @Test
+    void increment_reusesBucketOfPreviousWindow() {
+        UncaughtGuardSlidingWindowCounter counter = new UncaughtGuardSlidingWindowCounter(1000, 10, nanoClock::get);
+        counter.increment();
+        counter.increment();
+
+        // same bucket slot, one window later
+        nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertEquals(1, counter.increment());
+    }
+}
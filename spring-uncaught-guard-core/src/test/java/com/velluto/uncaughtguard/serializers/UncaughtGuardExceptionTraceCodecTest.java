@@ -0,0 +1,68 @@
+package com.velluto.uncaughtguard.serializers;
+
+import com.velluto.uncaughtguard.exceptions.UncaughtGuardMethodParametersEnrichedRuntimeException;
+import com.velluto.uncaughtguard.exceptions.UncaughtGuardRestoredException;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardMethodFlightRecorderEvent;
+import com.velluto.uncaughtguard.models.UncaughtGuardMethodFlightRecorderEventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UncaughtGuardExceptionTraceCodecTest {
+    private final UncaughtGuardExceptionTraceCodec codec = new UncaughtGuardExceptionTraceCodec();
+
+    @Test
+    void encodeAndDecode_keepsTraceContent() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/shop/payments/42");
+        request.setContextPath("/shop");
+        request.setQueryString("currency=EUR");
+        request.addHeader("X-Request-Id", "abc");
+        RuntimeException cause = new IllegalArgumentException("invalid amount");
+        RuntimeException exception = new UncaughtGuardMethodParametersEnrichedRuntimeException(
+                new IllegalStateException("payment failed", cause), "PaymentService.pay(int)", new Object[]{42});
+        UncaughtGuardExceptionTrace trace = new UncaughtGuardExceptionTrace(request, exception, false);
+        trace.attachMethodFlightRecording(List.of(
+                new UncaughtGuardMethodFlightRecorderEvent(UncaughtGuardMethodFlightRecorderEventType.ENTRY, "PaymentService.pay(int)", 0, 100, -1),
+                new UncaughtGuardMethodFlightRecorderEvent(UncaughtGuardMethodFlightRecorderEventType.EXCEPTIONAL_EXIT, "PaymentService.pay(int)", 0, 900, 800)
+        ));
+
+        String encoded = codec.encode(trace);
+        UncaughtGuardExceptionTrace decoded = codec.decode(encoded);
+
+        assertFalse(encoded.contains("\n"));
+        assertEquals(trace.getTraceId(), decoded.getTraceId());
+        assertEquals(trace.getIncidentTimestamp(), decoded.getIncidentTimestamp());
+        assertEquals("POST", decoded.getMethod());
+        assertEquals("/shop/payments/42", decoded.getPath());
+        assertEquals("/payments/42", decoded.getPathWithinApplication());
+        assertEquals("EUR", decoded.getQueryParams().get("currency"));
+        assertEquals("abc", decoded.getHeaders().get("X-Request-Id"));
+        assertEquals("PaymentService.pay(int)", decoded.getThrowingMethods().get(0).getMethodSignature());
+        assertEquals(Integer.class.getName(), decoded.getThrowingMethods().get(0).getPassedParameters()[0].getTypeClassName());
+        assertEquals(2, decoded.getMethodFlightRecording().size());
+        assertEquals(UncaughtGuardMethodFlightRecorderEventType.EXCEPTIONAL_EXIT, decoded.getMethodFlightRecording().get(1).getType());
+        assertEquals(800, decoded.getMethodFlightRecording().get(1).getDurationNanos());
+
+        UncaughtGuardRestoredException restored = assertInstanceOf(UncaughtGuardRestoredException.class, decoded.getException());
+        assertEquals(IllegalStateException.class.getName(), restored.getOriginalClassName());
+        assertEquals("payment failed", restored.getMessage());
+        assertEquals(trace.getException().getStackTrace()[0].toString(), restored.getStackTrace()[0].toString());
+        assertEquals(trace.getException().getStackTrace().length, restored.getStackTrace().length);
+        assertEquals("invalid amount", restored.getCause().getMessage());
+        assertTrue(decoded.getLoggableExceptionStackTrace().startsWith(IllegalStateException.class.getName() + ": payment failed"));
+
+        // a decoded trace encodes back to the same document
+        assertEquals(encoded, codec.encode(decoded));
+    }
+
+    @Test
+    void decode_notATrace_throwsException() {
+        assertThrows(IOException.class, () -> codec.decode("{\"foo\":1}"));
+        assertThrows(IOException.class, () -> codec.decode("not json"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.velluto.uncaughtguard.serializers;
+
+import com.velluto.uncaughtguard.exceptions.UncaughtGuardMethodParametersEnrichedRuntimeException;
+import com.velluto.uncaughtguard.exceptions.UncaughtGuardRestoredException;
+import com.velluto.uncaughtguard.models.UncaughtGuardCaptureMode;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardMethodFlightRecorderEvent;
+import com.velluto.uncaughtguard.models.UncaughtGuardMethodFlightRecorderEventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UncaughtGuardExceptionTraceFrameCodecTest {
+    private final UncaughtGuardExceptionTraceFrameCodec codec = new UncaughtGuardExceptionTraceFrameCodec();
+
+    @Test
+    void encodeAndDecode_renderedTrace_keepsTraceContent() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/shop/payments/42");
+        request.setContextPath("/shop");
+        request.setQueryString("currency=EUR");
+        request.addHeader("X-Request-Id", "abc");
+        RuntimeException cause = new IllegalArgumentException("invalid amount");
+        RuntimeException exception = new UncaughtGuardMethodParametersEnrichedRuntimeException(
+                new IllegalStateException("payment failed", cause), "PaymentService.pay(int)", new Object[]{42});
+        UncaughtGuardExceptionTrace trace = new UncaughtGuardExceptionTrace(request, exception, false);
+        trace.attachMethodFlightRecording(List.of(
+                new UncaughtGuardMethodFlightRecorderEvent(UncaughtGuardMethodFlightRecorderEventType.ENTRY, "PaymentService.pay(int)", 0, 100, -1),
+                new UncaughtGuardMethodFlightRecorderEvent(UncaughtGuardMethodFlightRecorderEventType.EXCEPTIONAL_EXIT, "PaymentService.pay(int)", 0, 900, 800)
+        ));
+
+        byte[] encoded = codec.encode(trace);
+        UncaughtGuardExceptionTrace decoded = codec.decode(encoded);
+
+        assertEquals(trace.getTraceId(), decoded.getTraceId());
+        assertEquals(trace.getIncidentTimestamp(), decoded.getIncidentTimestamp());
+        assertEquals("POST", decoded.getMethod());
+        assertEquals("/shop/payments/42", decoded.getPath());
+        assertEquals("/payments/42", decoded.getPathWithinApplication());
+        assertEquals("EUR", decoded.getQueryParams().get("currency"));
+        assertEquals("abc", decoded.getHeaders().get("X-Request-Id"));
+        assertEquals("PaymentService.pay(int)", decoded.getThrowingMethods().get(0).getMethodSignature());
+        assertEquals(Integer.class.getName(), decoded.getThrowingMethods().get(0).getPassedParameters()[0].getTypeClassName());
+        assertEquals("42", decoded.getThrowingMethods().get(0).getPassedParameters()[0].getValue());
+        assertEquals(2, decoded.getMethodFlightRecording().size());
+        assertEquals(UncaughtGuardMethodFlightRecorderEventType.EXCEPTIONAL_EXIT, decoded.getMethodFlightRecording().get(1).getType());
+        assertEquals(800, decoded.getMethodFlightRecording().get(1).getDurationNanos());
+
+        UncaughtGuardRestoredException restored = assertInstanceOf(UncaughtGuardRestoredException.class, decoded.getException());
+        assertEquals(IllegalStateException.class.getName(), restored.getOriginalClassName());
+        assertEquals("payment failed", restored.getMessage());
+        assertArrayEquals(trace.getException().getStackTrace(), restored.getStackTrace());
+        assertEquals("invalid amount", restored.getCause().getMessage());
+        assertTrue(decoded.getLoggableExceptionStackTrace().startsWith(IllegalStateException.class.getName() + ": payment failed"));
+
+        // a decoded trace encodes back to the same frame
+        assertArrayEquals(encoded, codec.encode(decoded));
+    }
+
+    @Test
+    void encodeAndDecode_deferredTrace_keepsRawSnapshotWithoutRenderingIt() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders");
+        request.setQueryString("dryRun=true");
+        request.setCharacterEncoding("UTF-8");
+        request.setContent("{\"name\":\"caffè\"}".getBytes(StandardCharsets.UTF_8));
+        UncaughtGuardExceptionTrace trace = new UncaughtGuardExceptionTrace(new ContentCachingRequestWrapper(request), new RuntimeException("boom"), true, UncaughtGuardCaptureMode.DEFERRED);
+
+        UncaughtGuardExceptionTrace decoded = codec.decode(codec.encode(trace));
+
+        assertNotNull(trace.getRequestSnapshot());
+        assertNotNull(decoded.getRequestSnapshot());
+        assertArrayEquals(trace.getRequestSnapshot().getBody(), decoded.getRequestSnapshot().getBody());
+        assertEquals("{\"name\":\"caffè\"}", decoded.getBody());
+        assertEquals("true", decoded.getQueryParams().get("dryRun"));
+        assertEquals(trace.getBody(), decoded.getBody());
+        assertNull(decoded.getRequestSnapshot());
+    }
+
+    @Test
+    void encode_causeCycle_writesEachExceptionOnce() throws IOException {
+        IllegalStateException first = new IllegalStateException("first");
+        IllegalArgumentException second = new IllegalArgumentException("second", first);
+        first.initCause(second);
+        UncaughtGuardExceptionTrace trace = new UncaughtGuardExceptionTrace(new MockHttpServletRequest("GET", "/"), first, false);
+
+        UncaughtGuardExceptionTrace decoded = codec.decode(codec.encode(trace));
+
+        assertEquals("second", decoded.getException().getCause().getMessage());
+        assertNull(decoded.getException().getCause().getCause());
+    }
+
+    @Test
+    void decode_notATrace_throwsException() throws IOException {
+        byte[] encoded = codec.encode(new UncaughtGuardExceptionTrace(new MockHttpServletRequest("GET", "/"), new RuntimeException("boom"), false));
+
+        assertThrows(IOException.class, () -> codec.decode("{\"foo\":1}".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(IOException.class, () -> codec.decode(Arrays.copyOf(encoded, encoded.length / 2)));
+        assertThrows(IOException.class, () -> codec.decode(new byte[0]));
+    }
+}
@@ -0,0 +1,55 @@
+package com.velluto.uncaughtguard.spill;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UncaughtGuardTraceSpillFileTest {
+    @TempDir
+    Path tempDir;
+
+    private UncaughtGuardExceptionTrace trace(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setQueryString("page=1");
+        return new UncaughtGuardExceptionTrace(request, new IllegalStateException("boom"), false);
+    }
+
+    @Test
+    void spillAndTakeAll_returnsSpilledTracesAndRemovesFile() throws IOException {
+        Path path = tempDir.resolve("spill").resolve("traces.jsonl");
+        UncaughtGuardTraceSpillFile spillFile = new UncaughtGuardTraceSpillFile(path);
+        UncaughtGuardExceptionTrace first = trace("/first");
+        UncaughtGuardExceptionTrace second = trace("/second");
+
+        assertEquals(1, spillFile.spill(List.of(first)));
+        assertEquals(1, spillFile.spill(List.of(second)));
+        List<UncaughtGuardExceptionTrace> taken = spillFile.takeAll();
+
+        assertEquals(List.of(first.getTraceId(), second.getTraceId()), taken.stream().map(UncaughtGuardExceptionTrace::getTraceId).toList());
+        assertFalse(Files.exists(path));
+        assertTrue(spillFile.takeAll().isEmpty());
+    }
+
+    @Test
+    void takeAll_skipsCorruptedLines() throws IOException {
+        Path path = tempDir.resolve("traces.jsonl");
+        UncaughtGuardTraceSpillFile spillFile = new UncaughtGuardTraceSpillFile(path);
+        spillFile.spill(List.of(trace("/valid")));
+        Files.writeString(path, "{\"truncated\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        List<UncaughtGuardExceptionTrace> taken = spillFile.takeAll();
+
+        assertEquals(1, taken.size());
+        assertEquals("/valid", taken.get(0).getPath());
+    }
+}
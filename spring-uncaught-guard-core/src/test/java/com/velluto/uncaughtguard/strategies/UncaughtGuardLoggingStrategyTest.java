@@ -1,5 +1,7 @@
 package com.velluto.uncaughtguard.strategies;
 
+import com.velluto.uncaughtguard.breakers.UncaughtGuardCircuitBreaker;
+import com.velluto.uncaughtguard.breakers.UncaughtGuardCircuitBreakerState;
 import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
 import com.velluto.uncaughtguard.properties.UncaughtGuardProperties;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,10 +10,10 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import java.util.List;
 import java.util.UUID;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class UncaughtGuardLoggingStrategyTest {
@@ -58,6 +60,35 @@ class UncaughtGuardLoggingStrategyTest {
         assertFalse(result);
     }
 
+    @Test
+    void callLog_circuitBreakerOpen_skipsLogAndReturnsFalse() {
+        UncaughtGuardLoggingStrategy throwingStrategy = spy(new UncaughtGuardLoggingStrategy() {
+            @Override
+            public void log(UncaughtGuardExceptionTrace exceptionTrace) {
+                throw new RuntimeException("Logging failed");
+            }
+        });
+        throwingStrategy.setCircuitBreaker(new UncaughtGuardCircuitBreaker("strategy", 100, 1, 1, 60000, 1));
+
+        assertFalse(throwingStrategy.callLog(trace));
+        assertEquals(UncaughtGuardCircuitBreakerState.OPEN, throwingStrategy.getCircuitBreaker().getState());
+
+        assertFalse(throwingStrategy.callLog(trace));
+        Mockito.verify(throwingStrategy, times(1)).log(trace);
+        assertEquals(1, throwingStrategy.getCircuitBreaker().getRejectedCallsCount());
+    }
+
+    @Test
+    void callLogBatch_notBatchStrategy_throwsException() {
+        UncaughtGuardLoggingStrategy strategy = new UncaughtGuardLoggingStrategy() {
+            @Override
+            protected void log(UncaughtGuardExceptionTrace exceptionTrace) {
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> strategy.callLogBatch(List.of(trace)));
+    }
+
     @Test
     void getLogErrorMessage_returnsConfiguredMessage() {
         String expectedMessage = "Test error message";
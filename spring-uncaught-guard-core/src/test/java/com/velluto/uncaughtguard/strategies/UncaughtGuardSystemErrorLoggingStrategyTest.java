@@ -1,6 +1,7 @@
 package com.velluto.uncaughtguard.strategies;
 
 import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -43,6 +44,30 @@ class UncaughtGuardSystemErrorLoggingStrategyTest {
         assertTrue(output.contains("Exception"));
     }
 
+    @Test
+    void logSummary_writesToSystemErr() {
+        when(trace.getTraceId()).thenReturn(java.util.UUID.randomUUID());
+        when(trace.getMethod()).thenReturn("GET");
+        when(trace.getPath()).thenReturn("/test");
+        when(trace.getException()).thenReturn(new RuntimeException("Test Exception"));
+        UncaughtGuardExceptionTraceSummary summary = new UncaughtGuardExceptionTraceSummary(
+                "00000000000000ff",
+                trace,
+                RuntimeException.class.getName(),
+                java.time.LocalDateTime.now(),
+                java.time.LocalDateTime.now(),
+                42,
+                java.util.List.of()
+        );
+
+        UncaughtGuardSystemErrorLoggingStrategy strategy = Mockito.spy(new UncaughtGuardSystemErrorLoggingStrategy());
+        doReturn("An uncaught exception occurred").when(strategy).getLogErrorMessage();
+        assertTrue(strategy.callLogSummary(summary));
+        String output = errContent.toString();
+        assertTrue(output.contains("00000000000000ff"));
+        assertTrue(output.contains("Repetitions  : 42"));
+    }
+
     @AfterEach
     void tearDown() {
         System.setErr(originalErr);
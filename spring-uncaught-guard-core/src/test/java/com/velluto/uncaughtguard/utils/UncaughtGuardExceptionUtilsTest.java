@@ -5,8 +5,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 class UncaughtGuardExceptionUtilsTest {
     private UncaughtGuardExceptionUtils utils;
@@ -53,9 +52,29 @@ class UncaughtGuardExceptionUtilsTest {
         assertThrows(NullPointerException.class, () -> utils.isExceptionExcluded(new CustomException()));
     }
 
+    @Test
+    void testIsExceptionExcluded_subclassOfExcludedIsExcluded() {
+        when(properties.getExcludedExceptions()).thenReturn(new Class[]{CustomException.class});
+        assertTrue(utils.isExceptionExcluded(new CustomSubException()));
+        assertFalse(utils.isExceptionExcluded(new RuntimeException()));
+    }
+
+    @Test
+    void testIsExceptionExcluded_decisionIsCachedPerClass() {
+        when(properties.getExcludedExceptions()).thenReturn(new Class[]{AnotherException.class, CustomException.class});
+        for (int i = 0; i < 10; i++) {
+            assertTrue(utils.isExceptionExcluded(new CustomException()));
+            assertFalse(utils.isExceptionExcluded(new IllegalStateException()));
+        }
+        verify(properties, times(2)).getExcludedExceptions();
+    }
+
     static class CustomException extends RuntimeException {
     }
 
+    static class CustomSubException extends CustomException {
+    }
+
     static class AnotherException extends RuntimeException {
     }
 }
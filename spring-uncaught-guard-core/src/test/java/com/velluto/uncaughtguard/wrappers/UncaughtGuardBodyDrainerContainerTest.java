@@ -0,0 +1,132 @@
+package com.velluto.uncaughtguard.wrappers;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.startup.Tomcat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drains bodies of requests served by an embedded Tomcat, whose blocking input stream only
+ * buffers body bytes when the body is read.
+ */
+class UncaughtGuardBodyDrainerContainerTest {
+    private static final String BODY = "0123456789";
+    private static final int CONNECTION_TIMEOUT_MILLIS = 2000;
+
+    private Tomcat tomcat;
+    private volatile CompletableFuture<String> drained;
+
+    @BeforeEach
+    void setUp(@TempDir Path baseDir) throws Exception {
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.toString());
+        tomcat.setPort(0);
+        tomcat.getConnector().setProperty("connectionTimeout", String.valueOf(CONNECTION_TIMEOUT_MILLIS));
+        Context context = tomcat.addContext("", baseDir.toString());
+        Tomcat.addServlet(context, "drain", new HttpServlet() {
+            @Override
+            protected void doPost(HttpServletRequest request, HttpServletResponse response) {
+                UncaughtGuardBoundedContentCachingRequestWrapper wrappedRequest = new UncaughtGuardBoundedContentCachingRequestWrapper(request, 0, 100, Long.parseLong(request.getHeader("X-Drain-Timeout")));
+                try {
+                    UncaughtGuardBodyDrainer.Outcome outcome = wrappedRequest.drainBody();
+                    drained.complete(outcome + " " + new String(wrappedRequest.getCachedBody(), StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    drained.complete("failed " + new String(wrappedRequest.getCachedBody(), StandardCharsets.UTF_8));
+                }
+            }
+        });
+        context.addServletMappingDecoded("/*", "drain");
+        tomcat.start();
+        drained = new CompletableFuture<>();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    @Test
+    void testBodySentAfterHeadersIsNotBufferedWithoutTimeBudget() throws Exception {
+        try (Socket socket = connect()) {
+            sendHeaders(socket, 0, false);
+            Thread.sleep(50);
+            send(socket, BODY);
+
+            assertEquals("TIME_BUDGET_EXHAUSTED ", drained.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testBodySentAfterHeadersIsNotBufferedWithinTimeBudget() throws Exception {
+        try (Socket socket = connect()) {
+            sendHeaders(socket, 100, false);
+            Thread.sleep(50);
+            send(socket, BODY);
+
+            // waiting does not fill the buffer of a blocking stream, only a read would
+            assertEquals("TIME_BUDGET_EXHAUSTED ", drained.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testBodyAwaitingContinueIsNotFullyReceivedWithinTimeBudget() throws Exception {
+        try (Socket socket = connect()) {
+            sendHeaders(socket, 100, true);
+
+            // no read asks the container to send 100 Continue, so the client never sends the body
+            assertEquals("TIME_BUDGET_EXHAUSTED ", drained.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testStalledBodyHoldsThreadOnlyForTimeBudget() throws Exception {
+        try (Socket socket = connect()) {
+            long start = System.nanoTime();
+            sendHeaders(socket, 100, false);
+            send(socket, BODY.substring(0, 4));
+
+            assertEquals("TIME_BUDGET_EXHAUSTED 0123", drained.get(5, TimeUnit.SECONDS));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(elapsedMillis >= 100 && elapsedMillis < CONNECTION_TIMEOUT_MILLIS, "drain ended after " + elapsedMillis + "ms");
+        }
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = new Socket("localhost", tomcat.getConnector().getLocalPort());
+        socket.setSoTimeout(5000);
+        return socket;
+    }
+
+    private static void sendHeaders(Socket socket, long drainTimeoutMillis, boolean expectContinue) throws IOException {
+        send(socket, "POST /errors HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + "Content-Type: text/plain\r\n"
+                + "Content-Length: " + BODY.length() + "\r\n"
+                + "X-Drain-Timeout: " + drainTimeoutMillis + "\r\n"
+                + (expectContinue ? "Expect: 100-continue\r\n" : "")
+                + "\r\n");
+    }
+
+    private static void send(Socket socket, String data) throws IOException {
+        OutputStream outputStream = socket.getOutputStream();
+        outputStream.write(data.getBytes(StandardCharsets.US_ASCII));
+        outputStream.flush();
+    }
+}
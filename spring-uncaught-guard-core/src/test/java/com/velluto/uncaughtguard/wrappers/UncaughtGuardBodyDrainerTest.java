@@ -0,0 +1,218 @@
+package com.velluto.uncaughtguard.wrappers;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UncaughtGuardBodyDrainerTest {
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    @Test
+    void testReceivedBodyIsDrainedCompletely() throws Exception {
+        UncaughtGuardBoundedContentCachingRequestWrapper wrappedRequest = new UncaughtGuardBoundedContentCachingRequestWrapper(request("0123456789"), 0);
+
+        assertEquals(UncaughtGuardBodyDrainer.Outcome.COMPLETE, UncaughtGuardBodyDrainer.drain(wrappedRequest, 100, 0));
+        assertEquals("0123456789", new String(wrappedRequest.getCachedBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testDrainStopsAtByteBudget() throws Exception {
+        UncaughtGuardBoundedContentCachingRequestWrapper wrappedRequest = new UncaughtGuardBoundedContentCachingRequestWrapper(request("0123456789"), 0);
+
+        assertEquals(UncaughtGuardBodyDrainer.Outcome.BYTE_BUDGET_EXHAUSTED, UncaughtGuardBodyDrainer.drain(wrappedRequest, 4, 0));
+        assertEquals("0123", new String(wrappedRequest.getCachedBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testRequestWithoutBodyIsComplete() throws Exception {
+        UncaughtGuardBoundedContentCachingRequestWrapper wrappedRequest = new UncaughtGuardBoundedContentCachingRequestWrapper(new MockHttpServletRequest("GET", "/test"), 0);
+
+        assertEquals(UncaughtGuardBodyDrainer.Outcome.COMPLETE, UncaughtGuardBodyDrainer.drain(wrappedRequest, 100, 0));
+    }
+
+    @Test
+    void testStalledBodyGivesUpAtTimeBudget() throws Exception {
+        UncaughtGuardBoundedContentCachingRequestWrapper wrappedRequest = new UncaughtGuardBoundedContentCachingRequestWrapper(new StalledRequest("0123", 10), 0);
+        AtomicLong nanos = new AtomicLong();
+
+        UncaughtGuardBodyDrainer.Outcome outcome = UncaughtGuardBodyDrainer.drain(wrappedRequest, 100, 5, () -> nanos.getAndAdd(1_000_000));
+
+        assertEquals(UncaughtGuardBodyDrainer.Outcome.TIME_BUDGET_EXHAUSTED, outcome);
+        assertEquals("0123", new String(wrappedRequest.getCachedBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testStalledBodyIsNotAwaitedWithoutTimeBudget() throws Exception {
+        UncaughtGuardBoundedContentCachingRequestWrapper wrappedRequest = new UncaughtGuardBoundedContentCachingRequestWrapper(new StalledRequest("", 10), 0);
+
+        long start = System.nanoTime();
+        assertEquals(UncaughtGuardBodyDrainer.Outcome.TIME_BUDGET_EXHAUSTED, UncaughtGuardBodyDrainer.drain(wrappedRequest, 100, 0));
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+    }
+
+    @Test
+    void testStalledBlockingStreamIsNotReadPastAvailableBytesWithinTimeBudget() throws Exception {
+        StalledRequest request = new StalledRequest("0123", 10);
+        request.setAsyncStarted(false);
+        UncaughtGuardBoundedContentCachingRequestWrapper wrappedRequest = new UncaughtGuardBoundedContentCachingRequestWrapper(request, 0);
+        AtomicLong nanos = new AtomicLong();
+
+        UncaughtGuardBodyDrainer.Outcome outcome = UncaughtGuardBodyDrainer.drain(wrappedRequest, 100, 5, () -> nanos.getAndAdd(1_000_000));
+
+        assertEquals(UncaughtGuardBodyDrainer.Outcome.TIME_BUDGET_EXHAUSTED, outcome);
+        assertEquals("0123", new String(wrappedRequest.getCachedBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testBlockingStreamIsNotReadWithinTimeBudget() throws Exception {
+        UncaughtGuardBoundedContentCachingRequestWrapper wrappedRequest = new UncaughtGuardBoundedContentCachingRequestWrapper(new UnbufferedRequest("0123456789"), 0);
+
+        long start = System.nanoTime();
+        assertEquals(UncaughtGuardBodyDrainer.Outcome.TIME_BUDGET_EXHAUSTED, UncaughtGuardBodyDrainer.drain(wrappedRequest, 100, 5));
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+        assertEquals(0, wrappedRequest.getCachedBody().length);
+    }
+
+    @Test
+    void testBlockingStreamIsNotReadWithoutTimeBudget() throws Exception {
+        UncaughtGuardBoundedContentCachingRequestWrapper wrappedRequest = new UncaughtGuardBoundedContentCachingRequestWrapper(new UnbufferedRequest("0123456789"), 0);
+
+        assertEquals(UncaughtGuardBodyDrainer.Outcome.TIME_BUDGET_EXHAUSTED, UncaughtGuardBodyDrainer.drain(wrappedRequest, 100, 0));
+        assertEquals(0, wrappedRequest.getCachedBody().length);
+    }
+
+    @Test
+    void testTraceMarksBodyNotFullyReceived() {
+        UncaughtGuardBoundedContentCachingRequestWrapper wrappedRequest = new UncaughtGuardBoundedContentCachingRequestWrapper(new StalledRequest("0123", 10), 0);
+
+        UncaughtGuardExceptionTrace trace = new UncaughtGuardExceptionTrace(wrappedRequest, new RuntimeException("boom"), true);
+
+        assertEquals("0123...[body not fully received, Content-Length: 10]", trace.getBody());
+    }
+
+    @Test
+    void testTraceMarksBodyOverDrainBudgetAsTruncated() {
+        UncaughtGuardBoundedContentCachingRequestWrapper wrappedRequest = new UncaughtGuardBoundedContentCachingRequestWrapper(request("0123456789"), 0, 4, 0);
+
+        UncaughtGuardExceptionTrace trace = new UncaughtGuardExceptionTrace(wrappedRequest, new RuntimeException("boom"), true);
+
+        assertEquals("0123...[truncated, Content-Length: 10]", trace.getBody());
+    }
+
+    /**
+     * Request, in non-blocking mode unless async is reset, whose client sent only part of the declared body and then stopped sending.
+     */
+    private static final class StalledRequest extends MockHttpServletRequest {
+        private final long contentLength;
+        private final ServletInputStream inputStream;
+
+        private StalledRequest(String receivedBody, long contentLength) {
+            super("POST", "/test");
+            setAsyncStarted(true);
+            this.contentLength = contentLength;
+            ByteArrayInputStream received = new ByteArrayInputStream(receivedBody.getBytes(StandardCharsets.UTF_8));
+            this.inputStream = new ServletInputStream() {
+                @Override
+                public int read() {
+                    if (received.available() == 0)
+                        throw new AssertionError("read would block waiting for the client");
+                    return received.read();
+                }
+
+                @Override
+                public int read(byte[] bytes, int offset, int length) {
+                    if (received.available() == 0)
+                        throw new AssertionError("read would block waiting for the client");
+                    return received.read(bytes, offset, length);
+                }
+
+                @Override
+                public int available() {
+                    return received.available();
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return false;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return received.available() > 0;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                }
+            };
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return contentLength;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return inputStream;
+        }
+    }
+
+    /**
+     * Request whose body was fully sent but, like on a blocking container stream, is only buffered when it is read.
+     */
+    private static final class UnbufferedRequest extends MockHttpServletRequest {
+        private UnbufferedRequest(String body) {
+            super("POST", "/test");
+            setContent(body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ServletInputStream inputStream = super.getInputStream();
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    return inputStream.read();
+                }
+
+                @Override
+                public int read(byte[] bytes, int offset, int length) throws IOException {
+                    return inputStream.read(bytes, offset, length);
+                }
+
+                @Override
+                public int available() {
+                    return 0;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return inputStream.isFinished();
+                }
+
+                @Override
+                public boolean isReady() {
+                    return false;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.velluto.uncaughtguard.wrappers;
+
+import com.velluto.uncaughtguard.buffers.UncaughtGuardBodyBufferPool;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UncaughtGuardPooledBodyCachingRequestWrapperTest {
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    @Test
+    void testBodyReadIsCachedAcrossSlabs() throws Exception {
+        UncaughtGuardBodyBufferPool pool = new UncaughtGuardBodyBufferPool(4, 4, false);
+        UncaughtGuardPooledBodyCachingRequestWrapper wrappedRequest = new UncaughtGuardPooledBodyCachingRequestWrapper(request("0123456789"), pool, 0);
+
+        byte[] read = wrappedRequest.getInputStream().readAllBytes();
+
+        assertEquals("0123456789", new String(read, StandardCharsets.UTF_8));
+        assertEquals("0123456789", new String(wrappedRequest.getCachedBody(), StandardCharsets.UTF_8));
+        assertEquals(1, pool.getAvailableSlabsCount());
+        assertFalse(wrappedRequest.isTruncated());
+    }
+
+    @Test
+    void testReleaseHandsSlabsBack() throws Exception {
+        UncaughtGuardBodyBufferPool pool = new UncaughtGuardBodyBufferPool(4, 4, true);
+        UncaughtGuardPooledBodyCachingRequestWrapper wrappedRequest = new UncaughtGuardPooledBodyCachingRequestWrapper(request("0123456789"), pool, 0);
+        wrappedRequest.getInputStream().readAllBytes();
+
+        wrappedRequest.release();
+        wrappedRequest.release();
+
+        assertEquals(4, pool.getAvailableSlabsCount());
+        assertEquals(0, wrappedRequest.getCachedBody().length);
+    }
+
+    @Test
+    void testExhaustedPoolFallsBackToHeapSlabs() throws Exception {
+        UncaughtGuardBodyBufferPool pool = new UncaughtGuardBodyBufferPool(4, 1, false);
+        UncaughtGuardPooledBodyCachingRequestWrapper wrappedRequest = new UncaughtGuardPooledBodyCachingRequestWrapper(request("0123456789"), pool, 0);
+        wrappedRequest.getInputStream().readAllBytes();
+
+        assertEquals("0123456789", new String(wrappedRequest.getCachedBody(), StandardCharsets.UTF_8));
+
+        wrappedRequest.release();
+        assertEquals(1, pool.getAvailableSlabsCount());
+    }
+
+    @Test
+    void testBodyIsCachedUpToLimit() throws Exception {
+        UncaughtGuardBodyBufferPool pool = new UncaughtGuardBodyBufferPool(4, 4, false);
+        UncaughtGuardPooledBodyCachingRequestWrapper wrappedRequest = new UncaughtGuardPooledBodyCachingRequestWrapper(request("0123456789"), pool, 6);
+
+        assertEquals("0123456789", wrappedRequest.getReader().readLine());
+        assertEquals("012345", new String(wrappedRequest.getCachedBody(), StandardCharsets.UTF_8));
+        assertTrue(wrappedRequest.isTruncated());
+    }
+
+    @Test
+    void testTraceCopiesUnreadBodyOutOfSlabs() {
+        UncaughtGuardBodyBufferPool pool = new UncaughtGuardBodyBufferPool(4, 4, false);
+        UncaughtGuardPooledBodyCachingRequestWrapper wrappedRequest = new UncaughtGuardPooledBodyCachingRequestWrapper(request("0123456789"), pool, 6);
+
+        UncaughtGuardExceptionTrace trace = new UncaughtGuardExceptionTrace(wrappedRequest, new RuntimeException("boom"), true);
+        wrappedRequest.release();
+
+        assertEquals("012345...[truncated, Content-Length: 10]", trace.getBody());
+    }
+}
@@ -0,0 +1,64 @@
+package com.velluto.uncaughtguard.strategies;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * File system logging strategy that writes the exception traces in batches.
+ * Instead of creating one file per trace, all the traces of a batch are appended with a single write
+ * to a daily file named {@code uncaught-guard-<date>.log} in the specified directory.
+ * Traces are separated by a line made of the {@link #TRACE_SEPARATOR} only, and can be searched by Trace ID.
+ */
+public abstract class UncaughtGuardFileSystemAbstractBatchLoggingStrategy extends UncaughtGuardFileSystemAbstractLoggingStrategy implements UncaughtGuardBatchLoggingStrategy {
+    public static final String TRACE_SEPARATOR = "----------------------------------------";
+
+    private static final String BATCH_FILE_PREFIX = "uncaught-guard-";
+
+    // a lock rather than a monitor, so that a virtual thread blocked on the file write does not pin its carrier
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    @Override
+    public void logBatch(List<UncaughtGuardExceptionTrace> exceptionTraces) {
+        StringBuilder sb = new StringBuilder();
+        for (UncaughtGuardExceptionTrace exceptionTrace : exceptionTraces)
+            sb.append(getLoggableExceptionTraceString(exceptionTrace)).append('\n').append(TRACE_SEPARATOR).append('\n');
+
+        try {
+            appendToDailyFile(sb);
+        } catch (IOException e) {
+            throw new RuntimeException("An error occurred while logging using File System Batch Strategy a batch of " + exceptionTraces.size() + " exceptions", e);
+        }
+    }
+
+    /**
+     * Appends the summary to the daily file as well, separated from the traces like any other entry.
+     */
+    @Override
+    protected void logSummary(UncaughtGuardExceptionTraceSummary summary) {
+        try {
+            appendToDailyFile(getLoggableExceptionTraceSummaryString(summary) + '\n' + TRACE_SEPARATOR + '\n');
+        } catch (IOException e) {
+            throw new RuntimeException("An error occurred while logging using File System Batch Strategy the summary of exceptions with fingerprint: " + summary.getFingerprint(), e);
+        }
+    }
+
+    private void appendToDailyFile(CharSequence entries) throws IOException {
+        Path logFilePath = Path.of(getFilePath(), BATCH_FILE_PREFIX + LocalDate.now() + ".log");
+        // size and linger flushes may run concurrently, appends are serialized to keep traces contiguous
+        appendLock.lock();
+        try {
+            Files.createDirectories(logFilePath.getParent());
+            Files.writeString(logFilePath, entries, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.velluto.uncaughtguard.strategies;
 
 import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
 import jakarta.annotation.PostConstruct;
 
 import java.io.IOException;
@@ -52,7 +53,14 @@ public abstract class UncaughtGuardFileSystemAbstractLoggingStrategy extends Unc
         this.filePath = filePath;
     }
 
-    private String getLoggableExceptionTraceString(UncaughtGuardExceptionTrace exceptionTrace) {
+    /**
+     * @return the directory path loaded during the initialization
+     */
+    protected final String getFilePath() {
+        return filePath;
+    }
+
+    protected String getLoggableExceptionTraceString(UncaughtGuardExceptionTrace exceptionTrace) {
         StringBuilder sb = new StringBuilder();
 
         sb.append(getLogErrorMessage()).append('\n').append('\n');
@@ -82,4 +90,23 @@ public abstract class UncaughtGuardFileSystemAbstractLoggingStrategy extends Unc
             throw new RuntimeException("An error occurred while logging using File System Strategy exception with TraceID: " + traceId, e);
         }
     }
+
+    protected String getLoggableExceptionTraceSummaryString(UncaughtGuardExceptionTraceSummary summary) {
+        return getLogErrorMessage() + " (repeated)" + '\n' + '\n' + summary.getLoggableSummary();
+    }
+
+    /**
+     * Writes the summary next to the trace it summarizes the repetitions of,
+     * into a file named with the trace ID of the first trace and the fingerprint.
+     */
+    @Override
+    protected void logSummary(UncaughtGuardExceptionTraceSummary summary) {
+        try {
+            Path summaryFilePath = Path.of(filePath, summary.getFirstTraceId() + "-" + summary.getFingerprint() + ".summary.log");
+            Files.createDirectories(summaryFilePath.getParent());
+            Files.writeString(summaryFilePath, getLoggableExceptionTraceSummaryString(summary));
+        } catch (IOException e) {
+            throw new RuntimeException("An error occurred while logging using File System Strategy the summary of exceptions with fingerprint: " + summary.getFingerprint(), e);
+        }
+    }
 }
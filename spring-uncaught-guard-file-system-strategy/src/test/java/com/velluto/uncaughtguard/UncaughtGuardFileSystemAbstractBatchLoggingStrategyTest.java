@@ -0,0 +1,69 @@
+package com.velluto.uncaughtguard;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.strategies.UncaughtGuardFileSystemAbstractBatchLoggingStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UncaughtGuardFileSystemAbstractBatchLoggingStrategyTest {
+    @TempDir
+    Path tempDir;
+
+    private UncaughtGuardExceptionTrace mockTrace() {
+        UncaughtGuardExceptionTrace trace = mock(UncaughtGuardExceptionTrace.class);
+        when(trace.getTraceId()).thenReturn(UUID.randomUUID());
+        when(trace.getIncidentTimestamp()).thenReturn(LocalDateTime.now());
+        when(trace.getMethod()).thenReturn("GET");
+        when(trace.getPath()).thenReturn("/api/test");
+        when(trace.getQueryParams()).thenReturn(Collections.emptyMap());
+        when(trace.getHeaders()).thenReturn(Collections.emptyMap());
+        when(trace.getBody()).thenReturn("body");
+        when(trace.getJSONSerializedThrowingMethods()).thenReturn("[]");
+        when(trace.getLoggableExceptionStackTrace()).thenReturn("stacktrace");
+        return trace;
+    }
+
+    @Test
+    void testLogBatch_appendsAllTracesToDailyFile() throws Exception {
+        UncaughtGuardFileSystemAbstractBatchLoggingStrategy strategy = new UncaughtGuardFileSystemAbstractBatchLoggingStrategy() {
+            @Override
+            public String filePath() {
+                return tempDir.toString();
+            }
+
+            @Override
+            protected String getLogErrorMessage() {
+                return "Error";
+            }
+        };
+        strategy.init();
+        UncaughtGuardExceptionTrace first = mockTrace();
+        UncaughtGuardExceptionTrace second = mockTrace();
+        UncaughtGuardExceptionTrace third = mockTrace();
+
+        strategy.logBatch(List.of(first, second));
+        strategy.logBatch(List.of(third));
+
+        try (var files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+        String content = Files.readString(tempDir.resolve("uncaught-guard-" + LocalDate.now() + ".log"));
+        assertTrue(content.contains(first.getTraceId().toString()));
+        assertTrue(content.contains(second.getTraceId().toString()));
+        assertTrue(content.contains(third.getTraceId().toString()));
+        assertEquals(3, content.lines().filter(UncaughtGuardFileSystemAbstractBatchLoggingStrategy.TRACE_SEPARATOR::equals).count());
+    }
+}
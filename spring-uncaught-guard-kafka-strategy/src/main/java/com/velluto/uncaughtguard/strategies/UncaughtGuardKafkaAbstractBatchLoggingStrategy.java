@@ -0,0 +1,32 @@
+package com.velluto.uncaughtguard.strategies;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Kafka logging strategy that publishes the exception traces in batches.
+ * It is configured exactly like {@link UncaughtGuardKafkaAbstractLoggingStrategy},
+ * but all the traces of a batch are sent to the producer before waiting for any acknowledgement,
+ * so that they share the same produce requests instead of paying a network round-trip each.
+ * The batch is considered logged only once every trace has been acknowledged by the cluster.
+ */
+public abstract class UncaughtGuardKafkaAbstractBatchLoggingStrategy extends UncaughtGuardKafkaAbstractLoggingStrategy implements UncaughtGuardBatchLoggingStrategy {
+    @Override
+    public final void logBatch(List<UncaughtGuardExceptionTrace> exceptionTraces) {
+        KafkaTemplate<UUID, UncaughtGuardExceptionTrace> kafkaProducerTemplate = getKafkaProducerTemplate();
+        String kafkaTopicName = getKafkaTopicName();
+
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[exceptionTraces.size()];
+        for (int i = 0; i < sends.length; i++) {
+            UncaughtGuardExceptionTrace exceptionTrace = exceptionTraces.get(i);
+            sends[i] = kafkaProducerTemplate.send(kafkaTopicName, exceptionTrace.getTraceId(), exceptionTrace);
+        }
+        // do not wait for the producer linger, the batch already waited for its own
+        kafkaProducerTemplate.flush();
+        CompletableFuture.allOf(sends).join();
+    }
+}
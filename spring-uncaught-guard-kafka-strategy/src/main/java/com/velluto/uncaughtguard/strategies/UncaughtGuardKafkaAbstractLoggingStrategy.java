@@ -1,6 +1,7 @@
 package com.velluto.uncaughtguard.strategies;
 
 import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
 import jakarta.annotation.PostConstruct;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.UUIDSerializer;
@@ -23,6 +24,8 @@ import java.util.logging.Logger;
  * and topic name.
  * It is possible to specify null or empty values for the bootstrap servers only, in order to load them from the environment variable `spring.kafka.bootstrap-servers`.
  * It initializes the Kafka producer template and handles the logging of uncaught exceptions.
+ * Summaries of coalesced exceptions are published as JSON, keyed by the trace ID of the first trace of the window,
+ * to the topic returned by {@link #kafkaSummaryTopicName()}, which by default is the same as {@link #kafkaTopicName()}.
  */
 public abstract class UncaughtGuardKafkaAbstractLoggingStrategy extends UncaughtGuardLoggingStrategy {
     private static final Logger logger = Logger.getLogger(UncaughtGuardKafkaAbstractLoggingStrategy.class.getName());
@@ -32,7 +35,9 @@ public abstract class UncaughtGuardKafkaAbstractLoggingStrategy extends Uncaught
 
     private String kafkaBootstrapServers;
     private String kafkaTopicName;
+    private String kafkaSummaryTopicName;
     private KafkaTemplate<UUID, UncaughtGuardExceptionTrace> kafkaProducerTemplate;
+    private KafkaTemplate<UUID, UncaughtGuardExceptionTraceSummary> kafkaSummaryProducerTemplate;
 
     /**
      * Developers must implement this method to provide the list of Kafka bootstrap servers.
@@ -50,6 +55,16 @@ public abstract class UncaughtGuardKafkaAbstractLoggingStrategy extends Uncaught
      */
     public abstract String kafkaTopicName();
 
+    /**
+     * Returns the Kafka topic name where the summaries of coalesced exceptions are published.
+     * Developers may override this method when summaries are collected by a different topic.
+     *
+     * @return Name of the Kafka topic of the summaries
+     */
+    public String kafkaSummaryTopicName() {
+        return kafkaTopicName();
+    }
+
     /**
      * This method is called after the bean is constructed and instantiated.
      * It is used to initialize the Kafka logging strategy by loading and validating the configuration,
@@ -99,9 +114,9 @@ public abstract class UncaughtGuardKafkaAbstractLoggingStrategy extends Uncaught
     }
 
     /**
-     * This method is called to load and validate the Kafka topic name.
-     * It retrieves the topic name from the abstract method
-     * and checks if it is not null or empty.
+     * This method is called to load and validate the Kafka topic names of the traces and of the summaries.
+     * It retrieves the topic names from their methods
+     * and checks if they are not null or empty.
      * If the topic name is not provided,
      * an IllegalArgumentException is thrown.
      *
@@ -114,14 +129,22 @@ public abstract class UncaughtGuardKafkaAbstractLoggingStrategy extends Uncaught
 
         logger.fine("Retrieved Kafka topic name from method kafkaTopicName: " + topicName);
         this.kafkaTopicName = topicName;
+
+        String summaryTopicName = kafkaSummaryTopicName();
+        if (summaryTopicName == null || summaryTopicName.isEmpty())
+            throw new IllegalArgumentException("Kafka summary topic name must be provided, please implement the kafkaSummaryTopicName method correctly.");
+
+        logger.fine("Retrieved Kafka summary topic name from method kafkaSummaryTopicName: " + summaryTopicName);
+        this.kafkaSummaryTopicName = summaryTopicName;
     }
 
     /**
      * This method builds the Kafka producer template using the provided bootstrap servers and topic name.
      * It creates a configuration map with the necessary properties for the Kafka producer,
      * including the bootstrap servers, key serializer, and value serializer.
-     * It then creates a ProducerFactory and a KafkaTemplate
-     * to be used for sending messages to the Kafka topic.
+     * It then creates a ProducerFactory and the KafkaTemplates
+     * to be used for sending messages to the Kafka topics.
+     * Traces and summaries share the same producer, since the JSON serializer accepts both.
      */
     private void buildKafkaProducerTemplate() {
         Map<String, Object> configProps = new HashMap<>();
@@ -135,12 +158,37 @@ public abstract class UncaughtGuardKafkaAbstractLoggingStrategy extends Uncaught
                 ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
                 JsonSerializer.class);
 
-        ProducerFactory<UUID, UncaughtGuardExceptionTrace> producerFactory = new DefaultKafkaProducerFactory<>(configProps);
-        this.kafkaProducerTemplate = new KafkaTemplate<>(producerFactory);
+        ProducerFactory<UUID, Object> producerFactory = new DefaultKafkaProducerFactory<>(configProps);
+        this.kafkaProducerTemplate = new KafkaTemplate<>(narrow(producerFactory));
+        this.kafkaSummaryProducerTemplate = new KafkaTemplate<>(narrow(producerFactory));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> ProducerFactory<UUID, V> narrow(ProducerFactory<UUID, Object> producerFactory) {
+        return (ProducerFactory<UUID, V>) (ProducerFactory<UUID, ?>) producerFactory;
+    }
+
+    /**
+     * @return the Kafka topic name loaded during the initialization
+     */
+    protected final String getKafkaTopicName() {
+        return kafkaTopicName;
+    }
+
+    /**
+     * @return the Kafka producer template built during the initialization
+     */
+    protected final KafkaTemplate<UUID, UncaughtGuardExceptionTrace> getKafkaProducerTemplate() {
+        return kafkaProducerTemplate;
     }
 
     @Override
     protected final void log(UncaughtGuardExceptionTrace exceptionTrace) {
         this.kafkaProducerTemplate.send(this.kafkaTopicName, exceptionTrace.getTraceId(), exceptionTrace).join();
     }
+
+    @Override
+    protected void logSummary(UncaughtGuardExceptionTraceSummary summary) {
+        this.kafkaSummaryProducerTemplate.send(this.kafkaSummaryTopicName, summary.getFirstTraceId(), summary).join();
+    }
 }
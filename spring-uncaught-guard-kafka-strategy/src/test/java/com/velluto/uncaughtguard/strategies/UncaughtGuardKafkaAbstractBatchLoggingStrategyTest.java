@@ -0,0 +1,74 @@
+package com.velluto.uncaughtguard.strategies;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class UncaughtGuardKafkaAbstractBatchLoggingStrategyTest {
+    static class Strategy extends UncaughtGuardKafkaAbstractBatchLoggingStrategy {
+        @Override
+        public List<String> kafkaBootstrapServers() {
+            return List.of("localhost:9092");
+        }
+
+        @Override
+        public String kafkaTopicName() {
+            return "topic";
+        }
+    }
+
+    private Strategy strategyWith(KafkaTemplate<UUID, UncaughtGuardExceptionTrace> kafkaTemplate) {
+        Strategy strategy = new Strategy();
+        ReflectionTestUtils.setField(strategy, UncaughtGuardKafkaAbstractLoggingStrategy.class, "kafkaProducerTemplate", kafkaTemplate, KafkaTemplate.class);
+        ReflectionTestUtils.setField(strategy, UncaughtGuardKafkaAbstractLoggingStrategy.class, "kafkaTopicName", "topic", String.class);
+        return strategy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static KafkaTemplate<UUID, UncaughtGuardExceptionTrace> mockKafkaTemplate() {
+        return mock(KafkaTemplate.class);
+    }
+
+    private UncaughtGuardExceptionTrace mockTrace() {
+        UncaughtGuardExceptionTrace trace = mock(UncaughtGuardExceptionTrace.class);
+        when(trace.getTraceId()).thenReturn(UUID.randomUUID());
+        return trace;
+    }
+
+    @Test
+    void logBatch_sendsAllTracesBeforeWaiting() {
+        KafkaTemplate<UUID, UncaughtGuardExceptionTrace> kafkaTemplate = mockKafkaTemplate();
+        when(kafkaTemplate.send(anyString(), any(UUID.class), any())).thenReturn(CompletableFuture.completedFuture(null));
+        UncaughtGuardExceptionTrace first = mockTrace();
+        UncaughtGuardExceptionTrace second = mockTrace();
+
+        UUID firstTraceId = first.getTraceId();
+        UUID secondTraceId = second.getTraceId();
+
+        strategyWith(kafkaTemplate).logBatch(List.of(first, second));
+
+        verify(kafkaTemplate).send(eq("topic"), eq(firstTraceId), eq(first));
+        verify(kafkaTemplate).send(eq("topic"), eq(secondTraceId), eq(second));
+        verify(kafkaTemplate, times(1)).flush();
+    }
+
+    @Test
+    void logBatch_failedSend_throws() {
+        KafkaTemplate<UUID, UncaughtGuardExceptionTrace> kafkaTemplate = mockKafkaTemplate();
+        when(kafkaTemplate.send(anyString(), any(UUID.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+
+        Strategy strategy = strategyWith(kafkaTemplate);
+        assertThrows(CompletionException.class, () -> strategy.logBatch(List.of(mockTrace(), mockTrace())));
+    }
+}
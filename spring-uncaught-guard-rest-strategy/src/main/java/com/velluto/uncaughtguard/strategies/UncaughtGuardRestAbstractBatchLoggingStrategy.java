@@ -0,0 +1,52 @@
+package com.velluto.uncaughtguard.strategies;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import jakarta.annotation.PostConstruct;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * REST logging strategy that sends the exception traces in batches.
+ * Instead of one POST request per trace, a single POST request is made for each batch,
+ * with the JSON array of the exception traces as the request body.
+ * Batches are sent to the endpoint returned by {@link #restBatchEndpoint()},
+ * which by default is the same as {@link #restEndpoint()}, so the receiving side must accept JSON arrays.
+ */
+public abstract class UncaughtGuardRestAbstractBatchLoggingStrategy extends UncaughtGuardRestAbstractLoggingStrategy implements UncaughtGuardBatchLoggingStrategy {
+    private static final Logger logger = Logger.getLogger(UncaughtGuardRestAbstractBatchLoggingStrategy.class.getName());
+
+    private String restBatchEndpoint;
+
+    /**
+     * Returns the REST endpoint where the batches of uncaught exceptions will be logged.
+     * Developers may override this method when batches are collected by a different endpoint.
+     *
+     * @return the REST batch endpoint URL as a String
+     */
+    public String restBatchEndpoint() {
+        return restEndpoint();
+    }
+
+    /**
+     * Loads the REST batch endpoint from the value returned by the `restBatchEndpoint()` method.
+     * Validates that the endpoint is not null or empty.
+     * This method is called after the bean is constructed and dependency injection is complete.
+     *
+     * @throws IllegalArgumentException if the endpoint is null or empty
+     */
+    @PostConstruct
+    private void loadAndValidateRestBatchEndpoint() {
+        String endpoint = restBatchEndpoint();
+        if (endpoint == null || endpoint.isEmpty())
+            throw new IllegalArgumentException("Rest batch endpoint must not be null or empty");
+
+        this.restBatchEndpoint = endpoint;
+        logger.fine("Successfully initialized Rest Batch Logging Strategy, POST requests will be sent to endpoint: " + restBatchEndpoint);
+    }
+
+    @Override
+    public void logBatch(List<UncaughtGuardExceptionTrace> exceptionTraces) {
+        getRestTemplate().postForEntity(restBatchEndpoint, exceptionTraces, Void.class);
+    }
+}
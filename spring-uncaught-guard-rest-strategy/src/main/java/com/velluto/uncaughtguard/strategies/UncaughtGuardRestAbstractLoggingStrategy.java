@@ -1,6 +1,7 @@
 package com.velluto.uncaughtguard.strategies;
 
 import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
 import jakarta.annotation.PostConstruct;
 import org.springframework.web.client.RestTemplate;
 
@@ -14,11 +15,14 @@ import java.util.logging.Logger;
  * endpoint URL where the exceptions will be logged.
  * When an uncaught exception occurs, a POST request is made to the
  * specified REST endpoint with the entire exception trace as the request body.
+ * Summaries of coalesced exceptions are sent with a POST request as well, to the endpoint returned by
+ * {@link #restSummaryEndpoint()}, which by default is the same as {@link #restEndpoint()}.
  */
 public abstract class UncaughtGuardRestAbstractLoggingStrategy extends UncaughtGuardLoggingStrategy {
     private static final Logger logger = Logger.getLogger(UncaughtGuardRestAbstractLoggingStrategy.class.getName());
 
     private String restEndpoint;
+    private String restSummaryEndpoint;
     private RestTemplate restTemplate;
 
     /**
@@ -29,6 +33,16 @@ public abstract class UncaughtGuardRestAbstractLoggingStrategy extends UncaughtG
      */
     public abstract String restEndpoint();
 
+    /**
+     * Returns the REST endpoint where the summaries of coalesced exceptions will be logged.
+     * Developers may override this method when summaries are collected by a different endpoint.
+     *
+     * @return the REST summary endpoint URL as a String
+     */
+    public String restSummaryEndpoint() {
+        return restEndpoint();
+    }
+
     /**
      * Initializes the REST logging strategy by loading and validating the REST endpoint.
      * It then creates a new instance of RestTemplate for making HTTP requests.
@@ -41,11 +55,11 @@ public abstract class UncaughtGuardRestAbstractLoggingStrategy extends UncaughtG
     }
 
     /**
-     * Loads the REST endpoint from the value returned by the `restEndpoint()` method.
-     * Validates that the endpoint is not null or empty.
+     * Loads the REST endpoints from the values returned by the `restEndpoint()` and `restSummaryEndpoint()` methods.
+     * Validates that the endpoints are not null or empty.
      * If the endpoint is invalid, an IllegalArgumentException is thrown.
      *
-     * @throws IllegalArgumentException if the endpoint is null or empty
+     * @throws IllegalArgumentException if an endpoint is null or empty
      */
     private void loadAndValidateRestEndpoint() {
         String endpoint = restEndpoint();
@@ -54,10 +68,28 @@ public abstract class UncaughtGuardRestAbstractLoggingStrategy extends UncaughtG
 
         this.restEndpoint = endpoint;
         logger.fine("Successfully initialized Rest Logging Strategy, POST requests will be sent to endpoint: " + restEndpoint);
+
+        String summaryEndpoint = restSummaryEndpoint();
+        if (summaryEndpoint == null || summaryEndpoint.isEmpty())
+            throw new IllegalArgumentException("Rest summary endpoint must not be null or empty");
+
+        this.restSummaryEndpoint = summaryEndpoint;
+    }
+
+    /**
+     * @return the RestTemplate used to send the HTTP requests
+     */
+    protected final RestTemplate getRestTemplate() {
+        return restTemplate;
     }
 
     @Override
     protected void log(UncaughtGuardExceptionTrace exceptionTrace) {
         restTemplate.postForEntity(restEndpoint, exceptionTrace, Void.class);
     }
+
+    @Override
+    protected void logSummary(UncaughtGuardExceptionTraceSummary summary) {
+        restTemplate.postForEntity(restSummaryEndpoint, summary, Void.class);
+    }
 }
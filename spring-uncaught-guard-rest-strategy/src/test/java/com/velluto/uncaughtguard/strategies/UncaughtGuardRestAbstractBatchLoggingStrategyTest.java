@@ -0,0 +1,43 @@
+package com.velluto.uncaughtguard.strategies;
+
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+public class UncaughtGuardRestAbstractBatchLoggingStrategyTest {
+    private UncaughtGuardRestAbstractBatchLoggingStrategy strategy;
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        strategy = new UncaughtGuardRestAbstractBatchLoggingStrategy() {
+            @Override
+            public String restEndpoint() {
+                return "http://localhost:8080/log";
+            }
+
+            @Override
+            public String restBatchEndpoint() {
+                return "http://localhost:8080/log/batch";
+            }
+        };
+        ReflectionTestUtils.setField(strategy, UncaughtGuardRestAbstractLoggingStrategy.class, "restTemplate", restTemplate, RestTemplate.class);
+        ReflectionTestUtils.invokeMethod(strategy, "loadAndValidateRestBatchEndpoint");
+    }
+
+    @Test
+    void testLogBatch_postsWholeBatchOnce() {
+        List<UncaughtGuardExceptionTrace> traces = List.of(mock(UncaughtGuardExceptionTrace.class), mock(UncaughtGuardExceptionTrace.class));
+
+        strategy.logBatch(traces);
+
+        verify(restTemplate, times(1)).postForEntity(eq("http://localhost:8080/log/batch"), eq(traces), eq(Void.class));
+    }
+}
@@ -1,6 +1,7 @@
 package com.velluto.uncaughtguard.strategies;
 
 import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTrace;
+import com.velluto.uncaughtguard.models.UncaughtGuardExceptionTraceSummary;
 
 /**
  * A logging strategy for uncaught exceptions that uses the SLF4J framework.
@@ -44,4 +45,16 @@ public class UncaughtGuardSlf4jLoggingStrategy extends UncaughtGuardLoggingStrat
                 exceptionTrace.getException()
         );
     }
+
+    @Override
+    protected void logSummary(UncaughtGuardExceptionTraceSummary summary) {
+        org.slf4j.LoggerFactory.getLogger(summary.getExceptionClassName()).warn("""
+                        {} (repeated)
+
+                        {}
+                        """,
+                getLogErrorMessage(),
+                summary.getLoggableSummary()
+        );
+    }
 }